@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueType;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueingExecutor;
+
+/**
+ * producer side of the data sender queue. application threads call execute() on every span.
+ *
+ * @author emeroad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class AsyncQueueingExecutorBenchmark {
+
+    private static final Object DATA = new Object();
+
+    @Param({"LINKED", "RINGBUFFER"})
+    private AsyncQueueType queueType;
+
+    private AsyncQueueingExecutor<Object> executor;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        executor = new AsyncQueueingExecutor<Object>(queueType.createQueue(1024 * 5), "Pinpoint-Benchmark-AsyncQueueingExecutor");
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.stop();
+    }
+
+    @Benchmark
+    public boolean execute() {
+        return executor.execute(DATA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean concurrentExecute() {
+        return executor.execute(DATA);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.common.util.DefaultParsingResult;
+import com.navercorp.pinpoint.common.util.SqlParser;
+
+/**
+ * @author emeroad
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SqlParserBenchmark {
+
+    @Param({"SELECT", "INSERT", "COMMENT"})
+    private SqlType sqlType;
+
+    private final SqlParser sqlParser = new SqlParser();
+
+    @Benchmark
+    public DefaultParsingResult normalizedSql() {
+        return sqlParser.normalizedSql(sqlType.sql);
+    }
+
+    public enum SqlType {
+        SELECT("select a.id, a.name, b.value from member a, member_detail b where a.id = b.id and a.id = 1234 and b.type = 'normal' order by a.name"),
+        INSERT("insert into access_log (id, url, status, elapsed, created) values (98765, '/benchmark/sql?name=value', 200, 123, '2014-12-01 10:00:00')"),
+        COMMENT("/* benchmark */ select count(*) from access_log where status = 500 -- error count\n and url like '%/benchmark%'");
+
+        private final String sql;
+
+        SqlType(String sql) {
+            this.sql = sql;
+        }
+    }
+}
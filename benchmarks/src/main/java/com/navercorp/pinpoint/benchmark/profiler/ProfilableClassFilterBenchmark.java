@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilableClassFilter;
+
+/**
+ * profilable class check done by ClassFileTransformerDispatcher for every loaded class without a modifier.
+ *
+ * @author emeroad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class ProfilableClassFilterBenchmark {
+
+    private static final String[] LOADED_PACKAGES = {
+            "org/springframework/beans/factory/support/",
+            "org/apache/catalina/core/",
+            "com/fasterxml/jackson/databind/ser/",
+            "sun/reflect/generated/",
+            "com/example/service/impl/",
+            "com/example/web/"
+    };
+
+    @Param({"4", "32"})
+    private int packageSize;
+
+    private ProfilableClassFilter filter;
+
+    private String[] classNames;
+
+    private int index;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        final StringBuilder profilableClass = new StringBuilder("com.example.web.*,com.example.service.Main");
+        for (int i = 0; i < packageSize; i++) {
+            profilableClass.append(",com.example.module").append(i).append(".*");
+        }
+        filter = new ProfilableClassFilter(profilableClass.toString());
+
+        classNames = new String[40000];
+        for (int i = 0; i < classNames.length; i++) {
+            classNames[i] = LOADED_PACKAGES[i % LOADED_PACKAGES.length] + "LoadedClass" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean filter() {
+        final String className = classNames[index];
+        if (++index == classNames.length) {
+            index = 0;
+        }
+        return filter.filter(className);
+    }
+}
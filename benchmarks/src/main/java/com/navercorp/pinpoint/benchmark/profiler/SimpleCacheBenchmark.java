@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.profiler.metadata.Result;
+import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+
+/**
+ * sql/api/string metadata cache lookups. keySize larger than cacheSize forces evictions(new ids).
+ *
+ * @author emeroad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class SimpleCacheBenchmark {
+
+    @Param({"1024"})
+    private int cacheSize;
+
+    @Param({"512", "4096"})
+    private int keySize;
+
+    private String[] keys;
+
+    private SimpleCache<String> cache;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        cache = new SimpleCache<String>(cacheSize);
+        keys = new String[keySize];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "select * from benchmark_table where id = ? and seq = " + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KeyIndex {
+        private int index;
+
+        int next(int size) {
+            final int next = index++;
+            if (index == size) {
+                index = 0;
+            }
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Result put(KeyIndex keyIndex) {
+        return cache.put(keys[keyIndex.next(keySize)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Result concurrentPut(KeyIndex keyIndex) {
+        return cache.put(keys[keyIndex.next(keySize)]);
+    }
+}
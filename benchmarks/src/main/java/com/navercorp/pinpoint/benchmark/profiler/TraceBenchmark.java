@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.profiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.common.AnnotationKey;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.profiler.AgentInformation;
+import com.navercorp.pinpoint.profiler.context.DefaultServerMetaDataHolder;
+import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
+import com.navercorp.pinpoint.profiler.interceptor.DefaultMethodDescriptor;
+import com.navercorp.pinpoint.profiler.sampler.TrueSampler;
+import com.navercorp.pinpoint.profiler.sender.LoggingDataSender;
+import com.navercorp.pinpoint.profiler.util.RuntimeMXBeanUtils;
+
+/**
+ * begin / record / end of a whole transaction, the way the servlet and method interceptors drive a trace.
+ *
+ * @author emeroad
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class TraceBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int spanEventSize;
+
+    private DefaultTraceContext traceContext;
+
+    private DefaultMethodDescriptor rootApi;
+    private DefaultMethodDescriptor methodApi;
+
+    @Setup
+    public void setUp() {
+        traceContext = new DefaultTraceContext(1024, ServiceType.STAND_ALONE, new DiscardStorageFactory(), new TrueSampler(), new DefaultServerMetaDataHolder(RuntimeMXBeanUtils.getVmArgs()));
+        traceContext.setAgentInformation(new AgentInformation("benchmarkAgent", "benchmarkApplication", System.currentTimeMillis(), 1, "localhost", "127.0.0.1", ServiceType.STAND_ALONE, Version.VERSION));
+        traceContext.setPriorityDataSender(new LoggingDataSender());
+
+        rootApi = newMethodDescriptor("com.navercorp.pinpoint.benchmark.Servlet", "service");
+        methodApi = newMethodDescriptor("com.navercorp.pinpoint.benchmark.Service", "execute");
+    }
+
+    private DefaultMethodDescriptor newMethodDescriptor(String className, String methodName) {
+        DefaultMethodDescriptor descriptor = new DefaultMethodDescriptor(className, methodName, new String[]{"java.lang.String"}, new String[]{"arg0"});
+        traceContext.cacheApi(descriptor);
+        return descriptor;
+    }
+
+    @Benchmark
+    public Trace singleThread() {
+        return doTransaction();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Trace multiThread() {
+        return doTransaction();
+    }
+
+    private Trace doTransaction() {
+        final Trace trace = traceContext.newTraceObject();
+        trace.markBeforeTime();
+        trace.recordServiceType(ServiceType.STAND_ALONE);
+        trace.recordRpcName("/benchmark");
+        trace.recordEndPoint("localhost:8080");
+        trace.recordRemoteAddress("127.0.0.1");
+        trace.recordAttribute(AnnotationKey.HTTP_URL, "/benchmark");
+
+        for (int i = 0; i < spanEventSize; i++) {
+            trace.traceBlockBegin();
+            trace.markBeforeTime();
+            trace.recordServiceType(ServiceType.INTERNAL_METHOD);
+            trace.recordApi(methodApi, new Object[]{"value"});
+            trace.markAfterTime();
+            trace.traceBlockEnd();
+        }
+
+        trace.recordApi(rootApi);
+        trace.markAfterTime();
+        trace.traceRootBlockEnd();
+        traceContext.detachTraceObject();
+        return trace;
+    }
+
+    /**
+     * measures the profiler only. nothing is sent
+     */
+    private static class DiscardStorageFactory implements StorageFactory {
+        private static final Storage DISCARD = new Storage() {
+            @Override
+            public void store(SpanEvent spanEvent) {
+            }
+
+            @Override
+            public void store(Span span) {
+            }
+        };
+
+        @Override
+        public Storage createStorage() {
+            return DISCARD;
+        }
+    }
+}
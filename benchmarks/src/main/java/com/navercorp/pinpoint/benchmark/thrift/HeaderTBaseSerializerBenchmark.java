@@ -0,0 +1,118 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.benchmark.thrift;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.thrift.TException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.navercorp.pinpoint.common.AnnotationKey;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.util.TransactionIdUtils;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+
+/**
+ * serializes a span the way the udp span sender does.
+ *
+ * @author emeroad
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class HeaderTBaseSerializerBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int spanEventSize;
+
+    private HeaderTBaseSerializer serializer;
+
+    private TSpan span;
+
+    @Setup
+    public void setUp() {
+        serializer = new HeaderTBaseSerializerFactory(false, HeaderTBaseSerializerFactory.DEFAULT_UDP_STREAM_MAX_SIZE).createSerializer();
+        span = createSpan(spanEventSize);
+    }
+
+    private TSpan createSpan(int spanEventSize) {
+        final long agentStartTime = System.currentTimeMillis();
+        final TSpan span = new TSpan();
+        span.setAgentId("benchmarkAgent");
+        span.setApplicationName("benchmarkApplication");
+        span.setAgentStartTime(agentStartTime);
+        span.setTransactionId(TransactionIdUtils.formatBytes("benchmarkAgent", agentStartTime, 1));
+        span.setSpanId(1234567890L);
+        span.setParentSpanId(-1);
+        span.setStartTime(agentStartTime);
+        span.setElapsed(100);
+        span.setRpc("/benchmark");
+        span.setServiceType(ServiceType.STAND_ALONE.getCode());
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        span.setApiId(1);
+        span.setAnnotations(createAnnotations("/benchmark"));
+
+        final List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>(spanEventSize);
+        for (int i = 0; i < spanEventSize; i++) {
+            TSpanEvent spanEvent = new TSpanEvent();
+            spanEvent.setSequence((short) i);
+            spanEvent.setStartElapsed(i);
+            spanEvent.setEndElapsed(1);
+            spanEvent.setServiceType(ServiceType.INTERNAL_METHOD.getCode());
+            spanEvent.setDepth(2);
+            spanEvent.setApiId(2);
+            spanEvent.setAnnotations(createAnnotations("value" + i));
+            spanEventList.add(spanEvent);
+        }
+        span.setSpanEventList(spanEventList);
+        return span;
+    }
+
+    private List<TAnnotation> createAnnotations(String value) {
+        final TAnnotation annotation = new TAnnotation(AnnotationKey.ARGS0.getCode());
+        annotation.setValue(TAnnotationValue.stringValue(value));
+        final List<TAnnotation> annotations = new ArrayList<TAnnotation>(1);
+        annotations.add(annotation);
+        return annotations;
+    }
+
+    @Benchmark
+    public byte[] serialize() throws TException {
+        return serializer.serialize(span);
+    }
+}
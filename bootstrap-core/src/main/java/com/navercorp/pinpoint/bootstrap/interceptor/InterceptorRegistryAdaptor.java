@@ -9,6 +9,18 @@ public interface InterceptorRegistryAdaptor {
 
     int addSimpleInterceptor(SimpleAroundInterceptor interceptor);
 
+    /**
+     * registers the interceptor at an id reserved by {@link #reserveId(int)}. used when the bytecode calling the id already exists.
+     */
+    int addStaticInterceptor(StaticAroundInterceptor interceptor, int id);
+
+    int addSimpleInterceptor(SimpleAroundInterceptor interceptor, int id);
+
+    /**
+     * ids up to maxId are not handed out by {@link #addStaticInterceptor(StaticAroundInterceptor)} and {@link #addSimpleInterceptor(SimpleAroundInterceptor)} any more.
+     */
+    void reserveId(int maxId);
+
     StaticAroundInterceptor getStaticInterceptor(int key);
 
     Interceptor findInterceptor(int key);
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.bootstrap.config;
+
+/**
+ * Prefix tree of jvm internal class names (com/foo/Bar).
+ * Matching is a single pass over the class name without substring, and stops at the first char no entry shares.
+ * Not thread safe while adding. read only afterwards.
+ *
+ * @author emeroad
+ */
+final class ClassNameTrie {
+
+    private static final char[] EMPTY_KEYS = new char[0];
+    private static final Node[] EMPTY_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    /**
+     * @param className com/foo/Bar. matches only the class itself
+     */
+    public void addClass(String className) {
+        if (className == null) {
+            throw new NullPointerException("className must not be null");
+        }
+        getOrCreateNode(className).classEnd = true;
+    }
+
+    /**
+     * @param packageName com/foo/. matches every class of the package and its sub packages
+     */
+    public void addPackage(String packageName) {
+        if (packageName == null) {
+            throw new NullPointerException("packageName must not be null");
+        }
+        getOrCreateNode(packageName).packageEnd = true;
+    }
+
+    private Node getOrCreateNode(String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrCreateChild(name.charAt(i));
+        }
+        return node;
+    }
+
+    public boolean match(String className) {
+        Node node = root;
+        final int length = className.length();
+        for (int i = 0; i < length; i++) {
+            if (node.packageEnd) {
+                return true;
+            }
+            node = node.findChild(className.charAt(i));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.classEnd || node.packageEnd;
+    }
+
+    private static final class Node {
+        // few children per node. linear search over a compact array
+        private char[] keys = EMPTY_KEYS;
+        private Node[] children = EMPTY_CHILDREN;
+        private boolean classEnd;
+        private boolean packageEnd;
+
+        private Node findChild(char key) {
+            final char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreateChild(char key) {
+            final Node find = findChild(key);
+            if (find != null) {
+                return find;
+            }
+            final int size = keys.length;
+            final char[] newKeys = new char[size + 1];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            newKeys[size] = key;
+            final Node[] newChildren = new Node[size + 1];
+            System.arraycopy(children, 0, newChildren, 0, size);
+            final Node child = new Node();
+            newChildren[size] = child;
+
+            this.keys = newKeys;
+            this.children = newChildren;
+            return child;
+        }
+    }
+}
@@ -27,17 +27,24 @@ public class ProfilableClassFilter implements Filter<String> {
     private final Set<String> profileInclude = new HashSet<String>();
     private final Set<String> profileIncludeSub = new HashSet<String>();
 
+    // called for every loaded class. compiled from profileInclude and profileIncludeSub
+    private final ClassNameTrie profileIncludeTrie = new ClassNameTrie();
+
     public ProfilableClassFilter(String profilableClass) {
         if (profilableClass == null || profilableClass.isEmpty()) {
             return;
         }
         String[] className = profilableClass.split(",");
         for (String str : className) {
+            str = str.trim();
             if (str.endsWith(".*")) {
-                this.profileIncludeSub.add(str.substring(0, str.length() - 2).replace('.', '/') + "/");
+                final String packageName = str.substring(0, str.length() - 2).replace('.', '/') + "/";
+                this.profileIncludeSub.add(packageName);
+                this.profileIncludeTrie.addPackage(packageName);
             } else {
-                String replace = str.trim().replace('.', '/');
+                String replace = str.replace('.', '/');
                 this.profileInclude.add(replace);
+                this.profileIncludeTrie.addClass(replace);
             }
         }
     }
@@ -50,17 +57,7 @@ public class ProfilableClassFilter implements Filter<String> {
      */
     @Override
     public boolean filter(String className) {
-        if (profileInclude.contains(className)) {
-            return true;
-        } else {
-            final String packageName = className.substring(0, className.lastIndexOf("/") + 1);
-            for (String pkg : profileIncludeSub) {
-                if (packageName.startsWith(pkg)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return profileIncludeTrie.match(className);
     }
 
 
@@ -90,14 +90,18 @@ public class ProfilerConfig {
     private int collectorTcpServerPort = 9994;
 
     private int spanDataSenderWriteQueueSize = 1024 * 5;
+    private String spanDataSenderWriteQueueType = "LINKED";
     private int spanDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int spanDataSenderSocketTimeout = 1000 * 3;
     private int spanDataSenderChunkSize = 1024 * 16;
+    private boolean spanDataSenderBatchEnable = false;
 
     private int statDataSenderWriteQueueSize = 1024 * 5;
+    private String statDataSenderWriteQueueType = "LINKED";
     private int statDataSenderSocketSendBufferSize = 1024 * 64 * 16;
     private int statDataSenderSocketTimeout = 1000 * 3;
     private int statDataSenderChunkSize = 1024 * 16;
+    private boolean statDataSenderBatchEnable = false;
 
     private boolean tcpDataSenderCommandAcceptEnable = false;
 
@@ -197,13 +201,33 @@ public class ProfilerConfig {
     // Sampling
     private boolean samplingEnable = true;
     private int samplingRate = 1;
+    private String samplingType = "RATE";
+    private int samplingAdaptiveTps = 20;
+    private boolean samplingAdaptiveKeepErrorAndSlow = true;
+    private int samplingAdaptiveDeferredTps = 200;
+    private int samplingAdaptiveSlowThreshold = 1000;
 
     // span buffering
     private boolean ioBufferingEnable;
     private int ioBufferingBufferSize;
 
+    // span event recycling
+    private boolean ioRecycleEnable;
+    private int ioRecyclePoolSize;
+
+    // span encoding
+    private boolean ioDirectEncodeEnable;
+
+    // response histograms aggregated by the agent
+    private boolean responseStatEnable;
+    private long responseStatInterval;
+
     private int profileJvmCollectInterval;
 
+    // transformed classes kept on disk for the next start
+    private boolean instrumentCacheEnable;
+    private String instrumentCacheDir;
+
     private Filter<String> profilableClassFilter = new SkipFilter<String>();
 
     private final long DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL = 5 * 60 * 1000L;
@@ -251,6 +275,10 @@ public class ProfilerConfig {
         return statDataSenderWriteQueueSize;
     }
 
+    public String getStatDataSenderWriteQueueType() {
+        return statDataSenderWriteQueueType;
+    }
+
     public int getStatDataSenderSocketSendBufferSize() {
         return statDataSenderSocketSendBufferSize;
     }
@@ -263,6 +291,10 @@ public class ProfilerConfig {
         return spanDataSenderWriteQueueSize;
     }
 
+    public String getSpanDataSenderWriteQueueType() {
+        return spanDataSenderWriteQueueType;
+    }
+
     public int getSpanDataSenderSocketSendBufferSize() {
         return spanDataSenderSocketSendBufferSize;
     }
@@ -283,6 +315,14 @@ public class ProfilerConfig {
         return statDataSenderChunkSize;
     }
 
+    public boolean isSpanDataSenderBatchEnable() {
+        return spanDataSenderBatchEnable;
+    }
+
+    public boolean isStatDataSenderBatchEnable() {
+        return statDataSenderBatchEnable;
+    }
+
     public boolean isProfileEnable() {
         return profileEnable;
     }
@@ -378,6 +418,26 @@ public class ProfilerConfig {
         return samplingRate;
     }
 
+    public String getSamplingType() {
+        return samplingType;
+    }
+
+    public int getSamplingAdaptiveTps() {
+        return samplingAdaptiveTps;
+    }
+
+    public boolean isSamplingAdaptiveKeepErrorAndSlow() {
+        return samplingAdaptiveKeepErrorAndSlow;
+    }
+
+    public int getSamplingAdaptiveDeferredTps() {
+        return samplingAdaptiveDeferredTps;
+    }
+
+    public int getSamplingAdaptiveSlowThreshold() {
+        return samplingAdaptiveSlowThreshold;
+    }
+
     public boolean isIoBufferingEnable() {
         return ioBufferingEnable;
     }
@@ -386,10 +446,42 @@ public class ProfilerConfig {
         return ioBufferingBufferSize;
     }
 
+    public boolean isIoRecycleEnable() {
+        return ioRecycleEnable;
+    }
+
+    public int getIoRecyclePoolSize() {
+        return ioRecyclePoolSize;
+    }
+
+    public boolean isIoDirectEncodeEnable() {
+        return ioDirectEncodeEnable;
+    }
+
+    public boolean isResponseStatEnable() {
+        return responseStatEnable;
+    }
+
+    public long getResponseStatInterval() {
+        return responseStatInterval;
+    }
+
     public int getProfileJvmCollectInterval() {
         return profileJvmCollectInterval;
     }
 
+    public boolean isInstrumentCacheEnable() {
+        return instrumentCacheEnable;
+    }
+
+    public String getInstrumentCacheDir() {
+        return instrumentCacheDir;
+    }
+
+    public Properties getProperties() {
+        return properties;
+    }
+
     public long getAgentInfoSendRetryInterval() {
         return agentInfoSendRetryInterval;
     }
@@ -614,14 +706,18 @@ public class ProfilerConfig {
         this.collectorTcpServerPort = readInt("profiler.collector.tcp.port", 9994);
 
         this.spanDataSenderWriteQueueSize = readInt("profiler.spandatasender.write.queue.size", 1024 * 5);
+        this.spanDataSenderWriteQueueType = readString("profiler.spandatasender.write.queue.type", "LINKED");
         this.spanDataSenderSocketSendBufferSize = readInt("profiler.spandatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.spanDataSenderSocketTimeout = readInt("profiler.spandatasender.socket.timeout", 1000 * 3);
         this.spanDataSenderChunkSize = readInt("profiler.spandatasender.chunk.size", 1024 * 16);
+        this.spanDataSenderBatchEnable = readBoolean("profiler.spandatasender.batch.enable", false);
 
         this.statDataSenderWriteQueueSize = readInt("profiler.statdatasender.write.queue.size", 1024 * 5);
+        this.statDataSenderWriteQueueType = readString("profiler.statdatasender.write.queue.type", "LINKED");
         this.statDataSenderSocketSendBufferSize = readInt("profiler.statdatasender.socket.sendbuffersize", 1024 * 64 * 16);
         this.statDataSenderSocketTimeout = readInt("profiler.statdatasender.socket.timeout", 1000 * 3);
         this.statDataSenderChunkSize = readInt("profiler.statdatasender.chunk.size", 1024 * 16);
+        this.statDataSenderBatchEnable = readBoolean("profiler.statdatasender.batch.enable", false);
 
         this.tcpDataSenderCommandAcceptEnable = readBoolean("profiler.tcpdatasender.command.accept.enable", false);
 
@@ -734,6 +830,11 @@ public class ProfilerConfig {
 
         this.samplingEnable = readBoolean("profiler.sampling.enable", true);
         this.samplingRate = readInt("profiler.sampling.rate", 1);
+        this.samplingType = readString("profiler.sampling.type", "RATE");
+        this.samplingAdaptiveTps = readInt("profiler.sampling.adaptive.tps", 20);
+        this.samplingAdaptiveKeepErrorAndSlow = readBoolean("profiler.sampling.adaptive.keep.error.slow", true);
+        this.samplingAdaptiveDeferredTps = readInt("profiler.sampling.adaptive.deferred.tps", 200);
+        this.samplingAdaptiveSlowThreshold = readInt("profiler.sampling.adaptive.slow.threshold", 1000);
 
         // configuration for sampling and IO buffer 
         this.ioBufferingEnable = readBoolean("profiler.io.buffering.enable", true);
@@ -741,9 +842,20 @@ public class ProfilerConfig {
         // it may be a problem to be here.  need to modify(delete or move or .. )  this configuration.
         this.ioBufferingBufferSize = readInt("profiler.io.buffering.buffersize", 20);
 
+        this.ioRecycleEnable = readBoolean("profiler.io.recycle.enable", false);
+        this.ioRecyclePoolSize = readInt("profiler.io.recycle.poolsize", 4096);
+
+        this.ioDirectEncodeEnable = readBoolean("profiler.io.directencode.enable", false);
+
+        this.responseStatEnable = readBoolean("profiler.responsestat.enable", false);
+        this.responseStatInterval = readLong("profiler.responsestat.interval", 10000L);
+
         // JVM
         this.profileJvmCollectInterval = readInt("profiler.jvm.collect.interval", 1000);
 
+        this.instrumentCacheEnable = readBoolean("profiler.instrument.cache.enable", false);
+        this.instrumentCacheDir = readString("profiler.instrument.cache.dir", System.getProperty("java.io.tmpdir") + "/pinpoint-instrument-cache");
+
         this.agentInfoSendRetryInterval = readLong("profiler.agentInfo.send.retry.interval", DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL);
 
         // service type
@@ -857,13 +969,17 @@ public class ProfilerConfig {
         sb.append(", collectorTcpServerIp='").append(collectorTcpServerIp).append('\'');
         sb.append(", collectorTcpServerPort=").append(collectorTcpServerPort);
         sb.append(", spanDataSenderWriteQueueSize=").append(spanDataSenderWriteQueueSize);
+        sb.append(", spanDataSenderWriteQueueType='").append(spanDataSenderWriteQueueType).append('\'');
         sb.append(", spanDataSenderSocketSendBufferSize=").append(spanDataSenderSocketSendBufferSize);
         sb.append(", spanDataSenderSocketTimeout=").append(spanDataSenderSocketTimeout);
         sb.append(", spanDataSenderChunkSize=").append(spanDataSenderChunkSize);
+        sb.append(", spanDataSenderBatchEnable=").append(spanDataSenderBatchEnable);
         sb.append(", statDataSenderWriteQueueSize=").append(statDataSenderWriteQueueSize);
+        sb.append(", statDataSenderWriteQueueType='").append(statDataSenderWriteQueueType).append('\'');
         sb.append(", statDataSenderSocketSendBufferSize=").append(statDataSenderSocketSendBufferSize);
         sb.append(", statDataSenderSocketTimeout=").append(statDataSenderSocketTimeout);
         sb.append(", statDataSenderChunkSize=").append(statDataSenderChunkSize);
+        sb.append(", statDataSenderBatchEnable=").append(statDataSenderBatchEnable);
         sb.append(", tcpDataSenderCommandAcceptEnable=").append(tcpDataSenderCommandAcceptEnable);
         sb.append(", jdbcSqlCacheSize=").append(jdbcSqlCacheSize);
         sb.append(", jdbcMaxSqlBindValueSize=").append(jdbcMaxSqlBindValueSize);
@@ -923,9 +1039,21 @@ public class ProfilerConfig {
         sb.append(", springBeansAnnotations='").append(springBeansAnnotations).append('\'');
         sb.append(", samplingEnable=").append(samplingEnable);
         sb.append(", samplingRate=").append(samplingRate);
+        sb.append(", samplingType='").append(samplingType).append('\'');
+        sb.append(", samplingAdaptiveTps=").append(samplingAdaptiveTps);
+        sb.append(", samplingAdaptiveKeepErrorAndSlow=").append(samplingAdaptiveKeepErrorAndSlow);
+        sb.append(", samplingAdaptiveDeferredTps=").append(samplingAdaptiveDeferredTps);
+        sb.append(", samplingAdaptiveSlowThreshold=").append(samplingAdaptiveSlowThreshold);
         sb.append(", ioBufferingEnable=").append(ioBufferingEnable);
         sb.append(", ioBufferingBufferSize=").append(ioBufferingBufferSize);
+        sb.append(", ioRecycleEnable=").append(ioRecycleEnable);
+        sb.append(", ioRecyclePoolSize=").append(ioRecyclePoolSize);
+        sb.append(", ioDirectEncodeEnable=").append(ioDirectEncodeEnable);
+        sb.append(", responseStatEnable=").append(responseStatEnable);
+        sb.append(", responseStatInterval=").append(responseStatInterval);
         sb.append(", profileJvmCollectInterval=").append(profileJvmCollectInterval);
+        sb.append(", instrumentCacheEnable=").append(instrumentCacheEnable);
+        sb.append(", instrumentCacheDir='").append(instrumentCacheDir).append('\'');
         sb.append(", profilableClassFilter=").append(profilableClassFilter);
         sb.append(", DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL=").append(DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL);
         sb.append(", agentInfoSendRetryInterval=").append(agentInfoSendRetryInterval);
@@ -38,6 +38,13 @@ public interface RecordableTrace {
 
     boolean canSampled();
 
+    /**
+     * true if the trace is recorded but kept only if it turns out to be an error or slow.
+     * Remote calls of such a trace must propagate the not-sampled flag instead of the next span id,
+     * since the downstream spans would be orphaned once the trace is discarded.
+     */
+    boolean isSamplingDeferred();
+
     boolean isRoot();
     
     short getServiceType();
@@ -78,6 +78,8 @@ public interface TraceContext {
     void recordAcceptResponseTime(String parentApplicationName, short parentApplicationType, int elapsedTime);
 
     void recordUserAcceptResponseTime(int elapsedTime);
+
+    void recordRpcResponseTime(ServiceType serviceType, String destinationId, String endPoint, int elapsedTime);
     
     ServerMetaDataHolder getServerMetaDataHolder();
     
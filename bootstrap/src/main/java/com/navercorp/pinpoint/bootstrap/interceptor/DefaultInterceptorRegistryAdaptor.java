@@ -69,6 +69,46 @@ public final class DefaultInterceptorRegistryAdaptor implements InterceptorRegis
         return newId;
     }
 
+    public int addStaticInterceptor(StaticAroundInterceptor interceptor, int id) {
+        if (interceptor == null) {
+            return -1;
+        }
+        return setInterceptor(interceptor, staticIndex, id);
+    }
+
+    public int addSimpleInterceptor(SimpleAroundInterceptor interceptor, int id) {
+        if (interceptor == null) {
+            return -1;
+        }
+        return setInterceptor(interceptor, simpleIndex, id);
+    }
+
+    private <T extends Interceptor> int setInterceptor(T interceptor, WeakAtomicReferenceArray<T> index, int id) {
+        if (id < 0 || id >= registrySize) {
+            throw new IndexOutOfBoundsException("size=" + index.length() + " id=" + id);
+        }
+        if (id >= this.id.get()) {
+            throw new IllegalArgumentException("not reserved id:" + id);
+        }
+        if (staticIndex.get(id) != null || simpleIndex.get(id) != null) {
+            throw new IllegalStateException("duplicated id:" + id);
+        }
+        index.set(id, interceptor);
+        return id;
+    }
+
+    public void reserveId(int maxId) {
+        if (maxId >= registrySize) {
+            throw new IndexOutOfBoundsException("size=" + registrySize + " id=" + maxId);
+        }
+        while (true) {
+            final int current = id.get();
+            if (current > maxId || id.compareAndSet(current, maxId + 1)) {
+                return;
+            }
+        }
+    }
+
     public StaticAroundInterceptor getStaticInterceptor(int key) {
         final StaticAroundInterceptor interceptor = staticIndex.get(key);
         if (interceptor == null) {
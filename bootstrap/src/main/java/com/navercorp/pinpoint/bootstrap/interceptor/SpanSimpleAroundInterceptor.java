@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.bootstrap.interceptor;
 
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.context.RecordableTrace;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
@@ -32,6 +33,8 @@ public abstract class SpanSimpleAroundInterceptor implements SimpleAroundInterce
     private MethodDescriptor methodDescriptor;
 
     private TraceContext traceContext;
+    // unsampled transactions are traced by a metric trace for the response histograms
+    private boolean traceUnsampled;
 
     protected SpanSimpleAroundInterceptor(Class<? extends SpanSimpleAroundInterceptor> childClazz) {
         this.logger = PLoggerFactory.getLogger(childClazz);
@@ -49,11 +52,9 @@ public abstract class SpanSimpleAroundInterceptor implements SimpleAroundInterce
             if (trace == null) {
                 return;
             }
-            // TODO STATDISABLE this logic was added to disable statstics tracing
-            if (!trace.canSampled()) {
+            if (!trace.canSampled() && !traceUnsampled) {
                 return;
             }
-            //------------------------------------------------------
             doInBeforeTrace(trace, target, args);
         } catch (Throwable th) {
             if (logger.isWarnEnabled()) {
@@ -77,11 +78,9 @@ public abstract class SpanSimpleAroundInterceptor implements SimpleAroundInterce
             return;
         }
         traceContext.detachTraceObject();
-        // TODO STATDISABLE this logic was added to disable statstics tracing
-        if (!trace.canSampled()) {
+        if (!trace.canSampled() && !traceUnsampled) {
             return;
         }
-        //------------------------------------------------------
         try {
             doInAfterTrace(trace, target, args, result, throwable);
         } catch (Throwable th) {
@@ -109,6 +108,8 @@ public abstract class SpanSimpleAroundInterceptor implements SimpleAroundInterce
     @Override
     public void setTraceContext(TraceContext traceContext) {
         this.traceContext = traceContext;
+        final ProfilerConfig profilerConfig = traceContext.getProfilerConfig();
+        this.traceUnsampled = profilerConfig != null && profilerConfig.isResponseStatEnable();
     }
 
     public TraceContext getTraceContext() {
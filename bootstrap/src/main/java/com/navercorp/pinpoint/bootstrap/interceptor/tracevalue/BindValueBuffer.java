@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.bootstrap.interceptor.tracevalue;
+
+import java.util.Arrays;
+
+/**
+ * Bind values of a PreparedStatement, addressed by the parameter index.
+ * Keeps the setter name and the interceptor arguments as they are. they are converted to a string only when the sql is recorded.
+ * Reused across executions of the statement. not thread safe, same as the statement itself.
+ *
+ * @author emeroad
+ */
+public final class BindValueBuffer {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // slot 0 is parameter index 1
+    private String[] methodNames;
+    private Object[][] args;
+    private int bindCount;
+
+    public BindValueBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public BindValueBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive. capacity:" + capacity);
+        }
+        this.methodNames = new String[capacity];
+        this.args = new Object[capacity][];
+    }
+
+    /**
+     * @param index parameter index starting from 1
+     * @param methodName setter name. selects the converter
+     * @param args setter arguments. args[0] is the index
+     */
+    public void set(int index, String methodName, Object[] args) {
+        if (index < 1) {
+            return;
+        }
+        final int slot = index - 1;
+        if (slot >= methodNames.length) {
+            final int newCapacity = Math.max(index, methodNames.length << 1);
+            this.methodNames = Arrays.copyOf(methodNames, newCapacity);
+            this.args = Arrays.copyOf(this.args, newCapacity);
+        }
+        this.methodNames[slot] = methodName;
+        this.args[slot] = args;
+        if (index > bindCount) {
+            this.bindCount = index;
+        }
+    }
+
+    /**
+     * @return the highest parameter index set
+     */
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    /**
+     * @return null if the parameter is not set
+     */
+    public String getMethodName(int index) {
+        if (index < 1 || index > bindCount) {
+            return null;
+        }
+        return methodNames[index - 1];
+    }
+
+    public Object[] getArgs(int index) {
+        if (index < 1 || index > bindCount) {
+            return null;
+        }
+        return args[index - 1];
+    }
+
+    /**
+     * releases the references to the bound values. keeps the arrays.
+     */
+    public void clear() {
+        Arrays.fill(methodNames, 0, bindCount, null);
+        Arrays.fill(args, 0, bindCount, null);
+        this.bindCount = 0;
+    }
+}
@@ -17,13 +17,11 @@
 package com.navercorp.pinpoint.bootstrap.interceptor.tracevalue;
 
 
-import java.util.Map;
-
 /**
  * @author emeroad
  */
 public interface BindValueTraceValue extends TraceValue {
-    void _$PINPOINT$_setTraceBindValue(Map<Integer, String> value);
+    void _$PINPOINT$_setTraceBindValue(BindValueBuffer value);
 
-    Map<Integer, String> _$PINPOINT$_getTraceBindValue();
+    BindValueBuffer _$PINPOINT$_getTraceBindValue();
 }
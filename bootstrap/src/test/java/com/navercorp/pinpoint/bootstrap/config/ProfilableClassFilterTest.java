@@ -56,4 +56,36 @@ public class ProfilableClassFilterTest {
         Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb/controller2/MyController"));
     }
 
+    @Test
+    public void testIsProfilableClassPrefix() throws IOException {
+        ProfilableClassFilter filter = new ProfilableClassFilter("com.navercorp.pinpoint.testweb.controller.*, com.navercorp.pinpoint.testweb.MyClass, com.navercorp.pinpoint.testweb.*");
+
+        Assert.assertTrue(filter.filter("com/navercorp/pinpoint/testweb/MyUnknownClass"));
+        Assert.assertTrue(filter.filter("com/navercorp/pinpoint/testweb/controller/MyController"));
+
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb"));
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testwebMyClass"));
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/MyClass"));
+        Assert.assertFalse(filter.filter("com/navercorp"));
+    }
+
+    @Test
+    public void testIsProfilableClassOnlyClass() throws IOException {
+        ProfilableClassFilter filter = new ProfilableClassFilter("com.navercorp.pinpoint.testweb.MyClass");
+
+        Assert.assertTrue(filter.filter("com/navercorp/pinpoint/testweb/MyClass"));
+
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb/MyClass2"));
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb/MyClass$Inner"));
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb/MyCla"));
+    }
+
+    @Test
+    public void testEmptyConfiguration() throws IOException {
+        ProfilableClassFilter filter = new ProfilableClassFilter("");
+
+        Assert.assertFalse(filter.filter("com/navercorp/pinpoint/testweb/MyClass"));
+        Assert.assertFalse(filter.filter(""));
+    }
+
 }
\ No newline at end of file
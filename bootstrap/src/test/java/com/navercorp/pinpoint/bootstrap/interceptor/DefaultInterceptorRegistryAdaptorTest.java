@@ -81,4 +81,37 @@ public class DefaultInterceptorRegistryAdaptorTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void reserveId() {
+        InterceptorRegistryAdaptor registry = new DefaultInterceptorRegistryAdaptor();
+        registry.reserveId(9);
+
+        SimpleAroundInterceptor reserved = mock(SimpleAroundInterceptor.class);
+        Assert.assertEquals(5, registry.addSimpleInterceptor(reserved, 5));
+        Assert.assertSame(reserved, registry.findInterceptor(5));
+
+        // the next id is out of the reserved ids
+        Assert.assertEquals(10, registry.addStaticInterceptor(mock(StaticAroundInterceptor.class)));
+        // reserving less does not go back
+        registry.reserveId(3);
+        Assert.assertEquals(11, registry.addStaticInterceptor(mock(StaticAroundInterceptor.class)));
+    }
+
+    @Test
+    public void addInterceptorToReservedId() {
+        InterceptorRegistryAdaptor registry = new DefaultInterceptorRegistryAdaptor();
+        registry.reserveId(1);
+        registry.addStaticInterceptor(mock(StaticAroundInterceptor.class), 1);
+        try {
+            registry.addSimpleInterceptor(mock(SimpleAroundInterceptor.class), 1);
+            Assert.fail();
+        } catch (IllegalStateException ignore) {
+        }
+        try {
+            registry.addSimpleInterceptor(mock(SimpleAroundInterceptor.class), 2);
+            Assert.fail();
+        } catch (IllegalArgumentException ignore) {
+        }
+    }
+
+}
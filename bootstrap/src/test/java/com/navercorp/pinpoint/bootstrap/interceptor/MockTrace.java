@@ -75,6 +75,11 @@ public class MockTrace implements Trace {
         return sampled;
     }
 
+    @Override
+    public boolean isSamplingDeferred() {
+        return false;
+    }
+
     @Override
     public boolean isRoot() {
         return false;
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+/**
+ * a row of the alarm_rule table of the web. callee checkers keep the callee name in the notes column, as the web checkers do.
+ *
+ * @author emeroad
+ */
+public class AlarmRule {
+
+    private final String applicationName;
+    private final CheckerCategory checker;
+    private final long threshold;
+    private final String calleeName;
+    private final String empGroup;
+    private final boolean smsSend;
+    private final boolean emailSend;
+
+    public AlarmRule(String applicationName, CheckerCategory checker, long threshold, String calleeName) {
+        this(applicationName, checker, threshold, calleeName, null, false, false);
+    }
+
+    public AlarmRule(String applicationName, CheckerCategory checker, long threshold, String calleeName, String empGroup, boolean smsSend, boolean emailSend) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        if (checker == null) {
+            throw new NullPointerException("checker must not be null");
+        }
+        if (checker.getCategory() == CheckerCategory.Category.CALLER_STAT && calleeName == null) {
+            throw new IllegalArgumentException(checker.getName() + " requires calleeName");
+        }
+        this.applicationName = applicationName;
+        this.checker = checker;
+        this.threshold = threshold;
+        this.calleeName = calleeName;
+        this.empGroup = empGroup;
+        this.smsSend = smsSend;
+        this.emailSend = emailSend;
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public CheckerCategory getChecker() {
+        return checker;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    public String getCalleeName() {
+        return calleeName;
+    }
+
+    public String getEmpGroup() {
+        return empGroup;
+    }
+
+    public boolean isSmsSend() {
+        return smsSend;
+    }
+
+    public boolean isEmailSend() {
+        return emailSend;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AlarmRule alarmRule = (AlarmRule) o;
+
+        if (threshold != alarmRule.threshold) return false;
+        if (smsSend != alarmRule.smsSend) return false;
+        if (emailSend != alarmRule.emailSend) return false;
+        if (!applicationName.equals(alarmRule.applicationName)) return false;
+        if (checker != alarmRule.checker) return false;
+        if (calleeName != null ? !calleeName.equals(alarmRule.calleeName) : alarmRule.calleeName != null) return false;
+        if (empGroup != null ? !empGroup.equals(alarmRule.empGroup) : alarmRule.empGroup != null) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = applicationName.hashCode();
+        result = 31 * result + checker.hashCode();
+        result = 31 * result + (int) (threshold ^ (threshold >>> 32));
+        result = 31 * result + (calleeName != null ? calleeName.hashCode() : 0);
+        result = 31 * result + (empGroup != null ? empGroup.hashCode() : 0);
+        result = 31 * result + (smsSend ? 1 : 0);
+        result = 31 * result + (emailSend ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("AlarmRule{");
+        sb.append("applicationName='").append(applicationName).append('\'');
+        sb.append(", checker=").append(checker.getName());
+        sb.append(", threshold=").append(threshold);
+        if (calleeName != null) {
+            sb.append(", calleeName='").append(calleeName).append('\'');
+        }
+        sb.append(", empGroup='").append(empGroup).append('\'');
+        sb.append(", smsSend=").append(smsSend);
+        sb.append(", emailSend=").append(emailSend);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * in-memory aggregates of one application for the last window.
+ * same values the web alarm batch reads back from hbase: response histogram, caller statistics per callee host and agent stat per agent.
+ *
+ * @author emeroad
+ */
+public class ApplicationWindow {
+
+    static final int TOTAL = 0;
+    static final int SLOW = 1;
+    static final int ERROR = 2;
+    private static final int RESPONSE_FIELD_COUNT = 3;
+
+    static final int HEAP_USED = 0;
+    static final int HEAP_MAX = 1;
+    static final int JVM_CPU = 2;
+    static final int SAMPLE = 3;
+    static final int GC_OLD_COUNT = 4;
+    private static final int AGENT_FIELD_COUNT = 5;
+
+    private final String applicationName;
+    private final long windowSize;
+    private final long bucketSize;
+
+    private final SlidingWindow response;
+    private final ConcurrentMap<String, SlidingWindow> calleeMap = new ConcurrentHashMap<String, SlidingWindow>();
+    private final ConcurrentMap<String, AgentWindow> agentMap = new ConcurrentHashMap<String, AgentWindow>();
+
+    public ApplicationWindow(String applicationName, long windowSize, long bucketSize) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        this.applicationName = applicationName;
+        this.windowSize = windowSize;
+        this.bucketSize = bucketSize;
+        this.response = new SlidingWindow(windowSize, bucketSize, RESPONSE_FIELD_COUNT);
+    }
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public void addResponse(long time, boolean slow, boolean error) {
+        addResponse(time, slow, error, 1L);
+    }
+
+    public void addResponse(long time, boolean slow, boolean error, long count) {
+        addResponse(response, time, slow, error, count);
+    }
+
+    public void addCallee(String calleeHost, long time, boolean slow, boolean error) {
+        addCallee(calleeHost, time, slow, error, 1L);
+    }
+
+    public void addCallee(String calleeHost, long time, boolean slow, boolean error, long count) {
+        if (calleeHost == null) {
+            return;
+        }
+        SlidingWindow callee = calleeMap.get(calleeHost);
+        if (callee == null) {
+            final SlidingWindow newWindow = new SlidingWindow(windowSize, bucketSize, RESPONSE_FIELD_COUNT);
+            callee = calleeMap.putIfAbsent(calleeHost, newWindow);
+            if (callee == null) {
+                callee = newWindow;
+            }
+        }
+        addResponse(callee, time, slow, error, count);
+    }
+
+    private void addResponse(SlidingWindow window, long time, boolean slow, boolean error, long count) {
+        window.add(time, TOTAL, count);
+        if (slow) {
+            window.add(time, SLOW, count);
+        }
+        if (error) {
+            window.add(time, ERROR, count);
+        }
+    }
+
+    public void addAgentStat(String agentId, long time, long heapUsed, long heapMax, double jvmCpuLoad, long gcOldCount) {
+        if (agentId == null) {
+            return;
+        }
+        AgentWindow agent = agentMap.get(agentId);
+        if (agent == null) {
+            final AgentWindow newAgent = new AgentWindow(agentId, new SlidingWindow(windowSize, bucketSize, AGENT_FIELD_COUNT));
+            agent = agentMap.putIfAbsent(agentId, newAgent);
+            if (agent == null) {
+                agent = newAgent;
+            }
+        }
+        agent.add(time, heapUsed, heapMax, jvmCpuLoad, gcOldCount);
+    }
+
+    public long getResponse(long now, int field) {
+        return response.sum(now, field);
+    }
+
+    public long getCallee(String calleeHost, long now, int field) {
+        final SlidingWindow callee = calleeMap.get(calleeHost);
+        if (callee == null) {
+            return 0;
+        }
+        return callee.sum(now, field);
+    }
+
+    public Collection<AgentWindow> getAgentWindows() {
+        return agentMap.values();
+    }
+
+    static long calculatePercent(long count, long totalCount) {
+        if (totalCount == 0 || count == 0) {
+            return 0;
+        }
+        return (count * 100L) / totalCount;
+    }
+
+    public static class AgentWindow {
+
+        private final String agentId;
+        private final SlidingWindow window;
+
+        private long lastGcOldCount = -1;
+
+        AgentWindow(String agentId, SlidingWindow window) {
+            this.agentId = agentId;
+            this.window = window;
+        }
+
+        public String getAgentId() {
+            return agentId;
+        }
+
+        synchronized void add(long time, long heapUsed, long heapMax, double jvmCpuLoad, long gcOldCount) {
+            window.add(time, HEAP_USED, heapUsed);
+            window.add(time, HEAP_MAX, heapMax);
+            window.add(time, JVM_CPU, (long) (jvmCpuLoad * 100));
+            window.add(time, SAMPLE, 1);
+            // gc count is accumulated by the agent. a smaller value means the agent was restarted
+            if (lastGcOldCount != -1 && gcOldCount >= lastGcOldCount) {
+                window.add(time, GC_OLD_COUNT, gcOldCount - lastGcOldCount);
+            }
+            lastGcOldCount = gcOldCount;
+        }
+
+        public long getHeapUsageRate(long now) {
+            return calculatePercent(window.sum(now, HEAP_USED), window.sum(now, HEAP_MAX));
+        }
+
+        public long getJvmCpuUsageRate(long now) {
+            return calculatePercent(window.sum(now, JVM_CPU), 100 * window.sum(now, SAMPLE));
+        }
+
+        public long getGcCount(long now) {
+            return window.sum(now, GC_OLD_COUNT);
+        }
+    }
+}
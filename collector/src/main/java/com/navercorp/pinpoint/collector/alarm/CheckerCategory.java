@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+/**
+ * same checker names and values as the CheckerCategory of the web alarm batch, computed from the in-memory window.
+ * the web checkers read their values back from hbase through the web daos and can not run on the collector.
+ * keep the names in sync with the web, rules with an unknown checker name are skipped.
+ *
+ * @author emeroad
+ */
+public enum CheckerCategory {
+
+    SLOW_COUNT("SLOW_COUNT", Category.RESPONSE_TIME) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getResponse(now, ApplicationWindow.SLOW);
+        }
+    },
+
+    SLOW_RATE("SLOW_RATE", Category.RESPONSE_TIME) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return ApplicationWindow.calculatePercent(window.getResponse(now, ApplicationWindow.SLOW), window.getResponse(now, ApplicationWindow.TOTAL));
+        }
+    },
+
+    ERROR_COUNT("ERROR_COUNT", Category.RESPONSE_TIME) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getResponse(now, ApplicationWindow.ERROR);
+        }
+    },
+
+    ERROR_RATE("ERROR_RATE", Category.RESPONSE_TIME) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return ApplicationWindow.calculatePercent(window.getResponse(now, ApplicationWindow.ERROR), window.getResponse(now, ApplicationWindow.TOTAL));
+        }
+    },
+
+    RESPONSE_COUNT("RESPONSE_COUNT", Category.RESPONSE_TIME) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getResponse(now, ApplicationWindow.TOTAL);
+        }
+    },
+
+    SLOW_COUNT_TO_CALLE("SLOW_COUNT_TO_CALLE", Category.CALLER_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getCallee(rule.getCalleeName(), now, ApplicationWindow.SLOW);
+        }
+    },
+
+    SLOW_RATE_TO_CALLE("SLOW_RATE_TO_CALLE", Category.CALLER_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            final String callee = rule.getCalleeName();
+            return ApplicationWindow.calculatePercent(window.getCallee(callee, now, ApplicationWindow.SLOW), window.getCallee(callee, now, ApplicationWindow.TOTAL));
+        }
+    },
+
+    ERROR_COUNT_TO_CALLE("ERROR_COUNT_TO_CALLE", Category.CALLER_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getCallee(rule.getCalleeName(), now, ApplicationWindow.ERROR);
+        }
+    },
+
+    ERROR_RATE_TO_CALLE("ERROR_RATE_TO_CALLE", Category.CALLER_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            final String callee = rule.getCalleeName();
+            return ApplicationWindow.calculatePercent(window.getCallee(callee, now, ApplicationWindow.ERROR), window.getCallee(callee, now, ApplicationWindow.TOTAL));
+        }
+    },
+
+    TOTAL_COUNT_TO_CALLE("TOTAL_COUNT_TO_CALLE", Category.CALLER_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            return window.getCallee(rule.getCalleeName(), now, ApplicationWindow.TOTAL);
+        }
+    },
+
+    HEAP_USAGE_RATE("HEAP_USAGE_RATE", Category.AGENT_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            long max = 0;
+            for (ApplicationWindow.AgentWindow agent : window.getAgentWindows()) {
+                max = Math.max(max, agent.getHeapUsageRate(now));
+            }
+            return max;
+        }
+    },
+
+    JVM_CPU_USAGE_RATE("JVM_CPU_USAGE_RATE", Category.AGENT_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            long max = 0;
+            for (ApplicationWindow.AgentWindow agent : window.getAgentWindows()) {
+                max = Math.max(max, agent.getJvmCpuUsageRate(now));
+            }
+            return max;
+        }
+    },
+
+    GC_COUNT("GC_COUNT", Category.AGENT_STAT) {
+        @Override
+        public long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now) {
+            long max = 0;
+            for (ApplicationWindow.AgentWindow agent : window.getAgentWindows()) {
+                max = Math.max(max, agent.getGcCount(now));
+            }
+            return max;
+        }
+    };
+
+    public enum Category {
+        RESPONSE_TIME, CALLER_STAT, AGENT_STAT
+    }
+
+    private final String name;
+    private final Category category;
+
+    private CheckerCategory(String name, Category category) {
+        this.name = name;
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Category getCategory() {
+        return category;
+    }
+
+    /**
+     * agent checkers report the worst agent, like the web checkers which alarm when any agent crosses the threshold.
+     */
+    public abstract long getDetectedValue(ApplicationWindow window, AlarmRule rule, long now);
+
+    public static CheckerCategory getValue(String name) {
+        for (CheckerCategory category : CheckerCategory.values()) {
+            if (category.getName().equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * @author emeroad
+ */
+public class LoggingAlarmListener implements AlarmListener {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Override
+    public void detected(AlarmRule rule, long value) {
+        logger.warn("[PINPOINT Alarm - {}] {} is {} (Threshold : {})", rule.getApplicationName(), rule.getChecker().getName(), value, rule.getThreshold());
+    }
+
+    @Override
+    public void recovered(AlarmRule rule, long value) {
+        logger.info("[PINPOINT Alarm - {}] {} recovered. value is {} (Threshold : {})", rule.getApplicationName(), rule.getChecker().getName(), value, rule.getThreshold());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import java.util.Arrays;
+
+/**
+ * ring of time buckets holding a few long counters each.
+ * a bucket is reused once its slot falls out of the window, so memory does not grow with traffic.
+ *
+ * @author emeroad
+ */
+public class SlidingWindow {
+
+    private static final long EMPTY_SLOT = -1;
+
+    private final long bucketSize;
+    private final long[] bucketSlot;
+    private final long[][] values;
+
+    public SlidingWindow(long windowSize, long bucketSize, int fieldCount) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("bucketSize must be positive. bucketSize:" + bucketSize);
+        }
+        if (windowSize < bucketSize) {
+            throw new IllegalArgumentException("windowSize must not be less than bucketSize. windowSize:" + windowSize);
+        }
+        if (fieldCount <= 0) {
+            throw new IllegalArgumentException("fieldCount must be positive. fieldCount:" + fieldCount);
+        }
+        this.bucketSize = bucketSize;
+        final int bucketCount = (int) (windowSize / bucketSize);
+        this.bucketSlot = new long[bucketCount];
+        Arrays.fill(this.bucketSlot, EMPTY_SLOT);
+        this.values = new long[bucketCount][fieldCount];
+    }
+
+    public synchronized void add(long time, int field, long value) {
+        final long slot = time / bucketSize;
+        final int index = (int) (slot % bucketSlot.length);
+        final long currentSlot = bucketSlot[index];
+        if (currentSlot != slot) {
+            if (slot < currentSlot) {
+                // too late. the bucket already belongs to a newer slot
+                return;
+            }
+            bucketSlot[index] = slot;
+            Arrays.fill(values[index], 0);
+        }
+        values[index][field] += value;
+    }
+
+    public synchronized long sum(long now, int field) {
+        final long lastSlot = now / bucketSize;
+        final long firstSlot = lastSlot - bucketSlot.length + 1;
+        long sum = 0;
+        for (int i = 0; i < bucketSlot.length; i++) {
+            final long slot = bucketSlot[i];
+            if (slot >= firstSlot && slot <= lastSlot) {
+                sum += values[i][field];
+            }
+        }
+        return sum;
+    }
+
+    public int getBucketCount() {
+        return bucketSlot.length;
+    }
+}
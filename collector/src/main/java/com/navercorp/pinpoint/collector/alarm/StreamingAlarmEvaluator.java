@@ -0,0 +1,283 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.dao.AlarmRuleDao;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.SlotType;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates alarm rules on the statistics stream while the collector receives it, instead of reading them back from hbase.
+ * Only applications which have a rule are aggregated. Every receive method is a no-op when the evaluator is disabled.
+ * <p>
+ * The rules are the alarm_rule rows of the web, reloaded every ruleRefreshInterval.
+ * It is an early warning next to the alarm batch of the web, not a replacement:
+ * <ul>
+ *     <li>The windows are kept per collector. Collectors do not share them, so the values are exact only when every agent of
+ *     an application sends to the same collector. With agents spread over several collectors each collector sees a part of
+ *     the stream, counts and agent checkers are underestimated and rates are computed on a sample.</li>
+ *     <li>Detected alarms go to the {@link AlarmListener} bean if one is registered, the same way the batch uses an
+ *     AlarmMessageSender bean. The rule carries empGroup, smsSend and emailSend for it. Without a bean they are only logged.</li>
+ * </ul>
+ * So it is disabled by default.
+ *
+ * @author emeroad
+ */
+public class StreamingAlarmEvaluator {
+
+    private static final int WINDOW_BUCKET_COUNT = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final boolean enable;
+    private final AlarmRuleDao alarmRuleDao;
+    private final long windowSize;
+    private final long checkInterval;
+    private final long ruleRefreshInterval;
+
+    private volatile Map<String, List<RuleState>> ruleMap = Collections.emptyMap();
+    private final ConcurrentMap<String, ApplicationWindow> windowMap = new ConcurrentHashMap<String, ApplicationWindow>();
+    // agent stat has no application name. learned from the response time of the agent
+    private final ConcurrentMap<String, ApplicationWindow> agentWindowMap = new ConcurrentHashMap<String, ApplicationWindow>();
+
+    private AlarmListener alarmListener = new LoggingAlarmListener();
+
+    private ScheduledExecutorService executor;
+
+    public StreamingAlarmEvaluator(CollectorConfiguration configuration, AlarmRuleDao alarmRuleDao) {
+        if (configuration == null) {
+            throw new NullPointerException("configuration must not be null");
+        }
+        if (alarmRuleDao == null) {
+            throw new NullPointerException("alarmRuleDao must not be null");
+        }
+        this.enable = configuration.isAlarmEnable();
+        this.alarmRuleDao = alarmRuleDao;
+        this.windowSize = configuration.getAlarmWindowSize();
+        this.checkInterval = configuration.getAlarmCheckInterval();
+        this.ruleRefreshInterval = configuration.getAlarmRuleRefreshInterval();
+    }
+
+    StreamingAlarmEvaluator(long windowSize) {
+        this.enable = true;
+        this.alarmRuleDao = null;
+        this.windowSize = windowSize;
+        this.checkInterval = 0;
+        this.ruleRefreshInterval = 0;
+    }
+
+    @Autowired(required = false)
+    public void setAlarmListener(AlarmListener alarmListener) {
+        if (alarmListener == null) {
+            throw new NullPointerException("alarmListener must not be null");
+        }
+        this.alarmListener = alarmListener;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enable) {
+            logger.info("streaming alarm disabled.");
+            return;
+        }
+        if (windowSize <= 0 || checkInterval <= 0 || ruleRefreshInterval <= 0) {
+            throw new IllegalArgumentException("invalid alarm windowSize:" + windowSize + " checkInterval:" + checkInterval + " ruleRefreshInterval:" + ruleRefreshInterval);
+        }
+
+        // rules are reloaded on the evaluation thread, so the rule state is touched by one thread only
+        this.executor = Executors.newSingleThreadScheduledExecutor(new PinpointThreadFactory(this.getClass().getSimpleName(), true));
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    setRuleList(alarmRuleDao.selectRuleList());
+                } catch (Exception e) {
+                    logger.warn("alarm rule load error. keep the previous rules. Caused:{}", e.getMessage(), e);
+                }
+            }
+        }, 0, ruleRefreshInterval, TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    evaluate(System.currentTimeMillis());
+                } catch (Exception e) {
+                    logger.warn("alarm evaluate error. Caused:{}", e.getMessage(), e);
+                }
+            }
+        }, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        logger.info("streaming alarm started. windowSize:{}ms checkInterval:{}ms ruleRefreshInterval:{}ms", windowSize, checkInterval, ruleRefreshInterval);
+    }
+
+    void setRuleList(List<AlarmRule> ruleList) {
+        final long bucketSize = Math.max(1, windowSize / WINDOW_BUCKET_COUNT);
+        // an unchanged rule keeps its state, otherwise every reload would fire the detected alarms again
+        final Map<AlarmRule, RuleState> oldRuleStateMap = new HashMap<AlarmRule, RuleState>();
+        for (List<RuleState> ruleStateList : ruleMap.values()) {
+            for (RuleState ruleState : ruleStateList) {
+                oldRuleStateMap.put(ruleState.rule, ruleState);
+            }
+        }
+        final Map<String, List<RuleState>> newRuleMap = new HashMap<String, List<RuleState>>();
+        for (AlarmRule rule : ruleList) {
+            final String applicationName = rule.getApplicationName();
+            List<RuleState> ruleStateList = newRuleMap.get(applicationName);
+            if (ruleStateList == null) {
+                ruleStateList = new ArrayList<RuleState>();
+                newRuleMap.put(applicationName, ruleStateList);
+            }
+            final RuleState oldRuleState = oldRuleStateMap.get(rule);
+            ruleStateList.add(oldRuleState != null ? oldRuleState : new RuleState(rule));
+            if (!windowMap.containsKey(applicationName)) {
+                windowMap.put(applicationName, new ApplicationWindow(applicationName, windowSize, bucketSize));
+            }
+        }
+        this.ruleMap = newRuleMap;
+        // stop aggregating applications whose rules were removed
+        windowMap.keySet().retainAll(newRuleMap.keySet());
+        agentWindowMap.values().retainAll(windowMap.values());
+        logger.info("alarm rule loaded. application:{} rule:{}", newRuleMap.size(), ruleList.size());
+    }
+
+    public void receiveResponseTime(String applicationName, short serviceType, String agentId, int elapsed, boolean isError) {
+        receiveResponseTime(applicationName, serviceType, agentId, elapsed, isError, 1L);
+    }
+
+    public void receiveResponseTime(String applicationName, short serviceType, String agentId, int elapsed, boolean isError, long count) {
+        if (!enable) {
+            return;
+        }
+        final ApplicationWindow window = windowMap.get(applicationName);
+        if (window == null) {
+            return;
+        }
+        if (agentId != null && !agentWindowMap.containsKey(agentId)) {
+            agentWindowMap.put(agentId, window);
+        }
+        window.addResponse(System.currentTimeMillis(), isSlow(serviceType, elapsed, isError), isError, count);
+    }
+
+    public void receiveCaller(String callerApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError) {
+        receiveCaller(callerApplicationName, calleeServiceType, calleeHost, elapsed, isError, 1L);
+    }
+
+    public void receiveCaller(String callerApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError, long count) {
+        if (!enable) {
+            return;
+        }
+        final ApplicationWindow window = windowMap.get(callerApplicationName);
+        if (window == null) {
+            return;
+        }
+        window.addCallee(calleeHost, System.currentTimeMillis(), isSlow(calleeServiceType, elapsed, isError), isError, count);
+    }
+
+    public void receiveAgentStat(String agentId, TAgentStat agentStat) {
+        if (!enable) {
+            return;
+        }
+        final ApplicationWindow window = agentWindowMap.get(agentId);
+        if (window == null) {
+            return;
+        }
+        final TJvmGc gc = agentStat.getGc();
+        if (gc == null) {
+            return;
+        }
+        final TCpuLoad cpuLoad = agentStat.getCpuLoad();
+        final double jvmCpuLoad = cpuLoad != null ? cpuLoad.getJvmCpuLoad() : 0;
+        window.addAgentStat(agentId, System.currentTimeMillis(), gc.getJvmMemoryHeapUsed(), gc.getJvmMemoryHeapMax(), jvmCpuLoad, gc.getJvmGcOldCount());
+    }
+
+    private boolean isSlow(short serviceType, int elapsed, boolean isError) {
+        if (isError) {
+            // counted in the error slot only, same as the histogram
+            return false;
+        }
+        final SlotType slotType = ServiceType.findServiceType(serviceType).getHistogramSchema().findHistogramSlot(elapsed).getSlotType();
+        return slotType == SlotType.SLOW || slotType == SlotType.VERY_SLOW;
+    }
+
+    void evaluate(long now) {
+        for (Map.Entry<String, List<RuleState>> entry : ruleMap.entrySet()) {
+            final ApplicationWindow window = windowMap.get(entry.getKey());
+            if (window == null) {
+                continue;
+            }
+            for (RuleState ruleState : entry.getValue()) {
+                final AlarmRule rule = ruleState.rule;
+                final long value = rule.getChecker().getDetectedValue(window, rule, now);
+                final boolean detected = value >= rule.getThreshold();
+                if (detected == ruleState.detected) {
+                    continue;
+                }
+                ruleState.detected = detected;
+                if (detected) {
+                    alarmListener.detected(rule, value);
+                } else {
+                    alarmListener.recovered(rule, value);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("streaming alarm stopped.");
+    }
+
+    private static class RuleState {
+        private final AlarmRule rule;
+        // touched by the evaluation thread only
+        private boolean detected;
+
+        private RuleState(AlarmRule rule) {
+            this.rule = rule;
+        }
+    }
+}
@@ -59,6 +59,7 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpStatWorkerThread;
     private int udpStatWorkerQueueSize;
     private int udpStatSocketReceiveBufferSize;
+    private int udpStatChannelCount;
 
 
     private String udpSpanListenIp = DEFAULT_LISTEN_IP;
@@ -67,6 +68,20 @@ public class CollectorConfiguration implements InitializingBean {
     private int udpSpanWorkerThread;
     private int udpSpanWorkerQueueSize;
     private int udpSpanSocketReceiveBufferSize;
+    private int udpSpanChannelCount;
+
+    private boolean stageEnable;
+    private StageConfiguration spanStage;
+    private StageConfiguration spanChunkStage;
+    private StageConfiguration statStage;
+    private StageConfiguration metadataStage;
+
+    private boolean alarmEnable;
+    private int alarmRuleRefreshInterval;
+    private int alarmWindowSize;
+    private int alarmCheckInterval;
+
+    private boolean statisticsLatencyHistogramEnable;
 
     private boolean clusterEnable;
     private String clusterAddress;
@@ -102,6 +117,10 @@ public class CollectorConfiguration implements InitializingBean {
         return udpStatSocketReceiveBufferSize;
     }
 
+    public int getUdpStatChannelCount() {
+        return udpStatChannelCount;
+    }
+
     public String getUdpSpanListenIp() {
         return udpSpanListenIp;
     }
@@ -135,6 +154,62 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanSocketReceiveBufferSize = udpSpanSocketReceiveBufferSize;
     }
 
+    public int getUdpSpanChannelCount() {
+        return udpSpanChannelCount;
+    }
+
+    public void setUdpSpanChannelCount(int udpSpanChannelCount) {
+        this.udpSpanChannelCount = udpSpanChannelCount;
+    }
+
+    public boolean isStageEnable() {
+        return stageEnable;
+    }
+
+    public void setStageEnable(boolean stageEnable) {
+        this.stageEnable = stageEnable;
+    }
+
+    public StageConfiguration getSpanStage() {
+        return spanStage;
+    }
+
+    public StageConfiguration getSpanChunkStage() {
+        return spanChunkStage;
+    }
+
+    public StageConfiguration getStatStage() {
+        return statStage;
+    }
+
+    public StageConfiguration getMetadataStage() {
+        return metadataStage;
+    }
+
+    public boolean isAlarmEnable() {
+        return alarmEnable;
+    }
+
+    public void setAlarmEnable(boolean alarmEnable) {
+        this.alarmEnable = alarmEnable;
+    }
+
+    public int getAlarmRuleRefreshInterval() {
+        return alarmRuleRefreshInterval;
+    }
+
+    public int getAlarmWindowSize() {
+        return alarmWindowSize;
+    }
+
+    public int getAlarmCheckInterval() {
+        return alarmCheckInterval;
+    }
+
+    public boolean isStatisticsLatencyHistogramEnable() {
+        return statisticsLatencyHistogramEnable;
+    }
+
     public boolean isClusterEnable() {
         return clusterEnable;
     }
@@ -197,6 +272,7 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpStatWorkerThread = readInt(properties, "collector.udpStatWorkerThread", 128);
         this.udpStatWorkerQueueSize = readInt(properties, "collector.udpStatWorkerQueueSize", 1024);
         this.udpStatSocketReceiveBufferSize = readInt(properties, "collector.udpStatSocketReceiveBufferSize", 1024 * 4096);
+        this.udpStatChannelCount = readInt(properties, "collector.udpStatChannelCount", 0);
 
 
         this.udpSpanListenIp = readString(properties, "collector.udpSpanListenIp", DEFAULT_LISTEN_IP);
@@ -205,12 +281,34 @@ public class CollectorConfiguration implements InitializingBean {
         this.udpSpanWorkerThread = readInt(properties, "collector.udpSpanWorkerThread", 256);
         this.udpSpanWorkerQueueSize = readInt(properties, "collector.udpSpanWorkerQueueSize", 1024 * 5);
         this.udpSpanSocketReceiveBufferSize = readInt(properties, "collector.udpSpanSocketReceiveBufferSize", 1024 * 4096);
+        this.udpSpanChannelCount = readInt(properties, "collector.udpSpanChannelCount", 0);
         
+        this.stageEnable = readBoolen(properties, "collector.stage.enable");
+        this.spanStage = readStage(properties, "span", 64, 1024 * 5, "DISCARD");
+        this.spanChunkStage = readStage(properties, "spanChunk", 32, 1024 * 2, "DISCARD");
+        this.statStage = readStage(properties, "stat", 16, 1024, "DISCARD");
+        this.metadataStage = readStage(properties, "metadata", 16, 1024, "CALLER_RUNS");
+
+        this.alarmEnable = readBoolen(properties, "collector.alarm.enable");
+        this.alarmRuleRefreshInterval = readInt(properties, "collector.alarm.ruleRefreshInterval", 1000 * 60);
+        this.alarmWindowSize = readInt(properties, "collector.alarm.windowSize", 1000 * 60 * 5);
+        this.alarmCheckInterval = readInt(properties, "collector.alarm.checkInterval", 1000 * 10);
+
+        this.statisticsLatencyHistogramEnable = readBoolen(properties, "statistics.latencyHistogram.enable");
+
         this.clusterEnable = readBoolen(properties, "cluster.enable");
         this.clusterAddress = readString(properties, "cluster.zookeeper.address", "");
         this.clusterSessionTimeout = readInt(properties, "cluster.zookeeper.sessiontimeout", -1);
     }
 
+    private StageConfiguration readStage(Properties properties, String stageName, int defaultThreadSize, int defaultQueueSize, String defaultRejectPolicy) {
+        final String prefix = "collector.stage." + stageName + ".";
+        final int threadSize = readInt(properties, prefix + "thread", defaultThreadSize);
+        final int queueSize = readInt(properties, prefix + "queueSize", defaultQueueSize);
+        final String rejectPolicy = readString(properties, prefix + "rejectPolicy", defaultRejectPolicy);
+        return new StageConfiguration(stageName, threadSize, queueSize, rejectPolicy);
+    }
+
     private String readString(Properties properties, String propertyName, String defaultValue) {
         final String result = properties.getProperty(propertyName, defaultValue);
         if (logger.isInfoEnabled()) {
@@ -252,11 +350,23 @@ public class CollectorConfiguration implements InitializingBean {
         sb.append(", udpStatWorkerThread=").append(udpStatWorkerThread);
         sb.append(", udpStatWorkerQueueSize=").append(udpStatWorkerQueueSize);
         sb.append(", udpStatSocketReceiveBufferSize=").append(udpStatSocketReceiveBufferSize);
+        sb.append(", udpStatChannelCount=").append(udpStatChannelCount);
         sb.append(", udpSpanListenIp='").append(udpSpanListenIp).append('\'');
         sb.append(", udpSpanListenPort=").append(udpSpanListenPort);
         sb.append(", udpSpanWorkerThread=").append(udpSpanWorkerThread);
         sb.append(", udpSpanWorkerQueueSize=").append(udpSpanWorkerQueueSize);
         sb.append(", udpSpanSocketReceiveBufferSize=").append(udpSpanSocketReceiveBufferSize);
+        sb.append(", udpSpanChannelCount=").append(udpSpanChannelCount);
+        sb.append(", stageEnable=").append(stageEnable);
+        sb.append(", spanStage=").append(spanStage);
+        sb.append(", spanChunkStage=").append(spanChunkStage);
+        sb.append(", statStage=").append(statStage);
+        sb.append(", metadataStage=").append(metadataStage);
+        sb.append(", alarmEnable=").append(alarmEnable);
+        sb.append(", alarmRuleRefreshInterval=").append(alarmRuleRefreshInterval);
+        sb.append(", alarmWindowSize=").append(alarmWindowSize);
+        sb.append(", alarmCheckInterval=").append(alarmCheckInterval);
+        sb.append(", statisticsLatencyHistogramEnable=").append(statisticsLatencyHistogramEnable);
         sb.append(", clusterEnable=").append(clusterEnable);
         sb.append(", clusterAddress=").append(clusterAddress);
         sb.append(", clusterSessionTimeout=").append(clusterSessionTimeout);
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.config;
+
+/**
+ * Worker settings of one dispatch stage. (collector.stage.{stageName}.*)
+ * @author emeroad
+ */
+public class StageConfiguration {
+
+    private final String stageName;
+    private final int threadSize;
+    private final int queueSize;
+    private final String rejectPolicy;
+
+    public StageConfiguration(String stageName, int threadSize, int queueSize, String rejectPolicy) {
+        if (stageName == null) {
+            throw new NullPointerException("stageName must not be null");
+        }
+        this.stageName = stageName;
+        this.threadSize = threadSize;
+        this.queueSize = queueSize;
+        this.rejectPolicy = rejectPolicy;
+    }
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public int getThreadSize() {
+        return threadSize;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public String getRejectPolicy() {
+        return rejectPolicy;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("StageConfiguration{");
+        sb.append("stageName='").append(stageName).append('\'');
+        sb.append(", threadSize=").append(threadSize);
+        sb.append(", queueSize=").append(queueSize);
+        sb.append(", rejectPolicy='").append(rejectPolicy).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -21,4 +21,6 @@ package com.navercorp.pinpoint.collector.dao;
  */
 public interface MapResponseTimeDao extends CachedStatisticsDao {
     void received(String applicationName, short serviceType, String agentId, int elapsed, boolean isError);
+
+    void received(String applicationName, short serviceType, String agentId, int elapsed, boolean isError, long count);
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Repository;
+
+import com.navercorp.pinpoint.collector.dao.AgentStatRollupDao;
+import com.navercorp.pinpoint.collector.mapper.thrift.ThriftBoMapper;
+import com.navercorp.pinpoint.common.bo.AgentStatCpuLoadBo;
+import com.navercorp.pinpoint.common.bo.AgentStatMemoryGcBo;
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.util.BytesUtils;
+import com.navercorp.pinpoint.common.util.RowKeyUtils;
+import com.navercorp.pinpoint.common.util.TimeUtils;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+
+/**
+ * Aggregates agent stats into 1 minute and 1 hour buckets in memory and writes a bucket once it is closed.
+ * <p>
+ * Each flush is written to its own qualifier(writer id + sequence) so that partial rollups of the same bucket
+ * (late data, several collectors receiving the same agent) never overwrite each other. Readers merge all the qualifiers of a row.
+ * When the write fails, the rollups are merged back into their buckets and written with the next flush.
+ *
+ * @author emeroad
+ */
+@Repository
+public class HbaseAgentStatRollupDao implements AgentStatRollupDao {
+
+    private static final long DEFAULT_FLUSH_DELAY = AgentStatRollupBo.ONE_MINUTE;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Autowired
+    private HbaseOperations2 hbaseTemplate;
+
+    @Autowired
+    @Qualifier("agentStatMemoryGcBoMapper")
+    private ThriftBoMapper<AgentStatMemoryGcBo, TAgentStat> agentStatMemoryGcBoMapper;
+
+    @Autowired
+    @Qualifier("agentStatCpuLoadBoMapper")
+    private ThriftBoMapper<AgentStatCpuLoadBo, TAgentStat> agentStatCpuLoadBoMapper;
+
+    @Autowired
+    @Qualifier("agentStatRowKeyDistributor")
+    private AbstractRowKeyDistributor rowKeyDistributor;
+
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<BucketKey, Bucket>();
+
+    private final byte[] writerId = Bytes.toBytes(UUID.randomUUID().getMostSignificantBits());
+    private final AtomicLong flushSequence = new AtomicLong();
+
+    private long flushDelay = DEFAULT_FLUSH_DELAY;
+
+    public void setFlushDelay(long flushDelay) {
+        this.flushDelay = flushDelay;
+    }
+
+    @Override
+    public void insert(TAgentStat agentStat) {
+        if (agentStat == null) {
+            throw new NullPointerException("agentStat must not be null");
+        }
+        final AgentStatMemoryGcBo memoryGc = agentStatMemoryGcBoMapper.map(agentStat);
+        final AgentStatCpuLoadBo cpuLoad = agentStatCpuLoadBoMapper.map(agentStat);
+        add(agentStat.getAgentId(), agentStat.getTimestamp(), AgentStatRollupBo.ONE_MINUTE, memoryGc, cpuLoad);
+        add(agentStat.getAgentId(), agentStat.getTimestamp(), AgentStatRollupBo.ONE_HOUR, memoryGc, cpuLoad);
+    }
+
+    private void add(String agentId, long timestamp, long interval, AgentStatMemoryGcBo memoryGc, AgentStatCpuLoadBo cpuLoad) {
+        final BucketKey key = new BucketKey(agentId, AgentStatRollupBo.getBucketTimestamp(timestamp, interval), interval);
+        while (true) {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                final Bucket newBucket = new Bucket(new AgentStatRollupBo(key.agentId, key.timestamp, key.interval));
+                final Bucket old = buckets.putIfAbsent(key, newBucket);
+                bucket = (old != null) ? old : newBucket;
+            }
+            if (bucket.add(memoryGc, cpuLoad)) {
+                return;
+            }
+            // closed by flush. retry with a new bucket
+        }
+    }
+
+    @Override
+    public void flushAll() {
+        flush(System.currentTimeMillis());
+    }
+
+    void flush(long currentTime) {
+        final List<AgentStatRollupBo> rollupList = new ArrayList<AgentStatRollupBo>();
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            final BucketKey key = entry.getKey();
+            if (currentTime < key.timestamp + key.interval + flushDelay) {
+                continue;
+            }
+            final Bucket bucket = entry.getValue();
+            if (!buckets.remove(key, bucket)) {
+                continue;
+            }
+            final AgentStatRollupBo rollup = bucket.close();
+            if (rollup.isEmpty()) {
+                continue;
+            }
+            rollupList.add(rollup);
+        }
+        if (rollupList.isEmpty()) {
+            return;
+        }
+        final List<Put> putList = new ArrayList<Put>(rollupList.size());
+        for (AgentStatRollupBo rollup : rollupList) {
+            putList.add(createPut(rollup));
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush {} Put:{}", this.getClass().getSimpleName(), putList.size());
+        }
+        try {
+            hbaseTemplate.put(AGENT_STAT_ROLLUP, putList);
+        } catch (RuntimeException e) {
+            logger.warn("{} flush failed. restore {} rollups. Caused:{}", this.getClass().getSimpleName(), rollupList.size(), e.getMessage(), e);
+            for (AgentStatRollupBo rollup : rollupList) {
+                restore(rollup);
+            }
+        }
+    }
+
+    private void restore(AgentStatRollupBo rollup) {
+        final BucketKey key = new BucketKey(rollup.getAgentId(), rollup.getTimestamp(), rollup.getInterval());
+        while (true) {
+            final Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                if (buckets.putIfAbsent(key, new Bucket(rollup)) == null) {
+                    return;
+                }
+                continue;
+            }
+            // stats of the same bucket received after the flush
+            if (bucket.merge(rollup)) {
+                return;
+            }
+        }
+    }
+
+    private Put createPut(AgentStatRollupBo rollup) {
+        final byte[] rowKey = getDistributedRowKey(rollup.getAgentId(), rollup.getTimestamp());
+        final byte[] family = (rollup.getInterval() == AgentStatRollupBo.ONE_HOUR) ? AGENT_STAT_ROLLUP_CF_HOUR : AGENT_STAT_ROLLUP_CF_MINUTE;
+        final byte[] qualifier = Bytes.add(writerId, Bytes.toBytes(flushSequence.incrementAndGet()));
+
+        final Put put = new Put(rowKey);
+        put.add(family, qualifier, rollup.getTimestamp(), rollup.writeValue());
+        return put;
+    }
+
+    /**
+     * same row key layout as the AgentStat table
+     */
+    private byte[] getDistributedRowKey(String agentId, long timestamp) {
+        final byte[] bAgentId = BytesUtils.toBytes(agentId);
+        final byte[] key = RowKeyUtils.concatFixedByteAndLong(bAgentId, AGENT_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(timestamp));
+        return rowKeyDistributor.getDistributedKey(key);
+    }
+
+    int getBucketSize() {
+        return buckets.size();
+    }
+
+    private static final class Bucket {
+        private final AgentStatRollupBo rollup;
+        private boolean closed = false;
+
+        private Bucket(AgentStatRollupBo rollup) {
+            this.rollup = rollup;
+        }
+
+        synchronized boolean add(AgentStatMemoryGcBo memoryGc, AgentStatCpuLoadBo cpuLoad) {
+            if (closed) {
+                return false;
+            }
+            rollup.addMemoryGc(memoryGc);
+            rollup.addCpuLoad(cpuLoad);
+            return true;
+        }
+
+        synchronized boolean merge(AgentStatRollupBo other) {
+            if (closed) {
+                return false;
+            }
+            rollup.merge(other);
+            return true;
+        }
+
+        synchronized AgentStatRollupBo close() {
+            closed = true;
+            return rollup;
+        }
+    }
+
+    private static final class BucketKey {
+        private final String agentId;
+        private final long timestamp;
+        private final long interval;
+
+        private BucketKey(String agentId, long timestamp, long interval) {
+            if (agentId == null) {
+                throw new NullPointerException("agentId must not be null");
+            }
+            this.agentId = agentId;
+            this.timestamp = timestamp;
+            this.interval = interval;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            BucketKey that = (BucketKey) o;
+
+            if (interval != that.interval) return false;
+            if (timestamp != that.timestamp) return false;
+            return agentId.equals(that.agentId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = agentId.hashCode();
+            result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+            result = 31 * result + (int) (interval ^ (interval >>> 32));
+            return result;
+        }
+    }
+}
@@ -69,7 +69,7 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
         put.add(APPLICATION_TRACE_INDEX_CF_TRACE, makeQualifier(span) , acceptedTime, value);
 
-        hbaseTemplate.put(APPLICATION_TRACE_INDEX, put);
+        hbaseTemplate.bufferedPut(APPLICATION_TRACE_INDEX, put);
     }
 
     private byte[] makeQualifier(final TSpan span) {
@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.collector.dao.MapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.*;
 import com.navercorp.pinpoint.collector.util.AcceptedTimeService;
 import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
@@ -30,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -61,10 +63,19 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
     @Qualifier("selfMerge")
     private RowKeyMerge rowKeyMerge;
 
+    @Autowired
+    @Qualifier("selfLatencyMerge")
+    private RowKeyMerge latencyRowKeyMerge;
+
+    @Value("#{collectorConfiguration.statisticsLatencyHistogramEnable}")
+    private boolean latencyHistogramEnable;
+
     private final boolean useBulk;
 
     private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<RowInfo>();
 
+    private final ConcurrentCounterMap<RowInfo> latencyCounter = new ConcurrentCounterMap<RowInfo>();
+
     public HbaseMapResponseTimeDao() {
         this(true);
     }
@@ -75,6 +86,15 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
 
     @Override
     public void received(String applicationName, short applicationServiceType, String agentId, int elapsed, boolean isError) {
+        received(applicationName, applicationServiceType, agentId, elapsed, isError, 1L);
+        // only a real elapsed time can be bucketed. counts aggregated by the agent carry a representative time of the slot
+        if (latencyHistogramEnable) {
+            receivedLatency(applicationName, applicationServiceType, agentId, elapsed);
+        }
+    }
+
+    @Override
+    public void received(String applicationName, short applicationServiceType, String agentId, int elapsed, boolean isError, long count) {
         if (applicationName == null) {
             throw new NullPointerException("applicationName must not be null");
         }
@@ -97,12 +117,27 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
         final ColumnName selfColumnName = new ResponseColumnName(agentId, slotNumber);
         if (useBulk) {
             RowInfo rowInfo = new DefaultRowInfo(selfRowKey, selfColumnName);
-            this.counter.increment(rowInfo, 1L);
+            this.counter.increment(rowInfo, count);
         } else {
             final byte[] rowKey = selfRowKey.getRowKey();
             // column name is the name of caller app.
             byte[] columnName = selfColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            increment(rowKey, columnName, count);
+        }
+    }
+
+    private void receivedLatency(String applicationName, short applicationServiceType, String agentId, int elapsed) {
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
+        final RowKey selfRowKey = new CallRowKey(applicationName, applicationServiceType, rowTimeSlot);
+
+        final short bucketIndex = (short) LatencyHistogram.getBucketIndex(elapsed);
+        final ColumnName latencyColumnName = new ResponseColumnName(agentId, bucketIndex);
+        if (useBulk) {
+            RowInfo rowInfo = new DefaultRowInfo(selfRowKey, latencyColumnName);
+            this.latencyCounter.increment(rowInfo, 1L);
+        } else {
+            hbaseTemplate.incrementColumnValue(MAP_STATISTICS_SELF, selfRowKey.getRowKey(), MAP_STATISTICS_SELF_CF_LATENCY, latencyColumnName.getColumnName(), 1L);
         }
     }
 
@@ -133,5 +168,15 @@ public class HbaseMapResponseTimeDao implements MapResponseTimeDao {
             hbaseTemplate.increment(MAP_STATISTICS_SELF, merge);
         }
 
+        if (latencyHistogramEnable) {
+            Map<RowInfo,ConcurrentCounterMap.LongAdder> removeLatency = this.latencyCounter.remove();
+            List<Increment> mergeLatency = latencyRowKeyMerge.createBulkIncrement(removeLatency);
+            if (!mergeLatency.isEmpty()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} latency Increment:{}", this.getClass().getSimpleName(), mergeLatency.size());
+                }
+                hbaseTemplate.increment(MAP_STATISTICS_SELF, mergeLatency);
+            }
+        }
     }
 }
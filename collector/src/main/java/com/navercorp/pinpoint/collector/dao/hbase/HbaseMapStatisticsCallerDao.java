@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.collector.dao.hbase.statistics.*;
 import com.navercorp.pinpoint.collector.util.AcceptedTimeService;
 import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
@@ -33,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -59,13 +61,22 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
     @Qualifier("callerMerge")
     private RowKeyMerge rowKeyMerge;
 
+    @Autowired
+    @Qualifier("callerLatencyMerge")
+    private RowKeyMerge latencyRowKeyMerge;
+
     @Autowired
     private TimeSlot timeSlot;
 
+    @Value("#{collectorConfiguration.statisticsLatencyHistogramEnable}")
+    private boolean latencyHistogramEnable;
+
     private final boolean useBulk;
 
     private final ConcurrentCounterMap<RowInfo> counter = new ConcurrentCounterMap<RowInfo>();
 
+    private final ConcurrentCounterMap<RowInfo> latencyCounter = new ConcurrentCounterMap<RowInfo>();
+
     public HbaseMapStatisticsCallerDao() {
         this(true);
     }
@@ -76,6 +87,15 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
 
     @Override
     public void update(String callerApplicationName, short callerServiceType, String callerAgentid, String calleeApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError) {
+        update(callerApplicationName, callerServiceType, callerAgentid, calleeApplicationName, calleeServiceType, calleeHost, elapsed, isError, 1L);
+        // only a real elapsed time can be bucketed. counts aggregated by the agent carry a representative time of the slot
+        if (latencyHistogramEnable) {
+            updateLatency(callerApplicationName, callerServiceType, callerAgentid, calleeApplicationName, calleeServiceType, calleeHost, elapsed);
+        }
+    }
+
+    @Override
+    public void update(String callerApplicationName, short callerServiceType, String callerAgentid, String calleeApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError, long count) {
         if (callerApplicationName == null) {
             throw new NullPointerException("callerApplicationName must not be null");
         }
@@ -101,12 +121,29 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         final ColumnName calleeColumnName = new CalleeColumnName(callerAgentid, calleeServiceType, calleeApplicationName, calleeHost, calleeSlotNumber);
         if (useBulk) {
             RowInfo rowInfo = new DefaultRowInfo(callerRowKey, calleeColumnName);
-            this.counter.increment(rowInfo, 1L);
+            this.counter.increment(rowInfo, count);
         } else {
             final byte[] rowKey = callerRowKey.getRowKey();
             // column name is the name of caller app.
             byte[] columnName = calleeColumnName.getColumnName();
-            increment(rowKey, columnName, 1L);
+            increment(rowKey, columnName, count);
+        }
+    }
+
+    private void updateLatency(String callerApplicationName, short callerServiceType, String callerAgentid, String calleeApplicationName, short calleeServiceType, String calleeHost, int elapsed) {
+        calleeHost = StringUtils.defaultString(calleeHost);
+
+        final long acceptedTime = acceptedTimeService.getAcceptedTime();
+        final long rowTimeSlot = timeSlot.getTimeSlot(acceptedTime);
+        final RowKey callerRowKey = new CallRowKey(callerApplicationName, callerServiceType, rowTimeSlot);
+
+        final short bucketIndex = (short) LatencyHistogram.getBucketIndex(elapsed);
+        final ColumnName latencyColumnName = new CalleeColumnName(callerAgentid, calleeServiceType, calleeApplicationName, calleeHost, bucketIndex);
+        if (useBulk) {
+            RowInfo rowInfo = new DefaultRowInfo(callerRowKey, latencyColumnName);
+            this.latencyCounter.increment(rowInfo, 1L);
+        } else {
+            hbaseTemplate.incrementColumnValue(MAP_STATISTICS_CALLEE, callerRowKey.getRowKey(), MAP_STATISTICS_CALLEE_CF_LATENCY, latencyColumnName.getColumnName(), 1L);
         }
     }
 
@@ -136,5 +173,15 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
             hbaseTemplate.increment(MAP_STATISTICS_CALLEE, merge);
         }
 
+        if (latencyHistogramEnable) {
+            Map<RowInfo,ConcurrentCounterMap.LongAdder> removeLatency = this.latencyCounter.remove();
+            List<Increment> mergeLatency = latencyRowKeyMerge.createBulkIncrement(removeLatency);
+            if (!mergeLatency.isEmpty()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("flush {} latency Increment:{}", this.getClass().getSimpleName(), mergeLatency.size());
+                }
+                hbaseTemplate.increment(MAP_STATISTICS_CALLEE, mergeLatency);
+            }
+        }
     }
 }
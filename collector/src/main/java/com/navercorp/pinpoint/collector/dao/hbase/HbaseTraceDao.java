@@ -92,7 +92,7 @@ public class HbaseTraceDao implements TracesDao {
 
         addNestedSpanEvent(put, span);
 
-        hbaseTemplate.put(TRACES, put);
+        hbaseTemplate.bufferedPut(TRACES, put);
 
     }
 
@@ -132,7 +132,7 @@ public class HbaseTraceDao implements TracesDao {
 
             put.add(TRACES_CF_TERMINALSPAN, rowId, acceptedTime, value);
         }
-        hbaseTemplate.put(TRACES, put);
+        hbaseTemplate.bufferedPut(TRACES, put);
 
     }
 
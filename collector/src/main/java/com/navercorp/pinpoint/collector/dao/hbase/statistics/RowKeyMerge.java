@@ -43,44 +43,41 @@ public class RowKeyMerge {
             return Collections.emptyList();
         }
 
-        final Map<RowKey, List<ColumnName>> rowkeyMerge = rowKeyBaseMerge(data);
+        final Map<RowKey, Map<ColumnName, Long>> rowkeyMerge = rowKeyBaseMerge(data);
 
         List<Increment> incrementList = new ArrayList<Increment>();
-        for (Map.Entry<RowKey, List<ColumnName>> rowKeyEntry : rowkeyMerge.entrySet()) {
+        for (Map.Entry<RowKey, Map<ColumnName, Long>> rowKeyEntry : rowkeyMerge.entrySet()) {
             Increment increment = createIncrement(rowKeyEntry);
             incrementList.add(increment);
         }
         return incrementList;
     }
 
-    private Increment createIncrement(Map.Entry<RowKey, List<ColumnName>> rowKeyEntry) {
+    private Increment createIncrement(Map.Entry<RowKey, Map<ColumnName, Long>> rowKeyEntry) {
         RowKey rowKey = rowKeyEntry.getKey();
         final Increment increment = new Increment(rowKey.getRowKey());
-        for(ColumnName columnName : rowKeyEntry.getValue()) {
-            increment.addColumn(family, columnName.getColumnName(), columnName.getCallCount());
+        for (Map.Entry<ColumnName, Long> columnEntry : rowKeyEntry.getValue().entrySet()) {
+            increment.addColumn(family, columnEntry.getKey().getColumnName(), columnEntry.getValue());
         }
         logger.trace("create increment row:{}, column:{}", rowKey, rowKeyEntry.getValue());
         return increment;
     }
 
-    private Map<RowKey, List<ColumnName>> rowKeyBaseMerge(Map<RowInfo, ConcurrentCounterMap.LongAdder> data) {
-        final Map<RowKey, List<ColumnName>> merge =  new HashMap<RowKey, List<ColumnName>>();
+    private Map<RowKey, Map<ColumnName, Long>> rowKeyBaseMerge(Map<RowInfo, ConcurrentCounterMap.LongAdder> data) {
+        final Map<RowKey, Map<ColumnName, Long>> merge =  new HashMap<RowKey, Map<ColumnName, Long>>();
 
         for (Map.Entry<RowInfo, ConcurrentCounterMap.LongAdder> entry : data.entrySet()) {
             final RowInfo rowInfo = entry.getKey();
-            // write callCount to columnName and throw away
+            // keys are reused by ConcurrentCounterMap. keep callCount out of the key
             long callCount = entry.getValue().get();
-            rowInfo.getColumnName().setCallCount(callCount);
 
             RowKey rowKey = rowInfo.getRowKey();
-            List<ColumnName> oldList = merge.get(rowKey);
-            if (oldList == null) {
-                List<ColumnName> newList = new ArrayList<ColumnName>();
-                newList.add(rowInfo.getColumnName());
-                merge.put(rowKey, newList);
-            } else {
-                oldList.add(rowInfo.getColumnName());
+            Map<ColumnName, Long> columnMap = merge.get(rowKey);
+            if (columnMap == null) {
+                columnMap = new HashMap<ColumnName, Long>();
+                merge.put(rowKey, columnMap);
             }
+            columnMap.put(rowInfo.getColumnName(), callCount);
         }
         return merge;
     }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.mysql;
+
+import com.navercorp.pinpoint.collector.alarm.AlarmRule;
+import com.navercorp.pinpoint.collector.alarm.CheckerCategory;
+import com.navercorp.pinpoint.collector.dao.AlarmRuleDao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * reads the alarm_rule table written by the web. see AlarmMapper.xml of the web.
+ *
+ * @author emeroad
+ */
+public class MySqlAlarmRuleDao implements AlarmRuleDao {
+
+    private static final String SELECT_RULES = "SELECT application_id, checker_name, threshold, emp_group, sms_send, email_send, notes FROM alarm_rule";
+
+    private static final Logger logger = LoggerFactory.getLogger(MySqlAlarmRuleDao.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MySqlAlarmRuleDao(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new NullPointerException("dataSource must not be null");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<AlarmRule> selectRuleList() {
+        final List<AlarmRule> ruleList = new ArrayList<AlarmRule>();
+        jdbcTemplate.query(SELECT_RULES, new RowCallbackHandler() {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                final AlarmRule rule = createRule(rs.getString("application_id"), rs.getString("checker_name"), rs.getInt("threshold"),
+                        rs.getString("notes"), rs.getString("emp_group"), rs.getBoolean("sms_send"), rs.getBoolean("email_send"));
+                if (rule != null) {
+                    ruleList.add(rule);
+                }
+            }
+        });
+        return ruleList;
+    }
+
+    static AlarmRule createRule(String applicationId, String checkerName, int threshold, String notes, String empGroup, boolean smsSend, boolean emailSend) {
+        final CheckerCategory checker = CheckerCategory.getValue(checkerName);
+        if (checker == null) {
+            logger.warn("unknown checker. skip alarm rule. applicationId:{} checkerName:{}", applicationId, checkerName);
+            return null;
+        }
+        if (checker.getCategory() == CheckerCategory.Category.CALLER_STAT && notes == null) {
+            logger.warn("callee name(notes) not found. skip alarm rule. applicationId:{} checkerName:{}", applicationId, checkerName);
+            return null;
+        }
+        final String calleeName = checker.getCategory() == CheckerCategory.Category.CALLER_STAT ? notes : null;
+        return new AlarmRule(applicationId, checker, threshold, calleeName, empGroup, smsSend, emailSend);
+    }
+}
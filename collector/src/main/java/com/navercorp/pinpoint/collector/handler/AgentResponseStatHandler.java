@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import java.util.List;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TAgentResponseStat;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+
+/**
+ * Writes the server map statistics from the response histograms aggregated by the agent.
+ * An agent sending its response stat marks each of its spans and span chunks with statisticsReported,
+ * so {@link SpanHandler} and {@link SpanChunkHandler} do not count them again.
+ * The handover is declared by the agent on every message and no collector keeps state about it.
+ * The response stat and the spans of an agent may therefore reach different collectors.
+ *
+ * @author emeroad
+ */
+@Service("agentResponseStatHandler")
+public class AgentResponseStatHandler implements Handler {
+
+    private static final int FAST = 0;
+    private static final int NORMAL = 1;
+    private static final int SLOW = 2;
+    private static final int VERY_SLOW = 3;
+    private static final int ERROR = 4;
+    private static final int SLOT_COUNT = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(AgentResponseStatHandler.class.getName());
+
+    @Autowired
+    private StatisticsHandler statisticsHandler;
+
+    @Override
+    public void handle(TBase<?, ?> tbase, byte[] packet, int offset, int length) {
+        if (!(tbase instanceof TAgentResponseStat)) {
+            throw new IllegalArgumentException("unexpected tbase:" + tbase + " expected:" + TAgentResponseStat.class.getName());
+        }
+        try {
+            final TAgentResponseStat responseStat = (TAgentResponseStat) tbase;
+            if (logger.isDebugEnabled()) {
+                logger.debug("Received AgentResponseStat={}", responseStat);
+            }
+            handleResponseStat(responseStat);
+        } catch (Exception e) {
+            logger.warn("AgentResponseStat handle error. Caused:{}", e.getMessage(), e);
+        }
+    }
+
+    private void handleResponseStat(TAgentResponseStat responseStat) {
+        final String applicationName = responseStat.getApplicationName();
+        final short serviceType = responseStat.getServiceType();
+        final String agentId = responseStat.getAgentId();
+
+        // same rows as SpanHandler.insertSpanStat() and insertSpanEventStat()
+        if (responseStat.isSetResponse()) {
+            final TResponseHistogram response = responseStat.getResponse();
+            final HistogramSchema schema = getHistogramSchema(response);
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                final long count = getCount(response, slot);
+                if (count != 0) {
+                    statisticsHandler.updateResponseTime(applicationName, serviceType, agentId, getElapsed(schema, slot), slot == ERROR, count);
+                }
+            }
+        }
+        if (responseStat.isSetUserAccept()) {
+            final TResponseHistogram userAccept = responseStat.getUserAccept();
+            final HistogramSchema schema = getHistogramSchema(userAccept);
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                final long count = getCount(userAccept, slot);
+                if (count != 0) {
+                    final int elapsed = getElapsed(schema, slot);
+                    final boolean isError = slot == ERROR;
+                    statisticsHandler.updateCaller(applicationName, ServiceType.USER.getCode(), agentId, applicationName, serviceType, agentId, elapsed, isError, count);
+                    statisticsHandler.updateCallee(applicationName, serviceType, applicationName, ServiceType.USER.getCode(), agentId, elapsed, isError, count);
+                }
+            }
+        }
+        final List<TResponseHistogram> acceptList = responseStat.getAccept();
+        if (acceptList != null) {
+            for (TResponseHistogram accept : acceptList) {
+                final HistogramSchema schema = getHistogramSchema(accept);
+                for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                    final long count = getCount(accept, slot);
+                    if (count != 0) {
+                        statisticsHandler.updateCallee(applicationName, serviceType, accept.getName(), accept.getServiceType(), agentId, getElapsed(schema, slot), slot == ERROR, count);
+                    }
+                }
+            }
+        }
+        final List<TResponseHistogram> rpcList = responseStat.getRpc();
+        if (rpcList != null) {
+            for (TResponseHistogram rpc : rpcList) {
+                final HistogramSchema schema = getHistogramSchema(rpc);
+                for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                    final long count = getCount(rpc, slot);
+                    if (count != 0) {
+                        final int elapsed = getElapsed(schema, slot);
+                        final boolean isError = slot == ERROR;
+                        statisticsHandler.updateCaller(applicationName, serviceType, agentId, rpc.getName(), rpc.getServiceType(), rpc.getHost(), elapsed, isError, count);
+                        // the agent has no single endpoint. agentId as the caller host, same as the accept histograms
+                        statisticsHandler.updateCallee(rpc.getName(), rpc.getServiceType(), applicationName, serviceType, agentId, elapsed, isError, count);
+                    }
+                }
+            }
+        }
+    }
+
+    private HistogramSchema getHistogramSchema(TResponseHistogram histogram) {
+        return ServiceType.findServiceType(histogram.getServiceType()).getHistogramSchema();
+    }
+
+    private long getCount(TResponseHistogram histogram, int slot) {
+        switch (slot) {
+            case FAST:
+                return histogram.getFastCount();
+            case NORMAL:
+                return histogram.getNormalCount();
+            case SLOW:
+                return histogram.getSlowCount();
+            case VERY_SLOW:
+                return histogram.getVerySlowCount();
+            case ERROR:
+                return histogram.getErrorCount();
+            default:
+                throw new IllegalArgumentException("unknown slot:" + slot);
+        }
+    }
+
+    /**
+     * @return an elapsed time falling into the slot of the schema the agent counted with
+     */
+    private int getElapsed(HistogramSchema schema, int slot) {
+        switch (slot) {
+            case FAST:
+                return schema.getFastSlot().getSlotTime();
+            case NORMAL:
+                return schema.getNormalSlot().getSlotTime();
+            case SLOW:
+                return schema.getSlowSlot().getSlotTime();
+            case VERY_SLOW:
+                return schema.getSlowSlot().getSlotTime() + 1;
+            case ERROR:
+                return HistogramSchema.ERROR_SLOT_TIME;
+            default:
+                throw new IllegalArgumentException("unknown slot:" + slot);
+        }
+    }
+}
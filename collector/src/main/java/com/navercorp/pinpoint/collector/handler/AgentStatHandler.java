@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.collector.handler;
 
+import com.navercorp.pinpoint.collector.alarm.StreamingAlarmEvaluator;
 import com.navercorp.pinpoint.collector.dao.AgentStatDao;
+import com.navercorp.pinpoint.collector.dao.AgentStatRollupDao;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 
@@ -38,6 +40,12 @@ public class AgentStatHandler implements Handler {
     @Autowired
     private AgentStatDao agentStatDao;
 
+    @Autowired
+    private AgentStatRollupDao agentStatRollupDao;
+
+    @Autowired(required = false)
+    private StreamingAlarmEvaluator streamingAlarmEvaluator;
+
     public void handle(TBase<?, ?> tbase, byte[] packet, int offset, int length) {
         // FIXME (2014.08) Legacy - TAgentStats should not be sent over the wire.
         if (tbase instanceof TAgentStat) {
@@ -57,6 +65,10 @@ public class AgentStatHandler implements Handler {
             agentStat.setAgentId(agentId);
             agentStat.setStartTimestamp(startTimestamp);
             agentStatDao.insert(agentStat);
+            agentStatRollupDao.insert(agentStat);
+            if (streamingAlarmEvaluator != null) {
+                streamingAlarmEvaluator.receiveAgentStat(agentId, agentStat);
+            }
         } catch (Exception e) {
             logger.warn("AgentStat handle error. Caused:{}", e.getMessage());
         }
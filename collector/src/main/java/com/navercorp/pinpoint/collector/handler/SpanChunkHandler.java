@@ -61,6 +61,11 @@ public class SpanChunkHandler implements SimpleHandler {
 
             traceDao.insertSpanChunk(spanChunk);
 
+            // already counted by the response stat of the agent
+            if (spanChunk.isStatisticsReported()) {
+                return;
+            }
+
             List<TSpanEvent> spanEventList = spanChunk.getSpanEventList();
             if (spanEventList != null) {
                 logger.debug("SpanChunk Size:{}", spanEventList.size());
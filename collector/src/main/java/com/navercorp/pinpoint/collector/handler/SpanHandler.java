@@ -72,8 +72,11 @@ public class SpanHandler implements SimpleHandler {
 
             // insert statistics info for server map
             insertAcceptorHost(span);
-            insertSpanStat(span);
-            insertSpanEventStat(span);
+            // already counted by the response stat of the agent
+            if (!span.isStatisticsReported()) {
+                insertSpanStat(span);
+                insertSpanEventStat(span);
+            }
         } catch (Exception e) {
             logger.warn("Span handle error. Caused:{}. Span:{}",e.getMessage(), tbase, e);
         }
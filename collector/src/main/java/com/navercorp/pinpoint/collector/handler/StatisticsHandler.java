@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.handler;
 
+import com.navercorp.pinpoint.collector.alarm.StreamingAlarmEvaluator;
 import com.navercorp.pinpoint.collector.dao.MapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.MapStatisticsCallerDao;
@@ -40,6 +41,9 @@ public class StatisticsHandler {
     @Autowired
     private MapResponseTimeDao mapResponseTimeDao;
 
+    @Autowired(required = false)
+    private StreamingAlarmEvaluator streamingAlarmEvaluator;
+
     /**
      * Calling MySQL from Tomcat generates the following message for the caller(Tomcat) :<br/>
      * emeroad-app (TOMCAT) -> MySQL_DB_ID (MYSQL)[10.25.141.69:3306] <br/>
@@ -55,7 +59,17 @@ public class StatisticsHandler {
      * @param isError
      */
     public void updateCaller(String callerApplicationName, short callerServiceType, String callerAgentId, String calleeApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError) {
-        mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, elapsed, isError);
+        updateCaller(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, elapsed, isError, 1L);
+    }
+
+    /**
+     * @param count number of calls in the histogram slot of elapsed
+     */
+    public void updateCaller(String callerApplicationName, short callerServiceType, String callerAgentId, String calleeApplicationName, short calleeServiceType, String calleeHost, int elapsed, boolean isError, long count) {
+        mapStatisticsCallerDao.update(callerApplicationName, callerServiceType, callerAgentId, calleeApplicationName, calleeServiceType, calleeHost, elapsed, isError, count);
+        if (streamingAlarmEvaluator != null) {
+            streamingAlarmEvaluator.receiveCaller(callerApplicationName, calleeServiceType, calleeHost, elapsed, isError, count);
+        }
     }
 
     /**
@@ -73,10 +87,21 @@ public class StatisticsHandler {
      * @param isError
      */
     public void updateCallee(String calleeApplicationName, short calleeServiceType, String callerApplicationName, short callerServiceType, String callerHost, int elapsed, boolean isError) {
-        mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError);
+        updateCallee(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError, 1L);
+    }
+
+    public void updateCallee(String calleeApplicationName, short calleeServiceType, String callerApplicationName, short callerServiceType, String callerHost, int elapsed, boolean isError, long count) {
+        mapStatisticsCalleeDao.update(calleeApplicationName, calleeServiceType, callerApplicationName, callerServiceType, callerHost, elapsed, isError, count);
     }
 
     public void updateResponseTime(String applicationName, short serviceType, String agentId, int elapsed, boolean isError) {
-        mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError);
+        updateResponseTime(applicationName, serviceType, agentId, elapsed, isError, 1L);
+    }
+
+    public void updateResponseTime(String applicationName, short serviceType, String agentId, int elapsed, boolean isError, long count) {
+        mapResponseTimeDao.received(applicationName, serviceType, agentId, elapsed, isError, count);
+        if (streamingAlarmEvaluator != null) {
+            streamingAlarmEvaluator.receiveResponseTime(applicationName, serviceType, agentId, elapsed, isError, count);
+        }
     }
 }
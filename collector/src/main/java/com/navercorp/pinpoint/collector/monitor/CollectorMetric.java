@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.monitor;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.JvmAttributeGaugeSet;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.ScheduledReporter;
@@ -23,6 +24,8 @@ import com.codahale.metrics.Slf4jReporter;
 import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
 import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
 import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
+import com.navercorp.pinpoint.common.hbase.BufferedPutWriter;
+import com.navercorp.pinpoint.common.hbase.HbaseTemplate2;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +48,9 @@ public class CollectorMetric {
     @Autowired
     private MetricRegistry metricRegistry;
 
+    @Autowired(required = false)
+    private HbaseTemplate2 hbaseTemplate;
+
     private ScheduledReporter reporter;
 
 
@@ -60,6 +66,49 @@ public class CollectorMetric {
         metricRegistry.register("jvm.vm", new JvmAttributeGaugeSet());
         metricRegistry.register("jvm.garbage-collectors", new GarbageCollectorMetricSet());
         metricRegistry.register("jvm.thread-states", new ThreadStatesGaugeSet());
+
+        if (hbaseTemplate != null && hbaseTemplate.getBufferedPutWriter() != null) {
+            registerBufferedPutWriter(hbaseTemplate.getBufferedPutWriter());
+        }
+    }
+
+    private void registerBufferedPutWriter(final BufferedPutWriter writer) {
+        metricRegistry.register("hbase.bufferedPut.queue", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return writer.getQueueSize();
+            }
+        });
+        metricRegistry.register("hbase.bufferedPut.buffered", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return writer.getBufferedCount();
+            }
+        });
+        metricRegistry.register("hbase.bufferedPut.direct", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return writer.getDirectCount();
+            }
+        });
+        metricRegistry.register("hbase.bufferedPut.written", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return writer.getWrittenCount();
+            }
+        });
+        metricRegistry.register("hbase.bufferedPut.batch", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return writer.getBatchCount();
+            }
+        });
+        metricRegistry.register("hbase.bufferedPut.failed", new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return writer.getFailedCount();
+            }
+        });
     }
 
 
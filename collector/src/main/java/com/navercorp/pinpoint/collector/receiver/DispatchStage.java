@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded worker pool that runs the handlers of one message type.
+ * @author emeroad
+ */
+public class DispatchStage {
+
+    public enum RejectPolicy {
+        /**
+         * drop the message and count it.
+         */
+        DISCARD,
+        /**
+         * run the message on the thread that decoded it, which slows down the receiver.
+         */
+        CALLER_RUNS
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final String stageName;
+    private final RejectPolicy rejectPolicy;
+    private final ThreadPoolExecutor worker;
+
+    private final AtomicInteger rejectedExecutionCount = new AtomicInteger(0);
+    private Counter rejectedCounter;
+
+    public DispatchStage(String stageName, int threadSize, int queueSize, RejectPolicy rejectPolicy) {
+        if (stageName == null) {
+            throw new NullPointerException("stageName must not be null");
+        }
+        if (rejectPolicy == null) {
+            throw new NullPointerException("rejectPolicy must not be null");
+        }
+        this.stageName = stageName;
+        this.rejectPolicy = rejectPolicy;
+        this.worker = ExecutorFactory.newFixedThreadPool(threadSize, queueSize, stageName + "-Worker", true);
+    }
+
+    public void registerMetric(MetricRegistry metricRegistry) {
+        if (metricRegistry == null) {
+            throw new NullPointerException("metricRegistry must not be null");
+        }
+        this.rejectedCounter = metricRegistry.counter(stageName + "-rejected");
+        metricRegistry.register(stageName + "-queue", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return worker.getQueue().size();
+            }
+        });
+        metricRegistry.register(stageName + "-active", new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return worker.getActiveCount();
+            }
+        });
+    }
+
+    public void execute(Runnable job) {
+        try {
+            worker.execute(job);
+        } catch (RejectedExecutionException ree) {
+            if (rejectedCounter != null) {
+                rejectedCounter.inc();
+            }
+            final int error = rejectedExecutionCount.incrementAndGet();
+            if ((error % 100) == 0) {
+                logger.warn("{} RejectedExecutionCount={}", stageName, error);
+            }
+            if (rejectPolicy == RejectPolicy.CALLER_RUNS && !worker.isShutdown()) {
+                job.run();
+            }
+        }
+    }
+
+    public String getStageName() {
+        return stageName;
+    }
+
+    public RejectPolicy getRejectPolicy() {
+        return rejectPolicy;
+    }
+
+    public int getQueueSize() {
+        return worker.getQueue().size();
+    }
+
+    public int getRejectedExecutionCount() {
+        return rejectedExecutionCount.get();
+    }
+
+    public void shutdown() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(1000 * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.info("{}.shutdown() Interrupted", stageName, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+import com.codahale.metrics.MetricRegistry;
+import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
+import com.navercorp.pinpoint.collector.config.StageConfiguration;
+import com.navercorp.pinpoint.thrift.dto.*;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Hands decoded messages over to the stage of their type, so a slow table only fills its own queue.
+ * The receiver threads are the decode stage. Messages run inline when staging is disabled.
+ *
+ * @author emeroad
+ */
+public class DispatchStageRouter {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final CollectorConfiguration configuration;
+
+    @Autowired
+    private MetricRegistry metricRegistry;
+
+    private DispatchStage spanStage;
+    private DispatchStage spanChunkStage;
+    private DispatchStage statStage;
+    private DispatchStage metadataStage;
+
+    public DispatchStageRouter(CollectorConfiguration configuration) {
+        if (configuration == null) {
+            throw new NullPointerException("configuration must not be null");
+        }
+        this.configuration = configuration;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!configuration.isStageEnable()) {
+            logger.info("dispatch stage disabled.");
+            return;
+        }
+        this.spanStage = createStage(configuration.getSpanStage());
+        this.spanChunkStage = createStage(configuration.getSpanChunkStage());
+        this.statStage = createStage(configuration.getStatStage());
+        this.metadataStage = createStage(configuration.getMetadataStage());
+    }
+
+    private DispatchStage createStage(StageConfiguration stageConfiguration) {
+        if (stageConfiguration == null) {
+            return null;
+        }
+        final DispatchStage.RejectPolicy rejectPolicy = DispatchStage.RejectPolicy.valueOf(stageConfiguration.getRejectPolicy().toUpperCase());
+        final String stageName = "Pinpoint-Stage-" + stageConfiguration.getStageName();
+        final DispatchStage stage = new DispatchStage(stageName, stageConfiguration.getThreadSize(), stageConfiguration.getQueueSize(), rejectPolicy);
+        if (metricRegistry != null) {
+            stage.registerMetric(metricRegistry);
+        }
+        logger.info("{} started. {}", stageName, stageConfiguration);
+        return stage;
+    }
+
+    public void execute(TBase<?, ?> tBase, Runnable job) {
+        final DispatchStage stage = getStage(tBase);
+        if (stage == null) {
+            job.run();
+            return;
+        }
+        stage.execute(job);
+    }
+
+    DispatchStage getStage(TBase<?, ?> tBase) {
+        if (tBase instanceof TSpan) {
+            return spanStage;
+        }
+        if (tBase instanceof TSpanChunk) {
+            return spanChunkStage;
+        }
+        if (tBase instanceof TAgentStat || tBase instanceof TAgentStatBatch || tBase instanceof TAgentResponseStat) {
+            return statStage;
+        }
+        if (tBase instanceof TAgentInfo || tBase instanceof TSqlMetaData || tBase instanceof TApiMetaData || tBase instanceof TStringMetaData) {
+            return metadataStage;
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdownStage(spanStage);
+        shutdownStage(spanChunkStage);
+        shutdownStage(statStage);
+        shutdownStage(metadataStage);
+    }
+
+    private void shutdownStage(DispatchStage stage) {
+        if (stage != null) {
+            stage.shutdown();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs an already decoded send message on a dispatch stage.
+ * @author emeroad
+ */
+public class SendMessageDispatch implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SendMessageDispatch.class);
+
+    private final DispatchHandler dispatchHandler;
+    private final TBase<?, ?> tBase;
+    private final byte[] packet;
+    private final int offset;
+    private final int length;
+
+    public SendMessageDispatch(DispatchHandler dispatchHandler, TBase<?, ?> tBase, byte[] packet, int offset, int length) {
+        if (dispatchHandler == null) {
+            throw new NullPointerException("dispatchHandler must not be null");
+        }
+        if (tBase == null) {
+            throw new NullPointerException("tBase must not be null");
+        }
+        this.dispatchHandler = dispatchHandler;
+        this.tBase = tBase;
+        this.packet = packet;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public void run() {
+        try {
+            dispatchHandler.dispatchSendMessage(tBase, packet, offset, length);
+        } catch (Exception e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Unexpected error. Cause:{} tBase:{}", e.getMessage(), tBase, e);
+            }
+        }
+    }
+}
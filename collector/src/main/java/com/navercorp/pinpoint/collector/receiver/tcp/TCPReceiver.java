@@ -35,10 +35,13 @@ import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
 import com.navercorp.pinpoint.collector.cluster.zookeeper.ZookeeperClusterService;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.collector.receiver.DispatchStageRouter;
+import com.navercorp.pinpoint.collector.receiver.SendMessageDispatch;
 import com.navercorp.pinpoint.collector.util.PacketUtils;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
@@ -84,6 +87,9 @@ public class TCPReceiver {
 
     private final ThreadPoolExecutor worker = ExecutorFactory.newFixedThreadPool(threadSize, workerQueueSize, THREAD_FACTORY);
 
+    @Autowired(required = false)
+    private DispatchStageRouter dispatchStageRouter;
+
     private final SerializerFactory<HeaderTBaseSerializer> serializerFactory = new ThreadLocalHeaderTBaseSerializerFactory<HeaderTBaseSerializer>(new HeaderTBaseSerializerFactory(true, HeaderTBaseSerializerFactory.DEFAULT_UDP_STREAM_MAX_SIZE));
 
     private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<HeaderTBaseDeserializer>(new HeaderTBaseDeserializerFactory());
@@ -213,7 +219,12 @@ public class TCPReceiver {
         public void run() {
             try {
                 TBase<?, ?> tBase = SerializationUtils.deserialize(bytes, deserializerFactory);
-                dispatchHandler.dispatchSendMessage(tBase, bytes, Header.HEADER_SIZE, bytes.length);
+                final DispatchStageRouter dispatchStageRouter = TCPReceiver.this.dispatchStageRouter;
+                if (dispatchStageRouter == null) {
+                    dispatchHandler.dispatchSendMessage(tBase, bytes, Header.HEADER_SIZE, bytes.length);
+                } else {
+                    dispatchStageRouter.execute(tBase, new SendMessageDispatch(dispatchHandler, tBase, bytes, Header.HEADER_SIZE, bytes.length));
+                }
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", remoteAddress, e.getMessage(), e);
@@ -260,10 +271,17 @@ public class TCPReceiver {
                     }
                     return;
                 }
-                TBase result = dispatchHandler.dispatchRequestMessage(tBase, bytes, Header.HEADER_SIZE, bytes.length);
-                if (result != null) {
-                    byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
-                    pinpointServer.response(requestPacket, resultBytes);
+                final DispatchStageRouter dispatchStageRouter = TCPReceiver.this.dispatchStageRouter;
+                if (dispatchStageRouter == null) {
+                    handleRequest(tBase);
+                } else {
+                    final TBase<?, ?> decoded = tBase;
+                    dispatchStageRouter.execute(tBase, new Runnable() {
+                        @Override
+                        public void run() {
+                            handleRequest(decoded);
+                        }
+                    });
                 }
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
@@ -282,6 +300,24 @@ public class TCPReceiver {
                 }
             }
         }
+
+        private void handleRequest(TBase<?, ?> tBase) {
+            final byte[] bytes = requestPacket.getPayload();
+            try {
+                TBase result = dispatchHandler.dispatchRequestMessage(tBase, bytes, Header.HEADER_SIZE, bytes.length);
+                if (result != null) {
+                    byte[] resultBytes = SerializationUtils.serialize(result, serializerFactory);
+                    pinpointServer.response(requestPacket, resultBytes);
+                }
+            } catch (Exception e) {
+                if (logger.isWarnEnabled()) {
+                    logger.warn("Unexpected error. SendSocketAddress:{} Cause:{}", pinpointServer.getRemoteAddress(), e.getMessage(), e);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("packet dump hex:{}", PacketUtils.dumpByteArray(bytes));
+                }
+            }
+        }
     }
 
     @PreDestroy
@@ -21,13 +21,18 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.navercorp.pinpoint.collector.receiver.DataReceiver;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
+import com.navercorp.pinpoint.collector.receiver.DispatchStage;
+import com.navercorp.pinpoint.collector.receiver.DispatchStageRouter;
+import com.navercorp.pinpoint.collector.receiver.SendMessageDispatch;
 import com.navercorp.pinpoint.collector.util.DatagramPacketFactory;
 import com.navercorp.pinpoint.collector.util.ObjectPool;
 import com.navercorp.pinpoint.collector.util.PacketUtils;
 import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.rpc.util.CpuUtils;
+import com.navercorp.pinpoint.thrift.io.Header;
 
+import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +43,9 @@ import javax.annotation.PreDestroy;
 
 import java.io.IOException;
 import java.net.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -81,8 +89,16 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
 
     private volatile DatagramSocket socket = null;
 
+    // 0 : one blocking socket shared by the io threads. packets are decoded on the worker pool.
+    // n : n channels bound with SO_REUSEPORT, each read by its own thread that decodes inline.
+    private int channelCount = 0;
+    private DatagramChannel[] channels;
+
     private DispatchHandler dispatchHandler;
 
+    @Autowired(required = false)
+    private DispatchStageRouter dispatchStageRouter;
+
 
     private AtomicInteger rejectedExecutionCount = new AtomicInteger(0);
 
@@ -115,11 +131,17 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
         Assert.notNull(dispatchHandler, "dispatchHandler must not be null");
         Assert.notNull(metricRegistry, "metricRegistry must not be null");
 
-        this.socket = createSocket(bindAddress, port, receiverBufferSize);
+        if (channelCount > 0) {
+            this.channels = createChannels(bindAddress, port, receiverBufferSize, channelCount);
+            // used to answer network availability check packets
+            this.socket = channels[0].socket();
+        } else {
+            this.socket = createSocket(bindAddress, port, receiverBufferSize);
 
-        final int packetPoolSize = getPacketPoolSize(workerThreadSize, workerThreadQueueSize);
-        this.datagramPacketPool = new ObjectPool<DatagramPacket>(new DatagramPacketFactory(), packetPoolSize);
-        this.worker = ExecutorFactory.newFixedThreadPool(workerThreadSize, workerThreadQueueSize, receiverName + "-Worker", true);
+            final int packetPoolSize = getPacketPoolSize(workerThreadSize, workerThreadQueueSize);
+            this.datagramPacketPool = new ObjectPool<DatagramPacket>(new DatagramPacketFactory(), packetPoolSize);
+            this.worker = ExecutorFactory.newFixedThreadPool(workerThreadSize, workerThreadQueueSize, receiverName + "-Worker", true);
+        }
 
         this.timer = metricRegistry.timer(receiverName + "-timer");
         this.rejectedCounter = metricRegistry.counter(receiverName + "-rejected");
@@ -165,6 +187,50 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
         }
     }
 
+    private void receive(DatagramChannel channel) {
+        if (logger.isInfoEnabled()) {
+            logger.info("start channel reader localAddress:{}, IoThread:{}", channel.socket().getLocalSocketAddress(), Thread.currentThread().getName());
+        }
+        final boolean debugEnabled = logger.isDebugEnabled();
+        // a heap buffer is enough here. the channel reads through a per thread cached direct buffer.
+        final byte[] bytes = new byte[DatagramPacketFactory.ACCEPTED_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final DatagramPacket packet = new DatagramPacket(bytes, bytes.length);
+
+        while (state.get()) {
+            buffer.clear();
+            final SocketAddress remoteAddress;
+            try {
+                remoteAddress = channel.receive(buffer);
+            } catch (ClosedChannelException e) {
+                // shutdown
+                break;
+            } catch (IOException e) {
+                if (state.get()) {
+                    logger.error("IoError, Caused:{}", e.getMessage(), e);
+                }
+                continue;
+            }
+            if (remoteAddress == null) {
+                continue;
+            }
+            final int length = buffer.position();
+            if (length == 0) {
+                if (debugEnabled) {
+                    logger.debug("length is 0 address:{}", remoteAddress);
+                }
+                continue;
+            }
+            packet.setData(bytes, 0, length);
+            packet.setSocketAddress(remoteAddress);
+            // decode on the reader thread. no handoff, no packet pool.
+            getPacketDispatcher(this, packet).run();
+        }
+        if (logger.isInfoEnabled()) {
+            logger.info("stop channel reader IoThread:{}", Thread.currentThread().getName());
+        }
+    }
+
     private DatagramPacket read0() {
         boolean success = false;
         DatagramPacket packet = datagramPacketPool.getObject();
@@ -220,6 +286,69 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
         }
     }
 
+    private DatagramChannel[] createChannels(String bindAddress, int port, int receiveBufferSize, int channelCount) {
+        if (channelCount > 1 && !ReusePortSupport.isSupported()) {
+            logger.warn("SO_REUSEPORT not supported. {} use 1 channel instead of {}", receiverName, channelCount);
+            channelCount = 1;
+        }
+        final DatagramChannel[] channels = new DatagramChannel[channelCount];
+        boolean success = false;
+        try {
+            for (int i = 0; i < channelCount; i++) {
+                channels[i] = createChannel(bindAddress, port, receiveBufferSize, channelCount > 1);
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                closeChannels(channels);
+            }
+        }
+        return channels;
+    }
+
+    private DatagramChannel createChannel(String bindAddress, int port, int receiveBufferSize, boolean reusePort) {
+        DatagramChannel channel = null;
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(true);
+            final DatagramSocket so = channel.socket();
+            so.setReceiveBufferSize(receiveBufferSize);
+            if (logger.isWarnEnabled()) {
+                final int checkReceiveBufferSize = so.getReceiveBufferSize();
+                if (receiveBufferSize != checkReceiveBufferSize) {
+                    logger.warn("DatagramChannel.setReceiveBufferSize() error. {}!={}", receiveBufferSize, checkReceiveBufferSize);
+                }
+            }
+            if (reusePort && !ReusePortSupport.enable(channel)) {
+                throw new IllegalStateException("SO_REUSEPORT set fail");
+            }
+            so.bind(new InetSocketAddress(bindAddress, port));
+            return channel;
+        } catch (Exception ex) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                    // skip
+                }
+            }
+            throw new RuntimeException("Channel create Fail. port:" + port + " Caused:" + ex.getMessage(), ex);
+        }
+    }
+
+    private void closeChannels(DatagramChannel[] channels) {
+        for (DatagramChannel channel : channels) {
+            if (channel == null) {
+                continue;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("DatagramChannel.close() error Caused:{}", e.getMessage(), e);
+            }
+        }
+    }
+
     private int getPacketPoolSize(int workerThreadSize, int workerThreadQueueSize) {
         return workerThreadSize + workerThreadQueueSize + ioThreadSize;
     }
@@ -233,6 +362,19 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
             throw new RuntimeException("socket create fail");
         }
 
+        if (channels != null) {
+            logger.info("UDP Channel reader:{} started.", channels.length);
+            for (final DatagramChannel channel : channels) {
+                io.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        receive(channel);
+                    }
+                });
+            }
+            return;
+        }
+
         logger.info("UDP Packet reader:{} started.", ioThreadSize);
         for (int i = 0; i < ioThreadSize; i++) {
             io.execute(new Runnable() {
@@ -250,13 +392,21 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
     public void shutdown() {
         logger.info("{} shutdown.", this.receiverName);
         state.set(false);
-        // is it okay to just close here?
-        socket.close();
+        if (channels != null) {
+            // wakes up the readers blocked in receive()
+            closeChannels(channels);
+        } else {
+            // is it okay to just close here?
+            socket.close();
+        }
         shutdownExecutor(io, "IoExecutor");
         shutdownExecutor(worker, "WorkerExecutor");
     }
 
     private void shutdownExecutor(ExecutorService executor, String executorName) {
+        if (executor == null) {
+            return;
+        }
         executor.shutdown();
         try {
             executor.awaitTermination(1000*10, TimeUnit.MILLISECONDS);
@@ -270,6 +420,37 @@ public abstract class AbstractUDPReceiver implements DataReceiver {
         return timer;
     }
 
+    void dispatch(TBase<?, ?> tBase, DatagramPacket packet) {
+        final DispatchStageRouter dispatchStageRouter = this.dispatchStageRouter;
+        final DispatchStage stage = (dispatchStageRouter == null) ? null : dispatchStageRouter.getStage(tBase);
+        if (stage == null) {
+            dispatchHandler.dispatchSendMessage(tBase, packet.getData(), Header.HEADER_SIZE, packet.getLength());
+            return;
+        }
+        // the packet is reused once decoding is done. a staged handler gets only the decoded tBase.
+        stage.execute(new SendMessageDispatch(dispatchHandler, tBase, null, 0, 0));
+    }
+
+    public void setDispatchStageRouter(DispatchStageRouter dispatchStageRouter) {
+        this.dispatchStageRouter = dispatchStageRouter;
+    }
+
+    void releasePacket(DatagramPacket packet) {
+        final ObjectPool<DatagramPacket> datagramPacketPool = this.datagramPacketPool;
+        // channel readers own their packet
+        if (datagramPacketPool != null) {
+            datagramPacketPool.returnObject(packet);
+        }
+    }
+
+    public int getChannelCount() {
+        return channelCount;
+    }
+
+    public void setChannelCount(int channelCount) {
+        this.channelCount = channelCount;
+    }
+
     public DispatchHandler getDispatchHandler() {
         return dispatchHandler;
     }
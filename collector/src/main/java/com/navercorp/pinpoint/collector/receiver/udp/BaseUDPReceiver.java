@@ -79,7 +79,7 @@ public class BaseUDPReceiver extends AbstractUDPReceiver {
                     return;
                 }
                 // dispatch signifies business logic execution
-                receiver.getDispatchHandler().dispatchSendMessage(tBase, packet.getData(), Header.HEADER_SIZE, packet.getLength());
+                receiver.dispatch(tBase, packet);
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
                     logger.warn("packet serialize error. SendSocketAddress:{} Cause:{}", packet.getSocketAddress(), e.getMessage(), e);
@@ -96,7 +96,7 @@ public class BaseUDPReceiver extends AbstractUDPReceiver {
                     logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
                 }
             } finally {
-                receiver.getDatagramPacketPool().returnObject(packet);
+                receiver.releasePacket(packet);
                 // what should we do when an exception is thrown?
                 time.stop();
             }
@@ -87,7 +87,7 @@ public class ChunkedUDPReceiver extends AbstractUDPReceiver {
                         continue;
                     }
                     // dispatch signifies business logic execution
-                    receiver.getDispatchHandler().dispatchSendMessage(tBase, packet.getData(), Header.HEADER_SIZE, packet.getLength());
+                    receiver.dispatch(tBase, packet);
                 }
             } catch (TException e) {
                 if (logger.isWarnEnabled()) {
@@ -104,7 +104,7 @@ public class ChunkedUDPReceiver extends AbstractUDPReceiver {
                     logger.debug("packet dump hex:{}", PacketUtils.dumpDatagramPacket(packet));
                 }
             } finally {
-                receiver.getDatagramPacketPool().returnObject(packet);
+                receiver.releasePacket(packet);
                 time.stop();
             }
         }
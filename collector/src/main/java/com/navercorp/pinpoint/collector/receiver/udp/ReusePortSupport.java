@@ -0,0 +1,77 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.udp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * SO_REUSEPORT for DatagramChannel.
+ * The option is only available from java 9 (StandardSocketOptions.SO_REUSEPORT), so it is looked up by reflection.
+ * @author emeroad
+ */
+final class ReusePortSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReusePortSupport.class);
+
+    private static final Object SO_REUSEPORT;
+    private static final Method SET_OPTION;
+
+    static {
+        Object option = null;
+        Method setOption = null;
+        try {
+            final Class<?> standardSocketOptions = Class.forName("java.net.StandardSocketOptions");
+            option = standardSocketOptions.getField("SO_REUSEPORT").get(null);
+            final Class<?> socketOption = Class.forName("java.net.SocketOption");
+            setOption = DatagramChannel.class.getMethod("setOption", socketOption, Object.class);
+        } catch (Exception e) {
+            logger.info("SO_REUSEPORT not supported. Caused:{}", e.getMessage());
+            option = null;
+            setOption = null;
+        }
+        SO_REUSEPORT = option;
+        SET_OPTION = setOption;
+    }
+
+    private ReusePortSupport() {
+    }
+
+    static boolean isSupported() {
+        return SO_REUSEPORT != null && SET_OPTION != null;
+    }
+
+    /**
+     * @return false if the option could not be set. must be called before bind.
+     */
+    static boolean enable(DatagramChannel channel) {
+        if (!isSupported()) {
+            return false;
+        }
+        try {
+            SET_OPTION.invoke(channel, SO_REUSEPORT, Boolean.TRUE);
+            return true;
+        } catch (Exception e) {
+            // UnsupportedOperationException on platforms without SO_REUSEPORT
+            logger.warn("SO_REUSEPORT set fail. Caused:{}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -16,21 +16,28 @@
 
 package com.navercorp.pinpoint.collector.util;
 
-import com.navercorp.pinpoint.common.util.MathUtils;
-
-import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
+ * Counter map for hot statistics paths.
+ * <p>
+ * Each key is stored once(interned) with a counter striped by the calling thread,
+ * so increment() neither locks nor allocates once the key is known.
+ * remove() drains every counter: an increment is counted by exactly one remove().
+ *
  * @author emeroad
  */
 public class ConcurrentCounterMap<T> {
 
-    private final int concurrencyLevel;
+    private final int stripeMask;
 
-    private final AtomicInteger entrySelector;
+    private final int stripeSeed;
 
-    private final Entry<T>[] entryArray;
+    private final ConcurrentMap<T, Counter> counterMap;
 
     public ConcurrentCounterMap() {
         this(16);
@@ -40,62 +47,75 @@ public class ConcurrentCounterMap<T> {
         this(concurrencyLevel, 0);
     }
 
-    public ConcurrentCounterMap(int concurrencyLevel, int entrySelectorId) {
-        this.concurrencyLevel = concurrencyLevel;
-        this.entryArray = createEntry();
-        this.entrySelector = new AtomicInteger(entrySelectorId);
+    public ConcurrentCounterMap(int concurrencyLevel, int stripeSeed) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive. concurrencyLevel:" + concurrencyLevel);
+        }
+        this.stripeMask = stripeSize(concurrencyLevel) - 1;
+        this.stripeSeed = stripeSeed;
+        this.counterMap = new ConcurrentHashMap<T, Counter>(256, 0.75f, concurrencyLevel);
     }
 
-    private Entry<T>[] createEntry() {
-        final int concurrencyLevel = this.concurrencyLevel;
-
-        final Entry<T>[] entry = new Entry[concurrencyLevel];
-        for (int i = 0; i < entry.length; i++) {
-            entry[i] = new Entry<T>();
+    private static int stripeSize(int concurrencyLevel) {
+        int size = 1;
+        while (size < concurrencyLevel) {
+            size <<= 1;
         }
-        return entry;
+        return size;
     }
 
-    private Entry<T> getEntry() {
-        final int selectKey = MathUtils.fastAbs(entrySelector.getAndIncrement());
-        final int mod = selectKey % concurrencyLevel;
-        return entryArray[mod];
+    private int getStripe() {
+        // thread affinity : the same thread always hits the same cell
+        final long threadId = Thread.currentThread().getId();
+        final int hash = (int) (threadId ^ (threadId >>> 32)) + stripeSeed;
+        return (hash ^ (hash >>> 16)) & stripeMask;
     }
 
-    public void increment(T key, Long increment) {
-        Entry<T> entry = getEntry();
-        entry.increment(key, increment);
+    public void increment(T key, long increment) {
+        if (key == null) {
+            throw new NullPointerException("key must not be null");
+        }
+        final int stripe = getStripe();
+        Counter counter = counterMap.get(key);
+        while (true) {
+            if (counter == null) {
+                final Counter newCounter = new Counter(stripeMask + 1);
+                final Counter old = counterMap.putIfAbsent(key, newCounter);
+                counter = (old != null) ? old : newCounter;
+            }
+            increment = counter.add(stripe, increment);
+            if (increment == 0) {
+                return;
+            }
+            // counter retired by remove(). move the remainder to a new counter
+            counterMap.remove(key, counter);
+            counter = null;
+        }
     }
 
     public Map<T, LongAdder> remove() {
-        // make a copy of the current snapshot of the entries for consistency
-        final List<Map<T, LongAdder>> copy = removeAll();
-
-        // merge
-        final Map<T, LongAdder> mergeMap = new HashMap<T, LongAdder>();
-        for (Map<T, LongAdder> mutableLongMap : copy) {
-            for (Map.Entry<T, LongAdder> entry : mutableLongMap.entrySet()) {
-                final T key = entry.getKey();
-                LongAdder longAdder = mergeMap.get(key);
-                if (longAdder == null) {
-                    mergeMap.put(key, entry.getValue());
-                } else {
-                    longAdder.increment(entry.getValue().get());
+        final Map<T, LongAdder> snapshot = new HashMap<T, LongAdder>();
+        for (Map.Entry<T, Counter> entry : counterMap.entrySet()) {
+            final T key = entry.getKey();
+            final Counter counter = entry.getValue();
+            long value = counter.drain();
+            if (value == 0) {
+                // idle during a whole flush interval. evict so that expired keys(time slots) do not pile up
+                counter.retire();
+                counterMap.remove(key, counter);
+                // catch increments that raced with retire()
+                value = counter.drain();
+                if (value == 0) {
+                    continue;
                 }
             }
+            snapshot.put(key, new LongAdder(value));
         }
-        return mergeMap;
+        return snapshot;
     }
 
-    private List<Map<T, LongAdder>> removeAll() {
-        final List<Map<T, LongAdder>> copy = new ArrayList<Map<T, LongAdder>>(entryArray.length);
-        final int entryArrayLength = entryArray.length;
-        for (int i = 0; i < entryArrayLength; i++ ) {
-            Entry<T> tEntry = entryArray[i];
-            Map<T, LongAdder> remove = tEntry.remove();
-            copy.add(remove);
-        }
-        return copy;
+    int size() {
+        return counterMap.size();
     }
 
 
@@ -115,31 +135,39 @@ public class ConcurrentCounterMap<T> {
         }
     }
 
-    private static class Entry<T> {
-        private static final Map EMPTY = Collections.emptyMap();
+    private static final class Counter {
+        private final AtomicLongArray cells;
 
+        private volatile boolean retired = false;
 
-        private Map<T, LongAdder> map = new HashMap<T, LongAdder>();
+        private Counter(int stripeSize) {
+            this.cells = new AtomicLongArray(stripeSize);
+        }
 
-        public synchronized void increment(T key, Long increment) {
-            LongAdder longAdder = map.get(key);
-            if (longAdder == null) {
-                map.put(key, new LongAdder(increment));
-            } else {
-                longAdder.increment(increment);
+        /**
+         * @return the amount that still has to be counted elsewhere. 0 if counted.
+         */
+        private long add(int stripe, long increment) {
+            cells.getAndAdd(stripe, increment);
+            if (!retired) {
+                // retire() happens after this add. the next drain() will see it
+                return 0;
             }
+            // the last drain() may have missed the add. take back whatever is left in the cell
+            return cells.getAndSet(stripe, 0);
         }
 
-        public Map<T, LongAdder> remove() {
-            Map<T, LongAdder> old;
-            synchronized (this) {
-                old = this.map;
-                if (old.isEmpty()) {
-                    return EMPTY;
-                }
-                this.map = new HashMap<T, LongAdder>();
+        private long drain() {
+            long sum = 0;
+            final int length = cells.length();
+            for (int i = 0; i < length; i++) {
+                sum += cells.getAndSet(i, 0);
             }
-            return old;
+            return sum;
+        }
+
+        private void retire() {
+            this.retired = true;
         }
     }
 }
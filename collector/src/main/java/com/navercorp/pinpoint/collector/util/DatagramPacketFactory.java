@@ -23,16 +23,16 @@ import java.net.DatagramPacket;
  */
 public class DatagramPacketFactory implements ObjectPoolFactory<DatagramPacket> {
 
-    private static final int AcceptedSize = 65507;
+    public static final int ACCEPTED_SIZE = 65507;
 
     @Override
     public DatagramPacket create() {
-        byte[] bytes = new byte[AcceptedSize];
+        byte[] bytes = new byte[ACCEPTED_SIZE];
         return new DatagramPacket(bytes, 0, bytes.length);
     }
 
     @Override
     public void beforeReturn(DatagramPacket packet) {
-        packet.setLength(AcceptedSize);
+        packet.setLength(ACCEPTED_SIZE);
     }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import com.navercorp.pinpoint.common.ServiceType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author emeroad
+ */
+public class StreamingAlarmEvaluatorTest {
+
+    @Test
+    public void slidingWindow() {
+        SlidingWindow window = new SlidingWindow(1000, 100, 1);
+        Assert.assertEquals(10, window.getBucketCount());
+
+        window.add(0, 0, 1);
+        window.add(550, 0, 2);
+        window.add(999, 0, 3);
+        Assert.assertEquals(6, window.sum(999, 0));
+
+        // first bucket is out of the window
+        Assert.assertEquals(5, window.sum(1000, 0));
+        window.add(1000, 0, 4);
+        Assert.assertEquals(9, window.sum(1000, 0));
+
+        // older than the reused bucket
+        window.add(0, 0, 100);
+        Assert.assertEquals(9, window.sum(1000, 0));
+
+        Assert.assertEquals(0, window.sum(5000, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calleeRequired() {
+        new AlarmRule("app", CheckerCategory.TOTAL_COUNT_TO_CALLE, 1, null);
+    }
+
+    @Test
+    public void detectAndRecover() {
+        StreamingAlarmEvaluator evaluator = new StreamingAlarmEvaluator(1000 * 60 * 5);
+        RecordingListener listener = new RecordingListener();
+        evaluator.setAlarmListener(listener);
+        evaluator.setRuleList(Arrays.asList(
+                new AlarmRule("app", CheckerCategory.ERROR_COUNT, 2, null),
+                new AlarmRule("app", CheckerCategory.SLOW_RATE, 30, null)));
+
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        evaluator.receiveResponseTime("app", serviceType, "agent", 10, true);
+        evaluator.receiveResponseTime("app", serviceType, "agent", 100000, false);
+        // no rule
+        evaluator.receiveResponseTime("other", serviceType, "agent2", 10, true);
+
+        final long now = System.currentTimeMillis();
+        evaluator.evaluate(now);
+        Assert.assertEquals("[SLOW_RATE:50]", listener.detected.toString());
+
+        evaluator.receiveResponseTime("app", serviceType, "agent", 10, true);
+        evaluator.evaluate(now);
+        Assert.assertEquals("[SLOW_RATE:50, ERROR_COUNT:2]", listener.detected.toString());
+
+        // same state. no event
+        evaluator.evaluate(now);
+        Assert.assertEquals(2, listener.detected.size());
+
+        // window passed
+        evaluator.evaluate(now + 1000 * 60 * 10);
+        Assert.assertEquals("[ERROR_COUNT:0, SLOW_RATE:0]", listener.recovered.toString());
+    }
+
+    @Test
+    public void reloadKeepsRuleState() {
+        StreamingAlarmEvaluator evaluator = new StreamingAlarmEvaluator(1000 * 60 * 5);
+        RecordingListener listener = new RecordingListener();
+        evaluator.setAlarmListener(listener);
+        evaluator.setRuleList(Arrays.asList(new AlarmRule("app", CheckerCategory.ERROR_COUNT, 1, null)));
+
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        evaluator.receiveResponseTime("app", serviceType, "agent", 10, true);
+        final long now = System.currentTimeMillis();
+        evaluator.evaluate(now);
+        Assert.assertEquals("[ERROR_COUNT:1]", listener.detected.toString());
+
+        // same rule reloaded. already detected, no event
+        evaluator.setRuleList(Arrays.asList(new AlarmRule("app", CheckerCategory.ERROR_COUNT, 1, null)));
+        evaluator.evaluate(now);
+        Assert.assertEquals(1, listener.detected.size());
+
+        // rule removed. the application is not aggregated any more
+        evaluator.setRuleList(new ArrayList<AlarmRule>());
+        evaluator.receiveResponseTime("app", serviceType, "agent", 10, true);
+        evaluator.setRuleList(Arrays.asList(new AlarmRule("app", CheckerCategory.ERROR_COUNT, 1, null)));
+        evaluator.evaluate(now);
+        Assert.assertEquals(1, listener.detected.size());
+    }
+
+    private static class RecordingListener implements AlarmListener {
+        private final List<String> detected = new ArrayList<String>();
+        private final List<String> recovered = new ArrayList<String>();
+
+        @Override
+        public void detected(AlarmRule rule, long value) {
+            detected.add(rule.getChecker().getName() + ":" + value);
+        }
+
+        @Override
+        public void recovered(AlarmRule rule, long value) {
+            recovered.add(rule.getChecker().getName() + ":" + value);
+        }
+    }
+}
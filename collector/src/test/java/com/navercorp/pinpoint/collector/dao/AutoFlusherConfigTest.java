@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+
+import com.navercorp.pinpoint.collector.dao.hbase.HbaseAgentStatRollupDao;
+
+/**
+ * every CachedStatisticsDao of the collector context has to be flushed by daoAutoFlusher.
+ * reads the bean definitions only. no bean is created.
+ *
+ * @author emeroad
+ */
+public class AutoFlusherConfigTest {
+
+    @Test
+    public void everyCachedStatisticsDaoIsFlushed() throws Exception {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        new XmlBeanDefinitionReader(beanFactory).loadBeanDefinitions("classpath:applicationContext-collector.xml");
+
+        final Set<String> flushedBeanNames = getFlushedBeanNames(beanFactory.getBeanDefinition("daoAutoFlusher"));
+        assertTrue(flushedBeanNames.contains("hbaseAgentStatRollupDao"));
+        assertEquals(HbaseAgentStatRollupDao.class.getName(), beanFactory.getBeanDefinition("hbaseAgentStatRollupDao").getBeanClassName());
+
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            final String beanClassName = beanFactory.getBeanDefinition(beanName).getBeanClassName();
+            if (beanClassName == null) {
+                continue;
+            }
+            final Class<?> beanClass = Class.forName(beanClassName, false, getClass().getClassLoader());
+            if (CachedStatisticsDao.class.isAssignableFrom(beanClass)) {
+                assertTrue(beanName + " is not flushed by daoAutoFlusher", flushedBeanNames.contains(beanName));
+            }
+        }
+    }
+
+    private Set<String> getFlushedBeanNames(BeanDefinition autoFlusher) {
+        final PropertyValue propertyValue = autoFlusher.getPropertyValues().getPropertyValue("cachedStatisticsDaoList");
+        assertNotNull(propertyValue);
+        final Set<String> beanNames = new HashSet<String>();
+        for (Object ref : (List<?>) propertyValue.getValue()) {
+            beanNames.add(((RuntimeBeanReference) ref).getBeanName());
+        }
+        return beanNames;
+    }
+}
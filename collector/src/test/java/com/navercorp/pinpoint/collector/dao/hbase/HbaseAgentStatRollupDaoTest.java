@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.navercorp.pinpoint.collector.mapper.thrift.AgentStatCpuLoadBoMapper;
+import com.navercorp.pinpoint.collector.mapper.thrift.AgentStatMemoryGcBoMapper;
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.distributor.RangeOneByteSimpleHash;
+import com.navercorp.pinpoint.thrift.dto.TAgentStat;
+import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
+import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+
+/**
+ * @author emeroad
+ */
+public class HbaseAgentStatRollupDaoTest {
+
+    private static final long TIMESTAMP = AgentStatRollupBo.getBucketTimestamp(System.currentTimeMillis(), AgentStatRollupBo.ONE_HOUR);
+    // every minute and hour bucket of TIMESTAMP is closed
+    private static final long FLUSH_TIME = TIMESTAMP + AgentStatRollupBo.ONE_HOUR * 3;
+
+    private HbaseOperations2 hbaseTemplate;
+    private HbaseAgentStatRollupDao rollupDao;
+
+    @Before
+    public void setUp() throws Exception {
+        hbaseTemplate = mock(HbaseOperations2.class);
+        rollupDao = new HbaseAgentStatRollupDao();
+        ReflectionTestUtils.setField(rollupDao, "hbaseTemplate", hbaseTemplate);
+        ReflectionTestUtils.setField(rollupDao, "agentStatMemoryGcBoMapper", new AgentStatMemoryGcBoMapper());
+        ReflectionTestUtils.setField(rollupDao, "agentStatCpuLoadBoMapper", new AgentStatCpuLoadBoMapper());
+        ReflectionTestUtils.setField(rollupDao, "rowKeyDistributor", new RowKeyDistributorByHashPrefix(new RangeOneByteSimpleHash(0, 24, 32)));
+    }
+
+    @Test
+    public void flush() {
+        rollupDao.insert(createAgentStat(TIMESTAMP));
+        rollupDao.insert(createAgentStat(TIMESTAMP + 1000));
+        // minute + hour
+        assertEquals(2, rollupDao.getBucketSize());
+
+        // open buckets are kept
+        rollupDao.flush(TIMESTAMP);
+        verify(hbaseTemplate, never()).put(anyString(), anyListOf(Put.class));
+        assertEquals(2, rollupDao.getBucketSize());
+
+        rollupDao.flush(FLUSH_TIME);
+        assertEquals(2, capturePutList().size());
+        assertEquals(0, rollupDao.getBucketSize());
+    }
+
+    @Test
+    public void restoreWhenPutFails() {
+        doThrow(new RuntimeException("test")).when(hbaseTemplate).put(anyString(), anyListOf(Put.class));
+        rollupDao.insert(createAgentStat(TIMESTAMP));
+
+        rollupDao.flush(FLUSH_TIME);
+        // the rollups are not lost
+        assertEquals(2, rollupDao.getBucketSize());
+
+        // late stat of the same minute is merged with the restored rollup
+        rollupDao.insert(createAgentStat(TIMESTAMP + 1000));
+        assertEquals(2, rollupDao.getBucketSize());
+
+        reset(hbaseTemplate);
+        rollupDao.flush(FLUSH_TIME);
+        assertEquals(2, capturePutList().size());
+        assertEquals(0, rollupDao.getBucketSize());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Put> capturePutList() {
+        ArgumentCaptor<List> putList = ArgumentCaptor.forClass(List.class);
+        verify(hbaseTemplate).put(eq(HBaseTables.AGENT_STAT_ROLLUP), putList.capture());
+        return putList.getValue();
+    }
+
+    private TAgentStat createAgentStat(long timestamp) {
+        final TAgentStat agentStat = new TAgentStat();
+        agentStat.setAgentId("agentId");
+        agentStat.setStartTimestamp(timestamp);
+        agentStat.setTimestamp(timestamp);
+        final TJvmGc gc = new TJvmGc();
+        gc.setJvmMemoryHeapUsed(100);
+        gc.setJvmMemoryHeapMax(1000);
+        agentStat.setGc(gc);
+        final TCpuLoad cpuLoad = new TCpuLoad();
+        cpuLoad.setJvmCpuLoad(0.5);
+        cpuLoad.setSystemCpuLoad(0.7);
+        agentStat.setCpuLoad(cpuLoad);
+        return agentStat;
+    }
+}
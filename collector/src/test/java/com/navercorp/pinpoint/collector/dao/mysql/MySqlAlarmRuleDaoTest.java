@@ -0,0 +1,53 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.mysql;
+
+import com.navercorp.pinpoint.collector.alarm.AlarmRule;
+import com.navercorp.pinpoint.collector.alarm.CheckerCategory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class MySqlAlarmRuleDaoTest {
+
+    @Test
+    public void createRule() {
+        AlarmRule rule = MySqlAlarmRuleDao.createRule("app", "slow_rate", 20, "note", "group", true, false);
+        Assert.assertEquals(CheckerCategory.SLOW_RATE, rule.getChecker());
+        Assert.assertEquals(20, rule.getThreshold());
+        Assert.assertNull(rule.getCalleeName());
+        Assert.assertEquals("group", rule.getEmpGroup());
+        Assert.assertTrue(rule.isSmsSend());
+        Assert.assertFalse(rule.isEmailSend());
+    }
+
+    @Test
+    public void calleeFromNotes() {
+        AlarmRule rule = MySqlAlarmRuleDao.createRule("app", "ERROR_COUNT_TO_CALLE", 10, "10.25.141.69:3306", "group", false, true);
+        Assert.assertEquals(CheckerCategory.ERROR_COUNT_TO_CALLE, rule.getChecker());
+        Assert.assertEquals("10.25.141.69:3306", rule.getCalleeName());
+    }
+
+    @Test
+    public void skipInvalidRule() {
+        Assert.assertNull(MySqlAlarmRuleDao.createRule("app", "UNKNOWN", 1, null, "group", true, true));
+        Assert.assertNull(MySqlAlarmRuleDao.createRule("app", "TOTAL_COUNT_TO_CALLE", 1, null, "group", true, true));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.dto.TAgentResponseStat;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+
+/**
+ * @author emeroad
+ */
+public class AgentResponseStatHandlerTest {
+
+    private static final String AGENT_ID = "agentId";
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final long START_TIMESTAMP = 1000L;
+
+    @Mock
+    private StatisticsHandler statisticsHandler;
+
+    @InjectMocks
+    private AgentResponseStatHandler agentResponseStatHandler = new AgentResponseStatHandler();
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void handleResponse() {
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        final TAgentResponseStat responseStat = createResponseStat(serviceType);
+        final TResponseHistogram response = new TResponseHistogram();
+        response.setServiceType(serviceType);
+        response.setFastCount(3);
+        response.setVerySlowCount(2);
+        response.setErrorCount(1);
+        responseStat.setResponse(response);
+
+        agentResponseStatHandler.handle(responseStat, new byte[0], 0, 0);
+
+        final HistogramSchema schema = ServiceType.STAND_ALONE.getHistogramSchema();
+        verify(statisticsHandler).updateResponseTime(APPLICATION_NAME, serviceType, AGENT_ID, schema.getFastSlot().getSlotTime(), false, 3L);
+        verify(statisticsHandler).updateResponseTime(APPLICATION_NAME, serviceType, AGENT_ID, schema.getSlowSlot().getSlotTime() + 1, false, 2L);
+        verify(statisticsHandler).updateResponseTime(APPLICATION_NAME, serviceType, AGENT_ID, HistogramSchema.ERROR_SLOT_TIME, true, 1L);
+        verifyNoMoreInteractions(statisticsHandler);
+    }
+
+    @Test
+    public void handleRpc() {
+        final short serviceType = ServiceType.STAND_ALONE.getCode();
+        final short rpcServiceType = ServiceType.MYSQL_EXECUTE_QUERY.getCode();
+        final TAgentResponseStat responseStat = createResponseStat(serviceType);
+        final TResponseHistogram rpc = new TResponseHistogram();
+        rpc.setName("mysqlDb");
+        rpc.setHost("127.0.0.1:3306");
+        rpc.setServiceType(rpcServiceType);
+        rpc.setNormalCount(5);
+        responseStat.setRpc(Collections.singletonList(rpc));
+
+        agentResponseStatHandler.handle(responseStat, new byte[0], 0, 0);
+
+        final int elapsed = ServiceType.MYSQL_EXECUTE_QUERY.getHistogramSchema().getNormalSlot().getSlotTime();
+        verify(statisticsHandler).updateCaller(APPLICATION_NAME, serviceType, AGENT_ID, "mysqlDb", rpcServiceType, "127.0.0.1:3306", elapsed, false, 5L);
+        verify(statisticsHandler).updateCallee("mysqlDb", rpcServiceType, APPLICATION_NAME, serviceType, AGENT_ID, elapsed, false, 5L);
+        verifyNoMoreInteractions(statisticsHandler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void handleShouldThrowIllegalArgumentExceptionForIncorrectTBaseObjects() {
+        agentResponseStatHandler.handle(new TAgentInfo(), new byte[0], 0, 0);
+    }
+
+    private TAgentResponseStat createResponseStat(short serviceType) {
+        final TAgentResponseStat responseStat = new TAgentResponseStat();
+        responseStat.setAgentId(AGENT_ID);
+        responseStat.setApplicationName(APPLICATION_NAME);
+        responseStat.setServiceType(serviceType);
+        responseStat.setStartTimestamp(START_TIMESTAMP);
+        responseStat.setTimestamp(START_TIMESTAMP + 10000);
+        return responseStat;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.handler;
+
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.navercorp.pinpoint.collector.dao.TracesDao;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+
+/**
+ * @author emeroad
+ */
+public class SpanChunkHandlerTest {
+
+    @Mock
+    private TracesDao traceDao;
+
+    @Mock
+    private StatisticsHandler statisticsHandler;
+
+    @InjectMocks
+    private SpanChunkHandler spanChunkHandler = new SpanChunkHandler();
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void handleStatistics() {
+        final TSpanChunk spanChunk = createSpanChunk();
+
+        spanChunkHandler.handleSimple(spanChunk);
+
+        verify(traceDao).insertSpanChunk(spanChunk);
+        verify(statisticsHandler).updateCaller("applicationName", ServiceType.STAND_ALONE.getCode(), "agentId", "mysqlDb", ServiceType.MYSQL_EXECUTE_QUERY.getCode(), "127.0.0.1:3306", 10, false);
+        verify(statisticsHandler).updateCallee("mysqlDb", ServiceType.MYSQL_EXECUTE_QUERY.getCode(), "applicationName", ServiceType.STAND_ALONE.getCode(), "endPoint", 10, false);
+    }
+
+    @Test
+    public void skipStatisticsReportedByAgent() {
+        final TSpanChunk spanChunk = createSpanChunk();
+        spanChunk.setStatisticsReported(true);
+
+        spanChunkHandler.handleSimple(spanChunk);
+
+        verify(traceDao).insertSpanChunk(spanChunk);
+        verifyZeroInteractions(statisticsHandler);
+    }
+
+    private TSpanChunk createSpanChunk() {
+        final TSpanEvent spanEvent = new TSpanEvent();
+        spanEvent.setServiceType(ServiceType.MYSQL_EXECUTE_QUERY.getCode());
+        spanEvent.setDestinationId("mysqlDb");
+        spanEvent.setEndPoint("127.0.0.1:3306");
+        spanEvent.setEndElapsed(10);
+
+        final TSpanChunk spanChunk = new TSpanChunk();
+        spanChunk.setAgentId("agentId");
+        spanChunk.setApplicationName("applicationName");
+        spanChunk.setServiceType(ServiceType.STAND_ALONE.getCode());
+        spanChunk.setEndPoint("endPoint");
+        spanChunk.setSpanEventList(Collections.singletonList(spanEvent));
+        return spanChunk;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver;
+
+import com.codahale.metrics.MetricRegistry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author emeroad
+ */
+public class DispatchStageTest {
+
+    @Test
+    public void execute() throws Exception {
+        DispatchStage stage = new DispatchStage("test", 2, 10, DispatchStage.RejectPolicy.DISCARD);
+        try {
+            final CountDownLatch latch = new CountDownLatch(5);
+            for (int i = 0; i < 5; i++) {
+                stage.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(3000, TimeUnit.MILLISECONDS));
+        } finally {
+            stage.shutdown();
+        }
+    }
+
+    @Test
+    public void discard() throws Exception {
+        DispatchStage stage = new DispatchStage("discard", 1, 1, DispatchStage.RejectPolicy.DISCARD);
+        MetricRegistry metricRegistry = new MetricRegistry();
+        stage.registerMetric(metricRegistry);
+        final CountDownLatch block = new CountDownLatch(1);
+        final AtomicInteger executed = new AtomicInteger();
+        try {
+            stage.execute(newBlockingJob(block, executed));
+            stage.execute(newBlockingJob(block, executed));
+            // worker busy and queue full
+            stage.execute(newBlockingJob(block, executed));
+
+            Assert.assertEquals(1, stage.getRejectedExecutionCount());
+            Assert.assertEquals(1, metricRegistry.counter("discard-rejected").getCount());
+        } finally {
+            block.countDown();
+            stage.shutdown();
+        }
+        Assert.assertEquals(2, executed.get());
+    }
+
+    @Test
+    public void callerRuns() throws Exception {
+        DispatchStage stage = new DispatchStage("callerRuns", 1, 1, DispatchStage.RejectPolicy.CALLER_RUNS);
+        final CountDownLatch block = new CountDownLatch(1);
+        final AtomicInteger executed = new AtomicInteger();
+        try {
+            stage.execute(newBlockingJob(block, executed));
+            stage.execute(newBlockingJob(block, executed));
+
+            final Thread caller = Thread.currentThread();
+            final AtomicInteger callerRuns = new AtomicInteger();
+            stage.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (Thread.currentThread() == caller) {
+                        callerRuns.incrementAndGet();
+                    }
+                }
+            });
+            Assert.assertEquals(1, callerRuns.get());
+            Assert.assertEquals(1, stage.getRejectedExecutionCount());
+        } finally {
+            block.countDown();
+            stage.shutdown();
+        }
+    }
+
+    private Runnable newBlockingJob(final CountDownLatch block, final AtomicInteger executed) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                executed.incrementAndGet();
+            }
+        };
+    }
+}
@@ -23,6 +23,7 @@ import org.junit.Test;
 import com.navercorp.pinpoint.collector.util.ConcurrentCounterMap;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * @author emeroad
@@ -63,4 +64,63 @@ public class ConcurrentCounterMapTest {
 
     }
 
+    @Test
+    public void testEvictIdleKey() throws Exception {
+        ConcurrentCounterMap<String> cache = new ConcurrentCounterMap<String>();
+        cache.increment("a", 1L);
+        cache.increment("b", 1L);
+        Assert.assertEquals(2, cache.remove().size());
+
+        cache.increment("a", 1L);
+        Map<String, ConcurrentCounterMap.LongAdder> remove = cache.remove();
+        Assert.assertEquals(1, remove.size());
+        Assert.assertEquals(1, cache.size());
+
+        Assert.assertTrue(cache.remove().isEmpty());
+        Assert.assertEquals(0, cache.size());
+
+        cache.increment("b", 7L);
+        Assert.assertEquals(7L, cache.remove().get("b").get());
+    }
+
+    @Test
+    public void testConcurrentRemove() throws Exception {
+        final ConcurrentCounterMap<String> cache = new ConcurrentCounterMap<String>(4);
+        final int threadSize = 8;
+        final int loop = 100000;
+        final String[] keys = {"a", "b", "c"};
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch end = new CountDownLatch(threadSize);
+        for (int i = 0; i < threadSize; i++) {
+            final int threadIndex = i;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int j = 0; j < loop; j++) {
+                            cache.increment(keys[(threadIndex + j) % keys.length], 1L);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        end.countDown();
+                    }
+                }
+            }).start();
+        }
+
+        long total = 0;
+        start.countDown();
+        boolean finished;
+        do {
+            finished = end.getCount() == 0;
+            for (ConcurrentCounterMap.LongAdder longAdder : cache.remove().values()) {
+                total += longAdder.get();
+            }
+        } while (!finished);
+        Assert.assertEquals((long) threadSize * loop, total);
+    }
+
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common;
+
+import java.util.Arrays;
+
+/**
+ * Log-linear latency histogram in milliseconds. mergeable by adding the bucket counts.
+ * Each power of 2 is split into {@link #SUB_BUCKET_COUNT} linear buckets, so a recorded value is off by less than 1/16.
+ * Values below 32ms are exact.
+ * Only the non-empty buckets are kept, sorted by index. a time slot usually has a few of them.
+ * The bucket index is stored by the collector in place of the slot time of {@link HistogramSchema}.
+ *
+ * @author emeroad
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    // exact buckets, then SUB_BUCKET_COUNT buckets per power of 2 up to Integer.MAX_VALUE
+    public static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (Integer.SIZE - 1 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final int[] EMPTY_INDEXES = new int[0];
+    private static final long[] EMPTY_COUNTS = new long[0];
+
+    // sorted bucket indexes of the first size elements
+    private int[] bucketIndexes = EMPTY_INDEXES;
+    private long[] counts = EMPTY_COUNTS;
+    private int size;
+    private long totalCount;
+
+    public static int getBucketIndex(int elapsed) {
+        if (elapsed < SUB_BUCKET_COUNT) {
+            return elapsed < 0 ? 0 : elapsed;
+        }
+        final int shift = (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(elapsed)) - SUB_BUCKET_BITS;
+        final int subBucket = (elapsed >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * @return the highest value recorded into the bucket
+     */
+    public static int getBucketUpperBound(int bucketIndex) {
+        checkBucketIndex(bucketIndex);
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        final int shift = (bucketIndex - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        final int subBucket = (bucketIndex - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+        final long upperBound = ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+        return (int) Math.min(upperBound, Integer.MAX_VALUE);
+    }
+
+    private static void checkBucketIndex(int bucketIndex) {
+        if (bucketIndex < 0 || bucketIndex >= BUCKET_COUNT) {
+            throw new IllegalArgumentException("bucketIndex out of range. bucketIndex:" + bucketIndex);
+        }
+    }
+
+    public void addElapsed(int elapsed) {
+        addCount(getBucketIndex(elapsed), 1);
+    }
+
+    public void addCount(int bucketIndex, long count) {
+        checkBucketIndex(bucketIndex);
+        int position = Arrays.binarySearch(bucketIndexes, 0, size, bucketIndex);
+        if (position < 0) {
+            position = insertBucket(-(position + 1), bucketIndex);
+        }
+        this.counts[position] += count;
+        this.totalCount += count;
+    }
+
+    private int insertBucket(int position, int bucketIndex) {
+        if (size == bucketIndexes.length) {
+            final int capacity = Math.max(DEFAULT_CAPACITY, size * 2);
+            this.bucketIndexes = Arrays.copyOf(bucketIndexes, capacity);
+            this.counts = Arrays.copyOf(counts, capacity);
+        }
+        final int moved = size - position;
+        if (moved > 0) {
+            System.arraycopy(bucketIndexes, position, bucketIndexes, position + 1, moved);
+            System.arraycopy(counts, position, counts, position + 1, moved);
+        }
+        this.bucketIndexes[position] = bucketIndex;
+        this.counts[position] = 0;
+        this.size++;
+        return position;
+    }
+
+    public long getCount(int bucketIndex) {
+        checkBucketIndex(bucketIndex);
+        final int position = Arrays.binarySearch(bucketIndexes, 0, size, bucketIndex);
+        if (position < 0) {
+            return 0;
+        }
+        return counts[position];
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void add(LatencyHistogram histogram) {
+        if (histogram == null) {
+            throw new NullPointerException("histogram must not be null");
+        }
+        if (histogram.size == 0) {
+            return;
+        }
+        // merge of the two sorted bucket lists
+        final int[] mergedIndexes = new int[this.size + histogram.size];
+        final long[] mergedCounts = new long[mergedIndexes.length];
+        int mergedSize = 0;
+        int i = 0;
+        int j = 0;
+        while (i < this.size || j < histogram.size) {
+            final int index;
+            long count = 0;
+            if (j == histogram.size || (i < this.size && this.bucketIndexes[i] <= histogram.bucketIndexes[j])) {
+                index = this.bucketIndexes[i];
+            } else {
+                index = histogram.bucketIndexes[j];
+            }
+            if (i < this.size && this.bucketIndexes[i] == index) {
+                count += this.counts[i++];
+            }
+            if (j < histogram.size && histogram.bucketIndexes[j] == index) {
+                count += histogram.counts[j++];
+            }
+            mergedIndexes[mergedSize] = index;
+            mergedCounts[mergedSize] = count;
+            mergedSize++;
+        }
+        this.bucketIndexes = mergedIndexes;
+        this.counts = mergedCounts;
+        this.size = mergedSize;
+        this.totalCount += histogram.totalCount;
+    }
+
+    /**
+     * @param percentile 0 &lt; percentile &lt;= 100
+     * @return upper bound of the bucket holding the percentile. -1 if empty
+     */
+    public int getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile out of range. percentile:" + percentile);
+        }
+        if (totalCount == 0) {
+            return -1;
+        }
+        final long rank = (long) Math.ceil(totalCount * percentile / 100);
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            count += counts[i];
+            if (count >= rank) {
+                return getBucketUpperBound(bucketIndexes[i]);
+            }
+        }
+        return getBucketUpperBound(bucketIndexes[size - 1]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LatencyHistogram that = (LatencyHistogram) o;
+
+        if (size != that.size) return false;
+        for (int i = 0; i < size; i++) {
+            if (bucketIndexes[i] != that.bucketIndexes[i] || counts[i] != that.counts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + bucketIndexes[i];
+            result = 31 * result + (int) (counts[i] ^ (counts[i] >>> 32));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "totalCount=" + totalCount +
+                ", p50=" + getPercentile(50) +
+                ", p95=" + getPercentile(95) +
+                ", p99=" + getPercentile(99) +
+                '}';
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.bo;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+
+/**
+ * min/max/sum/count of each agent stat metric over a fixed time bucket.
+ * Partial rollups of the same bucket can be merged.
+ * Not thread safe.
+ *
+ * @author emeroad
+ */
+public class AgentStatRollupBo {
+
+    public static final long ONE_MINUTE = 60 * 1000L;
+    public static final long ONE_HOUR = 60 * ONE_MINUTE;
+
+    private static final byte VERSION = 0;
+
+    public enum Metric {
+        JVM_MEMORY_HEAP_USED,
+        JVM_MEMORY_HEAP_MAX,
+        JVM_MEMORY_NON_HEAP_USED,
+        JVM_MEMORY_NON_HEAP_MAX,
+        JVM_GC_OLD_COUNT,
+        JVM_GC_OLD_TIME,
+        JVM_CPU_LOAD,
+        SYSTEM_CPU_LOAD
+    }
+
+    private static final Metric[] METRICS = Metric.values();
+
+    private final String agentId;
+    private final long timestamp;
+    private final long interval;
+    private String gcType;
+
+    private final long[] count = new long[METRICS.length];
+    private final double[] min = new double[METRICS.length];
+    private final double[] max = new double[METRICS.length];
+    private final double[] sum = new double[METRICS.length];
+
+    /**
+     * @param timestamp start of the bucket
+     * @param interval size of the bucket
+     */
+    public AgentStatRollupBo(String agentId, long timestamp, long interval) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be positive. interval:" + interval);
+        }
+        this.agentId = agentId;
+        this.timestamp = timestamp;
+        this.interval = interval;
+    }
+
+    public AgentStatRollupBo(final byte[] value) {
+        final Buffer buffer = new FixedBuffer(value);
+        final byte version = buffer.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("unsupported version:" + version);
+        }
+        this.agentId = buffer.readPrefixedString();
+        this.timestamp = buffer.readLong();
+        this.interval = buffer.readVarLong();
+        this.gcType = buffer.readPrefixedString();
+        final int metricSize = buffer.readVarInt();
+        for (int i = 0; i < metricSize; i++) {
+            final long count = buffer.readVarLong();
+            if (count == 0) {
+                continue;
+            }
+            final double min = buffer.readDouble();
+            final double max = buffer.readDouble();
+            final double sum = buffer.readDouble();
+            if (i < METRICS.length) {
+                this.count[i] = count;
+                this.min[i] = min;
+                this.max[i] = max;
+                this.sum[i] = sum;
+            }
+        }
+    }
+
+    public static long getBucketTimestamp(long timestamp, long interval) {
+        return timestamp - (timestamp % interval);
+    }
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    public String getGcType() {
+        return gcType;
+    }
+
+    public void addMemoryGc(AgentStatMemoryGcBo memoryGc) {
+        if (memoryGc == null) {
+            return;
+        }
+        if (memoryGc.getGcType() != null) {
+            this.gcType = memoryGc.getGcType();
+        }
+        add(Metric.JVM_MEMORY_HEAP_USED, memoryGc.getJvmMemoryHeapUsed());
+        add(Metric.JVM_MEMORY_HEAP_MAX, memoryGc.getJvmMemoryHeapMax());
+        add(Metric.JVM_MEMORY_NON_HEAP_USED, memoryGc.getJvmMemoryNonHeapUsed());
+        add(Metric.JVM_MEMORY_NON_HEAP_MAX, memoryGc.getJvmMemoryNonHeapMax());
+        add(Metric.JVM_GC_OLD_COUNT, memoryGc.getJvmGcOldCount());
+        add(Metric.JVM_GC_OLD_TIME, memoryGc.getJvmGcOldTime());
+    }
+
+    public void addCpuLoad(AgentStatCpuLoadBo cpuLoad) {
+        if (cpuLoad == null) {
+            return;
+        }
+        // negative value means the load was not collected
+        if (cpuLoad.getJvmCpuLoad() >= 0) {
+            add(Metric.JVM_CPU_LOAD, cpuLoad.getJvmCpuLoad());
+        }
+        if (cpuLoad.getSystemCpuLoad() >= 0) {
+            add(Metric.SYSTEM_CPU_LOAD, cpuLoad.getSystemCpuLoad());
+        }
+    }
+
+    public void add(Metric metric, double value) {
+        final int index = metric.ordinal();
+        if (count[index] == 0) {
+            min[index] = value;
+            max[index] = value;
+        } else {
+            min[index] = Math.min(min[index], value);
+            max[index] = Math.max(max[index], value);
+        }
+        sum[index] += value;
+        count[index]++;
+    }
+
+    /**
+     * merges a partial rollup of the same bucket
+     */
+    public void merge(AgentStatRollupBo other) {
+        if (other == null) {
+            throw new NullPointerException("other must not be null");
+        }
+        if (timestamp != other.timestamp || interval != other.interval) {
+            throw new IllegalArgumentException("bucket mismatch. " + this + " " + other);
+        }
+        if (other.gcType != null) {
+            this.gcType = other.gcType;
+        }
+        for (int i = 0; i < METRICS.length; i++) {
+            if (other.count[i] == 0) {
+                continue;
+            }
+            if (count[i] == 0) {
+                min[i] = other.min[i];
+                max[i] = other.max[i];
+            } else {
+                min[i] = Math.min(min[i], other.min[i]);
+                max[i] = Math.max(max[i], other.max[i]);
+            }
+            sum[i] += other.sum[i];
+            count[i] += other.count[i];
+        }
+    }
+
+    public boolean isEmpty() {
+        for (long c : count) {
+            if (c != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getCount(Metric metric) {
+        return count[metric.ordinal()];
+    }
+
+    public double getMin(Metric metric) {
+        return min[metric.ordinal()];
+    }
+
+    public double getMax(Metric metric) {
+        return max[metric.ordinal()];
+    }
+
+    public double getSum(Metric metric) {
+        return sum[metric.ordinal()];
+    }
+
+    public double getAvg(Metric metric) {
+        final long count = this.count[metric.ordinal()];
+        if (count == 0) {
+            return 0;
+        }
+        return sum[metric.ordinal()] / count;
+    }
+
+    public byte[] writeValue() {
+        final Buffer buffer = new AutomaticBuffer();
+        buffer.put(VERSION);
+        buffer.putPrefixedString(this.agentId);
+        buffer.put(this.timestamp);
+        buffer.putVar(this.interval);
+        buffer.putPrefixedString(this.gcType);
+        buffer.putVar(METRICS.length);
+        for (int i = 0; i < METRICS.length; i++) {
+            buffer.putVar(count[i]);
+            if (count[i] == 0) {
+                continue;
+            }
+            buffer.put(min[i]);
+            buffer.put(max[i]);
+            buffer.put(sum[i]);
+        }
+        return buffer.getBuffer();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("AgentStatRollupBo{");
+        sb.append("agentId='").append(this.agentId).append('\'');
+        sb.append(", timestamp=").append(this.timestamp);
+        sb.append(", interval=").append(this.interval);
+        sb.append(", gcType='").append(this.gcType).append('\'');
+        for (Metric metric : METRICS) {
+            final int i = metric.ordinal();
+            if (count[i] == 0) {
+                continue;
+            }
+            sb.append(", ").append(metric).append("=[count=").append(count[i]);
+            sb.append(", min=").append(min[i]);
+            sb.append(", max=").append(max[i]);
+            sb.append(", sum=").append(sum[i]).append(']');
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.hadoop.hbase.HbaseOperations;
+import org.springframework.data.hadoop.hbase.TableCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for Puts.
+ * Puts are queued per table and written as one batch when a table collects batchSize Puts or when flushInterval elapses.
+ * When a queue is full, the caller writes its Put directly without waiting,
+ * so a slow hbase slows the writers down instead of growing the buffer.
+ *
+ * @author emeroad
+ */
+public class BufferedPutWriter {
+
+    public static final int DEFAULT_QUEUE_SIZE = 1024 * 8;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final long DEFAULT_FLUSH_INTERVAL = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HbaseOperations hbaseOperations;
+
+    private final int queueSize;
+    private final int batchSize;
+    private final long flushInterval;
+
+    private final ConcurrentMap<String, BlockingQueue<Put>> tableQueueMap = new ConcurrentHashMap<String, BlockingQueue<Put>>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushCondition = flushLock.newCondition();
+    // set by the writer that fills a batch, cleared by the flush thread before it drains the queues
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final Thread flushThread;
+    private volatile boolean shutdown = false;
+
+    private final AtomicLong bufferedCount = new AtomicLong();
+    private final AtomicLong directCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public BufferedPutWriter(HbaseOperations hbaseOperations) {
+        this(hbaseOperations, DEFAULT_QUEUE_SIZE, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public BufferedPutWriter(HbaseOperations hbaseOperations, int queueSize, int batchSize, long flushInterval) {
+        if (hbaseOperations == null) {
+            throw new NullPointerException("hbaseOperations must not be null");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be positive. queueSize:" + queueSize);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive. batchSize:" + batchSize);
+        }
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval must be positive. flushInterval:" + flushInterval);
+        }
+        this.hbaseOperations = hbaseOperations;
+        this.queueSize = queueSize;
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+
+        this.flushThread = new PinpointThreadFactory("Pinpoint-BufferedPutWriter", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                doFlushLoop();
+            }
+        });
+        this.flushThread.start();
+    }
+
+    public void put(String tableName, Put put) {
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (put == null) {
+            throw new NullPointerException("put must not be null");
+        }
+        if (shutdown) {
+            writeDirect(tableName, put);
+            return;
+        }
+
+        final BlockingQueue<Put> queue = getQueue(tableName);
+        if (!queue.offer(put)) {
+            // backpressure. the flush thread can not keep up, so the caller pays for the write.
+            writeDirect(tableName, put);
+            return;
+        }
+        bufferedCount.incrementAndGet();
+
+        if (queue.size() >= batchSize) {
+            wakeUpFlushThread();
+        }
+    }
+
+    private BlockingQueue<Put> getQueue(String tableName) {
+        final BlockingQueue<Put> queue = tableQueueMap.get(tableName);
+        if (queue != null) {
+            return queue;
+        }
+        final BlockingQueue<Put> newQueue = new ArrayBlockingQueue<Put>(queueSize);
+        final BlockingQueue<Put> before = tableQueueMap.putIfAbsent(tableName, newQueue);
+        if (before != null) {
+            return before;
+        }
+        return newQueue;
+    }
+
+    private void writeDirect(String tableName, Put put) {
+        directCount.incrementAndGet();
+        final List<Put> puts = new ArrayList<Put>(1);
+        puts.add(put);
+        write(tableName, puts);
+    }
+
+    private void wakeUpFlushThread() {
+        if (!flushRequested.compareAndSet(false, true)) {
+            // the flush thread has not picked up the previous request yet
+            return;
+        }
+        // lock instead of tryLock. the flush thread may hold the lock between its check and await,
+        // and the signal must not be lost in that window.
+        flushLock.lock();
+        try {
+            flushCondition.signal();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlushLoop() {
+        while (!shutdown) {
+            flushRequested.set(false);
+            flushAll();
+
+            flushLock.lock();
+            try {
+                if (!shutdown && !flushRequested.get() && !isBatchReady()) {
+                    flushCondition.await(flushInterval, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                // shutdown
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        // drain what is left
+        flushAll();
+    }
+
+    private boolean isBatchReady() {
+        for (BlockingQueue<Put> queue : tableQueueMap.values()) {
+            if (queue.size() >= batchSize) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void flushAll() {
+        for (Map.Entry<String, BlockingQueue<Put>> entry : tableQueueMap.entrySet()) {
+            final String tableName = entry.getKey();
+            final BlockingQueue<Put> queue = entry.getValue();
+            while (true) {
+                final List<Put> batch = new ArrayList<Put>(Math.min(batchSize, queue.size()));
+                queue.drainTo(batch, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                write(tableName, batch);
+                batchCount.incrementAndGet();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void write(String tableName, final List<Put> puts) {
+        try {
+            hbaseOperations.execute(tableName, new TableCallback<Object>() {
+                @Override
+                public Object doInTable(HTableInterface htable) throws Throwable {
+                    htable.put(puts);
+                    return null;
+                }
+            });
+            writtenCount.addAndGet(puts.size());
+        } catch (Exception e) {
+            final int failed = getFailedPutCount(e, puts.size());
+            failedCount.addAndGet(failed);
+            writtenCount.addAndGet(puts.size() - failed);
+            logger.warn("{} put failed. size:{} failed:{} Caused:{}", tableName, puts.size(), failed, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * the Puts hbase rejected. every Put of the batch when the failure is not per action.
+     */
+    private int getFailedPutCount(Throwable e, int size) {
+        // HbaseTemplate wraps the hbase exception
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriesExhaustedWithDetailsException) {
+                final int failed = ((RetriesExhaustedWithDetailsException) cause).getNumExceptions();
+                return Math.min(failed, size);
+            }
+        }
+        return size;
+    }
+
+    public void shutdown() {
+        this.shutdown = true;
+        flushLock.lock();
+        try {
+            flushCondition.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flushThread.join(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Puts offered while the flush thread was stopping
+        flushAll();
+    }
+
+    public long getBufferedCount() {
+        return bufferedCount.get();
+    }
+
+    public long getDirectCount() {
+        return directCount.get();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public int getQueueSize() {
+        int size = 0;
+        for (BlockingQueue<Put> queue : tableQueueMap.values()) {
+            size += queue.size();
+        }
+        return size;
+    }
+}
@@ -39,6 +39,10 @@ public final class HBaseTables {
     public static final byte[] AGENT_STAT_CF_STATISTICS_CPU_LOAD = Bytes.toBytes("Cpu"); // qualifier for CPU load statistics
     public static final int AGENT_STAT_ROW_DISTRIBUTE_SIZE = 1; // agent statistics hash size
 
+    public static final String AGENT_STAT_ROLLUP = "AgentStatRollup";
+    public static final byte[] AGENT_STAT_ROLLUP_CF_MINUTE = Bytes.toBytes("M"); // 1 minute rollup column family
+    public static final byte[] AGENT_STAT_ROLLUP_CF_HOUR = Bytes.toBytes("H"); // 1 hour rollup column family
+
     public static final String TRACES = "Traces";
     public static final byte[] TRACES_CF_SPAN = Bytes.toBytes("S");  //Span
     public static final byte[] TRACES_CF_ANNOTATION = Bytes.toBytes("A");  //Annotation
@@ -74,9 +78,12 @@ public final class HBaseTables {
     // to be removed - use ver2 instead. remove relevant code as well.
     public static final byte[] MAP_STATISTICS_CALLEE_CF_COUNTER = Bytes.toBytes("C");
     public static final byte[] MAP_STATISTICS_CALLEE_CF_VER2_COUNTER = Bytes.toBytes("D");
+    // same qualifier as ver2 with the LatencyHistogram bucket index in place of the slot
+    public static final byte[] MAP_STATISTICS_CALLEE_CF_LATENCY = Bytes.toBytes("H");
 
     public static final String MAP_STATISTICS_SELF = "ApplicationMapStatisticsSelf";
     public static final byte[] MAP_STATISTICS_SELF_CF_COUNTER = Bytes.toBytes("C");
+    public static final byte[] MAP_STATISTICS_SELF_CF_LATENCY = Bytes.toBytes("H");
 
     public static final String HOST_APPLICATION_MAP = "HostApplicationMap";
     public static final byte[] HOST_APPLICATION_MAP_CF_MAP = Bytes.toBytes("M");
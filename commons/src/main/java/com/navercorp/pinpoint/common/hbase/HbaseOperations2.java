@@ -78,6 +78,12 @@ public interface HbaseOperations2 extends HbaseOperations {
 
     void put(String tableName, final List<Put> puts);
 
+    /**
+     * Buffers the put and writes it later in a batch with other puts of the same table.
+     * Writes it immediately when buffering is disabled.
+     */
+    void bufferedPut(String tableName, final Put put);
+
     void delete(String tableName, final Delete delete);
 
     void delete(String tableName, final List<Delete> deletes);
@@ -94,6 +100,18 @@ public interface HbaseOperations2 extends HbaseOperations {
     
     <T> T find(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, final ResultsExtractor<T> action);
 
+    /**
+     * Runs each distributed scan on its own worker and merges the results in row key order.
+     * Same result as the find method with the same arguments.
+     */
+    <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, final RowMapper<T> action);
+
+    <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, int limit, final RowMapper<T> action);
+
+    <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, int limit, final RowMapper<T> action, final LimitEventHandler limitEventHandler);
+
+    <T> T findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, final ResultsExtractor<T> action);
+
     Result increment(String tableName, final Increment increment);
 
     /**
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.common.hbase;
 
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.common.util.StopWatch;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import com.sematext.hbase.wd.DistributedScanner;
@@ -33,26 +34,42 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author emeroad
  */
 public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, InitializingBean, DisposableBean {
 
+    private static final int DEFAULT_PARALLEL_QUEUE_SIZE = 256;
+    public static final int DEFAULT_PARALLEL_SCAN_THREADS = 128;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private PooledHTableFactory pooledHTableFactory;
     private int poolSize = PooledHTableFactory.DEFAULT_POOL_SIZE;
 
-    private ExecutorService executor = newCachedThreadPool();
+    private int parallelScanThreads = DEFAULT_PARALLEL_SCAN_THREADS;
+    private ExecutorService executor;
+    // one permit per running scan worker. a parallel scan starts only when all of its workers can run.
+    private Semaphore parallelScanPermits;
+    private final AtomicLong parallelScanFallbackCount = new AtomicLong();
+
+    private boolean bufferedPutEnable = false;
+    private int bufferedPutQueueSize = BufferedPutWriter.DEFAULT_QUEUE_SIZE;
+    private int bufferedPutBatchSize = BufferedPutWriter.DEFAULT_BATCH_SIZE;
+    private long bufferedPutFlushInterval = BufferedPutWriter.DEFAULT_FLUSH_INTERVAL;
+    private BufferedPutWriter bufferedPutWriter;
 
     public HbaseTemplate2() {
     }
 
-    public ExecutorService newCachedThreadPool() {
-        return new ThreadPoolExecutor(0, 128,
+    public ExecutorService newCachedThreadPool(int maxThreads) {
+        // SynchronousQueue : a parallel scan needs all of its workers running at the same time.
+        // a queued worker could never be consumed while the other workers of the scan wait for the consumer.
+        return new ThreadPoolExecutor(0, maxThreads,
                 60L, TimeUnit.SECONDS,
-                new LinkedBlockingQueue<Runnable>());
+                new SynchronousQueue<Runnable>(), new PinpointThreadFactory("Pinpoint-HbaseTemplate2-Executor", true));
     }
 
 //    public Executor getExecutor() {
@@ -80,16 +97,64 @@ public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, I
         this.poolSize = hTablePoolSize;
     }
 
+    public void setBufferedPutEnable(boolean bufferedPutEnable) {
+        this.bufferedPutEnable = bufferedPutEnable;
+    }
+
+    public void setBufferedPutQueueSize(int bufferedPutQueueSize) {
+        this.bufferedPutQueueSize = bufferedPutQueueSize;
+    }
+
+    public void setBufferedPutBatchSize(int bufferedPutBatchSize) {
+        this.bufferedPutBatchSize = bufferedPutBatchSize;
+    }
+
+    public void setBufferedPutFlushInterval(long bufferedPutFlushInterval) {
+        this.bufferedPutFlushInterval = bufferedPutFlushInterval;
+    }
+
+    /**
+     * scan workers of all parallel scans together. a scan uses one worker per distributed bucket.
+     */
+    public void setParallelScanThreads(int parallelScanThreads) {
+        this.parallelScanThreads = parallelScanThreads;
+    }
+
+    /**
+     * @return parallel scans that ran on the calling thread because there were not enough free workers
+     */
+    public long getParallelScanFallbackCount() {
+        return parallelScanFallbackCount.get();
+    }
+
+    /**
+     * @return null if buffered put is disabled
+     */
+    public BufferedPutWriter getBufferedPutWriter() {
+        return bufferedPutWriter;
+    }
+
     @Override
     public void afterPropertiesSet() {
         Configuration configuration = getConfiguration();
         Assert.notNull(configuration, "configuration is required");
         this.pooledHTableFactory = new PooledHTableFactory(configuration, poolSize);
         this.setTableFactory(pooledHTableFactory);
+        Assert.isTrue(parallelScanThreads > 0, "parallelScanThreads must be positive");
+        this.executor = newCachedThreadPool(parallelScanThreads);
+        this.parallelScanPermits = new Semaphore(parallelScanThreads);
+        if (bufferedPutEnable) {
+            this.bufferedPutWriter = new BufferedPutWriter(this, bufferedPutQueueSize, bufferedPutBatchSize, bufferedPutFlushInterval);
+        }
     }
 
     @Override
     public void destroy() throws Exception {
+        // flush buffered puts before the table pool is closed
+        if (bufferedPutWriter != null) {
+            this.bufferedPutWriter.shutdown();
+        }
+
         if (pooledHTableFactory != null) {
             this.pooledHTableFactory.destroy();
         }
@@ -153,60 +218,6 @@ public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, I
         return find(tableName, scan, new RowMapperResultsExtractor<T>(action));
     }
 
-//    public class ParallelScan<T> {
-//        private String tableName;
-//        private Scan scan;
-//        private RowMapper<T> mapper;
-//
-//        public String getTableName() {
-//            return tableName;
-//        }
-//
-//        public void setTableName(String tableName) {
-//            this.tableName = tableName;
-//        }
-//
-//        public Scan getScan() {
-//            return scan;
-//        }
-//
-//        public void setScan(Scan scan) {
-//            this.scan = scan;
-//        }
-//
-//        public RowMapper<T> getMapper() {
-//            return mapper;
-//        }
-//
-//        public void setMapper(RowMapper<T> action) {
-//            this.mapper = action;
-//        }
-//    }
-//
-//    /**
-//     * API for running a scanner in parallel
-//     * for now comment out, you don't know how scanner's implementation can execute in parallel.
-//     * @return
-//     */
-//    public <T> List<Future<List<T>>> findParallel(final ParallelScan<T> parallelScans) {
-//        Callable<List<T>> tCallable = new Callable<List<T>>() {
-//            @Override
-//            public List<T> call() throws Exception {
-//                return find(parallelScans.getTableName(), parallelScans.getScan(), parallelScans.getMapper());
-//            }
-//        };
-//        ArrayList<Callable<List<T>>> callables = new ArrayList<Callable<List<T>>>();
-//        callables.add(tCallable);
-//
-//        List<Future<List<T>>> futures = null;
-//        try {
-//            futures = this.executor.invokeAll(callables);
-//        } catch (InterruptedException e) {
-//            Thread.currentThread().interrupt();
-//        }
-//        return futures;
-//    }
-
     @Override
     public <T> T get(String tableName, String rowName, final RowMapper<T> mapper) {
         return get(tableName, rowName, null, null, mapper);
@@ -361,6 +372,16 @@ public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, I
         });
     }
 
+    @Override
+    public void bufferedPut(String tableName, final Put put) {
+        final BufferedPutWriter bufferedPutWriter = this.bufferedPutWriter;
+        if (bufferedPutWriter == null) {
+            put(tableName, put);
+            return;
+        }
+        bufferedPutWriter.put(tableName, put);
+    }
+
     public void delete(String tableName, final Delete delete) {
         execute(tableName, new TableCallback() {
             @Override
@@ -483,8 +504,109 @@ public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, I
         });
     }
 
-    public ResultScanner createDistributeScanner(HTableInterface htable, Scan originalScan, AbstractRowKeyDistributor rowKeyDistributor) throws IOException {
+    @Override
+    public <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, final RowMapper<T> action) {
+        final ResultsExtractor<List<T>> resultsExtractor = new RowMapperResultsExtractor<T>(action);
+        return findParallel(tableName, scan, rowKeyDistributor, resultsExtractor);
+    }
+
+    @Override
+    public <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, int limit, final RowMapper<T> action) {
+        final ResultsExtractor<List<T>> resultsExtractor = new LimitRowMapperResultsExtractor<T>(action, limit);
+        return findParallel(tableName, scan, rowKeyDistributor, resultsExtractor);
+    }
+
+    @Override
+    public <T> List<T> findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, int limit, final RowMapper<T> action, final LimitEventHandler limitEventHandler) {
+        final ResultsExtractor<List<T>> resultsExtractor = new LimitRowMapperResultsExtractor<T>(action, limit, limitEventHandler);
+        return findParallel(tableName, scan, rowKeyDistributor, resultsExtractor);
+    }
+
+    @Override
+    public <T> T findParallel(String tableName, final Scan scan, final AbstractRowKeyDistributor rowKeyDistributor, final ResultsExtractor<T> action) {
+        final Scan[] scans;
+        try {
+            scans = splitScan(scan, rowKeyDistributor);
+        } catch (IOException e) {
+            throw HbaseUtils.convertHbaseException(e);
+        }
+        if (scans.length <= 1) {
+            return find(tableName, scan, rowKeyDistributor, action);
+        }
+
+        if (!parallelScanPermits.tryAcquire(scans.length)) {
+            final long fallbackCount = parallelScanFallbackCount.incrementAndGet();
+            logger.warn("not enough parallel scan workers. fallback to DistributedScanner. table:{}, scan:{}, buckets:{}, available:{}, fallbackCount:{}",
+                    tableName, scan.getId(), scans.length, parallelScanPermits.availablePermits(), fallbackCount);
+            return find(tableName, scan, rowKeyDistributor, action);
+        }
+        final int queueSize = (scan.getCaching() > 0) ? scan.getCaching() : DEFAULT_PARALLEL_QUEUE_SIZE;
+        final PermitReleaseExecutor permitReleaseExecutor = new PermitReleaseExecutor(executor, parallelScanPermits);
+        final ParallelResultScanner scanner;
+        try {
+            scanner = new ParallelResultScanner(this, tableName, scans, rowKeyDistributor, permitReleaseExecutor, queueSize);
+        } catch (RejectedExecutionException e) {
+            // a finished worker had released its permit but not yet returned its thread to the pool
+            parallelScanPermits.release(scans.length - permitReleaseExecutor.getExecutedCount());
+            final long fallbackCount = parallelScanFallbackCount.incrementAndGet();
+            logger.warn("parallel scan rejected. fallback to DistributedScanner. table:{}, scan:{}, fallbackCount:{}", tableName, scan.getId(), fallbackCount);
+            return find(tableName, scan, rowKeyDistributor, action);
+        }
+
+        final boolean debugEnabled = logger.isDebugEnabled();
+        StopWatch watch = null;
+        if (debugEnabled) {
+            watch = new StopWatch();
+            watch.start();
+        }
+        try {
+            return action.extractData(scanner);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw HbaseUtils.convertHbaseException(e);
+        } finally {
+            scanner.close();
+            if (debugEnabled) {
+                logger.debug("ParallelScanner scanTime:{}", watch.stop());
+            }
+        }
+    }
 
+    /**
+     * releases the permit of a scan worker when the worker ends.
+     */
+    private static class PermitReleaseExecutor implements Executor {
+        private final Executor executor;
+        private final Semaphore permits;
+        private int executedCount;
+
+        private PermitReleaseExecutor(Executor executor, Semaphore permits) {
+            this.executor = executor;
+            this.permits = permits;
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        permits.release();
+                    }
+                }
+            });
+            executedCount++;
+        }
+
+        private int getExecutedCount() {
+            return executedCount;
+        }
+    }
+
+    private Scan[] splitScan(Scan originalScan, AbstractRowKeyDistributor rowKeyDistributor) throws IOException {
         Scan[] scans = rowKeyDistributor.getDistributedScans(originalScan);
         final int length = scans.length;
         for(int i = 0; i < length; i++) {
@@ -493,6 +615,13 @@ public class HbaseTemplate2 extends HbaseTemplate implements HbaseOperations2, I
             // is it okay to set only a caching?
             scan.setCaching(originalScan.getCaching());
         }
+        return scans;
+    }
+
+    public ResultScanner createDistributeScanner(HTableInterface htable, Scan originalScan, AbstractRowKeyDistributor rowKeyDistributor) throws IOException {
+
+        final Scan[] scans = splitScan(originalScan, rowKeyDistributor);
+        final int length = scans.length;
 
         ResultScanner[] scanner = new ResultScanner[length];
         boolean success = false;
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.data.hadoop.hbase.HbaseOperations;
+import org.springframework.data.hadoop.hbase.TableCallback;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultScanner that runs each distributed scan on its own worker and merges the results on the calling thread.
+ * Results are merged in original row key order, same as DistributedScanner.
+ * The row keys of the distributed tables start with a reversed timestamp so this is timestamp order.
+ *
+ * @author emeroad
+ */
+class ParallelResultScanner implements ResultScanner {
+
+    private static final Result END = new Result();
+
+    private static final long OFFER_TIMEOUT = 100;
+
+    private final HbaseOperations hbaseOperations;
+    private final String tableName;
+    private final AbstractRowKeyDistributor keyDistributor;
+
+    private final ScanTask[] scanTasks;
+    private final Result[] nextResults;
+    private final byte[][] nextOriginalKeys;
+
+    private volatile boolean closed = false;
+
+    ParallelResultScanner(HbaseOperations hbaseOperations, String tableName, Scan[] scans, AbstractRowKeyDistributor keyDistributor, Executor executor, int queueSize) {
+        if (hbaseOperations == null) {
+            throw new NullPointerException("hbaseOperations must not be null");
+        }
+        if (tableName == null) {
+            throw new NullPointerException("tableName must not be null");
+        }
+        if (scans == null) {
+            throw new NullPointerException("scans must not be null");
+        }
+        if (keyDistributor == null) {
+            throw new NullPointerException("keyDistributor must not be null");
+        }
+        if (executor == null) {
+            throw new NullPointerException("executor must not be null");
+        }
+        if (queueSize <= 0) {
+            throw new IllegalArgumentException("queueSize must be positive. queueSize:" + queueSize);
+        }
+        this.hbaseOperations = hbaseOperations;
+        this.tableName = tableName;
+        this.keyDistributor = keyDistributor;
+
+        final int length = scans.length;
+        this.scanTasks = new ScanTask[length];
+        this.nextResults = new Result[length];
+        this.nextOriginalKeys = new byte[length][];
+        for (int i = 0; i < length; i++) {
+            this.scanTasks[i] = new ScanTask(scans[i], queueSize);
+        }
+        try {
+            for (ScanTask scanTask : scanTasks) {
+                executor.execute(scanTask);
+            }
+        } catch (RejectedExecutionException e) {
+            // stop the workers already started
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public Result next() throws IOException {
+        if (closed) {
+            return null;
+        }
+        int nextIndex = -1;
+        for (int i = 0; i < scanTasks.length; i++) {
+            if (nextResults[i] == null) {
+                final Result result = scanTasks[i].take();
+                nextResults[i] = result;
+                if (result != END) {
+                    nextOriginalKeys[i] = keyDistributor.getOriginalKey(result.getRow());
+                }
+            }
+            if (nextResults[i] == END) {
+                continue;
+            }
+            if (nextIndex == -1 || Bytes.compareTo(nextOriginalKeys[i], nextOriginalKeys[nextIndex]) < 0) {
+                nextIndex = i;
+            }
+        }
+        if (nextIndex == -1) {
+            return null;
+        }
+        final Result result = nextResults[nextIndex];
+        nextResults[nextIndex] = null;
+        nextOriginalKeys[nextIndex] = null;
+        return result;
+    }
+
+    @Override
+    public Result[] next(int nbRows) throws IOException {
+        final List<Result> resultList = new ArrayList<Result>(nbRows);
+        for (int i = 0; i < nbRows; i++) {
+            final Result result = next();
+            if (result == null) {
+                break;
+            }
+            resultList.add(result);
+        }
+        return resultList.toArray(new Result[resultList.size()]);
+    }
+
+    @Override
+    public void close() {
+        // workers check this flag and release their scanners
+        this.closed = true;
+    }
+
+    @Override
+    public Iterator<Result> iterator() {
+        return new Iterator<Result>() {
+            private Result next = null;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = ParallelResultScanner.this.next();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Result next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Result result = next;
+                next = null;
+                return result;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private class ScanTask implements Runnable {
+
+        private final Scan scan;
+        private final BlockingQueue<Result> queue;
+        private volatile Throwable error;
+
+        private ScanTask(Scan scan, int queueSize) {
+            this.scan = scan;
+            this.queue = new ArrayBlockingQueue<Result>(queueSize);
+        }
+
+        @Override
+        public void run() {
+            try {
+                hbaseOperations.execute(tableName, new TableCallback<Object>() {
+                    @Override
+                    public Object doInTable(HTableInterface htable) throws Throwable {
+                        final ResultScanner scanner = htable.getScanner(scan);
+                        try {
+                            Result result;
+                            while ((result = scanner.next()) != null) {
+                                if (!put(result)) {
+                                    break;
+                                }
+                            }
+                        } finally {
+                            scanner.close();
+                        }
+                        return null;
+                    }
+                });
+            } catch (Throwable th) {
+                this.error = th;
+            } finally {
+                try {
+                    put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private boolean put(Result result) throws InterruptedException {
+            while (!closed) {
+                if (queue.offer(result, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Result take() throws IOException {
+            final Result result;
+            try {
+                result = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("scan interrupted. id:" + scan.getId());
+            }
+            if (result == END) {
+                final Throwable error = this.error;
+                if (error instanceof RuntimeException) {
+                    throw (RuntimeException) error;
+                }
+                if (error instanceof Error) {
+                    throw (Error) error;
+                }
+                if (error != null) {
+                    throw new IOException("scan failed. id:" + scan.getId(), error);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void getBucketIndex_exact() {
+        for (int elapsed = 0; elapsed < 32; elapsed++) {
+            final int bucketIndex = LatencyHistogram.getBucketIndex(elapsed);
+            Assert.assertEquals(elapsed, LatencyHistogram.getBucketUpperBound(bucketIndex));
+        }
+        Assert.assertEquals(0, LatencyHistogram.getBucketIndex(-1));
+    }
+
+    @Test
+    public void getBucketIndex_relativeError() {
+        int lastBucketIndex = 0;
+        for (int elapsed = 32; elapsed < 1000000; elapsed++) {
+            final int bucketIndex = LatencyHistogram.getBucketIndex(elapsed);
+            Assert.assertTrue(bucketIndex >= lastBucketIndex);
+            lastBucketIndex = bucketIndex;
+
+            final int upperBound = LatencyHistogram.getBucketUpperBound(bucketIndex);
+            Assert.assertTrue(upperBound >= elapsed);
+            Assert.assertTrue((upperBound - elapsed) * LatencyHistogram.SUB_BUCKET_COUNT <= elapsed);
+        }
+    }
+
+    @Test
+    public void getBucketIndex_max() {
+        final int bucketIndex = LatencyHistogram.getBucketIndex(Integer.MAX_VALUE);
+        Assert.assertEquals(LatencyHistogram.BUCKET_COUNT - 1, bucketIndex);
+        Assert.assertEquals(Integer.MAX_VALUE, LatencyHistogram.getBucketUpperBound(bucketIndex));
+    }
+
+    @Test
+    public void getPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(-1, histogram.getPercentile(99));
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.addElapsed(i);
+        }
+        Assert.assertEquals(100, histogram.getTotalCount());
+        Assert.assertEquals(31, histogram.getPercentile(31));
+        final int p99 = histogram.getPercentile(99);
+        Assert.assertTrue(p99 >= 99 && p99 < 99 + 99 / LatencyHistogram.SUB_BUCKET_COUNT + 1);
+        Assert.assertEquals(LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(100)), histogram.getPercentile(100));
+    }
+
+    @Test
+    public void add() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.addElapsed(10);
+        final LatencyHistogram other = new LatencyHistogram();
+        other.addElapsed(10);
+        other.addCount(LatencyHistogram.getBucketIndex(5000), 3);
+
+        histogram.add(other);
+        Assert.assertEquals(5, histogram.getTotalCount());
+        Assert.assertEquals(2, histogram.getCount(LatencyHistogram.getBucketIndex(10)));
+        Assert.assertEquals(3, histogram.getCount(LatencyHistogram.getBucketIndex(5000)));
+        Assert.assertEquals(LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(5000)), histogram.getPercentile(50));
+    }
+
+    @Test
+    public void add_interleaved() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram other = new LatencyHistogram();
+        final LatencyHistogram expected = new LatencyHistogram();
+        for (int elapsed = 0; elapsed < 10000; elapsed += 7) {
+            if (elapsed % 2 == 0) {
+                histogram.addElapsed(elapsed);
+            } else {
+                other.addElapsed(elapsed);
+            }
+            expected.addElapsed(elapsed);
+        }
+        histogram.add(other);
+        histogram.add(new LatencyHistogram());
+
+        Assert.assertEquals(expected, histogram);
+        Assert.assertEquals(expected.hashCode(), histogram.hashCode());
+        Assert.assertEquals(expected.getTotalCount(), histogram.getTotalCount());
+        Assert.assertEquals(expected.getPercentile(95), histogram.getPercentile(95));
+    }
+
+    @Test
+    public void getCount_empty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.addElapsed(3000);
+        histogram.addElapsed(1);
+
+        Assert.assertEquals(0, histogram.getCount(LatencyHistogram.getBucketIndex(100)));
+        Assert.assertEquals(1, histogram.getCount(LatencyHistogram.getBucketIndex(1)));
+        Assert.assertEquals(LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(3000)), histogram.getPercentile(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addCount_outOfRange() {
+        new LatencyHistogram().addCount(LatencyHistogram.BUCKET_COUNT, 1);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.bo;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo.Metric;
+
+/**
+ * @author emeroad
+ */
+public class AgentStatRollupBoTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void testBucketTimestamp() {
+        assertEquals(120000L, AgentStatRollupBo.getBucketTimestamp(179999L, AgentStatRollupBo.ONE_MINUTE));
+        assertEquals(180000L, AgentStatRollupBo.getBucketTimestamp(180000L, AgentStatRollupBo.ONE_MINUTE));
+    }
+
+    @Test
+    public void testByteArrayConversion() {
+        // Given
+        final AgentStatRollupBo testBo = new AgentStatRollupBo("testAgent", 60000L, AgentStatRollupBo.ONE_MINUTE);
+        testBo.addMemoryGc(createMemoryGcBo(100L, 3L));
+        testBo.addMemoryGc(createMemoryGcBo(300L, 5L));
+        testBo.addCpuLoad(createCpuLoadBo(0.2D, -1D));
+        // When
+        final byte[] serializedBo = testBo.writeValue();
+        final AgentStatRollupBo deserializedBo = new AgentStatRollupBo(serializedBo);
+        // Then
+        assertEquals(testBo.getAgentId(), deserializedBo.getAgentId());
+        assertEquals(testBo.getTimestamp(), deserializedBo.getTimestamp());
+        assertEquals(testBo.getInterval(), deserializedBo.getInterval());
+        assertEquals(testBo.getGcType(), deserializedBo.getGcType());
+        for (Metric metric : Metric.values()) {
+            assertEquals(testBo.getCount(metric), deserializedBo.getCount(metric));
+            assertEquals(testBo.getMin(metric), deserializedBo.getMin(metric), DELTA);
+            assertEquals(testBo.getMax(metric), deserializedBo.getMax(metric), DELTA);
+            assertEquals(testBo.getSum(metric), deserializedBo.getSum(metric), DELTA);
+        }
+        assertEquals(2, deserializedBo.getCount(Metric.JVM_MEMORY_HEAP_USED));
+        assertEquals(200D, deserializedBo.getAvg(Metric.JVM_MEMORY_HEAP_USED), DELTA);
+        assertEquals(1, deserializedBo.getCount(Metric.JVM_CPU_LOAD));
+        // uncollected cpu load is skipped
+        assertEquals(0, deserializedBo.getCount(Metric.SYSTEM_CPU_LOAD));
+    }
+
+    @Test
+    public void testMerge() {
+        // Given
+        final AgentStatRollupBo first = new AgentStatRollupBo("testAgent", 0L, AgentStatRollupBo.ONE_HOUR);
+        first.addMemoryGc(createMemoryGcBo(100L, 1L));
+        final AgentStatRollupBo second = new AgentStatRollupBo("testAgent", 0L, AgentStatRollupBo.ONE_HOUR);
+        second.addMemoryGc(createMemoryGcBo(50L, 2L));
+        second.addMemoryGc(createMemoryGcBo(150L, 3L));
+        second.addCpuLoad(createCpuLoadBo(0.5D, 0.7D));
+        // When
+        first.merge(new AgentStatRollupBo(second.writeValue()));
+        // Then
+        assertEquals(3, first.getCount(Metric.JVM_MEMORY_HEAP_USED));
+        assertEquals(50D, first.getMin(Metric.JVM_MEMORY_HEAP_USED), DELTA);
+        assertEquals(150D, first.getMax(Metric.JVM_MEMORY_HEAP_USED), DELTA);
+        assertEquals(100D, first.getAvg(Metric.JVM_MEMORY_HEAP_USED), DELTA);
+        assertEquals(3D, first.getMax(Metric.JVM_GC_OLD_COUNT), DELTA);
+        assertEquals(0.7D, first.getMin(Metric.SYSTEM_CPU_LOAD), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeOtherBucket() {
+        final AgentStatRollupBo first = new AgentStatRollupBo("testAgent", 0L, AgentStatRollupBo.ONE_MINUTE);
+        final AgentStatRollupBo second = new AgentStatRollupBo("testAgent", AgentStatRollupBo.ONE_MINUTE, AgentStatRollupBo.ONE_MINUTE);
+        first.merge(second);
+    }
+
+    private AgentStatMemoryGcBo createMemoryGcBo(long heapUsed, long gcOldCount) {
+        final AgentStatMemoryGcBo.Builder builder = new AgentStatMemoryGcBo.Builder("testAgent", 0L, 1L);
+        builder.gcType("CMS");
+        builder.jvmMemoryHeapUsed(heapUsed);
+        builder.jvmGcOldCount(gcOldCount);
+        return builder.build();
+    }
+
+    private AgentStatCpuLoadBo createCpuLoadBo(double jvmCpuLoad, double systemCpuLoad) {
+        final AgentStatCpuLoadBo.Builder builder = new AgentStatCpuLoadBo.Builder("testAgent", 0L, 1L);
+        builder.jvmCpuLoad(jvmCpuLoad);
+        builder.systemCpuLoad(systemCpuLoad);
+        return builder.build();
+    }
+}
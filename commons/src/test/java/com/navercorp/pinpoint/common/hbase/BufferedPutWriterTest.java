@@ -0,0 +1,182 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.hadoop.hbase.HbaseOperations;
+import org.springframework.data.hadoop.hbase.TableCallback;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author emeroad
+ */
+public class BufferedPutWriterTest {
+
+    @Test
+    public void batchBySize() throws Exception {
+        final List<Integer> batchSizeList = new CopyOnWriteArrayList<Integer>();
+        HbaseOperations hbaseOperations = newHbaseOperations(batchSizeList);
+
+        BufferedPutWriter writer = new BufferedPutWriter(hbaseOperations, 1024, 10, 60000);
+        try {
+            for (int i = 0; i < 25; i++) {
+                writer.put("test", newPut(i));
+            }
+            // two full batches are written without waiting for the flush interval
+            waitWritten(writer, 20);
+            Assert.assertTrue(writer.getWrittenCount() >= 20);
+            Assert.assertEquals(25, writer.getBufferedCount());
+        } finally {
+            writer.shutdown();
+        }
+        // the remainder is flushed on shutdown
+        Assert.assertEquals(25, writer.getWrittenCount());
+        Assert.assertEquals(0, writer.getQueueSize());
+        for (Integer batchSize : batchSizeList) {
+            Assert.assertTrue(batchSize <= 10);
+        }
+    }
+
+    @Test
+    public void flushInterval() throws Exception {
+        final List<Integer> batchSizeList = new CopyOnWriteArrayList<Integer>();
+        HbaseOperations hbaseOperations = newHbaseOperations(batchSizeList);
+
+        BufferedPutWriter writer = new BufferedPutWriter(hbaseOperations, 1024, 100, 10);
+        try {
+            writer.put("test", newPut(0));
+            writer.put("test", newPut(1));
+            waitWritten(writer, 2);
+            Assert.assertEquals(2, writer.getWrittenCount());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    public void writeDirectWhenQueueIsFull() throws Exception {
+        final List<Integer> batchSizeList = new CopyOnWriteArrayList<Integer>();
+        HbaseOperations hbaseOperations = newHbaseOperations(batchSizeList);
+
+        BufferedPutWriter writer = new BufferedPutWriter(hbaseOperations, 1, 100, 60000);
+        // let the flush thread finish its first pass and wait for the flush interval
+        Thread.sleep(100);
+        try {
+            writer.put("test", newPut(0));
+            writer.put("test", newPut(1));
+            Assert.assertEquals(1, writer.getDirectCount());
+            Assert.assertEquals(1, writer.getBufferedCount());
+        } finally {
+            writer.shutdown();
+        }
+        Assert.assertEquals(2, writer.getWrittenCount());
+    }
+
+    @Test
+    public void failedCount() throws Exception {
+        HbaseOperations hbaseOperations = mock(HbaseOperations.class);
+        when(hbaseOperations.execute(anyString(), any(TableCallback.class))).thenThrow(new RuntimeException("test"));
+
+        BufferedPutWriter writer = new BufferedPutWriter(hbaseOperations, 1024, 10, 60000);
+        writer.put("test", newPut(0));
+        writer.shutdown();
+        Assert.assertEquals(1, writer.getFailedCount());
+        Assert.assertEquals(0, writer.getWrittenCount());
+    }
+
+    @Test
+    public void partialFailedCount() throws Exception {
+        final HTableInterface htable = mock(HTableInterface.class);
+        List<Throwable> exceptions = new ArrayList<Throwable>();
+        exceptions.add(new IOException("test"));
+        List<Row> actions = new ArrayList<Row>();
+        actions.add(newPut(1));
+        RetriesExhaustedWithDetailsException exception = new RetriesExhaustedWithDetailsException(exceptions, actions, Collections.singletonList("localhost:60020"));
+        doThrow(exception).when(htable).put(anyListOf(Put.class));
+        HbaseOperations hbaseOperations = newHbaseOperations(htable);
+
+        BufferedPutWriter writer = new BufferedPutWriter(hbaseOperations, 1024, 10, 60000);
+        writer.put("test", newPut(0));
+        writer.put("test", newPut(1));
+        writer.put("test", newPut(2));
+        writer.shutdown();
+        // only the rejected Put is counted as failed
+        Assert.assertEquals(1, writer.getFailedCount());
+        Assert.assertEquals(2, writer.getWrittenCount());
+    }
+
+    private void waitWritten(BufferedPutWriter writer, long count) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 3000;
+        while (writer.getWrittenCount() < count && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Put newPut(int i) {
+        Put put = new Put(Bytes.toBytes(i));
+        put.add(Bytes.toBytes("F"), Bytes.toBytes("Q"), Bytes.toBytes(i));
+        return put;
+    }
+
+    @SuppressWarnings("unchecked")
+    private HbaseOperations newHbaseOperations(final List<Integer> batchSizeList) throws Exception {
+        final HTableInterface htable = mock(HTableInterface.class);
+        doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                List<Put> puts = (List<Put>) invocation.getArguments()[0];
+                batchSizeList.add(puts.size());
+                return null;
+            }
+        }).when(htable).put(anyListOf(Put.class));
+        return newHbaseOperations(htable);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HbaseOperations newHbaseOperations(final HTableInterface htable) throws Exception {
+        HbaseOperations hbaseOperations = mock(HbaseOperations.class);
+        when(hbaseOperations.execute(anyString(), any(TableCallback.class))).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                TableCallback<Object> callback = (TableCallback<Object>) invocation.getArguments()[1];
+                return callback.doInTable(htable);
+            }
+        });
+        return hbaseOperations;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import com.sematext.hbase.wd.AbstractRowKeyDistributor;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.HTableInterface;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.data.hadoop.hbase.HbaseOperations;
+import org.springframework.data.hadoop.hbase.HbaseSystemException;
+import org.springframework.data.hadoop.hbase.HbaseTemplate;
+import org.springframework.data.hadoop.hbase.RowMapper;
+import org.springframework.data.hadoop.hbase.TableCallback;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author emeroad
+ */
+public class ParallelResultScannerTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("F");
+
+    private final AbstractRowKeyDistributor keyDistributor = new OneBytePrefixDistributor();
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        executor.awaitTermination(1000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void mergeOrder() throws Exception {
+        // bucket i holds i, i+3, i+6 ...
+        List<List<Long>> buckets = new ArrayList<List<Long>>();
+        for (int i = 0; i < 3; i++) {
+            buckets.add(new ArrayList<Long>());
+        }
+        for (long key = 0; key < 1000; key++) {
+            buckets.get((int) (key % 3)).add(key);
+        }
+        HbaseOperations hbaseOperations = newHbaseOperations(buckets, null);
+
+        ParallelResultScanner scanner = new ParallelResultScanner(hbaseOperations, "test", newScans(3), keyDistributor, executor, 4);
+        try {
+            List<Long> keyList = new RowMapperResultsExtractor<Long>(new KeyMapper()).extractData(scanner);
+            Assert.assertEquals(1000, keyList.size());
+            for (int i = 0; i < keyList.size(); i++) {
+                Assert.assertEquals(Long.valueOf(i), keyList.get(i));
+            }
+        } finally {
+            scanner.close();
+        }
+    }
+
+    @Test
+    public void limit() throws Exception {
+        List<List<Long>> buckets = new ArrayList<List<Long>>();
+        buckets.add(Arrays.asList(1L, 4L, 5L, 9L));
+        buckets.add(Arrays.asList(2L, 3L, 7L));
+        buckets.add(Arrays.asList(6L, 8L));
+        HbaseOperations hbaseOperations = newHbaseOperations(buckets, null);
+
+        final List<Result> lastResult = new ArrayList<Result>();
+        LimitEventHandler limitEventHandler = new LimitEventHandler() {
+            @Override
+            public void handleLastResult(Result result) {
+                lastResult.add(result);
+            }
+        };
+
+        ParallelResultScanner scanner = new ParallelResultScanner(hbaseOperations, "test", newScans(3), keyDistributor, executor, 1);
+        try {
+            List<Long> keyList = new LimitRowMapperResultsExtractor<Long>(new KeyMapper(), 5, limitEventHandler).extractData(scanner);
+            Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L, 5L), keyList);
+            Assert.assertEquals(1, lastResult.size());
+            Assert.assertEquals(5L, Bytes.toLong(keyDistributor.getOriginalKey(lastResult.get(0).getRow())));
+        } finally {
+            scanner.close();
+        }
+    }
+
+    @Test(expected = HbaseSystemException.class)
+    public void scanError() throws Exception {
+        List<List<Long>> buckets = new ArrayList<List<Long>>();
+        buckets.add(Arrays.asList(1L, 4L));
+        buckets.add(Arrays.asList(2L, 3L));
+        HbaseOperations hbaseOperations = newHbaseOperations(buckets, new HbaseSystemException(new IOException("test")));
+
+        ParallelResultScanner scanner = new ParallelResultScanner(hbaseOperations, "test", newScans(2), keyDistributor, executor, 4);
+        try {
+            new RowMapperResultsExtractor<Long>(new KeyMapper()).extractData(scanner);
+        } finally {
+            scanner.close();
+        }
+    }
+
+    private Scan[] newScans(int length) {
+        Scan[] scans = new Scan[length];
+        for (int i = 0; i < length; i++) {
+            scans[i] = new Scan(new byte[]{(byte) i});
+            scans[i].setId("test-" + i);
+        }
+        return scans;
+    }
+
+    private HbaseOperations newHbaseOperations(final List<List<Long>> buckets, final RuntimeException lastBucketError) throws IOException {
+        final HTableInterface htable = mock(HTableInterface.class);
+        when(htable.getScanner(any(Scan.class))).thenAnswer(new Answer<ResultScanner>() {
+            @Override
+            public ResultScanner answer(InvocationOnMock invocation) throws Throwable {
+                Scan scan = (Scan) invocation.getArguments()[0];
+                int bucket = scan.getStartRow()[0];
+                if (lastBucketError != null && bucket == buckets.size() - 1) {
+                    throw lastBucketError;
+                }
+                return new ListResultScanner(bucket, buckets.get(bucket));
+            }
+        });
+
+        // mockito answers are serialized, so the table callback can't run on a mock
+        return new HbaseTemplate() {
+            @Override
+            public <T> T execute(String tableName, TableCallback<T> action) {
+                try {
+                    return action.doInTable(htable);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable th) {
+                    throw new HbaseSystemException(new Exception(th));
+                }
+            }
+        };
+    }
+
+    private static class KeyMapper implements RowMapper<Long> {
+        @Override
+        public Long mapRow(Result result, int rowNum) throws Exception {
+            return Bytes.toLong(result.getRow(), 1);
+        }
+    }
+
+    private static class ListResultScanner implements ResultScanner {
+        private final Iterator<Long> keys;
+        private final byte prefix;
+
+        private ListResultScanner(int prefix, List<Long> keys) {
+            this.prefix = (byte) prefix;
+            this.keys = keys.iterator();
+        }
+
+        @Override
+        public Result next() throws IOException {
+            if (!keys.hasNext()) {
+                return null;
+            }
+            byte[] row = Bytes.add(new byte[]{prefix}, Bytes.toBytes(keys.next()));
+            return new Result(new KeyValue[]{new KeyValue(row, FAMILY, FAMILY, row)});
+        }
+
+        @Override
+        public Result[] next(int nbRows) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public Iterator<Result> iterator() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class OneBytePrefixDistributor extends AbstractRowKeyDistributor {
+        @Override
+        public byte[] getDistributedKey(byte[] originalKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public byte[] getOriginalKey(byte[] adjustedKey) {
+            return Bytes.tail(adjustedKey, adjustedKey.length - 1);
+        }
+
+        @Override
+        public byte[][] getAllDistributedKeys(byte[] originalKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getParamsToStore() {
+            return null;
+        }
+
+        @Override
+        public void init(String storedParams) {
+        }
+    }
+}
@@ -25,12 +25,15 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.navercorp.pinpoint.bootstrap.config.Filter;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.instrument.ByteCodeInstrumentor;
 import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
 import com.navercorp.pinpoint.bootstrap.plugin.editor.ClassEditor;
 import com.navercorp.pinpoint.bootstrap.plugin.editor.DedicatedClassEditor;
 import com.navercorp.pinpoint.common.plugin.PluginLoader;
+import com.navercorp.pinpoint.profiler.interceptor.bci.TransformSession;
+import com.navercorp.pinpoint.profiler.interceptor.bci.TransformedClassCache;
 import com.navercorp.pinpoint.profiler.modifier.AbstractModifier;
 import com.navercorp.pinpoint.profiler.modifier.DefaultModifierRegistry;
 import com.navercorp.pinpoint.profiler.modifier.Modifier;
@@ -61,6 +64,12 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer {
     private final ProfilerConfig profilerConfig;
 
     private final ClassFileFilter skipFilter;
+
+    private final Filter<String> profilableClassFilter;
+    // modifier of the profilable classes
+    private final AbstractModifier profilableClassModifier;
+
+    private TransformedClassCache transformedClassCache;
     
     public ClassFileTransformerDispatcher(DefaultAgent agent, ByteCodeInstrumentor byteCodeInstrumentor, ClassFileRetransformer retransformer, List<DefaultProfilerPluginContext> pluginContexts, URL[] pluginJars) {
         if (agent == null) {
@@ -79,6 +88,12 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer {
         this.profilerConfig = agent.getProfilerConfig();
         this.modifierRegistry = createModifierRegistry(pluginContexts, pluginJars);
         this.skipFilter = new DefaultClassFileFilter(agentClassLoader);
+        this.profilableClassFilter = profilerConfig.getProfilableClassFilter();
+        this.profilableClassModifier = this.modifierRegistry.findModifier("*");
+    }
+
+    public void setTransformedClassCache(TransformedClassCache transformedClassCache) {
+        this.transformedClassCache = transformedClassCache;
     }
 
     @Override
@@ -91,9 +106,9 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer {
         if (findModifier == null) {
             // TODO For debug
             // TODO What if a modifier is duplicated?
-            if (this.profilerConfig.getProfilableClassFilter().filter(jvmClassName)) {
+            if (this.profilableClassFilter.filter(jvmClassName)) {
                 // Added to see if call stack view is OK on a test machine.
-                findModifier = this.modifierRegistry.findModifier("*");
+                findModifier = this.profilableClassModifier;
             } else {
                 return null;
             }
@@ -109,7 +124,7 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer {
             final ClassLoader before = getContextClassLoader(thread);
             thread.setContextClassLoader(this.agentClassLoader);
             try {
-                return findModifier.modify(classLoader, javaClassName, protectionDomain, classFileBuffer);
+                return modify(findModifier, classLoader, javaClassName, classBeingRedefined, protectionDomain, classFileBuffer);
             } finally {
                 // The context class loader have to be recovered even if it was null.
                 thread.setContextClassLoader(before);
@@ -122,6 +137,37 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer {
         }
     }
 
+    private byte[] modify(AbstractModifier modifier, ClassLoader classLoader, String javaClassName, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classFileBuffer) {
+        final TransformedClassCache transformedClassCache = this.transformedClassCache;
+        if (transformedClassCache == null || classBeingRedefined != null) {
+            return modifier.modify(classLoader, javaClassName, protectionDomain, classFileBuffer);
+        }
+
+        final TransformSession session = transformedClassCache.begin(javaClassName, classFileBuffer);
+        byte[] transformed;
+        try {
+            transformed = modifier.modify(classLoader, javaClassName, protectionDomain, classFileBuffer);
+        } catch (RuntimeException e) {
+            if (!session.isReplay()) {
+                throw e;
+            }
+            logger.info("cached class replay error. class:{} Caused:{}", javaClassName, e.getMessage(), e);
+            transformed = null;
+        } finally {
+            transformedClassCache.end(session);
+        }
+
+        if (session.isReplay()) {
+            if (transformedClassCache.verifyReplay(session, transformed)) {
+                return session.getCachedBytes();
+            }
+            // not the transformation of the cache. transform again without it
+            return modifier.modify(classLoader, javaClassName, protectionDomain, classFileBuffer);
+        }
+        transformedClassCache.store(session, transformed);
+        return transformed;
+    }
+
     private ClassLoader getContextClassLoader(Thread thread) throws Throwable {
         try {
             return thread.getContextClassLoader();
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.profiler;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.Instrumentation;
 import java.net.URL;
@@ -24,8 +26,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
 
 import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.Version;
 import com.navercorp.pinpoint.profiler.interceptor.DefaultInterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.interceptor.InterceptorRegistryBinder;
 import org.slf4j.Logger;
@@ -46,19 +50,32 @@ import com.navercorp.pinpoint.common.plugin.PluginLoader;
 import com.navercorp.pinpoint.exception.PinpointException;
 import com.navercorp.pinpoint.profiler.context.DefaultServerMetaDataHolder;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
 import com.navercorp.pinpoint.profiler.context.storage.BufferedStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.SpanStorageFactory;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.interceptor.bci.JavaAssistByteCodeInstrumentor;
+import com.navercorp.pinpoint.profiler.interceptor.bci.TransformedClassCache;
 import com.navercorp.pinpoint.profiler.logging.Slf4jLoggerBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
+import com.navercorp.pinpoint.profiler.monitor.allocation.AllocationCollector;
+import com.navercorp.pinpoint.profiler.monitor.metric.MetricRegistry;
+import com.navercorp.pinpoint.profiler.monitor.response.ResponseStatCollector;
+import com.navercorp.pinpoint.profiler.monitor.sampling.SamplingCollector;
+import com.navercorp.pinpoint.profiler.monitor.sender.SenderQueueCollector;
+import com.navercorp.pinpoint.profiler.monitor.sql.SqlCacheCollector;
 import com.navercorp.pinpoint.profiler.plugin.DefaultProfilerPluginContext;
 import com.navercorp.pinpoint.profiler.receiver.CommandDispatcher;
 import com.navercorp.pinpoint.profiler.receiver.service.EchoService;
 import com.navercorp.pinpoint.profiler.receiver.service.ThreadDumpService;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
 import com.navercorp.pinpoint.profiler.sampler.SamplerFactory;
+import com.navercorp.pinpoint.profiler.sampler.SamplerType;
+import com.navercorp.pinpoint.profiler.sender.AsyncQueueType;
+import com.navercorp.pinpoint.profiler.sender.BatchUdpDataSender;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
+import com.navercorp.pinpoint.profiler.sender.SpanEncoder;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSender;
 import com.navercorp.pinpoint.profiler.util.ApplicationServerTypeResolver;
@@ -82,12 +99,14 @@ public class DefaultAgent implements Agent {
 
     private final ByteCodeInstrumentor byteCodeInstrumentor;
     private final ClassFileTransformer classFileTransformer;
+    private final TransformedClassCache transformedClassCache;
     
     private final ProfilerConfig profilerConfig;
 
     private final AgentInfoSender agentInfoSender;
     private final AgentStatMonitor agentStatMonitor;
 
+    private final Sampler sampler;
     private final TraceContext traceContext;
 
     private PinpointSocketFactory factory;
@@ -145,7 +164,10 @@ public class DefaultAgent implements Agent {
         if (!typeResolver.resolve()) {
             throw new PinpointException("ApplicationServerType not found.");
         }
-        this.byteCodeInstrumentor = new JavaAssistByteCodeInstrumentor(this, interceptorRegistryBinder);
+        final JavaAssistByteCodeInstrumentor byteCodeInstrumentor = new JavaAssistByteCodeInstrumentor(this, interceptorRegistryBinder);
+        this.byteCodeInstrumentor = byteCodeInstrumentor;
+        this.transformedClassCache = createTransformedClassCache(profilerConfig, pluginJars);
+        byteCodeInstrumentor.setTransformedClassCache(transformedClassCache);
         if (logger.isInfoEnabled()) {
             logger.info("DefaultAgent classLoader:{}", this.getClass().getClassLoader());
         }
@@ -162,21 +184,40 @@ public class DefaultAgent implements Agent {
 
         this.spanDataSender = createUdpSpanDataSender(this.profilerConfig.getCollectorSpanServerPort(), "Pinpoint-UdpSpanDataExecutor",
                 this.profilerConfig.getSpanDataSenderWriteQueueSize(), this.profilerConfig.getSpanDataSenderSocketTimeout(),
-                this.profilerConfig.getSpanDataSenderSocketSendBufferSize());
+                this.profilerConfig.getSpanDataSenderSocketSendBufferSize(),
+                AsyncQueueType.getType(this.profilerConfig.getSpanDataSenderWriteQueueType(), AsyncQueueType.LINKED));
         this.statDataSender = createUdpStatDataSender(this.profilerConfig.getCollectorStatServerPort(), "Pinpoint-UdpStatDataExecutor",
                 this.profilerConfig.getStatDataSenderWriteQueueSize(), this.profilerConfig.getStatDataSenderSocketTimeout(),
-                this.profilerConfig.getStatDataSenderSocketSendBufferSize());
+                this.profilerConfig.getStatDataSenderSocketSendBufferSize(),
+                AsyncQueueType.getType(this.profilerConfig.getStatDataSenderWriteQueueType(), AsyncQueueType.LINKED));
 
-        this.traceContext = createTraceContext(agentInformation.getServerType());
+        setSpanEncoder();
+
+        this.sampler = createSampler();
+        logger.info("SamplerType:{}", sampler);
+        final SpanRecycler spanRecycler = createSpanRecycler();
+        final DefaultTraceContext traceContext = createTraceContext(agentInformation.getServerType(), sampler, spanRecycler);
+        this.traceContext = traceContext;
 
         this.agentInfoSender = new AgentInfoSender(tcpDataSender, profilerConfig.getAgentInfoSendRetryInterval(), this.agentInformation, this.serverMetaDataHolder);
 
-        this.agentStatMonitor = new AgentStatMonitor(this.statDataSender, this.agentInformation.getAgentId(), this.agentInformation.getStartTime());
+        this.agentStatMonitor = new AgentStatMonitor(this.statDataSender, this.agentInformation.getAgentId(), this.agentInformation.getStartTime(), createSamplingCollector(sampler));
+        if (spanRecycler != null) {
+            this.agentStatMonitor.setAllocationCollector(new AllocationCollector(spanRecycler));
+        }
+        this.agentStatMonitor.setSenderQueueCollector(createSenderQueueCollector(spanDataSender), createSenderQueueCollector(statDataSender));
+        this.agentStatMonitor.setSqlCacheCollector(new SqlCacheCollector(traceContext.getSqlCache()));
+        if (profilerConfig.isResponseStatEnable()) {
+            traceContext.setResponseMetricEnable(true);
+            this.agentStatMonitor.setResponseStatCollector(createResponseStatCollector(traceContext.getMetricRegistry()), profilerConfig.getResponseStatInterval());
+        }
         
         
         ClassFileRetransformer retransformer = new ClassFileRetransformer(instrumentation);
         instrumentation.addTransformer(retransformer, true);
-        this.classFileTransformer = new ClassFileTransformerDispatcher(this, byteCodeInstrumentor, retransformer, pluginContexts, pluginJars);
+        final ClassFileTransformerDispatcher classFileTransformer = new ClassFileTransformerDispatcher(this, byteCodeInstrumentor, retransformer, pluginContexts, pluginJars);
+        classFileTransformer.setTransformedClassCache(transformedClassCache);
+        this.classFileTransformer = classFileTransformer;
         instrumentation.addTransformer(this.classFileTransformer);
 
 
@@ -192,6 +233,28 @@ public class DefaultAgent implements Agent {
         }
     }
 
+    private TransformedClassCache createTransformedClassCache(ProfilerConfig profilerConfig, URL[] pluginJars) {
+        if (!profilerConfig.isInstrumentCacheEnable()) {
+            return null;
+        }
+        // modifiers and plugins decide what to instrument from the properties. any change invalidates the cache
+        final StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append(Version.VERSION);
+        fingerprint.append(new TreeMap<Object, Object>(profilerConfig.getProperties()));
+        if (pluginJars != null) {
+            for (URL pluginJar : pluginJars) {
+                final File file = new File(pluginJar.getFile());
+                fingerprint.append(pluginJar).append(file.length()).append(file.lastModified());
+            }
+        }
+        try {
+            return new TransformedClassCache(new File(profilerConfig.getInstrumentCacheDir()), fingerprint.toString(), interceptorRegistryBinder.getInterceptorRegistryAdaptor());
+        } catch (IOException e) {
+            logger.warn("transformed class cache disabled. Caused:{}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     private CommandDispatcher createCommandDispatcher() {
         CommandDispatcher commandDispatcher = new CommandDispatcher();
         commandDispatcher.registerCommandService(new ThreadDumpService());
@@ -263,23 +326,50 @@ public class DefaultAgent implements Agent {
         PLoggerFactory.initialize(binder);
     }
 
-    private TraceContext createTraceContext(ServiceType serverType) {
+    private DefaultTraceContext createTraceContext(ServiceType serverType, Sampler sampler, SpanRecycler spanRecycler) {
         final StorageFactory storageFactory = createStorageFactory();
         logger.info("StorageFactoryType:{}", storageFactory);
 
-        final Sampler sampler = createSampler();
-        logger.info("SamplerType:{}", sampler);
-        
         final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
         final DefaultTraceContext traceContext = new DefaultTraceContext(jdbcSqlCacheSize, serverType, storageFactory, sampler, this.serverMetaDataHolder);
         traceContext.setAgentInformation(this.agentInformation);
         traceContext.setPriorityDataSender(this.tcpDataSender);
 
         traceContext.setProfilerConfig(profilerConfig);
+        if (spanRecycler != null) {
+            traceContext.setSpanRecycler(spanRecycler);
+        }
 
         return traceContext;
     }
 
+    private SpanRecycler createSpanRecycler() {
+        if (!profilerConfig.isIoRecycleEnable()) {
+            return null;
+        }
+        // objects are returned by the udp sender only. other senders may still hold the span after sending it.
+        if (!(spanDataSender instanceof UdpDataSender)) {
+            logger.info("span recycling disabled. spanDataSender:{}", spanDataSender);
+            return null;
+        }
+        final SpanRecycler spanRecycler = new SpanRecycler(profilerConfig.getIoRecyclePoolSize());
+        ((UdpDataSender) spanDataSender).setSpanRecycler(spanRecycler);
+        logger.info("span recycling enabled. poolSize:{}", profilerConfig.getIoRecyclePoolSize());
+        return spanRecycler;
+    }
+
+    private void setSpanEncoder() {
+        if (!profilerConfig.isIoDirectEncodeEnable()) {
+            return;
+        }
+        if (!(spanDataSender instanceof UdpDataSender)) {
+            logger.info("span direct encoding disabled. spanDataSender:{}", spanDataSender);
+            return;
+        }
+        ((UdpDataSender) spanDataSender).setSpanEncoder(new SpanEncoder());
+        logger.info("span direct encoding enabled.");
+    }
+
     protected StorageFactory createStorageFactory() {
         if (profilerConfig.isIoBufferingEnable()) {
             return new BufferedStorageFactory(this.spanDataSender, this.profilerConfig, this.agentInformation);
@@ -294,8 +384,35 @@ public class DefaultAgent implements Agent {
         int samplingRate = this.profilerConfig.getSamplingRate();
 
         SamplerFactory samplerFactory = new SamplerFactory();
+        final SamplerType samplerType = SamplerType.getType(this.profilerConfig.getSamplingType(), SamplerType.RATE);
+        if (samplerType == SamplerType.ADAPTIVE) {
+            return samplerFactory.createAdaptiveSampler(samplingEnable, this.profilerConfig.getSamplingAdaptiveTps(),
+                    this.profilerConfig.isSamplingAdaptiveKeepErrorAndSlow(), this.profilerConfig.getSamplingAdaptiveDeferredTps(),
+                    this.profilerConfig.getSamplingAdaptiveSlowThreshold());
+        }
         return samplerFactory.createSampler(samplingEnable, samplingRate);
     }
+
+    private SenderQueueCollector createSenderQueueCollector(DataSender dataSender) {
+        if (!(dataSender instanceof UdpDataSender)) {
+            return null;
+        }
+        return new SenderQueueCollector((UdpDataSender) dataSender);
+    }
+
+    private ResponseStatCollector createResponseStatCollector(MetricRegistry metricRegistry) {
+        final String agentId = this.agentInformation.getAgentId();
+        final String applicationName = this.agentInformation.getApplicationName();
+        final short serverType = this.agentInformation.getServerType().getCode();
+        return new ResponseStatCollector(metricRegistry, agentId, applicationName, serverType, this.agentInformation.getStartTime());
+    }
+
+    private SamplingCollector createSamplingCollector(Sampler sampler) {
+        if (sampler instanceof AdaptiveSampler) {
+            return new SamplingCollector((AdaptiveSampler) sampler);
+        }
+        return null;
+    }
     
     protected ServerMetaDataHolder createServerMetaDataHolder() {
         List<String> vmArgs = RuntimeMXBeanUtils.getVmArgs();
@@ -347,12 +464,22 @@ public class DefaultAgent implements Agent {
         return new TcpDataSender(socket);
     }
 
-    protected DataSender createUdpStatDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize) {
-        return new UdpDataSender(this.profilerConfig.getCollectorStatServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize);
+    protected DataSender createUdpStatDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
+        final String collectorStatServerIp = this.profilerConfig.getCollectorStatServerIp();
+        if (this.profilerConfig.isStatDataSenderBatchEnable()) {
+            final int maxPacketSize = this.profilerConfig.getStatDataSenderChunkSize();
+            return new BatchUdpDataSender(collectorStatServerIp, port, threadName, writeQueueSize, timeout, sendBufferSize, queueType, maxPacketSize);
+        }
+        return new UdpDataSender(collectorStatServerIp, port, threadName, writeQueueSize, timeout, sendBufferSize, queueType);
     }
     
-    protected DataSender createUdpSpanDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize) {
-        return new UdpDataSender(this.profilerConfig.getCollectorSpanServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize);
+    protected DataSender createUdpSpanDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
+        final String collectorSpanServerIp = this.profilerConfig.getCollectorSpanServerIp();
+        if (this.profilerConfig.isSpanDataSenderBatchEnable()) {
+            final int maxPacketSize = this.profilerConfig.getSpanDataSenderChunkSize();
+            return new BatchUdpDataSender(collectorSpanServerIp, port, threadName, writeQueueSize, timeout, sendBufferSize, queueType, maxPacketSize);
+        }
+        return new UdpDataSender(collectorSpanServerIp, port, threadName, writeQueueSize, timeout, sendBufferSize, queueType);
     }
 
     protected EnhancedDataSender getTcpDataSender() {
@@ -411,6 +538,10 @@ public class DefaultAgent implements Agent {
 
         closeTcpDataSender();
 
+        if (this.transformedClassCache != null) {
+            this.transformedClassCache.close();
+        }
+
         PLoggerFactory.unregister(this.binder);
         this.interceptorRegistryBinder.unbind();
     }
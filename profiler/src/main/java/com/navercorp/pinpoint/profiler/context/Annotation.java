@@ -57,6 +57,12 @@ public class Annotation extends TAnnotation {
         this.setValue(TAnnotationValue.intValue(value));
     }
 
+    // for SpanRecycler
+    void reset(int key) {
+        clear();
+        setKey(key);
+    }
+
     public int getAnnotationKey() {
         return this.getKey();
     }
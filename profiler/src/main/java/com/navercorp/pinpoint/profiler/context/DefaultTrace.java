@@ -25,6 +25,8 @@ import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.util.ParsingResult;
 import com.navercorp.pinpoint.exception.PinpointException;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
+import com.navercorp.pinpoint.profiler.util.AnnotationValueMapper;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
 import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
 
 import org.slf4j.Logger;
@@ -44,6 +46,7 @@ public final class DefaultTrace implements Trace {
     private short sequence;
 
     private boolean sampling = true;
+    private boolean samplingDeferred = false;
 
     private final TraceId traceId;
 
@@ -51,6 +54,9 @@ public final class DefaultTrace implements Trace {
 
     private Storage storage;
 
+    // null if recycling is disabled
+    private SpanRecycler spanRecycler;
+
     private final TraceContext traceContext;
 
     // use for calculating depth of each Span.
@@ -113,6 +119,10 @@ public final class DefaultTrace implements Trace {
         return this.storage;
     }
 
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        this.spanRecycler = spanRecycler;
+    }
+
     public short nextSequence() {
         return sequence++;
     }
@@ -123,10 +133,14 @@ public final class DefaultTrace implements Trace {
 
 
     private StackFrame createSpanEventStackFrame(int stackId) {
-        SpanEvent spanEvent = new SpanEvent(callStack.getSpan());
-
-        // Set properties for the case when stackFrame is not used as part of Span.
-        SpanEventStackFrame stackFrame = new SpanEventStackFrame(spanEvent);
+        final SpanEventStackFrame stackFrame;
+        if (spanRecycler == null) {
+            SpanEvent spanEvent = new SpanEvent(callStack.getSpan());
+            // Set properties for the case when stackFrame is not used as part of Span.
+            stackFrame = new SpanEventStackFrame(spanEvent);
+        } else {
+            stackFrame = spanRecycler.newSpanEventStackFrame(callStack.getSpan());
+        }
         stackFrame.setStackFrameId(stackId);
         stackFrame.setSequence(nextSequence());
         return stackFrame;
@@ -181,8 +195,7 @@ public final class DefaultTrace implements Trace {
 
     @Override
     public void traceRootBlockEnd() {
-//        TODO STATDISABLE remove stat code for now
-//        metricResponseTime();
+        metricResponseTime();
         pop(ROOT_STACKID);
         callStack.popRoot();
         
@@ -207,6 +220,10 @@ public final class DefaultTrace implements Trace {
         }
         final String parentApplicationName = span.getParentApplicationName();
         if (parentApplicationName == null) {
+            // only the root is called by a user. a remote call without the parent application is left out.
+            if (!isRoot()) {
+                return;
+            }
             if (isError) {
                 traceContext.recordUserAcceptResponseTime(HistogramSchema.ERROR_SLOT_TIME);
             } else {
@@ -224,12 +241,36 @@ public final class DefaultTrace implements Trace {
 
 
 
+    private void metricRpcResponseTime(SpanEvent spanEvent) {
+        final String destinationId = spanEvent.getDestinationId();
+        if (destinationId == null) {
+            return;
+        }
+        final ServiceType serviceType = ServiceType.findServiceType(spanEvent.getServiceType());
+        if (!serviceType.isRecordStatistics()) {
+            return;
+        }
+        if (spanEvent.isSetExceptionInfo()) {
+            traceContext.recordRpcResponseTime(serviceType, destinationId, spanEvent.getEndPoint(), HistogramSchema.ERROR_SLOT_TIME);
+        } else {
+            traceContext.recordRpcResponseTime(serviceType, destinationId, spanEvent.getEndPoint(), spanEvent.getEndElapsed());
+        }
+    }
+
     @Override
     public void traceBlockEnd(int stackId) {
+        final StackFrame endStackFrame = this.currentStackFrame;
+        if (endStackFrame instanceof SpanEventStackFrame) {
+            // before pop(). the span event belongs to the storage afterwards
+            metricRpcResponseTime(((SpanEventStackFrame) endStackFrame).getSpanEvent());
+        }
         pop(stackId);
         StackFrame popStackFrame = callStack.pop();
         // When pop, current frame have to be recovered.
         this.currentStackFrame = popStackFrame;
+        if (spanRecycler != null && endStackFrame instanceof SpanEventStackFrame) {
+            spanRecycler.releaseStackFrame((SpanEventStackFrame) endStackFrame);
+        }
     }
 
     private void pop(int stackId) {
@@ -275,6 +316,15 @@ public final class DefaultTrace implements Trace {
         this.sampling = sampling;
     }
 
+    @Override
+    public boolean isSamplingDeferred() {
+        return this.samplingDeferred;
+    }
+
+    public void setSamplingDeferred(boolean samplingDeferred) {
+        this.samplingDeferred = samplingDeferred;
+    }
+
     private void logSpan(SpanEvent spanEvent) {
         if (isTrace) {
             final Thread th = Thread.currentThread();
@@ -417,19 +467,37 @@ public final class DefaultTrace implements Trace {
 
     private void recordSqlParam(TIntStringStringValue tIntStringStringValue) {
         final StackFrame currentStackFrame = this.currentStackFrame;
-        currentStackFrame.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), tIntStringStringValue));
+        if (spanRecycler == null) {
+            currentStackFrame.addAnnotation(new Annotation(AnnotationKey.SQL_ID.getCode(), tIntStringStringValue));
+        } else {
+            final Annotation annotation = spanRecycler.newAnnotation(AnnotationKey.SQL_ID.getCode());
+            annotation.setValue(TAnnotationValue.intStringStringValue(tIntStringStringValue));
+            currentStackFrame.addAnnotation(annotation);
+        }
     }
 
     @Override
     public void recordAttribute(final AnnotationKey key, final String value) {
         final StackFrame currentStackFrame = this.currentStackFrame;
-        currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        if (spanRecycler == null) {
+            currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        } else {
+            final Annotation annotation = spanRecycler.newAnnotation(key.getCode());
+            annotation.setValue(TAnnotationValue.stringValue(value));
+            currentStackFrame.addAnnotation(annotation);
+        }
     }
 
     @Override
     public void recordAttribute(final AnnotationKey key, final int value) {
         final StackFrame currentStackFrame = this.currentStackFrame;
-        currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        if (spanRecycler == null) {
+            currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        } else {
+            final Annotation annotation = spanRecycler.newAnnotation(key.getCode());
+            annotation.setValue(TAnnotationValue.intValue(value));
+            currentStackFrame.addAnnotation(annotation);
+        }
     }
 
     public void recordApiId(final int apiId) {
@@ -440,7 +508,13 @@ public final class DefaultTrace implements Trace {
     @Override
     public void recordAttribute(final AnnotationKey key, final Object value) {
         final StackFrame currentStackFrame = this.currentStackFrame;
-        currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        if (spanRecycler == null) {
+            currentStackFrame.addAnnotation(new Annotation(key.getCode(), value));
+        } else {
+            final Annotation annotation = spanRecycler.newAnnotation(key.getCode());
+            AnnotationValueMapper.mappingValue(annotation, value);
+            currentStackFrame.addAnnotation(annotation);
+        }
     }
 
 
@@ -32,10 +32,12 @@ import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.metadata.LRUCache;
 import com.navercorp.pinpoint.profiler.metadata.Result;
 import com.navercorp.pinpoint.profiler.metadata.SimpleCache;
+import com.navercorp.pinpoint.profiler.metadata.SqlParsingResultCache;
 import com.navercorp.pinpoint.profiler.modifier.db.DefaultDatabaseInfo;
 import com.navercorp.pinpoint.profiler.modifier.db.JDBCUrlParser;
 import com.navercorp.pinpoint.profiler.monitor.metric.ContextMetric;
 import com.navercorp.pinpoint.profiler.monitor.metric.MetricRegistry;
+import com.navercorp.pinpoint.profiler.monitor.metric.RpcMetric;
 import com.navercorp.pinpoint.profiler.sampler.TrueSampler;
 import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.util.RuntimeMXBeanUtils;
@@ -59,7 +61,7 @@ public class DefaultTraceContext implements TraceContext {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
-    private final TraceFactory traceFactory;
+    private final ThreadLocalTraceFactory traceFactory;
 
     private final ActiveThreadCounter activeThreadCounter = new ActiveThreadCounter();
 
@@ -73,8 +75,10 @@ public class DefaultTraceContext implements TraceContext {
     private final ServiceType contextServiceType;
 
     private final MetricRegistry metricRegistry;
+    // the histograms are recorded only if they are sent to the collector
+    private volatile boolean responseMetricEnable = false;
 
-    private final SimpleCache<String> sqlCache;
+    private final SqlParsingResultCache sqlCache;
     private final SqlParser sqlParser = new SqlParser();
 
     private final SimpleCache<String> apiCache = new SimpleCache<String>();
@@ -98,7 +102,7 @@ public class DefaultTraceContext implements TraceContext {
         if (sampler == null) {
             throw new NullPointerException("sampler must not be null");
         }
-        this.sqlCache = new SimpleCache<String>(sqlCacheSize);
+        this.sqlCache = new SqlParsingResultCache(sqlCacheSize);
         this.contextServiceType = contextServiceType;
         this.metricRegistry = new MetricRegistry(this.contextServiceType);
 
@@ -247,15 +251,19 @@ public class DefaultTraceContext implements TraceContext {
 
     @Override
     public ParsingResult parseSql(final String sql) {
+        // the same raw sql always yields the same normalized sql and output, so skip parsing on a hit
+        final ParsingResult cachedResult = this.sqlCache.get(sql);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
 
         final DefaultParsingResult parsingResult = this.sqlParser.normalizedSql(sql);
         final String normalizedSql = parsingResult.getSql();
 
-        final Result cachingResult = this.sqlCache.put(normalizedSql);
+        final Result cachingResult = this.sqlCache.putSql(normalizedSql);
         if (cachingResult.isNewValue()) {
             if (isDebug) {
-                // TODO logging hit ratio could help debugging
-                logger.debug("NewSQLParsingResult:{}", parsingResult);
+                logger.debug("NewSQLParsingResult:{} parsingCacheHit:{} parsingCacheMiss:{}", parsingResult, sqlCache.getHitCount(), sqlCache.getMissCount());
             }
             
             // isNewValue means that the value is newly cached.  
@@ -271,7 +279,14 @@ public class DefaultTraceContext implements TraceContext {
             this.priorityDataSender.request(sqlMetaData);
         }
         parsingResult.setId(cachingResult.getId());
-        return parsingResult;
+        if (sql == null) {
+            return parsingResult;
+        }
+        return this.sqlCache.putParsingResult(sql, parsingResult);
+    }
+
+    public SqlParsingResultCache getSqlCache() {
+        return sqlCache;
     }
 
     @Override
@@ -293,6 +308,22 @@ public class DefaultTraceContext implements TraceContext {
         this.priorityDataSender = priorityDataSender;
     }
 
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        this.traceFactory.setSpanRecycler(spanRecycler);
+    }
+
+    /**
+     * records the response histograms of every transaction, sampled or not.
+     */
+    public void setResponseMetricEnable(boolean responseMetricEnable) {
+        this.responseMetricEnable = responseMetricEnable;
+        this.traceFactory.setMetricTraceEnable(responseMetricEnable);
+    }
+
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
+    }
+
 
     public void setAgentInformation(final AgentInformation agentInformation) {
         if (agentInformation == null) {
@@ -316,20 +347,38 @@ public class DefaultTraceContext implements TraceContext {
     }
 
     public void recordContextMetric(int elapsedTime) {
+        if (!responseMetricEnable) {
+            return;
+        }
         final ContextMetric contextMetric = this.metricRegistry.getResponseMetric();
         contextMetric.addResponseTime(elapsedTime);
     }
 
     public void recordAcceptResponseTime(String parentApplicationName, short parentApplicationType, int elapsedTime) {
+        if (!responseMetricEnable) {
+            return;
+        }
         final ContextMetric contextMetric = this.metricRegistry.getResponseMetric();
         contextMetric.addAcceptHistogram(parentApplicationName, parentApplicationType, elapsedTime);
     }
 
     public void recordUserAcceptResponseTime(int elapsedTime) {
+        if (!responseMetricEnable) {
+            return;
+        }
         final ContextMetric contextMetric = this.metricRegistry.getResponseMetric();
         contextMetric.addUserAcceptHistogram(elapsedTime);
     }
 
+    @Override
+    public void recordRpcResponseTime(ServiceType serviceType, String destinationId, String endPoint, int elapsedTime) {
+        if (!responseMetricEnable) {
+            return;
+        }
+        final RpcMetric rpcMetric = this.metricRegistry.getRpcMetric(serviceType);
+        rpcMetric.addResponseTime(destinationId, endPoint, elapsedTime);
+    }
+
     @Override
     public ServerMetaDataHolder getServerMetaDataHolder() {
         return this.serverMetaDataHolder;
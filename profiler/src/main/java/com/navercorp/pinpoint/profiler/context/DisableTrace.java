@@ -90,6 +90,11 @@ public class DisableTrace  implements Trace {
         return false;
     }
 
+    @Override
+    public boolean isSamplingDeferred() {
+        return false;
+    }
+
     @Override
     public boolean isRoot() {
         return false;
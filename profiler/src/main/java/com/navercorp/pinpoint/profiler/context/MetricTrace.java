@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.bootstrap.interceptor.MethodDescriptor;
 import com.navercorp.pinpoint.common.AnnotationKey;
+import com.navercorp.pinpoint.common.HistogramSchema;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.util.DefaultParsingResult;
 import com.navercorp.pinpoint.common.util.ParsingResult;
@@ -56,12 +57,20 @@ public class MetricTrace implements Trace {
 
     private long transactionId;
 
+    // false if the transaction came from a remote node that decided not to sample it
+    private final boolean root;
+
     public MetricTrace(final TraceContext traceContext, long transactionId) {
+        this(traceContext, transactionId, true);
+    }
+
+    public MetricTrace(final TraceContext traceContext, long transactionId, boolean root) {
         if (traceContext == null) {
             throw new NullPointerException("traceContext must not be null");
         }
         this.traceContext = traceContext;
         this.transactionId = transactionId;
+        this.root = root;
 
         final Span span = createSpan();
         this.callStack = new CallStack(span);
@@ -86,6 +95,7 @@ public class MetricTrace implements Trace {
         }
         this.traceContext = traceContext;
         this.traceId = continueTraceId;
+        this.root = continueTraceId.isRoot();
         final Span span = createSpan();
         this.callStack = new CallStack(span);
         latestStackIndex = this.callStack.push();
@@ -180,13 +190,22 @@ public class MetricTrace implements Trace {
     }
 
     private void metricResponseTime() {
-        final int errCode = this.getCallStack().getSpan().getErrCode();
-        if (errCode != 0) {
+        final Span span = this.getCallStack().getSpan();
+        final boolean isError = span.getErrCode() != 0;
+        final int elapsedTime = this.currentStackFrame.getElapsedTime();
+        if (isError) {
             traceContext.recordContextMetricIsError();
         } else {
-            final int elapsedTime = this.currentStackFrame.getElapsedTime();
             traceContext.recordContextMetric(elapsedTime);
         }
+        final int acceptTime = isError ? HistogramSchema.ERROR_SLOT_TIME : elapsedTime;
+        final String parentApplicationName = span.getParentApplicationName();
+        if (parentApplicationName != null) {
+            traceContext.recordAcceptResponseTime(parentApplicationName, span.getParentApplicationType(), acceptTime);
+        } else if (root) {
+            traceContext.recordUserAcceptResponseTime(acceptTime);
+        }
+        // a remote call without the parent application is not a user request. it is left out of the accept histograms.
     }
 
 
@@ -230,10 +249,15 @@ public class MetricTrace implements Trace {
     }
 
     @Override
-    public boolean isRoot() {
+    public boolean isSamplingDeferred() {
         return false;
     }
 
+    @Override
+    public boolean isRoot() {
+        return root;
+    }
+
 
     @Override
     public void recordException(Throwable th) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.NamedThreadLocal;
+import com.navercorp.pinpoint.profiler.util.jdk.LongAdder;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded object pool with a small arena per thread.
+ * Request threads take from their own arena and refill it from the shared queue in batches, so the shared lock is taken once per batch.
+ * Objects released by another thread (the sender thread) go back to the shared queue. Objects are dropped when the queue is full.
+ *
+ * @author emeroad
+ */
+public abstract class RecyclePool<T> {
+
+    public static final int DEFAULT_ARENA_SIZE = 32;
+
+    private final BlockingQueue<T> sharedQueue;
+    private final int arenaSize;
+    private final ThreadLocal<ArrayList<T>> arena;
+
+    private final LongAdder allocatedCount = new LongAdder();
+    private final LongAdder recycledCount = new LongAdder();
+
+    public RecyclePool(String name, int poolSize) {
+        this(name, poolSize, DEFAULT_ARENA_SIZE);
+    }
+
+    public RecyclePool(String name, int poolSize, final int arenaSize) {
+        if (name == null) {
+            throw new NullPointerException("name must not be null");
+        }
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be positive. poolSize:" + poolSize);
+        }
+        if (arenaSize <= 0) {
+            throw new IllegalArgumentException("arenaSize must be positive. arenaSize:" + arenaSize);
+        }
+        this.sharedQueue = new ArrayBlockingQueue<T>(poolSize);
+        this.arenaSize = arenaSize;
+        this.arena = new NamedThreadLocal<ArrayList<T>>(name) {
+            @Override
+            protected ArrayList<T> initialValue() {
+                return new ArrayList<T>(arenaSize);
+            }
+        };
+    }
+
+    protected abstract T newObject();
+
+    public T take() {
+        final ArrayList<T> arena = this.arena.get();
+        if (arena.isEmpty()) {
+            final int drainSize = sharedQueue.drainTo(arena, arenaSize);
+            if (drainSize == 0) {
+                allocatedCount.increment();
+                return newObject();
+            }
+            recycledCount.add(drainSize);
+        }
+        return arena.remove(arena.size() - 1);
+    }
+
+    /**
+     * returns an object taken by the current thread.
+     */
+    public void releaseLocal(T object) {
+        final ArrayList<T> arena = this.arena.get();
+        if (arena.size() < arenaSize) {
+            arena.add(object);
+            recycledCount.increment();
+            return;
+        }
+        sharedQueue.offer(object);
+    }
+
+    /**
+     * returns an object from any thread.
+     */
+    public void release(T object) {
+        sharedQueue.offer(object);
+    }
+
+    public long getAllocatedCount() {
+        return allocatedCount.sum();
+    }
+
+    /**
+     * number of objects handed back to request threads. counted when they reach an arena.
+     */
+    public long getRecycledCount() {
+        return recycledCount.sum();
+    }
+
+    int getPooledCount() {
+        return sharedQueue.size();
+    }
+}
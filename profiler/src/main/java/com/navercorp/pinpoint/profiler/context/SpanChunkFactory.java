@@ -67,6 +67,9 @@ public class SpanChunkFactory {
         spanChunk.setSpanId(parentSpan.getSpanId());
 
         spanChunk.setEndPoint(parentSpan.getEndPoint());
+        if (parentSpan.isSetStatisticsReported()) {
+            spanChunk.setStatisticsReported(parentSpan.isStatisticsReported());
+        }
         return spanChunk;
     }
 }
@@ -16,9 +16,12 @@
 
 package com.navercorp.pinpoint.profiler.context;
 
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 
+import java.util.List;
+
 /**
  * Span represent RPC
  *
@@ -27,7 +30,10 @@ import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
  */
 public class SpanEvent extends TSpanEvent {
 
-    private final Span span;
+    private Span span;
+
+    // annotation list of the previous use. see SpanRecycler
+    private List<TAnnotation> recycledAnnotations;
 
     public SpanEvent(Span span) {
         if (span == null) {
@@ -36,11 +42,36 @@ public class SpanEvent extends TSpanEvent {
         this.span = span;
     }
 
+    // for SpanRecycler
+    SpanEvent() {
+    }
+
+    void reset(Span span) {
+        if (span == null) {
+            throw new NullPointerException("span must not be null");
+        }
+        this.span = span;
+    }
+
+    void recycle() {
+        final List<TAnnotation> annotations = getAnnotations();
+        clear();
+        if (annotations != null) {
+            annotations.clear();
+            this.recycledAnnotations = annotations;
+        }
+        this.span = null;
+    }
+
     public Span getSpan() {
         return span;
     }
 
     public void addAnnotation(Annotation annotation) {
+        if (recycledAnnotations != null && !isSetAnnotations()) {
+            setAnnotations(recycledAnnotations);
+            this.recycledAnnotations = null;
+        }
         this.addToAnnotations(annotation);
     }
 
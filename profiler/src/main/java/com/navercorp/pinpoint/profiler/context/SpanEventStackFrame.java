@@ -21,7 +21,7 @@ package com.navercorp.pinpoint.profiler.context;
  * @author emeroad
  */
 public class SpanEventStackFrame implements StackFrame {
-    private final SpanEvent spanEvent;
+    private SpanEvent spanEvent;
     private int stackId;
     private Object frameObject;
 
@@ -32,6 +32,16 @@ public class SpanEventStackFrame implements StackFrame {
         this.spanEvent = spanEvent;
     }
 
+    // for SpanRecycler
+    SpanEventStackFrame() {
+    }
+
+    void reset(SpanEvent spanEvent) {
+        this.spanEvent = spanEvent;
+        this.stackId = 0;
+        this.frameObject = null;
+    }
+
     @Override
     public int getStackFrameId() {
         return stackId;
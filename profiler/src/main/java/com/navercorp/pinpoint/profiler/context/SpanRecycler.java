@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.jdk.LongAdder;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+
+import java.util.List;
+
+/**
+ * Reuses SpanEvent, SpanEventStackFrame and Annotation objects.
+ * Stack frames are returned by the request thread when the block ends.
+ * SpanEvents and annotations are returned by the span sender thread once the Span or SpanChunk holding them is serialized.
+ *
+ * @author emeroad
+ */
+public class SpanRecycler {
+
+    private final RecyclePool<SpanEvent> spanEventPool;
+    private final RecyclePool<SpanEventStackFrame> stackFramePool;
+    private final RecyclePool<Annotation> annotationPool;
+
+    private final LongAdder traceCount = new LongAdder();
+
+    public SpanRecycler(int poolSize) {
+        this.spanEventPool = new RecyclePool<SpanEvent>("SpanEventPool", poolSize) {
+            @Override
+            protected SpanEvent newObject() {
+                return new SpanEvent();
+            }
+        };
+        this.stackFramePool = new RecyclePool<SpanEventStackFrame>("SpanEventStackFramePool", poolSize) {
+            @Override
+            protected SpanEventStackFrame newObject() {
+                return new SpanEventStackFrame();
+            }
+        };
+        this.annotationPool = new RecyclePool<Annotation>("AnnotationPool", poolSize) {
+            @Override
+            protected Annotation newObject() {
+                return new Annotation(0);
+            }
+        };
+    }
+
+    public void traceStarted() {
+        traceCount.increment();
+    }
+
+    public SpanEventStackFrame newSpanEventStackFrame(Span span) {
+        final SpanEvent spanEvent = spanEventPool.take();
+        spanEvent.reset(span);
+        final SpanEventStackFrame stackFrame = stackFramePool.take();
+        stackFrame.reset(spanEvent);
+        return stackFrame;
+    }
+
+    /**
+     * the SpanEvent of the frame is still in use. it is returned by {@link #recycle(Object)}.
+     */
+    public void releaseStackFrame(SpanEventStackFrame stackFrame) {
+        stackFrame.reset(null);
+        stackFramePool.releaseLocal(stackFrame);
+    }
+
+    public Annotation newAnnotation(int key) {
+        final Annotation annotation = annotationPool.take();
+        annotation.reset(key);
+        return annotation;
+    }
+
+    /**
+     * called on the sender thread after the message was serialized. the message must not be used any more.
+     */
+    public void recycle(Object message) {
+        if (message instanceof SpanChunk) {
+            recycleSpanEventList(((SpanChunk) message).getSpanEventList());
+        } else if (message instanceof Span) {
+            final Span span = (Span) message;
+            recycleSpanEventList(span.getSpanEventList());
+            recycleAnnotationList(span.getAnnotations());
+        }
+    }
+
+    private void recycleSpanEventList(List<TSpanEvent> spanEventList) {
+        if (spanEventList == null) {
+            return;
+        }
+        for (TSpanEvent tSpanEvent : spanEventList) {
+            if (tSpanEvent instanceof SpanEvent) {
+                final SpanEvent spanEvent = (SpanEvent) tSpanEvent;
+                recycleAnnotationList(spanEvent.getAnnotations());
+                spanEvent.recycle();
+                spanEventPool.release(spanEvent);
+            }
+        }
+    }
+
+    private void recycleAnnotationList(List<TAnnotation> annotationList) {
+        if (annotationList == null) {
+            return;
+        }
+        for (TAnnotation tAnnotation : annotationList) {
+            if (tAnnotation instanceof Annotation) {
+                final Annotation annotation = (Annotation) tAnnotation;
+                annotation.clear();
+                annotationPool.release(annotation);
+            }
+        }
+    }
+
+    public long getTraceCount() {
+        return traceCount.sum();
+    }
+
+    public long getAllocatedCount() {
+        return spanEventPool.getAllocatedCount() + stackFramePool.getAllocatedCount() + annotationPool.getAllocatedCount();
+    }
+
+    public long getRecycledCount() {
+        return spanEventPool.getRecycledCount() + stackFramePool.getRecycledCount() + annotationPool.getRecycledCount();
+    }
+}
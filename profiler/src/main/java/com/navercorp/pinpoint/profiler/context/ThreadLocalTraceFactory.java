@@ -21,9 +21,11 @@ import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.context.TraceId;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
 import com.navercorp.pinpoint.exception.PinpointException;
+import com.navercorp.pinpoint.profiler.context.storage.DeferredStorage;
 import com.navercorp.pinpoint.profiler.context.storage.Storage;
 import com.navercorp.pinpoint.profiler.context.storage.StorageFactory;
 import com.navercorp.pinpoint.profiler.monitor.metric.MetricRegistry;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
 import com.navercorp.pinpoint.profiler.util.NamedThreadLocal;
 
 import org.slf4j.Logger;
@@ -45,6 +47,14 @@ public class ThreadLocalTraceFactory implements TraceFactory {
 
     private final StorageFactory storageFactory;
     private final Sampler sampler;
+    // not null only if the sampler supports deferred sampling of error and slow transactions
+    private final AdaptiveSampler adaptiveSampler;
+    // null if recycling is disabled
+    private volatile SpanRecycler spanRecycler;
+
+    // true if the agent sends its response histograms.
+    // unsampled transactions are traced only for them, and sampled spans are marked as already counted.
+    private volatile boolean metricTraceEnable = false;
 
 
     // Unique id for tracing a internal stacktrace and calculating a slow time of activethreadcount
@@ -68,8 +78,46 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         this.metricRegistry = metricRegistry;
         this.storageFactory = storageFactory;
         this.sampler = sampler;
+        this.adaptiveSampler = (sampler instanceof AdaptiveSampler) ? (AdaptiveSampler) sampler : null;
+    }
+
+
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        this.spanRecycler = spanRecycler;
+    }
+
+    public void setMetricTraceEnable(boolean metricTraceEnable) {
+        this.metricTraceEnable = metricTraceEnable;
+    }
+
+    private DefaultTrace createDefaultTrace(TraceId traceId) {
+        final DefaultTrace trace = new DefaultTrace(traceContext, traceId);
+        bindSpanRecycler(trace);
+        markStatisticsReported(trace);
+        return trace;
+    }
+
+    private DefaultTrace createDefaultTrace(long transactionId) {
+        final DefaultTrace trace = new DefaultTrace(traceContext, transactionId);
+        bindSpanRecycler(trace);
+        markStatisticsReported(trace);
+        return trace;
+    }
+
+    private void markStatisticsReported(DefaultTrace trace) {
+        if (metricTraceEnable) {
+            // the response stat of this agent already counts the span. the collector does not count it again.
+            trace.getCallStack().getSpan().setStatisticsReported(true);
+        }
     }
 
+    private void bindSpanRecycler(DefaultTrace trace) {
+        final SpanRecycler spanRecycler = this.spanRecycler;
+        if (spanRecycler != null) {
+            spanRecycler.traceStarted();
+            trace.setSpanRecycler(spanRecycler);
+        }
+    }
 
     /**
      * Return Trace object after validating whether it can be sampled or not.
@@ -108,10 +156,9 @@ public class ThreadLocalTraceFactory implements TraceFactory {
     @Override
     public Trace disableSampling() {
         checkBeforeTraceObject();
-        final Trace metricTrace = createMetricTrace();
+        // the remote node decided not to sample this transaction
+        final Trace metricTrace = createMetricTrace(false);
         threadLocal.set(metricTrace);
-
-        // TODO STATDISABLE, disabled to store statistics for now. createMetricTrace() returns DisableTrace.INSTANCE.
         return metricTrace;
     }
 
@@ -121,7 +168,7 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         checkBeforeTraceObject();
 
         // TODO need to modify how to bind a datasender
-        final DefaultTrace trace = new DefaultTrace(traceContext, traceID);
+        final DefaultTrace trace = createDefaultTrace(traceID);
         final Storage storage = storageFactory.createStorage();
         trace.setStorage(storage);
 
@@ -151,22 +198,33 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         final boolean sampling = sampler.isSampling();
         if (sampling) {
             final Storage storage = storageFactory.createStorage();
-            final DefaultTrace trace = new DefaultTrace(traceContext, nextTransactionId());
+            final DefaultTrace trace = createDefaultTrace(nextTransactionId());
             trace.setStorage(storage);
             trace.setSampling(sampling);
             threadLocal.set(trace);
             return trace;
+        } else if (adaptiveSampler != null && adaptiveSampler.isDeferredSampling()) {
+            // record the transaction, but keep it only if it turns out to be an error or slow.
+            final Storage storage = new DeferredStorage(storageFactory.createStorage(), adaptiveSampler);
+            final DefaultTrace trace = createDefaultTrace(nextTransactionId());
+            trace.setStorage(storage);
+            trace.setSampling(true);
+            // downstream nodes are told not to sample. their spans could not be dropped along with this trace.
+            trace.setSamplingDeferred(true);
+            threadLocal.set(trace);
+            return trace;
         } else {
-            final Trace metricTrace = createMetricTrace();
+            final Trace metricTrace = createMetricTrace(true);
             threadLocal.set(metricTrace);
             return metricTrace;
         }
     }
 
-    private Trace createMetricTrace() {
+    private Trace createMetricTrace(boolean root) {
+        if (metricTraceEnable) {
+            return new MetricTrace(traceContext, nextTransactionId(), root);
+        }
         return DisableTrace.INSTANCE;
-//        TODO STATDISABLE ,  disabled to store statistics for now
-//        return new MetricTrace(traceContext, nextTransactionId());
     }
 
     private long nextTransactionId() {
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage for a transaction which was not sampled but is recorded speculatively.
+ * SpanEvents are held until the span ends, and handed to the delegate storage only if
+ * the transaction ended with an error or was slow. Otherwise everything is discarded.
+ *
+ * @author emeroad
+ */
+public class DeferredStorage implements Storage {
+
+    private final Storage delegate;
+    private final AdaptiveSampler sampler;
+
+    private List<SpanEvent> spanEventList = new ArrayList<SpanEvent>(10);
+
+    public DeferredStorage(Storage delegate, AdaptiveSampler sampler) {
+        if (delegate == null) {
+            throw new NullPointerException("delegate must not be null");
+        }
+        if (sampler == null) {
+            throw new NullPointerException("sampler must not be null");
+        }
+        this.delegate = delegate;
+        this.sampler = sampler;
+    }
+
+    @Override
+    public void store(SpanEvent spanEvent) {
+        if (spanEvent == null) {
+            throw new NullPointerException("spanEvent must not be null");
+        }
+        synchronized (this) {
+            final List<SpanEvent> spanEventList = this.spanEventList;
+            if (spanEventList != null) {
+                spanEventList.add(spanEvent);
+            }
+        }
+    }
+
+    @Override
+    public void store(Span span) {
+        if (span == null) {
+            throw new NullPointerException("span must not be null");
+        }
+        final List<SpanEvent> spanEventList;
+        synchronized (this) {
+            spanEventList = this.spanEventList;
+            this.spanEventList = null;
+        }
+        final boolean error = span.isSetErrCode() && span.getErrCode() != 0;
+        if (!sampler.isRetained(error, span.getElapsed())) {
+            return;
+        }
+        if (spanEventList != null) {
+            for (SpanEvent spanEvent : spanEventList) {
+                delegate.store(spanEvent);
+            }
+        }
+        delegate.store(span);
+    }
+
+    @Override
+    public String toString() {
+        return "DeferredStorage{" +
+                "delegate=" + delegate +
+                '}';
+    }
+}
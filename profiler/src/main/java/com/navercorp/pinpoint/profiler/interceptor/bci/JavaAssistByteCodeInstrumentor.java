@@ -16,12 +16,16 @@
 
 package com.navercorp.pinpoint.profiler.interceptor.bci;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.security.ProtectionDomain;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.navercorp.pinpoint.bootstrap.Agent;
 import com.navercorp.pinpoint.bootstrap.instrument.*;
@@ -47,10 +51,14 @@ public class JavaAssistByteCodeInstrumentor implements ByteCodeInstrumentor {
     private final boolean isDebug = logger.isDebugEnabled();
 
     private final NamedClassPool rootClassPool;
-    
-    // TODO Need to separate childClassPool per class space to prevent collision(ex: multiple web applications on a Tomcat server)
+
+    // classes of the boot class loader
     private final NamedClassPool childClassPool;
 
+    // one pool per class space. same class names of different web applications do not collide,
+    // and each pool looks up only its own class loader. pools do not hold the class loader strongly.
+    private final Map<ClassLoader, NamedClassPool> classPoolMap = new WeakHashMap<ClassLoader, NamedClassPool>();
+
     private Agent agent;
 
     private final ScopePool scopePool = new ThreadLocalScopePool();
@@ -58,6 +66,8 @@ public class JavaAssistByteCodeInstrumentor implements ByteCodeInstrumentor {
     private final ClassLoadChecker classLoadChecker = new ClassLoadChecker();
     private final InterceptorRegistryBinder interceptorRegistryBinder;
 
+    private TransformedClassCache transformedClassCache;
+
     public static JavaAssistByteCodeInstrumentor createTestInstrumentor() {
         return new JavaAssistByteCodeInstrumentor();
     }
@@ -86,11 +96,19 @@ public class JavaAssistByteCodeInstrumentor implements ByteCodeInstrumentor {
         return agent;
     }
 
+    public void setTransformedClassCache(TransformedClassCache transformedClassCache) {
+        this.transformedClassCache = transformedClassCache;
+    }
+
 //    @Deprecated
     public ClassPool getClassPool() {
         return this.childClassPool;
     }
 
+    public ClassPool getClassPool(ClassLoader classLoader) {
+        return findClassPool(classLoader);
+    }
+
     @Override
     public Scope getScope(String scopeName) {
         final ScopeDefinition scopeDefinition = new DefaultScopeDefinition(scopeName, ScopeDefinition.Type.SIMPLE);
@@ -151,13 +169,33 @@ public class JavaAssistByteCodeInstrumentor implements ByteCodeInstrumentor {
 
     @Override
     public InstrumentClass getClass(ClassLoader classLoader, String javassistClassName, byte[] classFileBuffer) throws InstrumentException {
-        CtClass cc = getClass(classLoader, javassistClassName);
-        return new JavaAssistClass(this, cc, interceptorRegistryBinder);
+        final CtClass cc;
+        if (classFileBuffer == null) {
+            cc = getClass(classLoader, javassistClassName);
+        } else {
+            cc = makeClass(classLoader, javassistClassName, classFileBuffer);
+        }
+        final TransformSession session = transformedClassCache != null ? transformedClassCache.getSession(javassistClassName) : null;
+        return new JavaAssistClass(this, cc, interceptorRegistryBinder, session);
     }
-    
+
+    /**
+     * builds the class from the bytes handed to the transformer instead of reading the class file again through the class loader.
+     */
+    private CtClass makeClass(ClassLoader classLoader, String className, byte[] classFileBuffer) throws InstrumentException {
+        final NamedClassPool classPool = findClassPool(classLoader);
+        try {
+            // replaces a class left frozen by a previous transformation(retransform)
+            return classPool.makeClass(new ByteArrayInputStream(classFileBuffer), false);
+        } catch (IOException e) {
+            throw new InstrumentException(className + " class read fail. Cause:" + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new InstrumentException(className + " class read fail. Cause:" + e.getMessage(), e);
+        }
+    }
+
     public CtClass getClass(ClassLoader classLoader, String className) throws InstrumentException {
         final NamedClassPool classPool = findClassPool(classLoader);
-        checkLibrary(classLoader, classPool, className);
         try {
             return classPool.get(className);
         } catch (NotFoundException e) {
@@ -167,10 +205,19 @@ public class JavaAssistByteCodeInstrumentor implements ByteCodeInstrumentor {
 
     private NamedClassPool findClassPool(ClassLoader classLoader) {
         if (classLoader == null) {
-            // SystemClassLoader
+            return childClassPool;
+        }
+        synchronized (classPoolMap) {
+            NamedClassPool classPool = classPoolMap.get(classLoader);
+            if (classPool == null) {
+                final String classPoolName = classLoader.getClass().getName() + "@" + Integer.toHexString(System.identityHashCode(classLoader));
+                classPool = createChildClassPool(rootClassPool, classPoolName);
+                // LoaderClassPath references the class loader weakly
+                loadClassLoaderLibraries(classLoader, classPool);
+                classPoolMap.put(classLoader, classPool);
+            }
+            return classPool;
         }
-        // TODO fix find classPool
-        return childClassPool;
     }
 
     @Override
@@ -74,6 +74,8 @@ public class JavaAssistClass implements InstrumentClass {
     private final JavaAssistByteCodeInstrumentor instrumentor;
     private final CtClass ctClass;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
+    // not null while the class is transformed with the transformed class cache
+    private final TransformSession session;
 
     private static final int STATIC_INTERCEPTOR = 0;
     private static final int SIMPLE_INTERCEPTOR = 1;
@@ -88,9 +90,21 @@ public class JavaAssistClass implements InstrumentClass {
 
 
     public JavaAssistClass(JavaAssistByteCodeInstrumentor instrumentor, CtClass ctClass, InterceptorRegistryBinder interceptorRegistryBinder) {
+        this(instrumentor, ctClass, interceptorRegistryBinder, null);
+    }
+
+    public JavaAssistClass(JavaAssistByteCodeInstrumentor instrumentor, CtClass ctClass, InterceptorRegistryBinder interceptorRegistryBinder, TransformSession session) {
         this.instrumentor = instrumentor;
         this.ctClass = ctClass;
         this.interceptorRegistryBinder = interceptorRegistryBinder;
+        this.session = session;
+    }
+
+    /**
+     * the cached bytes already have every edit. only the interceptors are created and registered.
+     */
+    private boolean isReplay() {
+        return session != null && session.isReplay();
     }
 
     @Override
@@ -115,6 +129,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public boolean insertCodeBeforeConstructor(String[] args, String code) {
+        if (isReplay()) {
+            return true;
+        }
         try {
             CtConstructor constructor = getCtConstructor(args);
             constructor.insertBefore(code);
@@ -129,6 +146,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public boolean insertCodeAfterConstructor(String[] args, String code) {
+        if (isReplay()) {
+            return true;
+        }
         try {
             CtConstructor constructor = getCtConstructor(args);
             constructor.insertAfter(code);
@@ -143,6 +163,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public boolean insertCodeBeforeMethod(String methodName, String[] args, String code) {
+        if (isReplay()) {
+            return true;
+        }
         try {
             CtMethod method = getMethod(methodName, args);
             method.insertBefore(code);
@@ -157,6 +180,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public boolean insertCodeAfterMethod(String methodName, String[] args, String code) {
+        if (isReplay()) {
+            return true;
+        }
         try {
             CtMethod method = getMethod(methodName, args);
             method.insertAfter(code);
@@ -181,8 +207,11 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Deprecated
     private void addTraceVariable0(String variableName, String setterName, String getterName, String variableType, String initValue) throws InstrumentException {
+        if (isReplay()) {
+            return;
+        }
         try {
-            CtClass type = instrumentor.getClassPool().get(variableType);
+            CtClass type = ctClass.getClassPool().get(variableType);
             CtField traceVariable = new CtField(type, variableName, ctClass);
             if (initValue == null) {
                 ctClass.addField(traceVariable);
@@ -218,7 +247,10 @@ public class JavaAssistClass implements InstrumentClass {
         if (traceValue == null) {
             throw new NullPointerException("traceValue must not be null");
         }
-        
+        if (isReplay()) {
+            return;
+        }
+
         try {
             final CtClass ctValueHandler = instrumentor.getClass(traceValue.getClassLoader(), traceValue.getName());
 
@@ -301,7 +333,7 @@ public class JavaAssistClass implements InstrumentClass {
         } else {
             resolveType = setterType;
         }
-        CtClass type = instrumentor.getClassPool().get(resolveType.getName());
+        CtClass type = ctClass.getClassPool().get(resolveType.getName());
         return new CtField(type, variableName, ctClass);
     }
 
@@ -463,20 +495,15 @@ public class JavaAssistClass implements InstrumentClass {
     private int addInterceptor0(CtBehavior behavior, String methodName, Interceptor interceptor, int interceptorId, Type type) throws InstrumentException, NotFoundInstrumentException {
         try {
             if (interceptor != null) {
-                if (interceptor instanceof StaticAroundInterceptor) {
-                    StaticAroundInterceptor staticAroundInterceptor = (StaticAroundInterceptor) interceptor;
-                    interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addStaticInterceptor(staticAroundInterceptor);
-                } else if (interceptor instanceof SimpleAroundInterceptor) {
-                    SimpleAroundInterceptor simpleAroundInterceptor = (SimpleAroundInterceptor) interceptor;
-                    interceptorId = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addSimpleInterceptor(simpleAroundInterceptor);
-                } else {
-                    throw new InstrumentException("unsupported TargetMethod Type:" + interceptor);
-                }
+                interceptorId = registerInterceptor(interceptor);
                 injectInterceptor(behavior, interceptor);
 
             } else {
                 interceptor = InterceptorRegistry.findInterceptor(interceptorId);
             }
+            if (isReplay()) {
+                return interceptorId;
+            }
 
             if (interceptor instanceof StaticAroundInterceptor) {
                 switch (type) {
@@ -517,6 +544,22 @@ public class JavaAssistClass implements InstrumentClass {
         }
     }
 
+    private int registerInterceptor(Interceptor interceptor) throws InstrumentException {
+        if (session != null) {
+            // same id on every start. the cached bytes call it
+            return session.bindInterceptor(interceptor);
+        }
+        if (interceptor instanceof StaticAroundInterceptor) {
+            StaticAroundInterceptor staticAroundInterceptor = (StaticAroundInterceptor) interceptor;
+            return interceptorRegistryBinder.getInterceptorRegistryAdaptor().addStaticInterceptor(staticAroundInterceptor);
+        } else if (interceptor instanceof SimpleAroundInterceptor) {
+            SimpleAroundInterceptor simpleAroundInterceptor = (SimpleAroundInterceptor) interceptor;
+            return interceptorRegistryBinder.getInterceptorRegistryAdaptor().addSimpleInterceptor(simpleAroundInterceptor);
+        } else {
+            throw new InstrumentException("unsupported TargetMethod Type:" + interceptor);
+        }
+    }
+
     private String getInterceptorName(Interceptor interceptor) {
         if (interceptor == null) {
             return "null";
@@ -590,6 +633,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public void weave(String adviceClassName, ClassLoader loader) throws InstrumentException {
+        if (isReplay()) {
+            return;
+        }
         ClassPool pool = new ClassPool();
         pool.appendClassPath(new LoaderClassPath(loader));
         
@@ -657,7 +703,7 @@ public class JavaAssistClass implements InstrumentClass {
         if (isDebug) {
             logger.debug("addAfterInterceptor catch behavior:{} code:{}", behavior.getLongName(), buildCatch);
         }
-        CtClass th = instrumentor.getClassPool().get("java.lang.Throwable");
+        CtClass th = ctClass.getClassPool().get("java.lang.Throwable");
         behavior.addCatch(buildCatch, th);
 
     }
@@ -732,8 +778,11 @@ public class JavaAssistClass implements InstrumentClass {
     public boolean addDebugLogBeforeAfterMethod() {
         final String className = this.ctClass.getName();
         final LoggingInterceptor loggingInterceptor = new LoggingInterceptor(className);
-        final int id = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addSimpleInterceptor(loggingInterceptor);
         try {
+            final int id = registerInterceptor(loggingInterceptor);
+            if (isReplay()) {
+                return true;
+            }
             for (CtMethod method : ctClass.getDeclaredMethods()) {
                 if (method.isEmpty()) {
                     if (isDebug) {
@@ -762,8 +811,11 @@ public class JavaAssistClass implements InstrumentClass {
     public boolean addDebugLogBeforeAfterConstructor() {
         final String className = this.ctClass.getName();
         final LoggingInterceptor loggingInterceptor = new LoggingInterceptor(className);
-        final int id = interceptorRegistryBinder.getInterceptorRegistryAdaptor().addSimpleInterceptor(loggingInterceptor);
         try {
+            final int id = registerInterceptor(loggingInterceptor);
+            if (isReplay()) {
+                return true;
+            }
             for (CtConstructor constructor : ctClass.getConstructors()) {
                 if (constructor.isEmpty()) {
                     if (isDebug) {
@@ -814,6 +866,10 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public byte[] toBytecode() {
+        if (isReplay()) {
+            ctClass.detach();
+            return session.getCachedBytes();
+        }
         try {
             byte[] bytes = ctClass.toBytecode();
             ctClass.detach();
@@ -827,6 +883,12 @@ public class JavaAssistClass implements InstrumentClass {
     }
 
     public Class<?> toClass() throws InstrumentException {
+        if (session != null) {
+            if (session.isReplay()) {
+                throw new InstrumentException("toClass() can not be replayed. class:" + ctClass.getName());
+            }
+            session.setUncacheable();
+        }
         try {
             return ctClass.toClass();
         } catch (CannotCompileException e) {
@@ -928,6 +990,10 @@ public class JavaAssistClass implements InstrumentClass {
 
        for (CtClass nested : nestedClasses) {
            if (nested.getName().equals(className)) {
+               if (session != null) {
+                   // edits of the nested class are not in the cached bytes
+                   session.setUncacheable();
+               }
                return new JavaAssistClass(this.instrumentor, nested, interceptorRegistryBinder);
            }
        }
@@ -936,6 +1002,9 @@ public class JavaAssistClass implements InstrumentClass {
 
     @Override
     public void addGetter(String getterName, String variableName, String variableType) throws InstrumentException {
+        if (isReplay()) {
+            return;
+        }
         try {
             // FIXME Which is better? getField() or getDeclaredField()? getFiled() seems like better chioce if we want to add getter to child classes.
             CtField traceVariable = ctClass.getField(variableName);
@@ -961,6 +1030,10 @@ public class JavaAssistClass implements InstrumentClass {
         if (getter.getParameterTypes().length != 0) {
             throw new InstrumentException("Getter interface method must be no-args and non-void: " + interfaceType.getName());
         }
+        if (isReplay()) {
+            return;
+        }
+
         
         try {
             CtMethod getterMethod = CtNewMethod.make("public " + getter.getReturnType().getName() + " " + getter.getName() + "() { return " + fieldName + "; }", ctClass);
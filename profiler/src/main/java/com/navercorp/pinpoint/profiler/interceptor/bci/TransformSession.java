@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.interceptor.bci;
+
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+
+/**
+ * one transformation of a class while the {@link TransformedClassCache} is enabled.
+ * On a replay the modifier runs to create and register the interceptors, and the bytecode edits are skipped.
+ *
+ * @author emeroad
+ */
+public class TransformSession {
+
+    private final TransformedClassCache cache;
+    private final String className;
+    private final int occurrence;
+    private final String digest;
+    // bytes and interceptor count of the cached transformation. null when the class is transformed
+    private final byte[] cachedBytes;
+    private final int cachedBindCount;
+
+    // the session of the outer transformation when a modifier loads another class
+    private final TransformSession parent;
+
+    private int bindCount;
+    private boolean cacheable = true;
+
+    TransformSession(TransformedClassCache cache, String className, int occurrence, String digest, byte[] cachedBytes, int cachedBindCount, TransformSession parent) {
+        if (cache == null) {
+            throw new NullPointerException("cache must not be null");
+        }
+        if (className == null) {
+            throw new NullPointerException("className must not be null");
+        }
+        this.cache = cache;
+        this.className = className;
+        this.occurrence = occurrence;
+        this.digest = digest;
+        this.cachedBytes = cachedBytes;
+        this.cachedBindCount = cachedBindCount;
+        this.parent = parent;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    int getOccurrence() {
+        return occurrence;
+    }
+
+    String getDigest() {
+        return digest;
+    }
+
+    TransformSession getParent() {
+        return parent;
+    }
+
+    public boolean isReplay() {
+        return cachedBytes != null;
+    }
+
+    public byte[] getCachedBytes() {
+        return cachedBytes;
+    }
+
+    int getCachedBindCount() {
+        return cachedBindCount;
+    }
+
+    int getBindCount() {
+        return bindCount;
+    }
+
+    /**
+     * key of the next interceptor. the modifier registers the interceptors of a class in the same order on every start.
+     */
+    String nextBindKey() {
+        return className + '#' + occurrence + '#' + (bindCount++);
+    }
+
+    public int bindInterceptor(Interceptor interceptor) throws InstrumentException {
+        return cache.bindInterceptor(this, interceptor);
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * the modifier did something the cache can not replay, like defining a class or editing another class.
+     */
+    public void setUncacheable() {
+        this.cacheable = false;
+    }
+}
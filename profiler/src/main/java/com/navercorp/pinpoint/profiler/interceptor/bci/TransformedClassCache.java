@@ -0,0 +1,363 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.interceptor.bci;
+
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.InterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.SimpleAroundInterceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.StaticAroundInterceptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the bytes of transformed classes on disk, so that a restart skips the javassist compilation of unchanged classes.
+ * <p>
+ * Instrumented code calls its interceptors by id. Every interceptor registered while a class is transformed gets a stable key
+ * (class name, how many times the class name was transformed before in this JVM, registration order)
+ * and the id of the key is kept in an id table next to the classes. All ids of the table are reserved on start.
+ * On a cache hit the modifier still runs and creates its interceptors, but the bytecode edits are skipped
+ * and the interceptors are registered at the ids the cached bytes call. A replay which registers a different number of
+ * interceptors than the cached transformation is thrown away and the class is transformed again.
+ * <p>
+ * The directory is versioned by the fingerprint of the agent version, the profiler properties and the plugin jars.
+ * Only one running agent can use it. A second agent finds it locked and runs without the cache.
+ *
+ * @author emeroad
+ */
+public class TransformedClassCache {
+
+    private static final int MAGIC = 0x50504331;
+    private static final String ID_TABLE_FILE = "interceptor.id";
+    private static final String LOCK_FILE = "cache.lock";
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    // the registry holds 4096 interceptors. a table grown over the half starts over
+    private static final int MAX_RESERVED_ID = 2048;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final File cacheDir;
+    private final InterceptorRegistryAdaptor interceptorRegistry;
+
+    private final RandomAccessFile lockFile;
+    private final FileLock lock;
+
+    private final ConcurrentMap<String, Integer> idTable = new ConcurrentHashMap<String, Integer>();
+    private final Writer idTableWriter;
+
+    private final ConcurrentMap<String, AtomicInteger> occurrenceMap = new ConcurrentHashMap<String, AtomicInteger>();
+    private final ThreadLocal<TransformSession> currentSession = new ThreadLocal<TransformSession>();
+
+    public TransformedClassCache(File baseDir, String fingerprint, InterceptorRegistryAdaptor interceptorRegistry) throws IOException {
+        if (baseDir == null) {
+            throw new NullPointerException("baseDir must not be null");
+        }
+        if (fingerprint == null) {
+            throw new NullPointerException("fingerprint must not be null");
+        }
+        if (interceptorRegistry == null) {
+            throw new NullPointerException("interceptorRegistry must not be null");
+        }
+        this.cacheDir = new File(baseDir, toHex(digest(fingerprint.getBytes("UTF-8"))));
+        if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+            throw new IOException("cache directory create fail. " + cacheDir);
+        }
+        this.interceptorRegistry = interceptorRegistry;
+
+        this.lockFile = new RandomAccessFile(new File(cacheDir, LOCK_FILE), "rw");
+        final FileChannel channel = lockFile.getChannel();
+        this.lock = channel.tryLock();
+        if (lock == null) {
+            lockFile.close();
+            throw new IOException("cache directory is used by another agent. " + cacheDir);
+        }
+
+        final File idTableFile = new File(cacheDir, ID_TABLE_FILE);
+        int maxId = loadIdTable(idTableFile);
+        if (maxId >= MAX_RESERVED_ID) {
+            logger.info("interceptor id table is full. clear the cache. maxId:{}", maxId);
+            clear();
+            maxId = -1;
+        }
+        if (maxId >= 0) {
+            interceptorRegistry.reserveId(maxId);
+        }
+        this.idTableWriter = new OutputStreamWriter(new FileOutputStream(idTableFile, true), "UTF-8");
+        logger.info("transformed class cache. dir:{} interceptor id:{}", cacheDir, idTable.size());
+    }
+
+    private int loadIdTable(File idTableFile) throws IOException {
+        if (!idTableFile.exists()) {
+            return -1;
+        }
+        int maxId = -1;
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(idTableFile), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.lastIndexOf(' ');
+                if (separator == -1) {
+                    // last line of a crashed agent
+                    continue;
+                }
+                try {
+                    final int id = Integer.parseInt(line.substring(separator + 1));
+                    idTable.put(line.substring(0, separator), id);
+                    maxId = Math.max(maxId, id);
+                } catch (NumberFormatException ignore) {
+                    // last line of a crashed agent
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return maxId;
+    }
+
+    private void clear() {
+        idTable.clear();
+        final File[] files = cacheDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!file.getName().equals(LOCK_FILE) && !file.delete()) {
+                logger.warn("cache file delete fail. {}", file);
+            }
+        }
+    }
+
+    /**
+     * starts the transformation of a class on the current thread. a cached transformation of the same bytes is replayed.
+     */
+    public TransformSession begin(String className, byte[] classFileBuffer) {
+        if (className == null) {
+            throw new NullPointerException("className must not be null");
+        }
+        if (classFileBuffer == null) {
+            throw new NullPointerException("classFileBuffer must not be null");
+        }
+        final int occurrence = nextOccurrence(className);
+        final String digest = toHex(digest(classFileBuffer));
+
+        byte[] cachedBytes = null;
+        int cachedBindCount = 0;
+        final File classFile = getClassFile(className, occurrence, digest);
+        if (classFile.exists()) {
+            try {
+                final DataInputStream in = new DataInputStream(new FileInputStream(classFile));
+                try {
+                    if (in.readInt() == MAGIC) {
+                        cachedBindCount = in.readInt();
+                        final byte[] bytes = new byte[in.readInt()];
+                        in.readFully(bytes);
+                        cachedBytes = bytes;
+                    }
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                logger.warn("cached class read fail. {} Caused:{}", classFile, e.getMessage(), e);
+            }
+        }
+
+        final TransformSession session = new TransformSession(this, className, occurrence, digest, cachedBytes, cachedBindCount, currentSession.get());
+        currentSession.set(session);
+        return session;
+    }
+
+    private int nextOccurrence(String className) {
+        AtomicInteger counter = occurrenceMap.get(className);
+        if (counter == null) {
+            final AtomicInteger newCounter = new AtomicInteger();
+            counter = occurrenceMap.putIfAbsent(className, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter.getAndIncrement();
+    }
+
+    /**
+     * ends the transformation and restores the transformation which loaded the class, if any.
+     */
+    public void end(TransformSession session) {
+        if (session == null) {
+            throw new NullPointerException("session must not be null");
+        }
+        currentSession.set(session.getParent());
+    }
+
+    /**
+     * the session of the class transformed on the current thread. any other class edited meanwhile makes the transformation uncacheable.
+     */
+    public TransformSession getSession(String className) {
+        final TransformSession session = currentSession.get();
+        if (session == null) {
+            return null;
+        }
+        if (session.getClassName().equals(className)) {
+            return session;
+        }
+        session.setUncacheable();
+        return null;
+    }
+
+    int bindInterceptor(TransformSession session, Interceptor interceptor) throws InstrumentException {
+        final String key = session.nextBindKey();
+        final Integer id = idTable.get(key);
+        if (id != null) {
+            if (interceptor instanceof StaticAroundInterceptor) {
+                return interceptorRegistry.addStaticInterceptor((StaticAroundInterceptor) interceptor, id);
+            } else if (interceptor instanceof SimpleAroundInterceptor) {
+                return interceptorRegistry.addSimpleInterceptor((SimpleAroundInterceptor) interceptor, id);
+            }
+            throw new InstrumentException("unsupported TargetMethod Type:" + interceptor);
+        }
+
+        final int newId;
+        if (interceptor instanceof StaticAroundInterceptor) {
+            newId = interceptorRegistry.addStaticInterceptor((StaticAroundInterceptor) interceptor);
+        } else if (interceptor instanceof SimpleAroundInterceptor) {
+            newId = interceptorRegistry.addSimpleInterceptor((SimpleAroundInterceptor) interceptor);
+        } else {
+            throw new InstrumentException("unsupported TargetMethod Type:" + interceptor);
+        }
+        if (session.isReplay()) {
+            // the cached bytes call an id this key never had
+            session.setUncacheable();
+        }
+        idTable.put(key, newId);
+        appendIdTable(key, newId);
+        return newId;
+    }
+
+    private void appendIdTable(String key, int id) {
+        synchronized (idTableWriter) {
+            try {
+                idTableWriter.write(key + ' ' + id + '\n');
+                idTableWriter.flush();
+            } catch (IOException e) {
+                logger.warn("interceptor id write fail. key:{} Caused:{}", key, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the replay registered the interceptors the cached bytes call. otherwise the cached class is removed.
+     */
+    public boolean verifyReplay(TransformSession session, byte[] transformed) {
+        if (!session.isReplay()) {
+            throw new IllegalArgumentException("not replay session");
+        }
+        if (transformed != null && session.isCacheable() && session.getBindCount() == session.getCachedBindCount()) {
+            return true;
+        }
+        logger.info("cached class replay fail. transform again. class:{} interceptor:{}/{}", session.getClassName(), session.getBindCount(), session.getCachedBindCount());
+        final File classFile = getClassFile(session.getClassName(), session.getOccurrence(), session.getDigest());
+        if (!classFile.delete()) {
+            logger.warn("cached class delete fail. {}", classFile);
+        }
+        return false;
+    }
+
+    public void store(TransformSession session, byte[] transformed) {
+        if (session.isReplay()) {
+            throw new IllegalArgumentException("replay session");
+        }
+        if (transformed == null || !session.isCacheable()) {
+            return;
+        }
+        final File classFile = getClassFile(session.getClassName(), session.getOccurrence(), session.getDigest());
+        try {
+            // renamed after the whole file is written. a crash leaves no broken class
+            final File tempFile = File.createTempFile(session.getClassName(), ".tmp", cacheDir);
+            final DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile));
+            try {
+                out.writeInt(MAGIC);
+                out.writeInt(session.getBindCount());
+                out.writeInt(transformed.length);
+                out.write(transformed);
+            } finally {
+                out.close();
+            }
+            if (!tempFile.renameTo(classFile)) {
+                logger.warn("cached class rename fail. {}", classFile);
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            logger.warn("cached class write fail. {} Caused:{}", classFile, e.getMessage(), e);
+        }
+    }
+
+    private File getClassFile(String className, int occurrence, String digest) {
+        return new File(cacheDir, className + '-' + occurrence + '-' + digest + CLASS_FILE_SUFFIX);
+    }
+
+    public void close() {
+        synchronized (idTableWriter) {
+            try {
+                idTableWriter.close();
+            } catch (IOException ignore) {
+                // skip
+            }
+        }
+        try {
+            lock.release();
+            lockFile.close();
+        } catch (IOException ignore) {
+            // skip
+        }
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not supported", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.common.util.ParsingResult;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded caches of the sql metadata.
+ * The ids of the normalized sqls and the parsing results of the raw sqls are kept in separate caches of the same size,
+ * so many distinct raw sqls (inlined literals, IN lists) never evict an id and make the sql metadata to be sent again.
+ * The normalized sql and the output of a statement depend only on the raw sql, so a parsing result hit can skip SqlParser entirely.
+ *
+ * @author emeroad
+ */
+public class SqlParsingResultCache {
+
+    private final SimpleCache<String> sqlIdCache;
+    private final ConcurrentMap<String, ParsingResult> parsingResultCache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public SqlParsingResultCache() {
+        this(LRUCache.DEFAULT_CACHE_SIZE);
+    }
+
+    public SqlParsingResultCache(int maxCacheSize) {
+        this.sqlIdCache = new SimpleCache<String>(maxCacheSize);
+
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+        cacheBuilder.concurrencyLevel(64);
+        cacheBuilder.initialCapacity(maxCacheSize);
+        cacheBuilder.maximumSize(maxCacheSize);
+        Cache<String, ParsingResult> localCache = cacheBuilder.build();
+        this.parsingResultCache = localCache.asMap();
+    }
+
+    /**
+     * @return the cached parsing result of the raw sql. null if not cached
+     */
+    public ParsingResult get(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        final ParsingResult find = this.parsingResultCache.get(sql);
+        if (find != null) {
+            hitCount.incrementAndGet();
+            return find;
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Assigns an id to the normalized sql, see {@link SimpleCache#put(Object)}.
+     * @return newValue is true if the sql metadata has to be sent
+     */
+    public Result putSql(String normalizedSql) {
+        if (normalizedSql == null) {
+            throw new NullPointerException("normalizedSql must not be null");
+        }
+        return this.sqlIdCache.put(normalizedSql);
+    }
+
+    /**
+     * Caches an immutable copy of parsingResult by the raw sql. The id must already be assigned.
+     * @return the cached result, which may be the one cached by another thread first
+     */
+    public ParsingResult putParsingResult(String sql, ParsingResult parsingResult) {
+        if (sql == null) {
+            throw new NullPointerException("sql must not be null");
+        }
+        if (parsingResult == null) {
+            throw new NullPointerException("parsingResult must not be null");
+        }
+        final ParsingResult cachedResult = new CachedParsingResult(parsingResult.getSql(), parsingResult.getOutput(), parsingResult.getId());
+        final ParsingResult before = this.parsingResultCache.putIfAbsent(sql, cachedResult);
+        if (before != null) {
+            return before;
+        }
+        return cachedResult;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return number of cached parsing results
+     */
+    public long getSize() {
+        return parsingResultCache.size();
+    }
+
+    private static class CachedParsingResult implements ParsingResult {
+        private final String sql;
+        private final String output;
+        private final int id;
+
+        private CachedParsingResult(String sql, String output, int id) {
+            this.sql = sql;
+            this.output = output;
+            this.id = id;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+
+        @Override
+        public String getOutput() {
+            return output;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "CachedParsingResult{" +
+                    "sql='" + sql + '\'' +
+                    ", output=" + output +
+                    ", id=" + id +
+                    '}';
+        }
+    }
+}
@@ -108,10 +108,17 @@ public class ExecuteRequestInterceptor implements SimpleAroundInterceptor, ByteC
 
         trace.traceBlockBegin();
         trace.markBeforeTime();
+        trace.recordServiceType(ServiceType.HTTP_CLIENT);
+        if (trace.isSamplingDeferred()) {
+            if (httpRequest != null) {
+                final FluentCaseInsensitiveStringsMap httpRequestHeaders = httpRequest.getHeaders();
+                httpRequestHeaders.add(Header.HTTP_SAMPLED.toString(), SamplingFlagUtils.SAMPLING_RATE_FALSE);
+            }
+            return;
+        }
 
         TraceId nextId = trace.getTraceId().getNextTraceId();
         trace.recordNextSpanId(nextId.getSpanId());
-        trace.recordServiceType(ServiceType.HTTP_CLIENT);
 
         if (httpRequest != null) {
             final FluentCaseInsensitiveStringsMap httpRequestHeaders = httpRequest.getHeaders();
@@ -107,9 +107,15 @@ public class ExecuteInterceptor implements TraceContextSupport, ByteCodeMethodDe
 
         trace.traceBlockBegin();
         trace.markBeforeTime();
+        trace.recordServiceType(ServiceType.HTTP_CLIENT);
+        if (trace.isSamplingDeferred()) {
+            if (httpMethod != null) {
+                httpMethod.setRequestHeader(Header.HTTP_SAMPLED.toString(), SamplingFlagUtils.SAMPLING_RATE_FALSE);
+            }
+            return;
+        }
         TraceId nextId = trace.getTraceId().getNextTraceId();
         trace.recordNextSpanId(nextId.getSpanId());
-        trace.recordServiceType(ServiceType.HTTP_CLIENT);
         
         if (httpMethod != null) {
             httpMethod.setRequestHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
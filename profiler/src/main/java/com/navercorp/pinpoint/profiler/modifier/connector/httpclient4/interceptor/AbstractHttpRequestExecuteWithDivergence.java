@@ -215,10 +215,16 @@ public abstract class AbstractHttpRequestExecuteWithDivergence implements TraceC
 
         trace.traceBlockBegin();
         trace.markBeforeTime();
+        trace.recordServiceType(ServiceType.HTTP_CLIENT);
+        if (trace.isSamplingDeferred()) {
+            if (httpRequest != null) {
+                httpRequest.setHeader(Header.HTTP_SAMPLED.toString(), SamplingFlagUtils.SAMPLING_RATE_FALSE);
+            }
+            return;
+        }
 
         TraceId nextId = trace.getTraceId().getNextTraceId();
         trace.recordNextSpanId(nextId.getSpanId());
-        trace.recordServiceType(ServiceType.HTTP_CLIENT);
 
         if (httpRequest != null) {
             httpRequest.setHeader(Header.HTTP_TRACE_ID.toString(), nextId.getTransactionId());
@@ -74,7 +74,7 @@ public class CubridPreparedStatementModifier extends AbstractModifier {
 
             preparedStatementClass.addTraceValue(DatabaseInfoTraceValue.class);
             preparedStatementClass.addTraceValue(ParsingResultTraceValue.class);
-            preparedStatementClass.addTraceValue(BindValueTraceValue.class, "new java.util.HashMap();");
+            preparedStatementClass.addTraceValue(BindValueTraceValue.class, "new com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer();");
 
             bindVariableIntercept(preparedStatementClass, classLoader, protectedDomain);
 
@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.profiler.modifier.db.interceptor;
 
+import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer;
 import com.navercorp.pinpoint.bootstrap.util.StringUtils;
+import com.navercorp.pinpoint.profiler.util.bindvalue.BindValueConverter;
 
 /**
  * @author emeroad
@@ -48,6 +50,31 @@ public class BindValueUtils {
         return sb.toString();
     }
 
+    /**
+     * same output as {@link #bindValueToString(String[], int)}. converts the values up to the limit only.
+     */
+    public static String bindValueToString(BindValueBuffer bindValueBuffer, int limit) {
+        if (bindValueBuffer == null) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder(32);
+        final int length = bindValueBuffer.getBindCount();
+        for (int index = 1; index <= length; index++) {
+            if (sb.length() >= limit) {
+                appendLength(sb, length);
+                break;
+            }
+            final String methodName = bindValueBuffer.getMethodName(index);
+            if (methodName != null) {
+                StringUtils.appendDrop(sb, BindValueConverter.convert(methodName, bindValueBuffer.getArgs(index)), limit);
+            }
+            if (index < length) {
+                sb.append(", ");
+            }
+        }
+        return sb.toString();
+    }
+
     private static void appendLength(StringBuilder sb, int length) {
         sb.append("...(");
         sb.append(length);
@@ -16,12 +16,11 @@
 
 package com.navercorp.pinpoint.profiler.modifier.db.interceptor;
 
-import java.util.Map;
-
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.interceptor.StaticAroundInterceptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.TraceContextSupport;
+import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueTraceValue;
 import com.navercorp.pinpoint.bootstrap.logging.PLogger;
 import com.navercorp.pinpoint.bootstrap.logging.PLoggerFactory;
@@ -53,11 +52,11 @@ public class PreparedStatementBindVariableInterceptor implements StaticAroundInt
         if (trace == null) {
             return;
         }
-        Map<Integer, String> bindList = null;
+        BindValueBuffer bindValue = null;
         if (target instanceof BindValueTraceValue) {
-            bindList = ((BindValueTraceValue)target)._$PINPOINT$_getTraceBindValue();
+            bindValue = ((BindValueTraceValue)target)._$PINPOINT$_getTraceBindValue();
         }
-        if (bindList == null) {
+        if (bindValue == null) {
             if (logger.isWarnEnabled()) {
                 logger.warn("bindValue is null");
             }
@@ -68,8 +67,14 @@ public class PreparedStatementBindVariableInterceptor implements StaticAroundInt
             // something is wrong
             return;
         }
-        String value = BindValueConverter.convert(methodName, args);
-        bindList.put(index, value);
+        if (BindValueConverter.isMutableValue(args)) {
+            // the application may reuse the array or the date before the execute. keep what was bound.
+            final String value = BindValueConverter.convert(methodName, args);
+            bindValue.set(index, BindValueConverter.CONVERTED_VALUE, new Object[] {args[0], value});
+            return;
+        }
+        // converted to a string when the execute records the sql
+        bindValue.set(index, methodName, args);
 
     }
 
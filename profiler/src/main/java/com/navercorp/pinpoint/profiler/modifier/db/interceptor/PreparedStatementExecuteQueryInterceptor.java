@@ -16,9 +16,6 @@
 
 package com.navercorp.pinpoint.profiler.modifier.db.interceptor;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import com.navercorp.pinpoint.bootstrap.context.DatabaseInfo;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.bootstrap.context.TraceContext;
@@ -26,6 +23,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.ByteCodeMethodDescriptorSupp
 import com.navercorp.pinpoint.bootstrap.interceptor.MethodDescriptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.SimpleAroundInterceptor;
 import com.navercorp.pinpoint.bootstrap.interceptor.TraceContextSupport;
+import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueTraceValue;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.DatabaseInfoTraceValueUtils;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.ParsingResultTraceValue;
@@ -71,12 +69,12 @@ public class PreparedStatementExecuteQueryInterceptor implements SimpleAroundInt
             if (target instanceof ParsingResultTraceValue) {
                 parsingResult = ((ParsingResultTraceValue) target)._$PINPOINT$_getTraceParsingResult();
             }
-            Map<Integer, String> bindValue = null;
+            BindValueBuffer bindValue = null;
             if (target instanceof BindValueTraceValue) {
                 bindValue = ((BindValueTraceValue)target)._$PINPOINT$_getTraceBindValue();
             }
             if (bindValue != null) {
-                String bindString = toBindVariable(bindValue);
+                String bindString = BindValueUtils.bindValueToString(bindValue, maxSqlBindValueLength);
                 trace.recordSqlParsingResult(parsingResult, bindString);
             } else {
                 trace.recordSqlParsingResult(parsingResult);
@@ -88,7 +86,7 @@ public class PreparedStatementExecuteQueryInterceptor implements SimpleAroundInt
             // Need to change where to invoke clean().
             // There is cleanParameters method but it's not necessary to intercept that method.
             // iBatis intentionally does not invoke it in most cases. 
-            clean(target);
+            clean(bindValue);
 
 
         } catch (Exception e) {
@@ -99,26 +97,13 @@ public class PreparedStatementExecuteQueryInterceptor implements SimpleAroundInt
 
     }
 
-    private void clean(Object target) {
-        if (target instanceof BindValueTraceValue) {
-            ((BindValueTraceValue) target)._$PINPOINT$_setTraceBindValue(new HashMap<Integer, String>());
+    private void clean(BindValueBuffer bindValue) {
+        if (bindValue != null) {
+            // reuse the buffer for the next execution
+            bindValue.clear();
         }
     }
 
-    private String toBindVariable(Map<Integer, String> bindValue) {
-        final String[] temp = new String[bindValue.size()];
-        for (Map.Entry<Integer, String> entry : bindValue.entrySet()) {
-            Integer key = entry.getKey() - 1;
-            if (temp.length < key) {
-                continue;
-            }
-            temp[key] = entry.getValue();
-        }
-
-        return BindValueUtils.bindValueToString(temp, maxSqlBindValueLength);
-
-    }
-
     @Override
     public void after(Object target, Object[] args, Object result, Throwable throwable) {
         if (isDebug) {
@@ -75,7 +75,7 @@ public class MySQLPreparedStatementModifier extends AbstractModifier {
             preparedStatement.addTraceValue(DatabaseInfoTraceValue.class);
             preparedStatement.addTraceValue(ParsingResultTraceValue.class);
 
-            preparedStatement.addTraceValue(BindValueTraceValue.class, "new java.util.HashMap();");
+            preparedStatement.addTraceValue(BindValueTraceValue.class, "new com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer();");
             bindVariableIntercept(preparedStatement, classLoader, protectedDomain);
 
             return preparedStatement.toBytecode();
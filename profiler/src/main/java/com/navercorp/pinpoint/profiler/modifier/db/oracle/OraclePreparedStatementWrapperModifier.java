@@ -71,7 +71,7 @@ public class OraclePreparedStatementWrapperModifier extends AbstractModifier {
 
             preparedStatement.addTraceValue(DatabaseInfoTraceValue.class);
             preparedStatement.addTraceValue(ParsingResultTraceValue.class);
-            preparedStatement.addTraceValue(BindValueTraceValue.class, "new java.util.HashMap();");
+            preparedStatement.addTraceValue(BindValueTraceValue.class, "new com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer();");
             bindVariableIntercept(preparedStatement, classLoader, protectedDomain);
 
             return preparedStatement.toBytecode();
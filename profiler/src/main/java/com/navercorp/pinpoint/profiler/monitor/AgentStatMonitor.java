@@ -26,11 +26,21 @@ import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.monitor.codahale.AgentStatCollectorFactory;
 import com.navercorp.pinpoint.profiler.monitor.codahale.cpu.CpuLoadCollector;
 import com.navercorp.pinpoint.profiler.monitor.codahale.gc.GarbageCollector;
+import com.navercorp.pinpoint.profiler.monitor.allocation.AllocationCollector;
+import com.navercorp.pinpoint.profiler.monitor.response.ResponseStatCollector;
+import com.navercorp.pinpoint.profiler.monitor.sampling.SamplingCollector;
+import com.navercorp.pinpoint.profiler.monitor.sender.SenderQueueCollector;
+import com.navercorp.pinpoint.profiler.monitor.sql.SqlCacheCollector;
 import com.navercorp.pinpoint.profiler.sender.DataSender;
+import com.navercorp.pinpoint.thrift.dto.TAgentResponseStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 import com.navercorp.pinpoint.thrift.dto.TCpuLoad;
 import com.navercorp.pinpoint.thrift.dto.TJvmGc;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
+import com.navercorp.pinpoint.thrift.dto.TSampling;
+import com.navercorp.pinpoint.thrift.dto.TSenderQueue;
+import com.navercorp.pinpoint.thrift.dto.TSqlCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,12 +67,31 @@ public class AgentStatMonitor {
     private final String agentId;
     private final AgentStatCollectorFactory agentStatCollectorFactory;
     private final long agentStartTime;
+    // may be null if the sampler does not report its sampling statistics
+    private final SamplingCollector samplingCollector;
+    // may be null if span recycling is disabled
+    private AllocationCollector allocationCollector;
+    // may be null if the sender does not expose its queue
+    private SenderQueueCollector spanQueueCollector;
+    private SenderQueueCollector statQueueCollector;
+    private SqlCacheCollector sqlCacheCollector;
+    // may be null if the response stat is disabled
+    private ResponseStatCollector responseStatCollector;
+    private long responseStatIntervalMs;
 
     public AgentStatMonitor(DataSender dataSender, String agentId, long startTime) {
-        this(dataSender, agentId, startTime, DEFAULT_COLLECTION_INTERVAL_MS, DEFAULT_NUM_COLLECTIONS_PER_SEND);
+        this(dataSender, agentId, startTime, null);
+    }
+
+    public AgentStatMonitor(DataSender dataSender, String agentId, long startTime, SamplingCollector samplingCollector) {
+        this(dataSender, agentId, startTime, samplingCollector, DEFAULT_COLLECTION_INTERVAL_MS, DEFAULT_NUM_COLLECTIONS_PER_SEND);
     }
 
     public AgentStatMonitor(DataSender dataSender, String agentId, long startTime, long collectionInterval, int numCollectionsPerBatch) {
+        this(dataSender, agentId, startTime, null, collectionInterval, numCollectionsPerBatch);
+    }
+
+    public AgentStatMonitor(DataSender dataSender, String agentId, long startTime, SamplingCollector samplingCollector, long collectionInterval, int numCollectionsPerBatch) {
         if (dataSender == null) {
             throw new NullPointerException("dataSender must not be null");
         }
@@ -72,15 +101,54 @@ public class AgentStatMonitor {
         this.dataSender = dataSender;
         this.agentId = agentId;
         this.agentStartTime = startTime;
+        this.samplingCollector = samplingCollector;
         this.collectionIntervalMs = collectionInterval;
         this.numCollectionsPerBatch = numCollectionsPerBatch;
         this.agentStatCollectorFactory = new AgentStatCollectorFactory();
     }
 
+    /**
+     * must be called before {@link #start()}
+     */
+    public void setAllocationCollector(AllocationCollector allocationCollector) {
+        this.allocationCollector = allocationCollector;
+    }
+
+    /**
+     * must be called before {@link #start()}
+     */
+    public void setSenderQueueCollector(SenderQueueCollector spanQueueCollector, SenderQueueCollector statQueueCollector) {
+        this.spanQueueCollector = spanQueueCollector;
+        this.statQueueCollector = statQueueCollector;
+    }
+
+    /**
+     * must be called before {@link #start()}
+     */
+    public void setSqlCacheCollector(SqlCacheCollector sqlCacheCollector) {
+        this.sqlCacheCollector = sqlCacheCollector;
+    }
+
+    /**
+     * must be called before {@link #start()}
+     */
+    public void setResponseStatCollector(ResponseStatCollector responseStatCollector, long responseStatIntervalMs) {
+        if (responseStatIntervalMs <= 0) {
+            throw new IllegalArgumentException("responseStatIntervalMs must be positive. responseStatIntervalMs:" + responseStatIntervalMs);
+        }
+        this.responseStatCollector = responseStatCollector;
+        this.responseStatIntervalMs = responseStatIntervalMs;
+    }
+
     public void start() {
         long wait = 0;
         CollectJob job = new CollectJob(this.numCollectionsPerBatch);
         executor.scheduleAtFixedRate(job, wait, this.collectionIntervalMs, TimeUnit.MILLISECONDS);
+        if (responseStatCollector != null) {
+            // the first message tells the collector that this agent sends its own response stat
+            ResponseStatJob responseStatJob = new ResponseStatJob(responseStatCollector);
+            executor.scheduleAtFixedRate(responseStatJob, wait, this.responseStatIntervalMs, TimeUnit.MILLISECONDS);
+        }
         logger.info("AgentStat monitor started");
     }
 
@@ -131,6 +199,26 @@ public class AgentStatMonitor {
             agentStat.setGc(gc);
             final TCpuLoad cpuLoad = cpuLoadCollector.collectCpuLoad();
             agentStat.setCpuLoad(cpuLoad);
+            if (samplingCollector != null) {
+                final TSampling sampling = samplingCollector.collectSampling();
+                agentStat.setSampling(sampling);
+            }
+            if (allocationCollector != null) {
+                final TAllocation allocation = allocationCollector.collectAllocation();
+                agentStat.setAllocation(allocation);
+            }
+            if (spanQueueCollector != null) {
+                final TSenderQueue spanQueue = spanQueueCollector.collectSenderQueue();
+                agentStat.setSpanQueue(spanQueue);
+            }
+            if (statQueueCollector != null) {
+                final TSenderQueue statQueue = statQueueCollector.collectSenderQueue();
+                agentStat.setStatQueue(statQueue);
+            }
+            if (sqlCacheCollector != null) {
+                final TSqlCache sqlCache = sqlCacheCollector.collectSqlCache();
+                agentStat.setSqlCache(sqlCache);
+            }
             if (isTrace) {
                 logger.trace("collect agentStat:{}", agentStat);
             }
@@ -155,4 +243,25 @@ public class AgentStatMonitor {
         }
     }
 
+    private class ResponseStatJob implements Runnable {
+
+        private final ResponseStatCollector responseStatCollector;
+
+        private ResponseStatJob(ResponseStatCollector responseStatCollector) {
+            this.responseStatCollector = responseStatCollector;
+        }
+
+        public void run() {
+            try {
+                final TAgentResponseStat responseStat = responseStatCollector.collectResponseStat();
+                if (isTrace) {
+                    logger.trace("collect responseStat:{}", responseStat);
+                }
+                dataSender.send(responseStat);
+            } catch (Exception ex) {
+                logger.warn("ResponseStat collect failed. Caused:{}", ex.getMessage(), ex);
+            }
+        }
+    }
+
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.allocation;
+
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
+import com.navercorp.pinpoint.thrift.dto.TAllocation;
+
+/**
+ * Collects the number of traces and of span objects allocated/recycled by the {@link SpanRecycler} since the last collection.
+ * Allocation per traced request of the interval is allocatedCount / traceCount.
+ * Not thread safe. Should be called from the stat monitor thread only.
+ *
+ * @author emeroad
+ */
+public class AllocationCollector {
+
+    private final SpanRecycler spanRecycler;
+
+    private long lastTraceCount;
+    private long lastAllocatedCount;
+    private long lastRecycledCount;
+
+    public AllocationCollector(SpanRecycler spanRecycler) {
+        if (spanRecycler == null) {
+            throw new NullPointerException("spanRecycler must not be null");
+        }
+        this.spanRecycler = spanRecycler;
+    }
+
+    public TAllocation collectAllocation() {
+        final long traceCount = spanRecycler.getTraceCount();
+        final long allocatedCount = spanRecycler.getAllocatedCount();
+        final long recycledCount = spanRecycler.getRecycledCount();
+
+        final TAllocation allocation = new TAllocation();
+        allocation.setTraceCount(traceCount - lastTraceCount);
+        allocation.setAllocatedCount(allocatedCount - lastAllocatedCount);
+        allocation.setRecycledCount(recycledCount - lastRecycledCount);
+
+        this.lastTraceCount = traceCount;
+        this.lastAllocatedCount = allocatedCount;
+        this.lastRecycledCount = recycledCount;
+        return allocation;
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.navercorp.pinpoint.profiler.monitor.metric;
 
+import java.util.List;
+
 /**
  * @author emeroad
  */
 public interface AcceptHistogram {
     boolean addResponseTime(String parentApplicationName, short serviceType, int millis);
+
+    List<HistogramSnapshot> createIntervalSnapshotList();
 }
@@ -18,6 +18,8 @@ package com.navercorp.pinpoint.profiler.monitor.metric;
 
 import com.navercorp.pinpoint.common.ServiceType;
 
+import java.util.List;
+
 /**
  * @author emeroad
  */
@@ -58,6 +60,22 @@ public class ContextMetric {
         this.userHistogram.addResponseTime(millis);
     }
 
+    public HistogramSnapshot createResponseSnapshot() {
+        return this.responseMetric.createSnapshot();
+    }
+
+    public HistogramSnapshot createResponseIntervalSnapshot() {
+        return this.responseMetric.createIntervalSnapshot();
+    }
+
+    public HistogramSnapshot createUserAcceptIntervalSnapshot() {
+        return this.userHistogram.createIntervalSnapshot();
+    }
+
+    public List<HistogramSnapshot> createAcceptIntervalSnapshotList() {
+        return this.acceptHistogram.createIntervalSnapshotList();
+    }
+
 
 
 
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.profiler.monitor.metric;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,4 +47,11 @@ public class DefaultAcceptHistogram implements AcceptHistogram {
         }
         return false;
     }
+
+    @Override
+    public List<HistogramSnapshot> createIntervalSnapshotList() {
+        final List<HistogramSnapshot> histogramSnapshotList = this.staticAcceptHistogram.createIntervalSnapshotList();
+        histogramSnapshotList.addAll(this.dynamicAcceptHistogram.createIntervalSnapshotList());
+        return histogramSnapshotList;
+    }
 }
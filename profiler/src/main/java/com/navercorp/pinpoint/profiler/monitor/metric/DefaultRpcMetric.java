@@ -30,7 +30,7 @@ public class DefaultRpcMetric implements RpcMetric {
 
     private final ServiceType serviceType;
     // TODO Change to LRU cach. It could makes numbers incorrect but prevents OOM.
-    private final ConcurrentMap<String, Histogram> histogramMap = new ConcurrentHashMap<String, Histogram>();
+    private final ConcurrentMap<RpcKey, Histogram> histogramMap = new ConcurrentHashMap<RpcKey, Histogram>();
 
     public DefaultRpcMetric(ServiceType serviceType) {
         if (serviceType == null) {
@@ -41,29 +41,34 @@ public class DefaultRpcMetric implements RpcMetric {
 
     @Override
     public void addResponseTime(String destinationId, int millis) {
+        addResponseTime(destinationId, null, millis);
+    }
+
+    @Override
+    public void addResponseTime(String destinationId, String endPoint, int millis) {
         if (destinationId == null) {
             throw new NullPointerException("destinationId must not be null");
         }
-        Histogram histogram = getHistogram0(destinationId);
+        Histogram histogram = getHistogram0(new RpcKey(destinationId, endPoint));
         histogram.addResponseTime(millis);
     }
 
-    private Histogram getHistogram0(String destinationId) {
-        final Histogram hit = histogramMap.get(destinationId);
+    private Histogram getHistogram0(RpcKey rpcKey) {
+        final Histogram hit = histogramMap.get(rpcKey);
         if (hit != null) {
             return hit;
         }
-        final Histogram histogram = createHistogram();
+        final Histogram histogram = createHistogram(rpcKey);
 
-        final Histogram exist = histogramMap.putIfAbsent(destinationId, histogram);
+        final Histogram exist = histogramMap.putIfAbsent(rpcKey, histogram);
         if (exist != null) {
             return exist;
         }
         return histogram;
     }
 
-    private LongAdderHistogram createHistogram() {
-        return new LongAdderHistogram(serviceType);
+    private LongAdderHistogram createHistogram(RpcKey rpcKey) {
+        return new LongAdderHistogram(rpcKey.destinationId, rpcKey.endPoint, serviceType);
     }
 
     public List<HistogramSnapshot> createSnapshotList() {
@@ -74,4 +79,44 @@ public class DefaultRpcMetric implements RpcMetric {
         }
         return histogramSnapshotList;
     }
+
+    public List<HistogramSnapshot> createIntervalSnapshotList() {
+        final List<HistogramSnapshot> histogramSnapshotList = new ArrayList<HistogramSnapshot>(histogramMap.size() + 4);
+        for (Histogram histogram : histogramMap.values()) {
+            final HistogramSnapshot snapshot = histogram.createIntervalSnapshot();
+            histogramSnapshotList.add(snapshot);
+        }
+        return histogramSnapshotList;
+    }
+
+    private static final class RpcKey {
+        private final String destinationId;
+        // null if the interceptor does not record the end point
+        private final String endPoint;
+
+        private RpcKey(String destinationId, String endPoint) {
+            this.destinationId = destinationId;
+            this.endPoint = endPoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            RpcKey that = (RpcKey) o;
+
+            if (!destinationId.equals(that.destinationId)) return false;
+            if (endPoint != null ? !endPoint.equals(that.endPoint) : that.endPoint != null) return false;
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = destinationId.hashCode();
+            result = 31 * result + (endPoint != null ? endPoint.hashCode() : 0);
+            return result;
+        }
+    }
 }
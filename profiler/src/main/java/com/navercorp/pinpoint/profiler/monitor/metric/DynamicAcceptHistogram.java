@@ -18,6 +18,8 @@ package com.navercorp.pinpoint.profiler.monitor.metric;
 
 import com.navercorp.pinpoint.common.ServiceType;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -60,7 +62,7 @@ public class DynamicAcceptHistogram implements AcceptHistogram {
         if (hit != null) {
             return hit;
         }
-        final Histogram histogram = new LongAdderHistogram(responseKey.getServiceType());
+        final Histogram histogram = new LongAdderHistogram(responseKey.getParentApplicationName(), null, responseKey.getServiceType());
         final Histogram old = map.putIfAbsent(responseKey, histogram);
         if (old != null) {
             return old;
@@ -68,6 +70,15 @@ public class DynamicAcceptHistogram implements AcceptHistogram {
         return histogram;
     }
 
+    @Override
+    public List<HistogramSnapshot> createIntervalSnapshotList() {
+        final List<HistogramSnapshot> histogramSnapshotList = new ArrayList<HistogramSnapshot>(map.size() + 4);
+        for (Histogram histogram : map.values()) {
+            histogramSnapshotList.add(histogram.createIntervalSnapshot());
+        }
+        return histogramSnapshotList;
+    }
+
 
     private static final class ResponseKey {
         private final ServiceType serviceType;
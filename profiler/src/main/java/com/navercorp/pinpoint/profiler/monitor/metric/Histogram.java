@@ -27,4 +27,9 @@ public interface Histogram extends Metric {
     void addResponseTime(int millis);
 
     HistogramSnapshot createSnapshot();
+
+    /**
+     * counts since the previous call. must be called by a single thread
+     */
+    HistogramSnapshot createIntervalSnapshot();
 }
@@ -20,6 +20,10 @@ package com.navercorp.pinpoint.profiler.monitor.metric;
  * @author emeroad
  */
 public class HistogramSnapshot {
+    // peer of the histogram. null for the response time of the agent itself
+    private final String name;
+    private final String host;
+
     private final short serviceType;
     private final long fastCount;
     private final long normalCount;
@@ -29,7 +33,12 @@ public class HistogramSnapshot {
     private final long errorCount;
 
     public HistogramSnapshot(short serviceType, long fastCount, long normalCount, long slowCount, long verySlowCount, long errorCounter) {
+        this(null, null, serviceType, fastCount, normalCount, slowCount, verySlowCount, errorCounter);
+    }
 
+    public HistogramSnapshot(String name, String host, short serviceType, long fastCount, long normalCount, long slowCount, long verySlowCount, long errorCounter) {
+        this.name = name;
+        this.host = host;
         this.serviceType = serviceType;
         this.fastCount = fastCount;
         this.normalCount = normalCount;
@@ -38,6 +47,14 @@ public class HistogramSnapshot {
         this.errorCount = errorCounter;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
     public short getServiceType() {
         return serviceType;
     }
@@ -62,11 +79,17 @@ public class HistogramSnapshot {
         return errorCount;
     }
 
+    public long getTotalCount() {
+        return fastCount + normalCount + slowCount + verySlowCount + errorCount;
+    }
+
     @Override
     public String toString() {
         return "HistogramSnapshot{" +
-                "serviceType=" + serviceType +
-                "fast=" + fastCount +
+                "name=" + name +
+                ", host=" + host +
+                ", serviceType=" + serviceType +
+                ", fast=" + fastCount +
                 ", normal=" + normalCount +
                 ", slow=" + slowCount +
                 ", verySlow=" + verySlowCount +
@@ -34,14 +34,33 @@ public class LongAdderHistogram implements Histogram {
 
     private final LongAdder errorCounter = new LongAdder();
 
+    private final String name;
+    private final String host;
     private final short serviceType;
     private final HistogramSchema histogramSchema;
 
+    // sums at the previous interval snapshot. touched by the snapshot thread only
+    private long lastFast;
+    private long lastNormal;
+    private long lastSlow;
+    private long lastVerySlow;
+    private long lastError;
+
     public LongAdderHistogram(ServiceType serviceType) {
-        this(serviceType.getCode(), serviceType.getHistogramSchema());
+        this(null, null, serviceType);
+    }
+
+    public LongAdderHistogram(String name, String host, ServiceType serviceType) {
+        this(name, host, serviceType.getCode(), serviceType.getHistogramSchema());
     }
 
     public LongAdderHistogram(short serviceType, HistogramSchema histogramSchema) {
+        this(null, null, serviceType, histogramSchema);
+    }
+
+    public LongAdderHistogram(String name, String host, short serviceType, HistogramSchema histogramSchema) {
+        this.name = name;
+        this.host = host;
         this.serviceType = serviceType;
         this.histogramSchema = histogramSchema;
     }
@@ -82,7 +101,25 @@ public class LongAdderHistogram implements Histogram {
         long verySlow = verySlowCounter.sum();
         long error = errorCounter.sum();
 
-        return new HistogramSnapshot(this.serviceType, fast, normal, slow, verySlow, error);
+        return new HistogramSnapshot(this.name, this.host, this.serviceType, fast, normal, slow, verySlow, error);
+    }
+
+    public HistogramSnapshot createIntervalSnapshot() {
+        // sum() instead of sumThenReset(). a reset can lose increments made while it runs
+        final long fast = fastCounter.sum();
+        final long normal = normalCounter.sum();
+        final long slow = slowCounter.sum();
+        final long verySlow = verySlowCounter.sum();
+        final long error = errorCounter.sum();
+
+        final HistogramSnapshot snapshot = new HistogramSnapshot(this.name, this.host, this.serviceType,
+                fast - lastFast, normal - lastNormal, slow - lastSlow, verySlow - lastVerySlow, error - lastError);
+        this.lastFast = fast;
+        this.lastNormal = normal;
+        this.lastSlow = slow;
+        this.lastVerySlow = verySlow;
+        this.lastError = error;
+        return snapshot;
     }
 
     @Override
@@ -93,6 +130,8 @@ public class LongAdderHistogram implements Histogram {
                 ", slowCounter=" + slowCounter +
                 ", verySlowCounter=" + verySlowCounter +
                 ", errorCounter=" + errorCounter +
+                ", name=" + name +
+                ", host=" + host +
                 ", serviceType=" + serviceType +
                 '}';
     }
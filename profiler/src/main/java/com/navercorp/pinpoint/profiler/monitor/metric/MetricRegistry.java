@@ -82,7 +82,15 @@ public class MetricRegistry {
         return histogramSnapshotList;
     }
 
+    public Collection<HistogramSnapshot> createRpcResponseIntervalSnapshot() {
+        final List<HistogramSnapshot> histogramSnapshotList = new ArrayList<HistogramSnapshot>(16);
+        for (RpcMetric metric : rpcCache.values()) {
+            histogramSnapshotList.addAll(metric.createIntervalSnapshotList());
+        }
+        return histogramSnapshotList;
+    }
+
     public HistogramSnapshot createWasResponseSnapshot() {
-        return null;
+        return this.contextMetric.createResponseSnapshot();
     }
 }
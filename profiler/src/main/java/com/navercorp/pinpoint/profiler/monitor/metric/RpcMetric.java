@@ -27,6 +27,13 @@ public interface RpcMetric extends Metric {
 
     void addResponseTime(String destinationId, int millis);
 
+    /**
+     * @param endPoint host of the destination. may be null
+     */
+    void addResponseTime(String destinationId, String endPoint, int millis);
+
     Collection<HistogramSnapshot> createSnapshotList();
 
+    Collection<HistogramSnapshot> createIntervalSnapshotList();
+
 }
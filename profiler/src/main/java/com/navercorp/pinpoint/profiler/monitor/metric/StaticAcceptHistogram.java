@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.profiler.monitor.metric;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.util.apache.IntHashMap;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -28,6 +30,8 @@ import java.util.concurrent.ConcurrentMap;
 public class StaticAcceptHistogram implements AcceptHistogram {
     // Cannot add data dynamically. Never put to this map because it's not thread safe. 
     private final IntHashMap<ConcurrentMap<String, Histogram>> map;
+    // same maps as above. IntHashMap can not be iterated
+    private final List<ConcurrentMap<String, Histogram>> callerList = new ArrayList<ConcurrentMap<String, Histogram>>();
 
     public StaticAcceptHistogram() {
         this.map = new IntHashMap<ConcurrentMap<String, Histogram>>();
@@ -39,6 +43,7 @@ public class StaticAcceptHistogram implements AcceptHistogram {
             if (serviceType.isWas()) {
                 ConcurrentMap<String, Histogram> caller = new ConcurrentHashMap<String, Histogram>();
                 map.put(serviceType.getCode(), caller);
+                callerList.add(caller);
             }
         }
     }
@@ -65,11 +70,22 @@ public class StaticAcceptHistogram implements AcceptHistogram {
             return hit;
         }
         final ServiceType serviceType = ServiceType.findServiceType(serviceTypeCode);
-        final Histogram histogram = new LongAdderHistogram(serviceType);
+        final Histogram histogram = new LongAdderHistogram(parentApplicationName, null, serviceType);
         final Histogram old = histogramMap.putIfAbsent(parentApplicationName, histogram);
         if (old != null) {
             return old;
         }
         return histogram;
     }
+
+    @Override
+    public List<HistogramSnapshot> createIntervalSnapshotList() {
+        final List<HistogramSnapshot> histogramSnapshotList = new ArrayList<HistogramSnapshot>();
+        for (ConcurrentMap<String, Histogram> caller : callerList) {
+            for (Histogram histogram : caller.values()) {
+                histogramSnapshotList.add(histogram.createIntervalSnapshot());
+            }
+        }
+        return histogramSnapshotList;
+    }
 }
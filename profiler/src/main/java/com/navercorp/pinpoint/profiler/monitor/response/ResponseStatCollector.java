@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.response;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.navercorp.pinpoint.profiler.monitor.metric.ContextMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.HistogramSnapshot;
+import com.navercorp.pinpoint.profiler.monitor.metric.MetricRegistry;
+import com.navercorp.pinpoint.thrift.dto.TAgentResponseStat;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+
+/**
+ * Collects the response histograms of the {@link MetricRegistry} since the last collection.
+ * The collector writes the server map statistics of the agent from them instead of from each span.
+ * Histograms without a response in the interval are left out.
+ * Not thread safe. Should be called from the stat monitor thread only.
+ *
+ * @author emeroad
+ */
+public class ResponseStatCollector {
+
+    private final MetricRegistry metricRegistry;
+    private final String agentId;
+    private final String applicationName;
+    private final short serviceType;
+    private final long agentStartTime;
+
+    public ResponseStatCollector(MetricRegistry metricRegistry, String agentId, String applicationName, short serviceType, long agentStartTime) {
+        if (metricRegistry == null) {
+            throw new NullPointerException("metricRegistry must not be null");
+        }
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        this.metricRegistry = metricRegistry;
+        this.agentId = agentId;
+        this.applicationName = applicationName;
+        this.serviceType = serviceType;
+        this.agentStartTime = agentStartTime;
+    }
+
+    public TAgentResponseStat collectResponseStat() {
+        final TAgentResponseStat responseStat = new TAgentResponseStat();
+        responseStat.setAgentId(agentId);
+        responseStat.setApplicationName(applicationName);
+        responseStat.setServiceType(serviceType);
+        responseStat.setStartTimestamp(agentStartTime);
+        responseStat.setTimestamp(System.currentTimeMillis());
+
+        final ContextMetric contextMetric = metricRegistry.getResponseMetric();
+        final HistogramSnapshot response = contextMetric.createResponseIntervalSnapshot();
+        if (response.getTotalCount() != 0) {
+            responseStat.setResponse(toResponseHistogram(response));
+        }
+        final HistogramSnapshot userAccept = contextMetric.createUserAcceptIntervalSnapshot();
+        if (userAccept.getTotalCount() != 0) {
+            responseStat.setUserAccept(toResponseHistogram(userAccept));
+        }
+        final List<TResponseHistogram> accept = toResponseHistogramList(contextMetric.createAcceptIntervalSnapshotList());
+        if (accept != null) {
+            responseStat.setAccept(accept);
+        }
+        final List<TResponseHistogram> rpc = toResponseHistogramList(metricRegistry.createRpcResponseIntervalSnapshot());
+        if (rpc != null) {
+            responseStat.setRpc(rpc);
+        }
+        return responseStat;
+    }
+
+    private List<TResponseHistogram> toResponseHistogramList(Collection<HistogramSnapshot> snapshotList) {
+        List<TResponseHistogram> responseHistogramList = null;
+        for (HistogramSnapshot snapshot : snapshotList) {
+            if (snapshot.getTotalCount() == 0) {
+                continue;
+            }
+            if (responseHistogramList == null) {
+                responseHistogramList = new ArrayList<TResponseHistogram>(snapshotList.size());
+            }
+            responseHistogramList.add(toResponseHistogram(snapshot));
+        }
+        return responseHistogramList;
+    }
+
+    private TResponseHistogram toResponseHistogram(HistogramSnapshot snapshot) {
+        final TResponseHistogram responseHistogram = new TResponseHistogram();
+        if (snapshot.getName() != null) {
+            responseHistogram.setName(snapshot.getName());
+        }
+        if (snapshot.getHost() != null) {
+            responseHistogram.setHost(snapshot.getHost());
+        }
+        responseHistogram.setServiceType(snapshot.getServiceType());
+        responseHistogram.setFastCount(snapshot.getFastCount());
+        responseHistogram.setNormalCount(snapshot.getNormalCount());
+        responseHistogram.setSlowCount(snapshot.getSlowCount());
+        responseHistogram.setVerySlowCount(snapshot.getVerySlowCount());
+        responseHistogram.setErrorCount(snapshot.getErrorCount());
+        return responseHistogram;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.sampling;
+
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+import com.navercorp.pinpoint.thrift.dto.TSampling;
+
+/**
+ * Collects the number of transactions seen/sampled/retained by the {@link AdaptiveSampler} since the last collection.
+ * The effective sampling rate of the interval is sampledCount / totalCount.
+ * Not thread safe. Should be called from the stat monitor thread only.
+ *
+ * @author emeroad
+ */
+public class SamplingCollector {
+
+    private final AdaptiveSampler sampler;
+
+    private long lastTotalCount;
+    private long lastSampledCount;
+    private long lastRetainedCount;
+
+    public SamplingCollector(AdaptiveSampler sampler) {
+        if (sampler == null) {
+            throw new NullPointerException("sampler must not be null");
+        }
+        this.sampler = sampler;
+    }
+
+    public TSampling collectSampling() {
+        final long totalCount = sampler.getTotalCount();
+        final long sampledCount = sampler.getSampledCount();
+        final long retainedCount = sampler.getRetainedCount();
+
+        final TSampling sampling = new TSampling();
+        sampling.setTotalCount(totalCount - lastTotalCount);
+        sampling.setSampledCount(sampledCount - lastSampledCount);
+        sampling.setRetainedCount(retainedCount - lastRetainedCount);
+
+        this.lastTotalCount = totalCount;
+        this.lastSampledCount = sampledCount;
+        this.lastRetainedCount = retainedCount;
+        return sampling;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.sender;
+
+import com.navercorp.pinpoint.profiler.sender.UdpDataSender;
+import com.navercorp.pinpoint.thrift.dto.TSenderQueue;
+
+/**
+ * Collects the send queue state of a {@link UdpDataSender}.
+ * droppedCount is the number of messages dropped since the last collection because the queue was full.
+ * queueSize is the size at collection time, peakQueueSize the highest size observed by the sender thread since it started.
+ * Not thread safe. Should be called from the stat monitor thread only.
+ *
+ * @author emeroad
+ */
+public class SenderQueueCollector {
+
+    private final UdpDataSender dataSender;
+
+    private long lastDroppedCount;
+
+    public SenderQueueCollector(UdpDataSender dataSender) {
+        if (dataSender == null) {
+            throw new NullPointerException("dataSender must not be null");
+        }
+        this.dataSender = dataSender;
+    }
+
+    public TSenderQueue collectSenderQueue() {
+        final long droppedCount = dataSender.getDroppedCount();
+
+        final TSenderQueue senderQueue = new TSenderQueue();
+        senderQueue.setDroppedCount(droppedCount - lastDroppedCount);
+        senderQueue.setQueueSize(dataSender.getQueueSize());
+        senderQueue.setPeakQueueSize(dataSender.getPeakQueueSize());
+
+        this.lastDroppedCount = droppedCount;
+        return senderQueue;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.monitor.sql;
+
+import com.navercorp.pinpoint.profiler.metadata.SqlParsingResultCache;
+import com.navercorp.pinpoint.thrift.dto.TSqlCache;
+
+/**
+ * Collects the hit ratio of the {@link SqlParsingResultCache}.
+ * hitCount and missCount are the lookups since the last collection, size is the number of entries at collection time.
+ * Not thread safe. Should be called from the stat monitor thread only.
+ *
+ * @author emeroad
+ */
+public class SqlCacheCollector {
+
+    private final SqlParsingResultCache sqlCache;
+
+    private long lastHitCount;
+    private long lastMissCount;
+
+    public SqlCacheCollector(SqlParsingResultCache sqlCache) {
+        if (sqlCache == null) {
+            throw new NullPointerException("sqlCache must not be null");
+        }
+        this.sqlCache = sqlCache;
+    }
+
+    public TSqlCache collectSqlCache() {
+        final long hitCount = sqlCache.getHitCount();
+        final long missCount = sqlCache.getMissCount();
+
+        final TSqlCache tSqlCache = new TSqlCache();
+        tSqlCache.setHitCount(hitCount - lastHitCount);
+        tSqlCache.setMissCount(missCount - lastMissCount);
+        tSqlCache.setSize((int) sqlCache.getSize());
+
+        this.lastHitCount = hitCount;
+        this.lastMissCount = missCount;
+        return tSqlCache;
+    }
+}
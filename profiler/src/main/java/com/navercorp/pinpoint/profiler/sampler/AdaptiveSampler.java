@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.util.jdk.LongAdder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples up to a target number of new transactions per second, regardless of the incoming traffic.
+ * <p>
+ * Permits are handed out by a token bucket which holds at most one second worth of permits.
+ * When the bucket is empty, the decision is made with a single volatile read so that rejected transactions stay cheap.
+ * Counters are striped({@link LongAdder}) to avoid contention between request threads.
+ * <p>
+ * Transactions that were not sampled can optionally be recorded speculatively(deferred) and kept only
+ * if they end up with an error or exceed the slow threshold. Deferred recording has its own budget.
+ *
+ * @author emeroad
+ */
+public class AdaptiveSampler implements Sampler {
+
+    private final TokenBucket samplingBucket;
+    private final TokenBucket deferredBucket;
+    private final long slowThreshold;
+
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sampledCount = new LongAdder();
+    private final LongAdder retainedCount = new LongAdder();
+
+    public AdaptiveSampler(int targetTps) {
+        this(targetTps, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param targetTps sampled transactions per second
+     * @param deferredTps transactions per second recorded speculatively to catch errors and slow transactions. 0 to disable.
+     * @param slowThreshold elapsed time(ms) from which a deferred transaction is kept
+     */
+    public AdaptiveSampler(int targetTps, int deferredTps, long slowThreshold) {
+        if (targetTps <= 0) {
+            throw new IllegalArgumentException("Invalid targetTps " + targetTps);
+        }
+        if (deferredTps < 0) {
+            throw new IllegalArgumentException("Invalid deferredTps " + deferredTps);
+        }
+        if (slowThreshold < 0) {
+            throw new IllegalArgumentException("Invalid slowThreshold " + slowThreshold);
+        }
+        this.samplingBucket = new TokenBucket(targetTps);
+        this.deferredBucket = deferredTps == 0 ? null : new TokenBucket(deferredTps);
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public boolean isSampling() {
+        totalCount.increment();
+        if (samplingBucket.tryAcquire(nanoTime())) {
+            sampledCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Should be called only for a transaction rejected by {@link #isSampling()}.
+     * @return true if the transaction should be recorded and kept only when it turns out to be an error or slow
+     */
+    public boolean isDeferredSampling() {
+        final TokenBucket deferredBucket = this.deferredBucket;
+        if (deferredBucket == null) {
+            return false;
+        }
+        return deferredBucket.tryAcquire(nanoTime());
+    }
+
+    public boolean isRetained(boolean error, long elapsed) {
+        if (error || elapsed >= slowThreshold) {
+            retainedCount.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public long getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getSampledCount() {
+        return sampledCount.sum();
+    }
+
+    public long getRetainedCount() {
+        return retainedCount.sum();
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSampler{" +
+                "targetTps=" + samplingBucket.getPermitsPerSecond() +
+                ", deferredTps=" + (deferredBucket == null ? 0 : deferredBucket.getPermitsPerSecond()) +
+                ", slowThreshold=" + slowThreshold +
+                '}';
+    }
+
+    /**
+     * Lock-free token bucket. Keeps only the time at which the bucket will be full again(GCRA),
+     * so acquiring a permit is a single CAS and a rejection is a single read.
+     */
+    static class TokenBucket {
+
+        private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private final int permitsPerSecond;
+        private final long interval;
+        private final long capacity;
+        private final AtomicLong fullTime = new AtomicLong(Long.MIN_VALUE);
+
+        TokenBucket(int permitsPerSecond) {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("Invalid permitsPerSecond " + permitsPerSecond);
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            this.interval = Math.max(1, ONE_SECOND / permitsPerSecond);
+            this.capacity = interval * permitsPerSecond;
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                final long fullTime = this.fullTime.get();
+                // bucket can not hold more than capacity
+                final long base = (fullTime == Long.MIN_VALUE || fullTime - now < 0) ? now : fullTime;
+                final long next = base + interval;
+                if (next - now > capacity) {
+                    return false;
+                }
+                if (this.fullTime.compareAndSet(fullTime, next)) {
+                    return true;
+                }
+            }
+        }
+
+        int getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+    }
+}
@@ -31,4 +31,14 @@ public class SamplerFactory {
         }
         return new SamplingRateSampler(samplingRate);
     }
+
+    public Sampler createAdaptiveSampler(boolean sampling, int targetTps, boolean keepErrorAndSlow, int deferredTps, long slowThreshold) {
+        if (!sampling || targetTps <= 0) {
+            return new FalseSampler();
+        }
+        if (!keepErrorAndSlow) {
+            return new AdaptiveSampler(targetTps);
+        }
+        return new AdaptiveSampler(targetTps, Math.max(0, deferredTps), slowThreshold);
+    }
 }
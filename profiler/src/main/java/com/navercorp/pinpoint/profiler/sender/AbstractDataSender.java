@@ -56,21 +56,41 @@ public abstract class AbstractDataSender implements DataSender {
     }
 
     protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName) {
-        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queueSize, executorName);
+        return createAsyncQueueingExecutor(queueSize, executorName, AsyncQueueType.LINKED);
+    }
+
+    protected AsyncQueueingExecutor<Object> createAsyncQueueingExecutor(int queueSize, String executorName, AsyncQueueType queueType) {
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
+        final AsyncQueue<Object> queue = queueType.createQueue(queueSize);
+        final AsyncQueueingExecutor<Object> executor = new AsyncQueueingExecutor<Object>(queue, executorName);
         executor.setListener(new AsyncQueueingExecutorListener<Object>() {
             @Override
             public void execute(Collection<Object> messageList) {
                 sendPacketN(messageList);
+                final Object[] dataList = messageList.toArray();
+                final int size = messageList.size();
+                for (int i = 0; i < size; i++) {
+                    afterSend(dataList[i]);
+                }
             }
 
             @Override
             public void execute(Object message) {
                 sendPacket(message);
+                afterSend(message);
             }
         });
         return executor;
     }
 
+    /**
+     * called on the executor thread after the message was handed to sendPacket. the message has been serialized by then.
+     */
+    protected void afterSend(Object message) {
+    }
+
     protected byte[] serialize(HeaderTBaseSerializer serializer, TBase tBase) {
         return SerializationUtils.serialize(tBase, serializer, null);
     }
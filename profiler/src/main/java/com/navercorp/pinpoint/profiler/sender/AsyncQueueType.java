@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+/**
+ * @author emeroad
+ */
+public enum AsyncQueueType {
+
+    LINKED {
+        @Override
+        public <T> AsyncQueue<T> createQueue(int capacity) {
+            return new LinkedBlockingAsyncQueue<T>(capacity);
+        }
+    },
+    RINGBUFFER {
+        @Override
+        public <T> AsyncQueue<T> createQueue(int capacity) {
+            return new MpscArrayAsyncQueue<T>(capacity);
+        }
+    };
+
+    public abstract <T> AsyncQueue<T> createQueue(int capacity);
+
+    public static AsyncQueueType getType(String name, AsyncQueueType defaultType) {
+        if (name == null) {
+            return defaultType;
+        }
+        final String upperCaseName = name.trim().toUpperCase();
+        for (AsyncQueueType type : values()) {
+            if (type.name().equals(upperCaseName)) {
+                return type;
+            }
+        }
+        return defaultType;
+    }
+}
@@ -17,11 +17,12 @@
 package com.navercorp.pinpoint.profiler.sender;
 
 import java.util.Collection;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.navercorp.pinpoint.profiler.util.jdk.LongAdder;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,15 +38,25 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean isWarn = logger.isWarnEnabled();
 
-    private final LinkedBlockingQueue<T> queue;
+    public static final int DEFAULT_MIN_DRAIN_SIZE = 10;
+    public static final int DEFAULT_MAX_DRAIN_SIZE = 128;
+
+    private final AsyncQueue<T> queue;
     private final AtomicBoolean isRun = new AtomicBoolean(true);
     private final Thread executeThread;
     private final String executorName;
 
+    private final int minDrainSize;
     private final int maxDrainSize;
+    // Caution. single thread only. grows while the queue is backed up, shrinks when it is idle.
+    private int drainSize;
     // Caution. single thread only. this Collection is simpler than ArrayList.
     private final Collection<T> drain;
 
+    private final LongAdder droppedCount = new LongAdder();
+    // written by executeThread only
+    private volatile int peakQueueSize;
+
     private AsyncQueueingExecutorListener<T> listener = EMPTY_LISTENER;
 
 
@@ -54,13 +65,32 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     }
 
     public AsyncQueueingExecutor(int queueSize, String executorName) {
+        this(AsyncQueueType.LINKED.<T>createQueue(queueSize), executorName);
+    }
+
+    public AsyncQueueingExecutor(AsyncQueue<T> queue, String executorName) {
+        this(queue, executorName, DEFAULT_MIN_DRAIN_SIZE, DEFAULT_MAX_DRAIN_SIZE);
+    }
+
+    public AsyncQueueingExecutor(AsyncQueue<T> queue, String executorName, int minDrainSize, int maxDrainSize) {
+        if (queue == null) {
+            throw new NullPointerException("queue must not be null");
+        }
         if (executorName == null) {
             throw new NullPointerException("executorName must not be null");
         }
+        if (minDrainSize <= 0) {
+            throw new IllegalArgumentException("minDrainSize");
+        }
+        if (maxDrainSize < minDrainSize) {
+            throw new IllegalArgumentException("maxDrainSize");
+        }
         // before executeThread start
-        this.maxDrainSize = 10;
+        this.minDrainSize = minDrainSize;
+        this.maxDrainSize = maxDrainSize;
+        this.drainSize = minDrainSize;
         this.drain = new UnsafeArrayCollection<T>(maxDrainSize);
-        this.queue = new LinkedBlockingQueue<T>(queueSize);
+        this.queue = queue;
 
         this.executeThread = this.createExecuteThread(executorName);
         this.executorName = executeThread.getName();
@@ -84,7 +114,8 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         while (isRun()) {
             try {
                 Collection<T> dtoList = getDrainQueue();
-                int drainSize = takeN(dtoList, this.maxDrainSize);
+                int drainSize = takeN(dtoList, this.drainSize);
+                adjustDrainSize(drainSize);
                 if (drainSize > 0) {
                     doExecute(dtoList);
                     continue;
@@ -122,6 +153,15 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
     }
 
+    private void adjustDrainSize(int lastDrainSize) {
+        if (lastDrainSize >= this.drainSize) {
+            // queue is backed up. bigger batch amortizes the per drain cost.
+            this.drainSize = Math.min(this.drainSize << 1, this.maxDrainSize);
+        } else if (lastDrainSize < (this.drainSize >> 2)) {
+            this.drainSize = Math.max(this.drainSize >> 1, this.minDrainSize);
+        }
+    }
+
     protected T takeOne() {
         try {
             return queue.poll(1000 * 2, TimeUnit.MILLISECONDS);
@@ -132,6 +172,10 @@ public class AsyncQueueingExecutor<T> implements Runnable {
     }
 
     protected int takeN(Collection<T> drain, int maxDrainSize) {
+        final int queueSize = queue.size();
+        if (queueSize > peakQueueSize) {
+            peakQueueSize = queueSize;
+        }
         return queue.drainTo(drain, maxDrainSize);
     }
 
@@ -150,6 +194,7 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         }
         boolean offer = queue.offer(data);
         if (!offer) {
+            droppedCount.increment();
             if (isWarn) {
                 logger.warn("{} Drop data. queue is full. size:{}", executorName, queue.size());
             }
@@ -176,6 +221,25 @@ public class AsyncQueueingExecutor<T> implements Runnable {
         return queue.isEmpty();
     }
 
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * highest queue size observed by the execute thread before draining.
+     */
+    public int getPeakQueueSize() {
+        return peakQueueSize;
+    }
+
     public boolean isRun() {
         return isRun.get();
     }
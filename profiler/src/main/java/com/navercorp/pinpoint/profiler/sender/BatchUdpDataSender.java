@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.Collection;
+
+import org.apache.thrift.TBase;
+
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+
+/**
+ * Packs the messages drained by the AsyncQueueingExecutor into as few datagrams as possible.
+ * A datagram holding several messages starts with the chunk header (chunk header + header + body + header + body ...),
+ * a datagram holding a single message is sent as is.
+ *
+ * only use pair collector-ChunkedUDPReceiver
+ *
+ * @author emeroad
+ */
+public class BatchUdpDataSender extends UdpDataSender {
+
+    public static final int DEFAULT_MAX_PACKET_SIZE = 1024 * 16;
+
+    private static final HeaderTBaseSerializerFactory SERIALIZER_FACTORY = new HeaderTBaseSerializerFactory(false, HeaderTBaseSerializerFactory.DEFAULT_UDP_STREAM_MAX_SIZE);
+
+    private final int maxPacketSize;
+
+    // Caution. not thread safe
+    private final HeaderTBaseSerializer batchSerializer = SERIALIZER_FACTORY.createSerializer();
+    // Caution. not thread safe. first HEADER_SIZE bytes always hold the chunk header.
+    private final ByteBuffer batchBuffer;
+    private int batchCount = 0;
+
+    public BatchUdpDataSender(String host, int port, String threadName, int queueSize) {
+        this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE, AsyncQueueType.LINKED, DEFAULT_MAX_PACKET_SIZE);
+    }
+
+    public BatchUdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType, int maxPacketSize) {
+        super(host, port, threadName, queueSize, timeout, sendBufferSize, queueType);
+        if (maxPacketSize <= Header.HEADER_SIZE || maxPacketSize > UDP_MAX_PACKET_LENGTH) {
+            throw new IllegalArgumentException("maxPacketSize:" + maxPacketSize);
+        }
+        this.maxPacketSize = maxPacketSize;
+        this.batchBuffer = createBatchBuffer(maxPacketSize);
+    }
+
+    private ByteBuffer createBatchBuffer(int maxPacketSize) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(maxPacketSize);
+        final Header chunkHeader = SERIALIZER_FACTORY.getLocator().getChunkHeader();
+        buffer.put(chunkHeader.getSignature());
+        buffer.put(chunkHeader.getVersion());
+        // big endian. same as HeaderTBaseSerializer.writeHeader()
+        buffer.putShort(chunkHeader.getType());
+        return buffer;
+    }
+
+    @Override
+    protected DatagramSocket openSocket() throws IOException {
+        final DatagramChannel channel = DatagramChannel.open();
+        return channel.socket();
+    }
+
+    @Override
+    protected void sendPacketN(Collection<Object> messageList) {
+        // Cannot use toArray(T[] array) because passed messageList doesn't implement it properly.
+        final Object[] dataList = messageList.toArray();
+        final int size = messageList.size();
+        try {
+            for (int i = 0; i < size; i++) {
+                final Object message = dataList[i];
+                if (message instanceof TBase) {
+                    try {
+                        append((TBase<?, ?>) message);
+                    } catch (Throwable th) {
+                        logger.warn("Unexpected Error. Cause:{}", th.getMessage(), th);
+                    }
+                } else {
+                    logger.warn("sendPacket fail. invalid type:{}", message != null ? message.getClass() : null);
+                }
+            }
+        } finally {
+            flush();
+        }
+    }
+
+    private void append(TBase<?, ?> dto) {
+        final SpanEncoder spanEncoder = getSpanEncoder();
+        final byte[] internalBufferData;
+        final int internalBufferSize;
+        if (spanEncoder != null && spanEncoder.isSupport(dto)) {
+            internalBufferData = encode(spanEncoder, dto);
+            internalBufferSize = spanEncoder.getEncodedSize();
+        } else {
+            internalBufferData = serialize(this.batchSerializer, dto);
+            internalBufferSize = this.batchSerializer.getInterBufferSize();
+        }
+        if (internalBufferData == null) {
+            logger.warn("interBufferData is null");
+            return;
+        }
+        if (isLimit(internalBufferSize)) {
+            logger.warn("discard packet. Caused:too large message. size:{}, {}", internalBufferSize, dto);
+            return;
+        }
+
+        if (batchBuffer.position() + internalBufferSize > maxPacketSize) {
+            flush();
+        }
+        if (Header.HEADER_SIZE + internalBufferSize > maxPacketSize) {
+            // does not fit in a batch packet. send it alone.
+            write(ByteBuffer.wrap(internalBufferData, 0, internalBufferSize), 1);
+            return;
+        }
+        batchBuffer.put(internalBufferData, 0, internalBufferSize);
+        batchCount++;
+    }
+
+    private void flush() {
+        if (batchCount == 0) {
+            return;
+        }
+        batchBuffer.flip();
+        if (batchCount == 1) {
+            // skip chunk header
+            batchBuffer.position(Header.HEADER_SIZE);
+        }
+        try {
+            write(batchBuffer, batchCount);
+        } finally {
+            batchBuffer.clear();
+            batchBuffer.position(Header.HEADER_SIZE);
+            batchCount = 0;
+        }
+    }
+
+    private void write(ByteBuffer buffer, int messageCount) {
+        final int packetSize = buffer.remaining();
+        try {
+            udpSocket.getChannel().write(buffer);
+            if (isDebug) {
+                logger.debug("Data sent. size:{}, messageCount:{}", packetSize, messageCount);
+            }
+        } catch (IOException e) {
+            logger.warn("packet send error. size:{}, messageCount:{}", packetSize, messageCount, e);
+        }
+    }
+
+    // for test
+    int getMaxPacketSize() {
+        return maxPacketSize;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TTransport;
+import org.apache.thrift.transport.TTransportException;
+import org.jboss.netty.buffer.ChannelBuffer;
+
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
+
+/**
+ * Serializes a TBase straight into the outbound {@link ChannelBuffer} of a {@link ChannelBufferSendPacket}.
+ * Unlike {@link com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer}, there is no intermediate stream and no byte[] copy.
+ * Not thread safe.
+ *
+ * @author emeroad
+ */
+public class ChannelBufferHeaderTBaseSerializer {
+
+    private static final int MIN_ESTIMATED_SIZE = 256;
+
+    private final ChannelBufferTransport transport = new ChannelBufferTransport();
+    private final TProtocol protocol;
+    private final TBaseLocator locator;
+
+    private int estimatedSize = MIN_ESTIMATED_SIZE;
+
+    public ChannelBufferHeaderTBaseSerializer() {
+        this(HeaderTBaseSerializerFactory.DEFAULT_FACTORY);
+    }
+
+    public ChannelBufferHeaderTBaseSerializer(HeaderTBaseSerializerFactory factory) {
+        this(factory.getProtocolFactory(), factory.getLocator());
+    }
+
+    public ChannelBufferHeaderTBaseSerializer(TProtocolFactory protocolFactory, TBaseLocator locator) {
+        if (protocolFactory == null) {
+            throw new NullPointerException("protocolFactory must not be null");
+        }
+        if (locator == null) {
+            throw new NullPointerException("locator must not be null");
+        }
+        this.protocol = protocolFactory.getProtocol(transport);
+        this.locator = locator;
+    }
+
+    public ChannelBufferSendPacket serialize(TBase<?, ?> base) throws TException {
+        final Header header = locator.headerLookup(base);
+        // size the buffer after the previous message to avoid growing the dynamic buffer for each message.
+        final ChannelBuffer buffer = ChannelBufferSendPacket.createBuffer(estimatedSize);
+        transport.setBuffer(buffer);
+        try {
+            writeHeader(buffer, header);
+            base.write(protocol);
+        } finally {
+            transport.setBuffer(null);
+        }
+        final ChannelBufferSendPacket packet = new ChannelBufferSendPacket(buffer);
+        this.estimatedSize = Math.max(MIN_ESTIMATED_SIZE, packet.getPayloadLength());
+        return packet;
+    }
+
+    private void writeHeader(ChannelBuffer buffer, Header header) {
+        buffer.writeByte(header.getSignature());
+        buffer.writeByte(header.getVersion());
+        // fixed size regardless protocol
+        buffer.writeShort(header.getType());
+    }
+
+    private static class ChannelBufferTransport extends TTransport {
+
+        private ChannelBuffer buffer;
+
+        void setBuffer(ChannelBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws TTransportException {
+            throw new TTransportException(TTransportException.NOT_OPEN, "read not supported");
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+            buffer.writeBytes(buf, off, len);
+        }
+    }
+}
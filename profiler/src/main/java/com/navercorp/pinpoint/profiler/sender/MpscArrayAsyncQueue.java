@@ -0,0 +1,189 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi producer / single consumer ring buffer.
+ * Slots are preallocated, so offer() does not allocate and never takes a lock.
+ * Producers claim a sequence with CAS and publish the element with a volatile set.
+ * The consumer treats a claimed but unpublished slot (null) as "in flight" and spins until it becomes visible.
+ *
+ * Caution. poll(), drainTo() must be called by a single consumer thread.
+ *
+ * @author emeroad
+ */
+public class MpscArrayAsyncQueue<T> implements AsyncQueue<T> {
+
+    private static final int SPIN_COUNT = 64;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+
+    private final AtomicLong producerIndex = new AtomicLong(0);
+    private final AtomicLong consumerIndex = new AtomicLong(0);
+
+    // consumer thread waiting in poll(timeout). producers unpark it after publishing.
+    private volatile Thread waiter;
+
+    public MpscArrayAsyncQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity");
+        }
+        this.capacity = capacity;
+        final int bufferSize = roundToPowerOfTwo(capacity);
+        this.mask = bufferSize - 1;
+        this.buffer = new AtomicReferenceArray<T>(bufferSize);
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity too large. capacity:" + value);
+        }
+        int size = 1;
+        while (size < value) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new NullPointerException("data must not be null");
+        }
+        long currentProducerIndex;
+        do {
+            currentProducerIndex = producerIndex.get();
+            final long wrapPoint = currentProducerIndex - capacity;
+            if (consumerIndex.get() <= wrapPoint) {
+                // full
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(currentProducerIndex, currentProducerIndex + 1));
+
+        // full fence. the waiter read below must not be reordered before the publish,
+        // otherwise a consumer that set waiter and re-checked the queue in between could park with data available.
+        buffer.set(offset(currentProducerIndex), data);
+
+        final Thread waiter = this.waiter;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+        return true;
+    }
+
+    private int offset(long index) {
+        return (int) index & mask;
+    }
+
+    private T poll() {
+        final long currentConsumerIndex = consumerIndex.get();
+        final int offset = offset(currentConsumerIndex);
+        T data = buffer.get(offset);
+        if (data == null) {
+            if (currentConsumerIndex == producerIndex.get()) {
+                return null;
+            }
+            // a producer claimed this slot but has not published it yet.
+            int spin = 0;
+            do {
+                if (++spin > SPIN_COUNT) {
+                    Thread.yield();
+                }
+                data = buffer.get(offset);
+            } while (data == null);
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(currentConsumerIndex + 1);
+        return data;
+    }
+
+    @Override
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        T data = poll();
+        if (data != null) {
+            return data;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        // volatile write before the re-check below. pairs with the volatile publish and waiter read in offer().
+        this.waiter = Thread.currentThread();
+        try {
+            while (true) {
+                // re-checked after waiter is visible. a producer either sees waiter or this poll() sees its data.
+                data = poll();
+                if (data != null) {
+                    return data;
+                }
+                final long remain = deadline - System.nanoTime();
+                if (remain <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remain);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        } finally {
+            this.waiter = null;
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> drain, int maxElements) {
+        int drainSize = 0;
+        while (drainSize < maxElements) {
+            final T data = poll();
+            if (data == null) {
+                break;
+            }
+            drain.add(data);
+            drainSize++;
+        }
+        return drainSize;
+    }
+
+    @Override
+    public int size() {
+        // read consumerIndex first. producerIndex is always greater than or equal to it.
+        final long currentConsumerIndex = consumerIndex.get();
+        final long currentProducerIndex = producerIndex.get();
+        final long size = currentProducerIndex - currentConsumerIndex;
+        if (size < 0) {
+            return 0;
+        }
+        if (size > capacity) {
+            return capacity;
+        }
+        return (int) size;
+    }
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocolException;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.Header;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
+
+/**
+ * Writes TSpan and TSpanChunk straight into a byte array, producing the same bytes as HeaderTBaseSerializer with TCompactProtocol.
+ * Skips TBase.write() and the generic protocol layer (TField/TList/TStruct descriptors, per-byte stream writes, String.getBytes()),
+ * so encoding a span allocates nothing once the buffer has grown to the span size.
+ * Field order and the optional field checks follow the generated StandardScheme of each struct. Keep them in sync with Trace.thrift.
+ *
+ * Caution. not thread safe
+ *
+ * @author emeroad
+ */
+public class SpanEncoder {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 8;
+
+    // TCompactProtocol.Types
+    private static final byte TYPE_BOOLEAN_TRUE = 0x01;
+    private static final byte TYPE_BOOLEAN_FALSE = 0x02;
+    private static final byte TYPE_BYTE = 0x03;
+    private static final byte TYPE_I16 = 0x04;
+    private static final byte TYPE_I32 = 0x05;
+    private static final byte TYPE_I64 = 0x06;
+    private static final byte TYPE_DOUBLE = 0x07;
+    private static final byte TYPE_BINARY = 0x08;
+    private static final byte TYPE_LIST = 0x09;
+    private static final byte TYPE_STRUCT = 0x0C;
+
+    private static final byte FIELD_STOP = 0;
+
+    private final Header spanHeader;
+    private final Header spanChunkHeader;
+
+    private byte[] buffer;
+    private int position;
+    // TCompactProtocol writes the field id as a delta from the previous field of the same struct
+    private short lastFieldId;
+
+    public SpanEncoder() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    public SpanEncoder(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive. bufferSize:" + bufferSize);
+        }
+        this.buffer = new byte[bufferSize];
+        final TBaseLocator locator = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.getLocator();
+        try {
+            this.spanHeader = locator.headerLookup(new TSpan());
+            this.spanChunkHeader = locator.headerLookup(new TSpanChunk());
+        } catch (TException e) {
+            throw new IllegalStateException("span header not found. Caused:" + e.getMessage(), e);
+        }
+    }
+
+    public boolean isSupport(Object message) {
+        return message instanceof TSpan || message instanceof TSpanChunk;
+    }
+
+    /**
+     * @return internal buffer. valid up to {@link #getEncodedSize()} until the next call.
+     */
+    public byte[] encode(TBase<?, ?> message) throws TException {
+        if (message == null) {
+            throw new NullPointerException("message must not be null");
+        }
+        this.position = 0;
+        this.lastFieldId = 0;
+        if (message instanceof TSpan) {
+            writeHeader(spanHeader);
+            writeSpan((TSpan) message);
+        } else if (message instanceof TSpanChunk) {
+            writeHeader(spanChunkHeader);
+            writeSpanChunk((TSpanChunk) message);
+        } else {
+            throw new TException("Unsupported type:" + message.getClass());
+        }
+        return buffer;
+    }
+
+    public int getEncodedSize() {
+        return position;
+    }
+
+    private void writeHeader(Header header) {
+        ensureCapacity(Header.HEADER_SIZE);
+        buffer[position++] = header.getSignature();
+        buffer[position++] = header.getVersion();
+        final short type = header.getType();
+        buffer[position++] = (byte) (type >>> 8);
+        buffer[position++] = (byte) type;
+    }
+
+    private void writeSpan(TSpan span) throws TException {
+        final short parentFieldId = beginStruct();
+        if (span.getAgentId() != null) {
+            writeStringField(1, span.getAgentId());
+        }
+        if (span.getApplicationName() != null) {
+            writeStringField(2, span.getApplicationName());
+        }
+        writeI64Field(3, span.getAgentStartTime());
+        if (span.bufferForTransactionId() != null) {
+            writeFieldBegin(4, TYPE_BINARY);
+            writeBinary(span.bufferForTransactionId());
+        }
+        writeI64Field(7, span.getSpanId());
+        if (span.isSetParentSpanId()) {
+            writeI64Field(8, span.getParentSpanId());
+        }
+        writeI64Field(9, span.getStartTime());
+        if (span.isSetElapsed()) {
+            writeI32Field(10, span.getElapsed());
+        }
+        if (span.isSetRpc()) {
+            writeStringField(11, span.getRpc());
+        }
+        writeI16Field(12, span.getServiceType());
+        if (span.isSetEndPoint()) {
+            writeStringField(13, span.getEndPoint());
+        }
+        if (span.isSetRemoteAddr()) {
+            writeStringField(14, span.getRemoteAddr());
+        }
+        if (span.isSetAnnotations()) {
+            writeAnnotationListField(15, span.getAnnotations());
+        }
+        if (span.isSetFlag()) {
+            writeI16Field(16, span.getFlag());
+        }
+        if (span.isSetErr()) {
+            writeI32Field(17, span.getErr());
+        }
+        if (span.isSetSpanEventList()) {
+            writeSpanEventListField(18, span.getSpanEventList());
+        }
+        if (span.isSetParentApplicationName()) {
+            writeStringField(19, span.getParentApplicationName());
+        }
+        if (span.isSetParentApplicationType()) {
+            writeI16Field(20, span.getParentApplicationType());
+        }
+        if (span.isSetAcceptorHost()) {
+            writeStringField(21, span.getAcceptorHost());
+        }
+        if (span.isSetApiId()) {
+            writeI32Field(25, span.getApiId());
+        }
+        if (span.isSetExceptionInfo()) {
+            writeFieldBegin(26, TYPE_STRUCT);
+            writeIntStringValue(span.getExceptionInfo());
+        }
+        if (span.isSetStatisticsReported()) {
+            writeBoolField(27, span.isStatisticsReported());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeSpanChunk(TSpanChunk spanChunk) throws TException {
+        final short parentFieldId = beginStruct();
+        if (spanChunk.getAgentId() != null) {
+            writeStringField(1, spanChunk.getAgentId());
+        }
+        if (spanChunk.getApplicationName() != null) {
+            writeStringField(2, spanChunk.getApplicationName());
+        }
+        writeI64Field(3, spanChunk.getAgentStartTime());
+        writeI16Field(4, spanChunk.getServiceType());
+        if (spanChunk.bufferForTransactionId() != null) {
+            writeFieldBegin(5, TYPE_BINARY);
+            writeBinary(spanChunk.bufferForTransactionId());
+        }
+        writeI64Field(8, spanChunk.getSpanId());
+        if (spanChunk.isSetEndPoint()) {
+            writeStringField(9, spanChunk.getEndPoint());
+        }
+        if (spanChunk.getSpanEventList() != null) {
+            writeSpanEventListField(10, spanChunk.getSpanEventList());
+        }
+        if (spanChunk.isSetStatisticsReported()) {
+            writeBoolField(11, spanChunk.isStatisticsReported());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeSpanEventListField(int fieldId, List<TSpanEvent> spanEventList) throws TException {
+        writeFieldBegin(fieldId, TYPE_LIST);
+        final int size = spanEventList.size();
+        writeListBegin(TYPE_STRUCT, size);
+        for (int i = 0; i < size; i++) {
+            writeSpanEvent(spanEventList.get(i));
+        }
+    }
+
+    private void writeSpanEvent(TSpanEvent spanEvent) throws TException {
+        final short parentFieldId = beginStruct();
+        if (spanEvent.isSetSpanId()) {
+            writeI64Field(7, spanEvent.getSpanId());
+        }
+        writeI16Field(8, spanEvent.getSequence());
+        writeI32Field(9, spanEvent.getStartElapsed());
+        if (spanEvent.isSetEndElapsed()) {
+            writeI32Field(10, spanEvent.getEndElapsed());
+        }
+        if (spanEvent.isSetRpc()) {
+            writeStringField(11, spanEvent.getRpc());
+        }
+        writeI16Field(12, spanEvent.getServiceType());
+        if (spanEvent.isSetEndPoint()) {
+            writeStringField(13, spanEvent.getEndPoint());
+        }
+        if (spanEvent.isSetAnnotations()) {
+            writeAnnotationListField(14, spanEvent.getAnnotations());
+        }
+        if (spanEvent.isSetDepth()) {
+            writeI32Field(15, spanEvent.getDepth());
+        }
+        if (spanEvent.isSetNextSpanId()) {
+            writeI64Field(16, spanEvent.getNextSpanId());
+        }
+        if (spanEvent.isSetDestinationId()) {
+            writeStringField(20, spanEvent.getDestinationId());
+        }
+        if (spanEvent.isSetApiId()) {
+            writeI32Field(25, spanEvent.getApiId());
+        }
+        if (spanEvent.isSetExceptionInfo()) {
+            writeFieldBegin(26, TYPE_STRUCT);
+            writeIntStringValue(spanEvent.getExceptionInfo());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeAnnotationListField(int fieldId, List<TAnnotation> annotationList) throws TException {
+        writeFieldBegin(fieldId, TYPE_LIST);
+        final int size = annotationList.size();
+        writeListBegin(TYPE_STRUCT, size);
+        for (int i = 0; i < size; i++) {
+            writeAnnotation(annotationList.get(i));
+        }
+    }
+
+    private void writeAnnotation(TAnnotation annotation) throws TException {
+        final short parentFieldId = beginStruct();
+        writeI32Field(1, annotation.getKey());
+        if (annotation.isSetValue()) {
+            writeFieldBegin(2, TYPE_STRUCT);
+            writeAnnotationValue(annotation.getValue());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeAnnotationValue(TAnnotationValue value) throws TException {
+        final TAnnotationValue._Fields setField = value.getSetField();
+        if (setField == null || value.getFieldValue() == null) {
+            throw new TProtocolException("Cannot write a TUnion with no set value!");
+        }
+        final short parentFieldId = beginStruct();
+        final short fieldId = setField.getThriftFieldId();
+        switch (setField) {
+            case STRING_VALUE:
+                writeStringField(fieldId, value.getStringValue());
+                break;
+            case BOOL_VALUE:
+                writeBoolField(fieldId, value.getBoolValue());
+                break;
+            case INT_VALUE:
+                writeI32Field(fieldId, value.getIntValue());
+                break;
+            case LONG_VALUE:
+                writeI64Field(fieldId, value.getLongValue());
+                break;
+            case SHORT_VALUE:
+                writeI16Field(fieldId, value.getShortValue());
+                break;
+            case DOUBLE_VALUE:
+                writeFieldBegin(fieldId, TYPE_DOUBLE);
+                writeDouble(value.getDoubleValue());
+                break;
+            case BINARY_VALUE:
+                writeFieldBegin(fieldId, TYPE_BINARY);
+                writeBinary(value.bufferForBinaryValue());
+                break;
+            case BYTE_VALUE:
+                writeFieldBegin(fieldId, TYPE_BYTE);
+                writeByte(value.getByteValue());
+                break;
+            case INT_STRING_VALUE:
+                writeFieldBegin(fieldId, TYPE_STRUCT);
+                writeIntStringValue(value.getIntStringValue());
+                break;
+            case INT_STRING_STRING_VALUE:
+                writeFieldBegin(fieldId, TYPE_STRUCT);
+                writeIntStringStringValue(value.getIntStringStringValue());
+                break;
+            default:
+                throw new IllegalStateException("Cannot write union with unknown field " + setField);
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeIntStringValue(TIntStringValue value) {
+        final short parentFieldId = beginStruct();
+        writeI32Field(1, value.getIntValue());
+        if (value.isSetStringValue()) {
+            writeStringField(2, value.getStringValue());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private void writeIntStringStringValue(TIntStringStringValue value) {
+        final short parentFieldId = beginStruct();
+        writeI32Field(1, value.getIntValue());
+        if (value.isSetStringValue1()) {
+            writeStringField(2, value.getStringValue1());
+        }
+        if (value.isSetStringValue2()) {
+            writeStringField(3, value.getStringValue2());
+        }
+        endStruct(parentFieldId);
+    }
+
+    private short beginStruct() {
+        final short parentFieldId = this.lastFieldId;
+        this.lastFieldId = 0;
+        return parentFieldId;
+    }
+
+    private void endStruct(short parentFieldId) {
+        writeByte(FIELD_STOP);
+        this.lastFieldId = parentFieldId;
+    }
+
+    private void writeFieldBegin(int fieldId, byte type) {
+        final int delta = fieldId - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            writeByte((byte) (delta << 4 | type));
+        } else {
+            writeByte(type);
+            writeVarint32(intToZigZag(fieldId));
+        }
+        this.lastFieldId = (short) fieldId;
+    }
+
+    private void writeListBegin(byte elementType, int size) {
+        if (size <= 14) {
+            writeByte((byte) (size << 4 | elementType));
+        } else {
+            writeByte((byte) (0xf0 | elementType));
+            writeVarint32(size);
+        }
+    }
+
+    private void writeStringField(int fieldId, String value) {
+        writeFieldBegin(fieldId, TYPE_BINARY);
+        writeString(value);
+    }
+
+    private void writeBoolField(int fieldId, boolean value) {
+        // TCompactProtocol packs the boolean into the field type
+        writeFieldBegin(fieldId, value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE);
+    }
+
+    private void writeI16Field(int fieldId, short value) {
+        writeFieldBegin(fieldId, TYPE_I16);
+        writeVarint32(intToZigZag(value));
+    }
+
+    private void writeI32Field(int fieldId, int value) {
+        writeFieldBegin(fieldId, TYPE_I32);
+        writeVarint32(intToZigZag(value));
+    }
+
+    private void writeI64Field(int fieldId, long value) {
+        writeFieldBegin(fieldId, TYPE_I64);
+        writeVarint64(longToZigZag(value));
+    }
+
+    private void writeByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void writeDouble(double value) {
+        ensureCapacity(8);
+        // little endian. same as TCompactProtocol.writeDouble()
+        final long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < 8; i++) {
+            buffer[position++] = (byte) (bits >>> (i * 8));
+        }
+    }
+
+    private void writeBinary(ByteBuffer value) {
+        final int length = value.limit() - value.position();
+        writeVarint32(length);
+        ensureCapacity(length);
+        System.arraycopy(value.array(), value.arrayOffset() + value.position(), buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * UTF-8 without String.getBytes(). an unpaired surrogate is written as '?', the same as the jdk encoder.
+     */
+    private void writeString(String value) {
+        final int length = value.length();
+        final int utf8Length = utf8Length(value);
+        writeVarint32(utf8Length);
+        ensureCapacity(utf8Length);
+        final byte[] buffer = this.buffer;
+        int position = this.position;
+        if (utf8Length == length) {
+            // ascii. a non ascii char here can only be an unpaired surrogate
+            for (int i = 0; i < length; i++) {
+                final char c = value.charAt(i);
+                buffer[position++] = c < 0x80 ? (byte) c : (byte) '?';
+            }
+            this.position = position;
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xc0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    buffer[position++] = (byte) '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xe0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buffer[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        this.position = position;
+    }
+
+    private static int utf8Length(String value) {
+        final int length = value.length();
+        int utf8Length = length;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                utf8Length += 1;
+            } else if (isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // 2 chars -> 4 bytes
+                    utf8Length += 2;
+                    i++;
+                }
+            } else {
+                utf8Length += 2;
+            }
+        }
+        return utf8Length;
+    }
+
+    private static boolean isSurrogate(char c) {
+        return c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE;
+    }
+
+    private void writeVarint32(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeVarint64(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static int intToZigZag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private static long longToZigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    private void ensureCapacity(int size) {
+        final int required = position + size;
+        if (required <= buffer.length) {
+            return;
+        }
+        this.buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length << 1));
+    }
+}
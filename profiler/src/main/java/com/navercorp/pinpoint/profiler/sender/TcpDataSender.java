@@ -35,12 +35,15 @@ import com.navercorp.pinpoint.rpc.FutureListener;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.client.PinpointSocket;
 import com.navercorp.pinpoint.rpc.client.PinpointSocketReconnectEventListener;
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
 import com.navercorp.pinpoint.rpc.util.TimerFactory;
 import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.ThreadLocalHeaderTBaseDeserializerFactory;
 
 /**
  * @author emeroad
@@ -65,6 +68,11 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
 
     private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
 
+    private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<HeaderTBaseDeserializer>(HeaderTBaseDeserializerFactory.DEFAULT_FACTORY);
+
+    // send() path. serialize directly into the outbound buffer
+    private final ChannelBufferHeaderTBaseSerializer packetSerializer = new ChannelBufferHeaderTBaseSerializer();
+
     private final RetryQueue retryQueue = new RetryQueue();
 
     private AsyncQueueingExecutor<Object> executor;
@@ -128,11 +136,11 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
     protected void sendPacket(Object message) {
         try {
             if (message instanceof TBase) {
-                byte[] copy = serialize(serializer, (TBase) message);
-                if (copy == null) {
+                ChannelBufferSendPacket packet = serializePacket((TBase) message);
+                if (packet == null) {
                     return;
                 }
-                doSend(copy);
+                doSend(packet);
             } else if (message instanceof RequestMarker) {
                 RequestMarker requestMarker = (RequestMarker) message;
 
@@ -158,8 +166,17 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
         }
     }
 
-    private void doSend(byte[] copy) {
-        Future write = this.socket.sendAsync(copy);
+    private ChannelBufferSendPacket serializePacket(TBase<?, ?> tBase) {
+        try {
+            return packetSerializer.serialize(tBase);
+        } catch (Exception e) {
+            logger.warn("Serialize {} failed. Error:{}", tBase, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void doSend(ChannelBufferSendPacket packet) {
+        Future write = this.socket.sendAsync(packet);
         write.setListener(writeFailFutureListener);
     }
 
@@ -168,8 +185,8 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
             @Override
             public void onComplete(Future<ResponseMessage> future) {
                 if (future.isSuccess()) {
-                    // Should cache?
-                    HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+                    // runs on the io thread or the timer thread. one deserializer per thread
+                    HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
                     TBase<?, ?> response = deserialize(deserializer, future.getResult());
                     if (response instanceof TResult) {
                         TResult result = (TResult) response;
@@ -20,9 +20,9 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
-import java.net.SocketException;
 import java.util.Arrays;
 
+import com.navercorp.pinpoint.profiler.context.SpanRecycler;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 import com.navercorp.pinpoint.thrift.io.NetworkAvailabilityCheckPacket;
@@ -56,11 +56,21 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
     private AsyncQueueingExecutor<Object> executor;
 
+    // null if recycling is disabled
+    private volatile SpanRecycler spanRecycler;
+
+    // Caution. not thread safe. null if direct encoding is disabled
+    private volatile SpanEncoder spanEncoder;
+
     public UdpDataSender(String host, int port, String threadName, int queueSize) {
         this(host, port, threadName, queueSize, SOCKET_TIMEOUT, SEND_BUFFER_SIZE);
     }
 
     public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, AsyncQueueType.LINKED);
+    }
+
+    public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, AsyncQueueType queueType) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -76,12 +86,15 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         if (sendBufferSize <= 0) {
             throw new IllegalArgumentException("sendBufferSize");
         }
+        if (queueType == null) {
+            throw new NullPointerException("queueType must not be null");
+        }
 
         // TODO If fail to create socket, stop agent start
-        logger.info("UdpDataSender initialized. host={}, port={}", host, port);
+        logger.info("UdpDataSender initialized. host={}, port={}, queueType={}", host, port, queueType);
         this.udpSocket = createSocket(host, port, timeout, sendBufferSize);
 
-        this.executor = createAsyncQueueingExecutor(queueSize, threadName);
+        this.executor = createAsyncQueueingExecutor(queueSize, threadName, queueType);
     }
 
     @Override
@@ -94,6 +107,34 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         executor.stop();
     }
 
+    public void setSpanRecycler(SpanRecycler spanRecycler) {
+        this.spanRecycler = spanRecycler;
+    }
+
+    public void setSpanEncoder(SpanEncoder spanEncoder) {
+        this.spanEncoder = spanEncoder;
+    }
+
+    @Override
+    protected void afterSend(Object message) {
+        final SpanRecycler spanRecycler = this.spanRecycler;
+        if (spanRecycler != null) {
+            spanRecycler.recycle(message);
+        }
+    }
+
+    public long getDroppedCount() {
+        return executor.getDroppedCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    public int getPeakQueueSize() {
+        return executor.getPeakQueueSize();
+    }
+
     public boolean isNetworkAvailable() {
         NetworkAvailabilityCheckPacket dto = new NetworkAvailabilityCheckPacket();
         try {
@@ -123,7 +164,7 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
 
     private DatagramSocket createSocket(String host, int port, int timeout, int sendBufferSize) {
         try {
-            DatagramSocket datagramSocket = new DatagramSocket();
+            DatagramSocket datagramSocket = openSocket();
 
             datagramSocket.setSoTimeout(timeout);
             datagramSocket.setSendBufferSize(sendBufferSize);
@@ -137,22 +178,35 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
             InetSocketAddress serverAddress = new InetSocketAddress(host, port);
             datagramSocket.connect(serverAddress);
             return datagramSocket;
-        } catch (SocketException e) {
+        } catch (IOException e) {
             throw new IllegalStateException("DatagramSocket create fail. Cause" + e.getMessage(), e);
         }
     }
 
+    // called from the constructor. do not touch subclass fields.
+    protected DatagramSocket openSocket() throws IOException {
+        return new DatagramSocket();
+    }
+
     protected void sendPacket(Object message) {
         if (message instanceof TBase) {
             final TBase dto = (TBase) message;
+            final SpanEncoder spanEncoder = this.spanEncoder;
+            final byte[] internalBufferData;
+            final int internalBufferSize;
             // do not copy bytes because it's single threaded
-            final byte[] internalBufferData = serialize(this.serializer, dto);
+            if (spanEncoder != null && spanEncoder.isSupport(dto)) {
+                internalBufferData = encode(spanEncoder, dto);
+                internalBufferSize = spanEncoder.getEncodedSize();
+            } else {
+                internalBufferData = serialize(this.serializer, dto);
+                internalBufferSize = this.serializer.getInterBufferSize();
+            }
             if (internalBufferData == null) {
                 logger.warn("interBufferData is null");
                 return;
             }
 
-            final int internalBufferSize = this.serializer.getInterBufferSize();
             if (isLimit(internalBufferSize)) {
                 // When packet size is greater than UDP packet size limit, it's better to discard packet than let the socket API fails.
                 logger.warn("discard packet. Caused:too large message. size:{}, {}", internalBufferSize, dto);
@@ -175,6 +229,19 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         }
     }
 
+    protected SpanEncoder getSpanEncoder() {
+        return spanEncoder;
+    }
+
+    protected byte[] encode(SpanEncoder spanEncoder, TBase<?, ?> tBase) {
+        try {
+            return spanEncoder.encode(tBase);
+        } catch (Exception e) {
+            logger.warn("Encode {} failed. Error:{}", tBase, e.getMessage(), e);
+            return null;
+        }
+    }
+
     // for test
     protected boolean isLimit(int interBufferSize) {
         if (interBufferSize > UDP_MAX_PACKET_LENGTH) {
@@ -22,6 +22,11 @@ import java.util.Map;
 import com.navercorp.pinpoint.profiler.util.bindvalue.converter.*;
 
 public class BindValueConverter {
+    /**
+     * setter name of a value converted at bind time. see {@link #isMutableValue(Object[])}
+     */
+    public static final String CONVERTED_VALUE = "$convertedValue";
+
     private static final BindValueConverter converter;
     static {
         converter = new BindValueConverter();
@@ -41,6 +46,8 @@ public class BindValueConverter {
         convertermap.put("setBytes", bytesConverter);
 
         convertermap.put("setObject", new ObjectConverter());
+
+        convertermap.put(CONVERTED_VALUE, new ConvertedValueConverter());
     }
 
     private void classNameType() {
@@ -109,4 +116,17 @@ public class BindValueConverter {
         return converter.convert0(methodName, args);
     }
 
+    /**
+     * true if the bound value can be changed by the application after the setter returns.
+     * such a value has to be converted at bind time, not when the sql is recorded.
+     */
+    public static boolean isMutableValue(Object[] args) {
+        if (args == null || args.length < 2) {
+            return false;
+        }
+        final Object value = args[1];
+        // java.sql.Date, Time and Timestamp are java.util.Date
+        return value instanceof byte[] || value instanceof java.util.Date || value instanceof java.util.Calendar;
+    }
+
 }
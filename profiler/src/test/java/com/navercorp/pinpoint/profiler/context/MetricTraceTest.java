@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import java.util.Collections;
+
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.profiler.AgentInformation;
+import com.navercorp.pinpoint.profiler.context.storage.LogStorageFactory;
+import com.navercorp.pinpoint.profiler.monitor.metric.ContextMetric;
+import com.navercorp.pinpoint.profiler.sampler.FalseSampler;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class MetricTraceTest {
+
+    private DefaultTraceContext traceContext;
+
+    @Before
+    public void setUp() {
+        this.traceContext = new DefaultTraceContext(100, ServiceType.STAND_ALONE, new LogStorageFactory(), new FalseSampler(), new DefaultServerMetaDataHolder(Collections.<String>emptyList()));
+        this.traceContext.setAgentInformation(new AgentInformation("agentId", "applicationName", 0, 1, "hostName", "127.0.0.1", ServiceType.STAND_ALONE, Version.VERSION));
+        this.traceContext.setResponseMetricEnable(true);
+    }
+
+    @Test
+    public void unsampledUserRequest() {
+        Trace trace = traceContext.newTraceObject();
+        Assert.assertTrue(trace instanceof MetricTrace);
+        Assert.assertTrue(trace.isRoot());
+        endTrace(trace);
+
+        ContextMetric contextMetric = traceContext.getMetricRegistry().getResponseMetric();
+        Assert.assertEquals(1, contextMetric.createResponseIntervalSnapshot().getTotalCount());
+        Assert.assertEquals(1, contextMetric.createUserAcceptIntervalSnapshot().getTotalCount());
+    }
+
+    @Test
+    public void unsampledDownstreamRequest() {
+        // a remote node sent the not-sampled flag. the parent application is unknown.
+        Trace trace = traceContext.disableSampling();
+        Assert.assertTrue(trace instanceof MetricTrace);
+        Assert.assertFalse(trace.isRoot());
+        endTrace(trace);
+
+        ContextMetric contextMetric = traceContext.getMetricRegistry().getResponseMetric();
+        Assert.assertEquals(1, contextMetric.createResponseIntervalSnapshot().getTotalCount());
+        Assert.assertEquals(0, contextMetric.createUserAcceptIntervalSnapshot().getTotalCount());
+        Assert.assertTrue(contextMetric.createAcceptIntervalSnapshotList().isEmpty());
+    }
+
+    @Test
+    public void unsampledDownstreamRequestWithParent() {
+        Trace trace = traceContext.disableSampling();
+        trace.recordParentApplication("parentApplication", ServiceType.STAND_ALONE.getCode());
+        endTrace(trace);
+
+        ContextMetric contextMetric = traceContext.getMetricRegistry().getResponseMetric();
+        Assert.assertEquals(0, contextMetric.createUserAcceptIntervalSnapshot().getTotalCount());
+        Assert.assertEquals(1, contextMetric.createAcceptIntervalSnapshotList().size());
+    }
+
+    private void endTrace(Trace trace) {
+        trace.markBeforeTime();
+        trace.markAfterTime();
+        trace.traceRootBlockEnd();
+        traceContext.detachTraceObject();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author emeroad
+ */
+public class SpanRecyclerTest {
+
+    @Test
+    public void recycleSpanChunk() {
+        SpanRecycler spanRecycler = new SpanRecycler(16);
+        Span span = new Span();
+
+        SpanEventStackFrame stackFrame = spanRecycler.newSpanEventStackFrame(span);
+        SpanEvent spanEvent = stackFrame.getSpanEvent();
+        Assert.assertSame(span, spanEvent.getSpan());
+        spanEvent.setSequence((short) 1);
+        spanEvent.setRpc("rpc");
+        Annotation annotation = spanRecycler.newAnnotation(10);
+        annotation.setValue(TAnnotationValue.stringValue("value"));
+        spanEvent.addAnnotation(annotation);
+        spanRecycler.releaseStackFrame(stackFrame);
+        Assert.assertEquals(3, spanRecycler.getAllocatedCount());
+
+        List<SpanEvent> spanEventList = new ArrayList<SpanEvent>();
+        spanEventList.add(spanEvent);
+        spanRecycler.recycle(new SpanChunk(spanEventList));
+        Assert.assertNull(spanEvent.getSpan());
+        Assert.assertFalse(spanEvent.isSetRpc());
+        Assert.assertFalse(spanEvent.isSetAnnotations());
+        Assert.assertFalse(annotation.isSetValue());
+
+        Span nextSpan = new Span();
+        SpanEventStackFrame nextStackFrame = spanRecycler.newSpanEventStackFrame(nextSpan);
+        Assert.assertSame(stackFrame, nextStackFrame);
+        Assert.assertSame(spanEvent, nextStackFrame.getSpanEvent());
+        Assert.assertSame(nextSpan, spanEvent.getSpan());
+        Assert.assertFalse(spanEvent.isSetSequence());
+
+        Annotation nextAnnotation = spanRecycler.newAnnotation(20);
+        Assert.assertSame(annotation, nextAnnotation);
+        Assert.assertEquals(20, nextAnnotation.getAnnotationKey());
+        spanEvent.addAnnotation(nextAnnotation);
+        Assert.assertEquals(1, spanEvent.getAnnotationsSize());
+
+        Assert.assertEquals(3, spanRecycler.getAllocatedCount());
+        Assert.assertEquals(3, spanRecycler.getRecycledCount());
+    }
+
+    @Test
+    public void recycleSpan() {
+        SpanRecycler spanRecycler = new SpanRecycler(16);
+        Span span = new Span();
+        Annotation spanAnnotation = spanRecycler.newAnnotation(1);
+        span.addAnnotation(spanAnnotation);
+
+        SpanEventStackFrame stackFrame = spanRecycler.newSpanEventStackFrame(span);
+        List<SpanEvent> spanEventList = new ArrayList<SpanEvent>();
+        spanEventList.add(stackFrame.getSpanEvent());
+        span.setSpanEventList((List) spanEventList);
+
+        spanRecycler.recycle(span);
+        Assert.assertSame(spanAnnotation, spanRecycler.newAnnotation(2));
+        Assert.assertSame(stackFrame.getSpanEvent(), spanRecycler.newSpanEventStackFrame(span).getSpanEvent());
+    }
+
+    @Test
+    public void poolSizeLimit() {
+        RecyclePool<Object> pool = new RecyclePool<Object>("test", 1) {
+            @Override
+            protected Object newObject() {
+                return new Object();
+            }
+        };
+        Object first = pool.take();
+        Object second = pool.take();
+        pool.release(first);
+        // dropped
+        pool.release(second);
+        Assert.assertEquals(1, pool.getPooledCount());
+        Assert.assertSame(first, pool.take());
+        Assert.assertEquals(2, pool.getAllocatedCount());
+        Assert.assertEquals(1, pool.getRecycledCount());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context.storage;
+
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.profiler.AgentInformation;
+import com.navercorp.pinpoint.profiler.context.Span;
+import com.navercorp.pinpoint.profiler.context.SpanChunkFactory;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+import com.navercorp.pinpoint.profiler.sender.CountingDataSender;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeferredStorageTest {
+
+    private AgentInformation agentInformation = new AgentInformation("agentId", "applicationName", 0, 1, "hostName", "127.0.0.1", ServiceType.STAND_ALONE, Version.VERSION);
+    private SpanChunkFactory spanChunkFactory = new SpanChunkFactory(agentInformation);
+    private CountingDataSender countingDataSender = new CountingDataSender();
+    private AdaptiveSampler sampler = new AdaptiveSampler(1, 1, 1000);
+
+    @Before
+    public void before() {
+        countingDataSender.stop();
+    }
+
+    @Test
+    public void discardFastTransaction() throws Exception {
+        DeferredStorage storage = newStorage();
+
+        Span span = new Span();
+        span.setElapsed(10);
+        SpanEvent spanEvent = new SpanEvent(span);
+        storage.store(spanEvent);
+        storage.store(spanEvent);
+        storage.store(span);
+
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+        Assert.assertEquals(0, sampler.getRetainedCount());
+    }
+
+    @Test
+    public void keepSlowTransaction() throws Exception {
+        DeferredStorage storage = newStorage();
+
+        Span span = new Span();
+        span.setElapsed(1000);
+        SpanEvent spanEvent = new SpanEvent(span);
+        storage.store(spanEvent);
+        storage.store(spanEvent);
+        storage.store(span);
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(2, span.getSpanEventListSize());
+        Assert.assertEquals(1, sampler.getRetainedCount());
+    }
+
+    @Test
+    public void keepErrorTransaction() throws Exception {
+        DeferredStorage storage = newStorage();
+
+        Span span = new Span();
+        span.setElapsed(1);
+        span.setErrCode(1);
+        storage.store(new SpanEvent(span));
+        storage.store(span);
+
+        Assert.assertEquals(1, countingDataSender.getSpanCounter());
+        Assert.assertEquals(1, span.getSpanEventListSize());
+    }
+
+    private DeferredStorage newStorage() {
+        return new DeferredStorage(new BufferedStorage(countingDataSender, spanChunkFactory, 10), sampler);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.interceptor.bci;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import javassist.ClassPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
+
+/**
+ * @author emeroad
+ */
+public class JavaAssistByteCodeInstrumentorTest {
+
+    private final String testObjectName = "com.navercorp.pinpoint.profiler.interceptor.bci.TestObject";
+
+    @Test
+    public void classPoolPerClassLoader() {
+        final JavaAssistByteCodeInstrumentor instrumentor = JavaAssistByteCodeInstrumentor.createTestInstrumentor();
+        final ClassLoader webapp1 = new URLClassLoader(new URL[0]);
+        final ClassLoader webapp2 = new URLClassLoader(new URL[0]);
+
+        final ClassPool webapp1ClassPool = instrumentor.getClassPool(webapp1);
+        Assert.assertSame(webapp1ClassPool, instrumentor.getClassPool(webapp1));
+        Assert.assertNotSame(webapp1ClassPool, instrumentor.getClassPool(webapp2));
+        Assert.assertSame(instrumentor.getClassPool(), instrumentor.getClassPool(null));
+    }
+
+    @Test
+    public void getClassFromClassLoader() throws Exception {
+        final JavaAssistByteCodeInstrumentor instrumentor = JavaAssistByteCodeInstrumentor.createTestInstrumentor();
+        final ClassLoader webapp = new URLClassLoader(new URL[0]);
+
+        final InstrumentClass testObject = instrumentor.getClass(webapp, testObjectName, null);
+        Assert.assertEquals(testObjectName, testObject.getName());
+        Assert.assertSame(instrumentor.getClassPool(webapp).get(testObjectName), instrumentor.getClass(webapp, testObjectName));
+    }
+
+    @Test
+    public void getClassFromClassFileBuffer() throws Exception {
+        final JavaAssistByteCodeInstrumentor instrumentor = JavaAssistByteCodeInstrumentor.createTestInstrumentor();
+        final ClassLoader webapp = new URLClassLoader(new URL[0]);
+        final byte[] classFileBuffer = readClassFile(testObjectName);
+
+        final InstrumentClass testObject = instrumentor.getClass(webapp, testObjectName, classFileBuffer);
+        Assert.assertEquals(testObjectName, testObject.getName());
+        final byte[] transformed = testObject.toBytecode();
+        Assert.assertNotNull(transformed);
+
+        // retransform. the frozen class is replaced
+        final InstrumentClass retransform = instrumentor.getClass(webapp, testObjectName, transformed);
+        Assert.assertEquals(testObjectName, retransform.getName());
+    }
+
+    private byte[] readClassFile(String className) throws IOException {
+        final InputStream inputStream = getClass().getClassLoader().getResourceAsStream(className.replace('.', '/') + ".class");
+        try {
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+}
@@ -20,8 +20,6 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.security.ProtectionDomain;
-import java.util.Collections;
-import java.util.Map;
 
 import javassist.bytecode.Descriptor;
 
@@ -38,6 +36,7 @@ import com.navercorp.pinpoint.bootstrap.instrument.InstrumentClass;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
 import com.navercorp.pinpoint.bootstrap.instrument.MethodInfo;
 import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueTraceValue;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.DatabaseInfoTraceValue;
 import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.IntTraceValue;
@@ -199,10 +198,10 @@ public class JavaAssistClassTest {
 
         if (testObject instanceof BindValueTraceValue) {
             BindValueTraceValue bindValueTraceValue = (BindValueTraceValue) testObject;
-            Map<Integer, String> integerStringMap = Collections.emptyMap();
-            bindValueTraceValue._$PINPOINT$_setTraceBindValue(integerStringMap);
-            Map<Integer, String> bindValueMap = bindValueTraceValue._$PINPOINT$_getTraceBindValue();
-            Assert.assertSame(integerStringMap, bindValueMap);
+            BindValueBuffer bindValueBuffer = new BindValueBuffer();
+            bindValueTraceValue._$PINPOINT$_setTraceBindValue(bindValueBuffer);
+            BindValueBuffer bindValue = bindValueTraceValue._$PINPOINT$_getTraceBindValue();
+            Assert.assertSame(bindValueBuffer, bindValue);
         } else {
             Assert.fail("BindValueTraceValue implements fail");
         }
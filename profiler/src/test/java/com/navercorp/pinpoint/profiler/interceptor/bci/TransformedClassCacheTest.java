@@ -0,0 +1,179 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.interceptor.bci;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.DefaultInterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.InterceptorRegistryAdaptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.LoggingInterceptor;
+import com.navercorp.pinpoint.bootstrap.interceptor.SimpleAroundInterceptor;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * @author emeroad
+ */
+public class TransformedClassCacheTest {
+
+    private static final String CLASS_NAME = "com.navercorp.Target";
+    private static final byte[] ORIGINAL = new byte[] {1, 2, 3};
+    private static final byte[] TRANSFORMED = new byte[] {4, 5, 6, 7};
+
+    private File baseDir;
+
+    @Before
+    public void setUp() throws IOException {
+        baseDir = File.createTempFile("transformedClassCache", "");
+        Assert.assertTrue(baseDir.delete());
+    }
+
+    @After
+    public void tearDown() {
+        delete(baseDir);
+    }
+
+    private void delete(File file) {
+        final File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    @Test
+    public void replayBindsSameId() throws Exception {
+        InterceptorRegistryAdaptor registry = new DefaultInterceptorRegistryAdaptor();
+        TransformedClassCache cache = new TransformedClassCache(baseDir, "v1", registry);
+        // registered before. not in the table
+        registry.addSimpleInterceptor(new LoggingInterceptor("before"));
+
+        TransformSession session = cache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertFalse(session.isReplay());
+        Assert.assertSame(session, cache.getSession(CLASS_NAME));
+        final int id0 = session.bindInterceptor(new LoggingInterceptor("0"));
+        final int id1 = session.bindInterceptor(new LoggingInterceptor("1"));
+        cache.end(session);
+        cache.store(session, TRANSFORMED);
+        cache.close();
+
+        // restart
+        InterceptorRegistryAdaptor newRegistry = new DefaultInterceptorRegistryAdaptor();
+        TransformedClassCache newCache = new TransformedClassCache(baseDir, "v1", newRegistry);
+        // ids of the table are reserved
+        final int otherId = newRegistry.addSimpleInterceptor(new LoggingInterceptor("other"));
+        Assert.assertTrue(otherId > id1);
+
+        TransformSession replay = newCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertTrue(replay.isReplay());
+        Assert.assertTrue(Arrays.equals(TRANSFORMED, replay.getCachedBytes()));
+        SimpleAroundInterceptor interceptor0 = new LoggingInterceptor("0");
+        Assert.assertEquals(id0, replay.bindInterceptor(interceptor0));
+        Assert.assertEquals(id1, replay.bindInterceptor(new LoggingInterceptor("1")));
+        newCache.end(replay);
+        Assert.assertTrue(newCache.verifyReplay(replay, replay.getCachedBytes()));
+        Assert.assertSame(interceptor0, newRegistry.findInterceptor(id0));
+
+        // second class loader of the same class. not cached yet
+        TransformSession second = newCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertFalse(second.isReplay());
+        newCache.end(second);
+        newCache.close();
+    }
+
+    @Test
+    public void replayMismatch() throws Exception {
+        TransformedClassCache cache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession session = cache.begin(CLASS_NAME, ORIGINAL);
+        session.bindInterceptor(new LoggingInterceptor("0"));
+        cache.end(session);
+        cache.store(session, TRANSFORMED);
+        cache.close();
+
+        TransformedClassCache newCache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession replay = newCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertTrue(replay.isReplay());
+        // the modifier registered one more interceptor than the cached transformation
+        replay.bindInterceptor(new LoggingInterceptor("0"));
+        replay.bindInterceptor(new LoggingInterceptor("1"));
+        newCache.end(replay);
+        Assert.assertFalse(newCache.verifyReplay(replay, replay.getCachedBytes()));
+        newCache.close();
+
+        // the cached class is removed
+        TransformedClassCache thirdCache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession third = thirdCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertFalse(third.isReplay());
+        thirdCache.end(third);
+        thirdCache.close();
+    }
+
+    @Test
+    public void uncacheable() throws Exception {
+        TransformedClassCache cache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession session = cache.begin(CLASS_NAME, ORIGINAL);
+        // another class edited while the target is transformed
+        Assert.assertNull(cache.getSession("com.navercorp.Other"));
+        Assert.assertFalse(session.isCacheable());
+        cache.end(session);
+        cache.store(session, TRANSFORMED);
+        cache.close();
+
+        TransformedClassCache newCache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession replay = newCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertFalse(replay.isReplay());
+        newCache.end(replay);
+        newCache.close();
+    }
+
+    @Test
+    public void fingerprint() throws Exception {
+        TransformedClassCache cache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession session = cache.begin(CLASS_NAME, ORIGINAL);
+        cache.end(session);
+        cache.store(session, TRANSFORMED);
+        cache.close();
+
+        TransformedClassCache newCache = new TransformedClassCache(baseDir, "v2", new DefaultInterceptorRegistryAdaptor());
+        TransformSession other = newCache.begin(CLASS_NAME, ORIGINAL);
+        Assert.assertFalse(other.isReplay());
+        newCache.end(other);
+        newCache.close();
+    }
+
+    @Test
+    public void nestedSession() throws Exception {
+        TransformedClassCache cache = new TransformedClassCache(baseDir, "v1", new DefaultInterceptorRegistryAdaptor());
+        TransformSession outer = cache.begin(CLASS_NAME, ORIGINAL);
+        // loaded by the modifier of the outer class
+        TransformSession inner = cache.begin("com.navercorp.Inner", ORIGINAL);
+        Assert.assertSame(inner, cache.getSession("com.navercorp.Inner"));
+        cache.end(inner);
+        Assert.assertSame(outer, cache.getSession(CLASS_NAME));
+        Assert.assertTrue(outer.isCacheable());
+        cache.end(outer);
+        Assert.assertNull(cache.getSession(CLASS_NAME));
+        cache.close();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.metadata;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import com.navercorp.pinpoint.common.util.DefaultParsingResult;
+import com.navercorp.pinpoint.common.util.ParsingResult;
+import com.navercorp.pinpoint.common.util.SqlParser;
+
+/**
+ * @author emeroad
+ */
+public class SqlParsingResultCacheTest {
+
+    @Test
+    public void hitAndMiss() {
+        SqlParsingResultCache cache = new SqlParsingResultCache();
+        final String sql = "select * from table where id = 10";
+
+        Assert.assertNull(cache.get(sql));
+        Assert.assertEquals(1, cache.getMissCount());
+
+        DefaultParsingResult parsingResult = new SqlParser().normalizedSql(sql);
+        parsingResult.setId(5);
+        ParsingResult put = cache.putParsingResult(sql, parsingResult);
+        Assert.assertEquals(parsingResult.getSql(), put.getSql());
+        Assert.assertEquals(parsingResult.getOutput(), put.getOutput());
+        Assert.assertEquals(5, put.getId());
+
+        Assert.assertSame(put, cache.get(sql));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void putIfAbsent() {
+        SqlParsingResultCache cache = new SqlParsingResultCache();
+        final String sql = "select 1";
+
+        DefaultParsingResult first = new SqlParser().normalizedSql(sql);
+        first.setId(1);
+        ParsingResult cached = cache.putParsingResult(sql, first);
+
+        DefaultParsingResult second = new SqlParser().normalizedSql(sql);
+        second.setId(2);
+        Assert.assertSame(cached, cache.putParsingResult(sql, second));
+        Assert.assertEquals(1, cache.get(sql).getId());
+    }
+
+    @Test
+    public void putSql() {
+        SqlParsingResultCache cache = new SqlParsingResultCache();
+        final String normalizedSql = "select * from table where id = ?";
+
+        Result first = cache.putSql(normalizedSql);
+        Assert.assertTrue(first.isNewValue());
+        Result second = cache.putSql(normalizedSql);
+        Assert.assertFalse(second.isNewValue());
+        Assert.assertEquals(first.getId(), second.getId());
+
+        Assert.assertFalse(cache.putSql("select 1").getId() == first.getId());
+    }
+
+    @Test
+    public void normalizedSql() {
+        SqlParsingResultCache cache = new SqlParsingResultCache();
+        // already normalized. the same string is the key of the id and of the parsing result
+        final String sql = "select * from table where id = ?";
+
+        Result result = cache.putSql(sql);
+        Assert.assertNull(cache.get(sql));
+
+        DefaultParsingResult parsingResult = new SqlParser().normalizedSql(sql);
+        parsingResult.setId(result.getId());
+        ParsingResult cached = cache.putParsingResult(sql, parsingResult);
+
+        Assert.assertSame(cached, cache.get(sql));
+        Assert.assertFalse(cache.putSql(sql).isNewValue());
+        Assert.assertEquals(result.getId(), cache.putSql(sql).getId());
+        Assert.assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void literalSql() {
+        SqlParsingResultCache cache = new SqlParsingResultCache();
+        final String sql1 = "select * from table where id = 10";
+        final String sql2 = "select * from table where id = 20";
+
+        DefaultParsingResult parsingResult1 = new SqlParser().normalizedSql(sql1);
+        DefaultParsingResult parsingResult2 = new SqlParser().normalizedSql(sql2);
+        Assert.assertEquals(parsingResult1.getSql(), parsingResult2.getSql());
+
+        Result result1 = cache.putSql(parsingResult1.getSql());
+        parsingResult1.setId(result1.getId());
+        cache.putParsingResult(sql1, parsingResult1);
+
+        // the same normalized sql keeps its id. the metadata is sent once
+        Result result2 = cache.putSql(parsingResult2.getSql());
+        Assert.assertFalse(result2.isNewValue());
+        Assert.assertEquals(result1.getId(), result2.getId());
+        parsingResult2.setId(result2.getId());
+        cache.putParsingResult(sql2, parsingResult2);
+
+        Assert.assertEquals(parsingResult2.getOutput(), cache.get(sql2).getOutput());
+        Assert.assertEquals(parsingResult1.getOutput(), cache.get(sql1).getOutput());
+    }
+
+    @Test
+    public void rawSqlChurnKeepsSqlId() {
+        SqlParsingResultCache cache = new SqlParsingResultCache(4);
+        final String normalizedSql = "select * from table where id = ?";
+        Result result = cache.putSql(normalizedSql);
+        Assert.assertTrue(result.isNewValue());
+
+        // many distinct raw sqls of the same statement
+        for (int i = 0; i < 1000; i++) {
+            DefaultParsingResult parsingResult = new SqlParser().normalizedSql("select * from table where id = " + i);
+            parsingResult.setId(cache.putSql(parsingResult.getSql()).getId());
+            cache.putParsingResult("select * from table where id = " + i, parsingResult);
+        }
+
+        Result after = cache.putSql(normalizedSql);
+        Assert.assertFalse(after.isNewValue());
+        Assert.assertEquals(result.getId(), after.getId());
+        Assert.assertTrue(cache.getSize() <= 4);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.modifier.connector.jdkhttpconnector.interceptor;
+
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+
+import com.navercorp.pinpoint.bootstrap.context.Header;
+import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.bootstrap.sampler.SamplingFlagUtils;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.profiler.AgentInformation;
+import com.navercorp.pinpoint.profiler.context.DefaultServerMetaDataHolder;
+import com.navercorp.pinpoint.profiler.context.DefaultTraceContext;
+import com.navercorp.pinpoint.profiler.context.storage.LogStorageFactory;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSampler;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class ConnectMethodInterceptorTest {
+
+    private DefaultTraceContext traceContext;
+    private ConnectMethodInterceptor interceptor;
+
+    @Before
+    public void setUp() {
+        // one sampled transaction per second, then one deferred transaction per second
+        AdaptiveSampler sampler = new AdaptiveSampler(1, 1, 1000);
+        this.traceContext = new DefaultTraceContext(100, ServiceType.STAND_ALONE, new LogStorageFactory(), sampler, new DefaultServerMetaDataHolder(Collections.<String>emptyList()));
+        this.traceContext.setAgentInformation(new AgentInformation("agentId", "applicationName", 0, 1, "hostName", "127.0.0.1", ServiceType.STAND_ALONE, Version.VERSION));
+        this.interceptor = new ConnectMethodInterceptor();
+        this.interceptor.setTraceContext(traceContext);
+    }
+
+    @Test
+    public void sampledTracePropagatesTraceId() throws Exception {
+        Trace trace = traceContext.newTraceObject();
+        Assert.assertFalse(trace.isSamplingDeferred());
+
+        HttpURLConnection connection = newConnection();
+        interceptor.before(connection, null);
+        traceContext.detachTraceObject();
+
+        Assert.assertNotNull(connection.getRequestProperty(Header.HTTP_TRACE_ID.toString()));
+        Assert.assertNull(connection.getRequestProperty(Header.HTTP_SAMPLED.toString()));
+    }
+
+    @Test
+    public void deferredTraceDoesNotSampleDownstream() throws Exception {
+        traceContext.newTraceObject();
+        traceContext.detachTraceObject();
+
+        Trace trace = traceContext.newTraceObject();
+        Assert.assertTrue(trace.canSampled());
+        Assert.assertTrue(trace.isSamplingDeferred());
+
+        HttpURLConnection connection = newConnection();
+        interceptor.before(connection, null);
+        traceContext.detachTraceObject();
+
+        Assert.assertEquals(SamplingFlagUtils.SAMPLING_RATE_FALSE, connection.getRequestProperty(Header.HTTP_SAMPLED.toString()));
+        Assert.assertNull(connection.getRequestProperty(Header.HTTP_TRACE_ID.toString()));
+        Assert.assertNull(connection.getRequestProperty(Header.HTTP_SPAN_ID.toString()));
+    }
+
+    private HttpURLConnection newConnection() throws Exception {
+        // not connected. only the request headers are inspected.
+        return (HttpURLConnection) new URL("http://localhost:8080/").openConnection();
+    }
+}
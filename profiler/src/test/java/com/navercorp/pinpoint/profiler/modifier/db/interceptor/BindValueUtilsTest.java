@@ -20,6 +20,7 @@ import junit.framework.Assert;
 
 import org.junit.Test;
 
+import com.navercorp.pinpoint.bootstrap.interceptor.tracevalue.BindValueBuffer;
 import com.navercorp.pinpoint.profiler.modifier.db.interceptor.BindValueUtils;
 
 public class BindValueUtilsTest {
@@ -109,4 +110,34 @@ public class BindValueUtilsTest {
         String result = BindValueUtils.bindValueToString(bindValue, 5);
         Assert.assertEquals("12345...(6), ...(2)", result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testBindValueBufferToString() throws Exception {
+        BindValueBuffer bindValue = new BindValueBuffer(1);
+        bindValue.set(1, "setString", new Object[]{1, "a"});
+        bindValue.set(3, "setInt", new Object[]{3, 10});
+        bindValue.set(2, "setNull", new Object[]{2, java.sql.Types.VARCHAR});
+        Assert.assertEquals(3, bindValue.getBindCount());
+
+        String result = BindValueUtils.bindValueToString(bindValue, 1024);
+        String expected = BindValueUtils.bindValueToString(new String[]{"a", "null", "10"}, 1024);
+        Assert.assertEquals(expected, result);
+    }
+
+    @Test
+    public void testBindValueBufferToString_limit() throws Exception {
+        BindValueBuffer bindValue = new BindValueBuffer();
+        bindValue.set(1, "setString", new Object[]{1, "abc"});
+        bindValue.set(2, "setString", new Object[]{2, "b"});
+        // not set
+        bindValue.set(4, "setString", new Object[]{4, "d"});
+
+        Assert.assertEquals("a...(3), ...(4)", BindValueUtils.bindValueToString(bindValue, 1));
+        Assert.assertEquals("abc, b, , d", BindValueUtils.bindValueToString(bindValue, 1024));
+
+        bindValue.clear();
+        Assert.assertEquals(0, bindValue.getBindCount());
+        Assert.assertNull(bindValue.getArgs(1));
+        Assert.assertEquals("", BindValueUtils.bindValueToString(bindValue, 1024));
+    }
+}
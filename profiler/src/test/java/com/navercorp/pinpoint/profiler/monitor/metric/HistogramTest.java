@@ -60,4 +60,28 @@ public class HistogramTest {
         Assert.assertEquals(snapshot.getErrorCount(), 5);
     }
 
+    @Test
+    public void testCreateIntervalSnapshot() throws Exception {
+        LongAdderHistogram histogram = new LongAdderHistogram("parent", "127.0.0.1:8080", ServiceType.STAND_ALONE);
+        histogram.addResponseTime(1000);
+        histogram.addResponseTime(6000);
+
+        HistogramSnapshot first = histogram.createIntervalSnapshot();
+        Assert.assertEquals("parent", first.getName());
+        Assert.assertEquals("127.0.0.1:8080", first.getHost());
+        Assert.assertEquals(1, first.getFastCount());
+        Assert.assertEquals(1, first.getVerySlowCount());
+        Assert.assertEquals(2, first.getTotalCount());
+
+        histogram.addResponseTime(1000);
+        HistogramSnapshot second = histogram.createIntervalSnapshot();
+        Assert.assertEquals(1, second.getFastCount());
+        Assert.assertEquals(0, second.getVerySlowCount());
+        Assert.assertEquals(1, second.getTotalCount());
+
+        Assert.assertEquals(0, histogram.createIntervalSnapshot().getTotalCount());
+        // the accumulated snapshot is not affected
+        Assert.assertEquals(3, histogram.createSnapshot().getTotalCount());
+    }
+
 }
\ No newline at end of file
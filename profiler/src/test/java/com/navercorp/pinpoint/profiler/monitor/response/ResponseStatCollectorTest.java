@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.monitor.response;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.profiler.monitor.metric.ContextMetric;
+import com.navercorp.pinpoint.profiler.monitor.metric.MetricRegistry;
+import com.navercorp.pinpoint.profiler.monitor.metric.RpcMetric;
+import com.navercorp.pinpoint.thrift.dto.TAgentResponseStat;
+import com.navercorp.pinpoint.thrift.dto.TResponseHistogram;
+
+/**
+ * @author emeroad
+ */
+public class ResponseStatCollectorTest {
+
+    @Test
+    public void collectResponseStat() {
+        final MetricRegistry metricRegistry = new MetricRegistry(ServiceType.STAND_ALONE);
+        final ResponseStatCollector collector = new ResponseStatCollector(metricRegistry, "agentId", "applicationName", ServiceType.STAND_ALONE.getCode(), 1000L);
+
+        final ContextMetric contextMetric = metricRegistry.getResponseMetric();
+        contextMetric.addResponseTime(100);
+        contextMetric.addResponseTime(HistogramSchema.ERROR_SLOT_TIME);
+        contextMetric.addUserAcceptHistogram(100);
+
+        final RpcMetric rpcMetric = metricRegistry.getRpcMetric(ServiceType.HTTP_CLIENT);
+        rpcMetric.addResponseTime("naver.com", "127.0.0.1:80", 100);
+        rpcMetric.addResponseTime("naver.com", "127.0.0.1:80", 100);
+
+        final TAgentResponseStat responseStat = collector.collectResponseStat();
+        Assert.assertEquals("agentId", responseStat.getAgentId());
+        Assert.assertEquals("applicationName", responseStat.getApplicationName());
+        Assert.assertEquals(1000L, responseStat.getStartTimestamp());
+
+        final TResponseHistogram response = responseStat.getResponse();
+        Assert.assertEquals(1, response.getFastCount());
+        Assert.assertEquals(1, response.getErrorCount());
+        Assert.assertEquals(1, responseStat.getUserAccept().getFastCount());
+        Assert.assertFalse(responseStat.isSetAccept());
+
+        Assert.assertEquals(1, responseStat.getRpcSize());
+        final TResponseHistogram rpc = responseStat.getRpc().get(0);
+        Assert.assertEquals("naver.com", rpc.getName());
+        Assert.assertEquals("127.0.0.1:80", rpc.getHost());
+        Assert.assertEquals(ServiceType.HTTP_CLIENT.getCode(), rpc.getServiceType());
+        Assert.assertEquals(2, rpc.getFastCount());
+    }
+
+    @Test
+    public void collectResponseStat_interval() {
+        final MetricRegistry metricRegistry = new MetricRegistry(ServiceType.STAND_ALONE);
+        final ResponseStatCollector collector = new ResponseStatCollector(metricRegistry, "agentId", "applicationName", ServiceType.STAND_ALONE.getCode(), 1000L);
+
+        metricRegistry.getResponseMetric().addResponseTime(100);
+        metricRegistry.getRpcMetric(ServiceType.HTTP_CLIENT).addResponseTime("naver.com", 100);
+        collector.collectResponseStat();
+
+        final TAgentResponseStat responseStat = collector.collectResponseStat();
+        Assert.assertFalse(responseStat.isSetResponse());
+        Assert.assertFalse(responseStat.isSetUserAccept());
+        Assert.assertFalse(responseStat.isSetRpc());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class AdaptiveSamplerTest {
+
+    @Test
+    public void targetTps() {
+        ManualClockSampler sampler = new ManualClockSampler(10, 0, 1000);
+        int sampled = countSampled(sampler, 1000);
+        Assert.assertEquals(10, sampled);
+
+        // half a second later, half of the bucket has been refilled.
+        sampler.time += TimeUnit.MILLISECONDS.toNanos(500);
+        sampled = countSampled(sampler, 1000);
+        Assert.assertEquals(5, sampled);
+
+        Assert.assertEquals(2000, sampler.getTotalCount());
+        Assert.assertEquals(15, sampler.getSampledCount());
+    }
+
+    @Test
+    public void bucketDoesNotOverflow() {
+        ManualClockSampler sampler = new ManualClockSampler(10, 0, 1000);
+        sampler.time += TimeUnit.SECONDS.toNanos(60);
+        Assert.assertEquals(10, countSampled(sampler, 1000));
+    }
+
+    @Test
+    public void deferredSampling() {
+        ManualClockSampler sampler = new ManualClockSampler(1, 2, 1000);
+        Assert.assertTrue(sampler.isSampling());
+        Assert.assertFalse(sampler.isSampling());
+
+        Assert.assertTrue(sampler.isDeferredSampling());
+        Assert.assertTrue(sampler.isDeferredSampling());
+        Assert.assertFalse(sampler.isDeferredSampling());
+    }
+
+    @Test
+    public void deferredSamplingDisabled() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1);
+        Assert.assertFalse(sampler.isDeferredSampling());
+    }
+
+    @Test
+    public void retained() {
+        AdaptiveSampler sampler = new AdaptiveSampler(1, 1, 1000);
+        Assert.assertFalse(sampler.isRetained(false, 999));
+        Assert.assertTrue(sampler.isRetained(false, 1000));
+        Assert.assertTrue(sampler.isRetained(true, 0));
+        Assert.assertEquals(2, sampler.getRetainedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTargetTps() {
+        new AdaptiveSampler(0);
+    }
+
+    private int countSampled(AdaptiveSampler sampler, int count) {
+        int sampled = 0;
+        for (int i = 0; i < count; i++) {
+            if (sampler.isSampling()) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+
+    private static class ManualClockSampler extends AdaptiveSampler {
+        private long time = 1000;
+
+        public ManualClockSampler(int targetTps, int deferredTps, long slowThreshold) {
+            super(targetTps, deferredTps, slowThreshold);
+        }
+
+        @Override
+        long nanoTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.thrift.TBase;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.profiler.logging.Slf4jLoggerBinderInitializer;
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializerFactory;
+
+/**
+ * @author emeroad
+ */
+public class BatchUdpDataSenderTest {
+
+    private DatagramSocket receiver;
+
+    @BeforeClass
+    public static void before() {
+        Slf4jLoggerBinderInitializer.beforeClass();
+    }
+
+    @AfterClass
+    public static void after() {
+        Slf4jLoggerBinderInitializer.afterClass();
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        receiver = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0));
+        receiver.setSoTimeout(1000);
+    }
+
+    @After
+    public void tearDown() {
+        if (receiver != null) {
+            receiver.close();
+        }
+    }
+
+    @Test
+    public void sendBatch() throws Exception {
+        final int messageCount = 20;
+        BatchUdpDataSender sender = new BatchUdpDataSender("127.0.0.1", receiver.getLocalPort(), "test", 128);
+        try {
+            for (int i = 0; i < messageCount; i++) {
+                TAgentInfo agentInfo = new TAgentInfo();
+                agentInfo.setAgentId("agent" + i);
+                Assert.assertTrue(sender.send(agentInfo));
+            }
+
+            List<TBase<?, ?>> received = receive(messageCount);
+            Assert.assertEquals(messageCount, received.size());
+            Assert.assertEquals("agent0", ((TAgentInfo) received.get(0)).getAgentId());
+            Assert.assertEquals("agent" + (messageCount - 1), ((TAgentInfo) received.get(messageCount - 1)).getAgentId());
+        } finally {
+            sender.stop();
+        }
+    }
+
+    @Test
+    public void packetSizeLimit() throws Exception {
+        final int maxPacketSize = 64;
+        BatchUdpDataSender sender = new BatchUdpDataSender("127.0.0.1", receiver.getLocalPort(), "test", 128, 1000, 1024 * 64, AsyncQueueType.RINGBUFFER, maxPacketSize);
+        try {
+            final int messageCount = 10;
+            for (int i = 0; i < messageCount; i++) {
+                TAgentInfo agentInfo = new TAgentInfo();
+                agentInfo.setAgentId("agent-" + i);
+                sender.send(agentInfo);
+            }
+            // larger than maxPacketSize. sent alone
+            TAgentInfo large = new TAgentInfo();
+            large.setAgentId(new String(new char[maxPacketSize * 2]).replace('\0', 'a'));
+            sender.send(large);
+
+            final DatagramPacket packet = new DatagramPacket(new byte[UdpDataSender.UDP_MAX_PACKET_LENGTH], UdpDataSender.UDP_MAX_PACKET_LENGTH);
+            int receivedMessage = 0;
+            while (receivedMessage < messageCount + 1) {
+                receiver.receive(packet);
+                if (packet.getLength() > maxPacketSize) {
+                    Assert.assertEquals(large, deserialize(packet).get(0));
+                }
+                receivedMessage += deserialize(packet).size();
+            }
+        } finally {
+            sender.stop();
+        }
+    }
+
+    private List<TBase<?, ?>> receive(int messageCount) throws Exception {
+        final List<TBase<?, ?>> result = new ArrayList<TBase<?, ?>>();
+        final DatagramPacket packet = new DatagramPacket(new byte[UdpDataSender.UDP_MAX_PACKET_LENGTH], UdpDataSender.UDP_MAX_PACKET_LENGTH);
+        while (result.size() < messageCount) {
+            try {
+                receiver.receive(packet);
+            } catch (SocketTimeoutException e) {
+                break;
+            }
+            result.addAll(deserialize(packet));
+        }
+        return result;
+    }
+
+    private List<TBase<?, ?>> deserialize(DatagramPacket packet) throws Exception {
+        ChunkHeaderTBaseDeserializer deserializer = ChunkHeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+        return deserializer.deserialize(packet.getData(), packet.getOffset(), packet.getLength());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class MpscArrayAsyncQueueTest {
+
+    @Test
+    public void offerFull() {
+        MpscArrayAsyncQueue<Integer> queue = new MpscArrayAsyncQueue<Integer>(3);
+        Assert.assertTrue(queue.offer(1));
+        Assert.assertTrue(queue.offer(2));
+        Assert.assertTrue(queue.offer(3));
+        Assert.assertFalse(queue.offer(4));
+        Assert.assertEquals(3, queue.size());
+        Assert.assertEquals(3, queue.capacity());
+    }
+
+    @Test
+    public void drainTo() throws Exception {
+        MpscArrayAsyncQueue<Integer> queue = new MpscArrayAsyncQueue<Integer>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        List<Integer> drain = new ArrayList<Integer>();
+        Assert.assertEquals(3, queue.drainTo(drain, 3));
+        Assert.assertEquals(Integer.valueOf(0), drain.get(0));
+        Assert.assertEquals(Integer.valueOf(2), drain.get(2));
+
+        // wrap around
+        Assert.assertTrue(queue.offer(4));
+        Assert.assertEquals(Integer.valueOf(3), queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(Integer.valueOf(4), queue.poll(0, TimeUnit.MILLISECONDS));
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void multiProducer() throws Exception {
+        final MpscArrayAsyncQueue<Integer> queue = new MpscArrayAsyncQueue<Integer>(1024);
+        final int producerCount = 4;
+        final int messageCount = 10000;
+        final CountDownLatch latch = new CountDownLatch(producerCount);
+        for (int i = 0; i < producerCount; i++) {
+            Thread producer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < messageCount; j++) {
+                        while (!queue.offer(j)) {
+                            Thread.yield();
+                        }
+                    }
+                    latch.countDown();
+                }
+            });
+            producer.start();
+        }
+
+        int received = 0;
+        long sum = 0;
+        while (received < producerCount * messageCount) {
+            Integer data = queue.poll(1000, TimeUnit.MILLISECONDS);
+            Assert.assertNotNull(data);
+            sum += data;
+            received++;
+        }
+        latch.await();
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals((long) producerCount * messageCount * (messageCount - 1) / 2, sum);
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sender;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.meta_data.FieldMetaData;
+import org.apache.thrift.meta_data.FieldValueMetaData;
+import org.apache.thrift.meta_data.ListMetaData;
+import org.apache.thrift.meta_data.StructMetaData;
+import org.apache.thrift.protocol.TType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringStringValue;
+import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+
+/**
+ * @author emeroad
+ */
+public class SpanEncoderTest {
+
+    private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+    private final HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+
+    @Test
+    public void emptySpan() throws TException {
+        assertSameBytes(new SpanEncoder(), new TSpan());
+    }
+
+    @Test
+    public void span() throws TException {
+        // small buffer. grows while encoding
+        SpanEncoder encoder = new SpanEncoder(16);
+
+        TSpan span = new TSpan();
+        span.setAgentId("agent");
+        span.setApplicationName("\uD55C\uAE00-application");
+        span.setAgentStartTime(1417590000000L);
+        span.setTransactionId(new byte[]{1, 2, 3, -1});
+        span.setSpanId(-8217340000000000000L);
+        span.setParentSpanId(-1);
+        span.setStartTime(1417590001234L);
+        span.setElapsed(123);
+        span.setRpc("/rpc?q=\uD83D\uDE00");
+        span.setServiceType((short) 1010);
+        span.setEndPoint("localhost:8080");
+        span.setRemoteAddr("127.0.0.1");
+        span.setAnnotations(createAnnotationList());
+        span.setFlag((short) 1);
+        span.setErr(1);
+        span.setSpanEventList(createSpanEventList(20));
+        span.setParentApplicationName("parent");
+        span.setParentApplicationType((short) 1000);
+        span.setAcceptorHost("acceptor");
+        span.setApiId(Integer.MIN_VALUE);
+        span.setExceptionInfo(new TIntStringValue(10));
+
+        assertSameBytes(encoder, span);
+
+        // reuse
+        span.setSpanEventList(createSpanEventList(1));
+        assertSameBytes(encoder, span);
+    }
+
+    @Test
+    public void fieldIdDelta() throws TException {
+        // 9 -> 26 does not fit in the short form field header
+        TSpan span = new TSpan();
+        span.setExceptionInfo(new TIntStringValue(-1));
+        assertSameBytes(new SpanEncoder(), span);
+    }
+
+    @Test
+    public void invalidString() throws TException {
+        TSpan span = new TSpan();
+        // unpaired surrogates
+        span.setRpc("a\uD83Db\uDE00c\uD83D");
+        // the jdk encoder writes '?'. no round trip
+        encodeAndCompare(new SpanEncoder(), span);
+    }
+
+    @Test
+    public void spanChunk() throws TException {
+        TSpanChunk spanChunk = new TSpanChunk();
+        spanChunk.setAgentId("agent");
+        spanChunk.setApplicationName("application");
+        spanChunk.setAgentStartTime(1417590000000L);
+        spanChunk.setServiceType((short) 1010);
+        spanChunk.setTransactionId(new byte[]{1, 2, 3});
+        spanChunk.setSpanId(10);
+        spanChunk.setEndPoint("localhost:8080");
+        spanChunk.setSpanEventList(createSpanEventList(3));
+
+        assertSameBytes(new SpanEncoder(), spanChunk);
+    }
+
+    /**
+     * sets every field of the generated structs. fails when a field is added to Trace.thrift but not to SpanEncoder.
+     */
+    @Test
+    public void allFields() throws TException {
+        TSpan span = new TSpan();
+        setAllFields(span);
+        TSpan decodedSpan = (TSpan) encodeAndDecode(span);
+        assertAllFieldsSet(decodedSpan);
+        assertAllFieldsSet(decodedSpan.getSpanEventList().get(0));
+        // the last fields added
+        Assert.assertTrue(decodedSpan.isSetStatisticsReported());
+
+        TSpanChunk spanChunk = new TSpanChunk();
+        setAllFields(spanChunk);
+        TSpanChunk decodedSpanChunk = (TSpanChunk) encodeAndDecode(spanChunk);
+        assertAllFieldsSet(decodedSpanChunk);
+        assertAllFieldsSet(decodedSpanChunk.getSpanEventList().get(0));
+        Assert.assertTrue(decodedSpanChunk.isSetStatisticsReported());
+    }
+
+    @Test(expected = TException.class)
+    public void unsupportedType() throws TException {
+        new SpanEncoder().encode(new TIntStringValue());
+    }
+
+    private void assertSameBytes(SpanEncoder encoder, TBase<?, ?> message) throws TException {
+        byte[] actual = encodeAndCompare(encoder, message);
+        Assert.assertEquals(message, deserializer.deserialize(actual));
+    }
+
+    private TBase<?, ?> encodeAndDecode(TBase<?, ?> message) throws TException {
+        assertAllFieldsSet(message);
+        SpanEncoder encoder = new SpanEncoder();
+        byte[] actual = Arrays.copyOf(encoder.encode(message), encoder.getEncodedSize());
+        TBase<?, ?> decoded = deserializer.deserialize(actual);
+        // names the missing field before the bytes are compared
+        assertAllFieldsSet(decoded);
+
+        Assert.assertArrayEquals(serializer.serialize(message), actual);
+        Assert.assertEquals(message, decoded);
+        return decoded;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void assertAllFieldsSet(TBase struct) {
+        for (TFieldIdEnum field : getFields(struct)) {
+            Assert.assertTrue(struct.getClass().getSimpleName() + "." + field.getFieldName() + " is not written", struct.isSet(field));
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void setAllFields(TBase struct) {
+        for (Map.Entry<? extends TFieldIdEnum, FieldMetaData> entry : FieldMetaData.getStructMetaDataMap(struct.getClass()).entrySet()) {
+            struct.setFieldValue(entry.getKey(), createValue(entry.getValue().valueMetaData));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Object createValue(FieldValueMetaData metaData) {
+        switch (metaData.type) {
+            case TType.BOOL:
+                return Boolean.TRUE;
+            case TType.BYTE:
+                return (byte) 1;
+            case TType.I16:
+                return (short) 2;
+            case TType.I32:
+                return 3;
+            case TType.I64:
+                return 4L;
+            case TType.DOUBLE:
+                return 5.0D;
+            case TType.STRING:
+                if (metaData.isBinary()) {
+                    return ByteBuffer.wrap(new byte[]{6});
+                }
+                return "7";
+            case TType.LIST:
+                List<Object> list = new ArrayList<Object>();
+                list.add(createValue(((ListMetaData) metaData).elemMetaData));
+                return list;
+            case TType.STRUCT:
+                Class<? extends TBase> structClass = ((StructMetaData) metaData).structClass;
+                if (structClass == TAnnotationValue.class) {
+                    // union. only one field can be set
+                    return TAnnotationValue.stringValue("8");
+                }
+                try {
+                    TBase struct = structClass.newInstance();
+                    setAllFields(struct);
+                    return struct;
+                } catch (Exception e) {
+                    throw new IllegalStateException(structClass + " create fail", e);
+                }
+            default:
+                throw new IllegalStateException("unsupported type:" + metaData.type);
+        }
+    }
+
+    private Iterable<? extends TFieldIdEnum> getFields(TBase<?, ?> struct) {
+        return FieldMetaData.getStructMetaDataMap(struct.getClass()).keySet();
+    }
+
+    private byte[] encodeAndCompare(SpanEncoder encoder, TBase<?, ?> message) throws TException {
+        Assert.assertTrue(encoder.isSupport(message));
+        byte[] expected = serializer.serialize(message);
+
+        byte[] buffer = encoder.encode(message);
+        byte[] actual = Arrays.copyOf(buffer, encoder.getEncodedSize());
+
+        Assert.assertArrayEquals(expected, actual);
+        return actual;
+    }
+
+    private List<TSpanEvent> createSpanEventList(int size) {
+        List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>(size);
+        for (int i = 0; i < size; i++) {
+            TSpanEvent spanEvent = new TSpanEvent();
+            if (i % 2 == 0) {
+                spanEvent.setSpanId(i);
+                spanEvent.setRpc("rpc");
+                spanEvent.setEndPoint("endPoint");
+                spanEvent.setNextSpanId(-i);
+                spanEvent.setDestinationId("destination");
+                spanEvent.setExceptionInfo(new TIntStringValue(i));
+            }
+            spanEvent.setSequence((short) i);
+            spanEvent.setStartElapsed(i * 10);
+            spanEvent.setEndElapsed(i);
+            spanEvent.setServiceType((short) 5071);
+            spanEvent.setAnnotations(createAnnotationList());
+            spanEvent.setDepth(i + 1);
+            spanEvent.setApiId(i);
+            spanEventList.add(spanEvent);
+        }
+        return spanEventList;
+    }
+
+    private List<TAnnotation> createAnnotationList() {
+        List<TAnnotation> annotationList = new ArrayList<TAnnotation>();
+        annotationList.add(new TAnnotation(-1));
+        annotationList.add(createAnnotation(TAnnotationValue.stringValue("string")));
+        annotationList.add(createAnnotation(TAnnotationValue.boolValue(true)));
+        annotationList.add(createAnnotation(TAnnotationValue.boolValue(false)));
+        annotationList.add(createAnnotation(TAnnotationValue.intValue(-100)));
+        annotationList.add(createAnnotation(TAnnotationValue.longValue(Long.MAX_VALUE)));
+        annotationList.add(createAnnotation(TAnnotationValue.shortValue(Short.MIN_VALUE)));
+        annotationList.add(createAnnotation(TAnnotationValue.doubleValue(-1.5D)));
+        annotationList.add(createAnnotation(TAnnotationValue.binaryValue(new byte[]{0, 1, 2})));
+        annotationList.add(createAnnotation(TAnnotationValue.byteValue((byte) -1)));
+
+        TIntStringValue intStringValue = new TIntStringValue(1);
+        intStringValue.setStringValue("value");
+        annotationList.add(createAnnotation(TAnnotationValue.intStringValue(intStringValue)));
+
+        TIntStringStringValue intStringStringValue = new TIntStringStringValue(2);
+        intStringStringValue.setStringValue2("value2");
+        annotationList.add(createAnnotation(TAnnotationValue.intStringStringValue(intStringStringValue)));
+        return annotationList;
+    }
+
+    private TAnnotation createAnnotation(TAnnotationValue value) {
+        TAnnotation annotation = new TAnnotation(40);
+        annotation.setValue(value);
+        return annotation;
+    }
+}
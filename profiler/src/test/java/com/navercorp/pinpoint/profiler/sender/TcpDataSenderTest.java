@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import junit.framework.Assert;
 
+import org.apache.thrift.TBase;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -40,6 +41,8 @@ import com.navercorp.pinpoint.rpc.server.PinpointServerAcceptor;
 import com.navercorp.pinpoint.rpc.server.ServerMessageListener;
 import com.navercorp.pinpoint.rpc.server.PinpointServer;
 import com.navercorp.pinpoint.thrift.dto.TApiMetaData;
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 
 /**
  * @author emeroad
@@ -62,7 +65,8 @@ public class TcpDataSenderTest {
             @Override
             public void handleSend(SendPacket sendPacket, PinpointServer pinpointServer) {
                 logger.info("handleSend:{}", sendPacket);
-                if (sendLatch != null) {
+                TBase<?, ?> tBase = SerializationUtils.deserialize(sendPacket.getPayload(), HeaderTBaseDeserializerFactory.DEFAULT_FACTORY, null);
+                if (sendLatch != null && tBase instanceof TApiMetaData) {
                     sendLatch.countDown();
                 }
             }
@@ -46,6 +46,21 @@ public class BindValueConverterTest {
         Assert.assertEquals(setBoolean, Boolean.TRUE.toString());
     }
 
+    @Test
+    public void convertedValue() throws Exception {
+        byte[] bytes = new byte[] {1, 2, 3};
+        Object[] args = new Object[] {1, bytes};
+        Assert.assertTrue(BindValueConverter.isMutableValue(args));
+        String value = BindValueConverter.convert("setBytes", args);
+        bytes[0] = 9;
+        Assert.assertEquals(value, BindValueConverter.convert(BindValueConverter.CONVERTED_VALUE, new Object[] {1, value}));
+
+        Assert.assertTrue(BindValueConverter.isMutableValue(new Object[] {1, new Date()}));
+        Assert.assertTrue(BindValueConverter.isMutableValue(new Object[] {1, new java.sql.Timestamp(0)}));
+        Assert.assertFalse(BindValueConverter.isMutableValue(new Object[] {1, "abc"}));
+        Assert.assertFalse(BindValueConverter.isMutableValue(new Object[] {1}));
+    }
+
     @Test
     public void testBindValueNotSupport() throws Exception {
         // Should not throw even if given arguments are not supported value
@@ -26,6 +26,7 @@ import com.navercorp.pinpoint.rpc.DefaultFuture;
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelContext;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelContext;
@@ -114,6 +115,11 @@ public class PinpointSocket {
         return socketHandler.sendAsync(bytes);
     }
 
+    public Future sendAsync(ChannelBufferSendPacket packet) {
+        ensureOpen();
+        return socketHandler.sendAsync(packet);
+    }
+
     public void send(byte[] bytes) {
         ensureOpen();
         socketHandler.send(bytes);
@@ -42,6 +42,7 @@ import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.client.ConnectFuture.Result;
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
 import com.navercorp.pinpoint.rpc.packet.ClientClosePacket;
 import com.navercorp.pinpoint.rpc.packet.ControlHandshakeResponsePacket;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
@@ -283,6 +284,18 @@ public class PinpointSocketHandler extends SimpleChannelHandler implements Socke
         return future ;
     }
 
+    public Future sendAsync(ChannelBufferSendPacket packet) {
+        if (packet == null) {
+            throw new NullPointerException("packet");
+        }
+
+        ensureOpen();
+        ChannelFuture channelFuture = this.channel.write(packet);
+        final ChannelWriteCompleteListenableFuture future = new ChannelWriteCompleteListenableFuture(timeoutMillis);
+        channelFuture.addListener(future);
+        return future;
+    }
+
     public void sendSync(byte[] bytes) {
         if (bytes == null) {
             throw new NullPointerException("bytes");
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.PinpointSocketException;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.rpc.client.ConnectFuture.Result;
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelContext;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelContext;
@@ -66,6 +67,11 @@ public class ReconnectStateSocketHandler implements SocketHandler {
         return reconnectFailureFuture();
     }
 
+    @Override
+    public Future sendAsync(ChannelBufferSendPacket packet) {
+        return reconnectFailureFuture();
+    }
+
     private DefaultFuture<ResponseMessage> reconnectFailureFuture() {
         DefaultFuture<ResponseMessage> reconnect = new DefaultFuture<ResponseMessage>();
         reconnect.setFailure(newReconnectException());
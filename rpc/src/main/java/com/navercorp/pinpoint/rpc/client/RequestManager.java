@@ -16,15 +16,15 @@
 
 package com.navercorp.pinpoint.rpc.client;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.util.Timeout;
 import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,15 +38,31 @@ import com.navercorp.pinpoint.rpc.packet.ResponsePacket;
 import com.navercorp.pinpoint.rpc.server.PinpointServer;
 
 /**
+ * In-flight requests are kept in a table keyed by the primitive request id.
+ * Timeouts are bucketed in a TimeoutWheel. a single timer task expires a whole bucket and is scheduled only while requests are pending.
+ *
  * @author emeroad
  */
 public class RequestManager {
 
+    private static final long TIMEOUT_TICK_MILLIS = 50;
+    // 25.6 sec per round
+    private static final int TIMEOUT_WHEEL_SIZE = 512;
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
     private final AtomicInteger requestId = new AtomicInteger(1);
 
-    private final ConcurrentMap<Integer, DefaultFuture<ResponseMessage>> requestMap = new ConcurrentHashMap<Integer, DefaultFuture<ResponseMessage>>();
+    private final RequestMap requestMap = new RequestMap();
+    private final TimeoutWheel timeoutWheel = new TimeoutWheel(TIMEOUT_TICK_MILLIS, TIMEOUT_WHEEL_SIZE, System.currentTimeMillis());
+    private final AtomicBoolean expireScheduled = new AtomicBoolean(false);
+    private final TimerTask expireTask = new TimerTask() {
+        @Override
+        public void run(Timeout timeout) throws Exception {
+            expireTimeout();
+        }
+    };
+
     // Have to move Timer into factory?
     private final Timer timer;
     private final long defaultTimeoutMillis;
@@ -80,19 +96,47 @@ public class RequestManager {
     }
 
 
-    private void addTimeoutTask(long timeoutMillis, DefaultFuture future) {
+    private void addTimeoutTask(long timeoutMillis, int requestId, DefaultFuture future) {
         if (future == null) {
             throw new NullPointerException("future");
         }
-        try {
-            Timeout timeout = timer.newTimeout(future, timeoutMillis, TimeUnit.MILLISECONDS);
-            future.setTimeout(timeout);
-        } catch (IllegalStateException e) {
+        timeoutWheel.add(requestId, System.currentTimeMillis() + timeoutMillis);
+        if (!scheduleExpireTask()) {
             // this case is that timer has been shutdown. That maybe just means that socket has been closed.
             future.setFailure(new PinpointSocketException("socket closed")) ;
         }
     }
 
+    private boolean scheduleExpireTask() {
+        if (!expireScheduled.compareAndSet(false, true)) {
+            return true;
+        }
+        try {
+            timer.newTimeout(expireTask, TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (IllegalStateException e) {
+            expireScheduled.set(false);
+            return false;
+        }
+    }
+
+    void expireTimeout() {
+        final int[] expiredIds = timeoutWheel.expire(System.currentTimeMillis());
+        for (int expiredId : expiredIds) {
+            final DefaultFuture<ResponseMessage> future = removeMessageFuture(expiredId);
+            // null if the response has already arrived
+            if (future != null) {
+                future.setFailure(new PinpointSocketException("timeout"));
+            }
+        }
+
+        // clear the flag before checking the wheel. a request added in between schedules the task by itself
+        expireScheduled.set(false);
+        if (timeoutWheel.size() > 0 && !scheduleExpireTask()) {
+            failAll(new PinpointSocketException("socket closed"));
+        }
+    }
+
     private int getNextRequestId() {
         return this.requestId.getAndIncrement();
     }
@@ -146,7 +190,7 @@ public class RequestManager {
 
         final ChannelWriteFailListenableFuture<ResponseMessage> future = new ChannelWriteFailListenableFuture<ResponseMessage>(timeoutMillis);
 
-        final DefaultFuture old = this.requestMap.put(requestId, future);
+        final DefaultFuture<ResponseMessage> old = this.requestMap.put(requestId, future);
         if (old != null) {
             throw new PinpointSocketException("unexpected error. old future exist:" + old + " id:" + requestId);
         }
@@ -155,7 +199,7 @@ public class RequestManager {
         FailureEventHandler removeTable = createFailureEventHandler(requestId);
         future.setFailureEventHandler(removeTable);
 
-        addTimeoutTask(timeoutMillis, future);
+        addTimeoutTask(timeoutMillis, requestId, future);
         return future;
     }
 
@@ -173,17 +217,26 @@ public class RequestManager {
 //                future.setFailure(closed);
 //            }
 //        }
+        final int requestFailCount = failAll(closed);
+        if (requestFailCount > 0) {
+            logger.info("requestManager failCount:{}", requestFailCount);
+        }
+
+    }
+
+    private int failAll(PinpointSocketException cause) {
+        final List<DefaultFuture<ResponseMessage>> futureList = requestMap.removeAll();
         int requestFailCount = 0;
-        for (Map.Entry<Integer, DefaultFuture<ResponseMessage>> entry : requestMap.entrySet()) {
-            if(entry.getValue().setFailure(closed)) {
+        for (DefaultFuture<ResponseMessage> future : futureList) {
+            if (future.setFailure(cause)) {
                 requestFailCount++;
             }
         }
-        this.requestMap.clear();
-        if (requestFailCount > 0) {
-            logger.info("requestManager failCount:{}", requestFailCount);
-        }
+        return requestFailCount;
+    }
 
+    int getRequestCount() {
+        return requestMap.size();
     }
 
 }
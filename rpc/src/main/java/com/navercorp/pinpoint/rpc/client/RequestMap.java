@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+
+/**
+ * In-flight futures keyed by the primitive request id. no Integer boxing and no entry object per request.
+ * Split into segments by the low bits of the id. each segment is an open addressing table with linear probing.
+ * Request ids are sequential, so the ids of a segment land on consecutive slots.
+ * A segment shrinks again when a request storm is over.
+ *
+ * @author emeroad
+ */
+final class RequestMap {
+
+    private static final int SEGMENT_SHIFT = 4;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_COUNT - 1;
+
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+
+    RequestMap() {
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment();
+        }
+    }
+
+    private Segment segmentFor(int requestId) {
+        return segments[requestId & SEGMENT_MASK];
+    }
+
+    /**
+     * @return previous future of the id
+     */
+    DefaultFuture<ResponseMessage> put(int requestId, DefaultFuture<ResponseMessage> future) {
+        if (future == null) {
+            throw new NullPointerException("future must not be null");
+        }
+        return segmentFor(requestId).put(requestId, future);
+    }
+
+    DefaultFuture<ResponseMessage> remove(int requestId) {
+        return segmentFor(requestId).remove(requestId);
+    }
+
+    List<DefaultFuture<ResponseMessage>> removeAll() {
+        final List<DefaultFuture<ResponseMessage>> removed = new ArrayList<DefaultFuture<ResponseMessage>>();
+        for (Segment segment : segments) {
+            segment.removeAll(removed);
+        }
+        return removed;
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static final class Segment {
+
+        private int[] keys = new int[MIN_SEGMENT_CAPACITY];
+        // null means an empty slot
+        private DefaultFuture<ResponseMessage>[] values = newValues(MIN_SEGMENT_CAPACITY);
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private static DefaultFuture<ResponseMessage>[] newValues(int capacity) {
+            return new DefaultFuture[capacity];
+        }
+
+        private static int home(int requestId, int mask) {
+            return (requestId >>> SEGMENT_SHIFT) & mask;
+        }
+
+        synchronized DefaultFuture<ResponseMessage> put(int requestId, DefaultFuture<ResponseMessage> future) {
+            // keep the load factor under 0.5
+            if ((size + 1) << 1 > values.length) {
+                rehash(values.length << 1);
+            }
+            final int mask = values.length - 1;
+            int index = home(requestId, mask);
+            while (values[index] != null) {
+                if (keys[index] == requestId) {
+                    final DefaultFuture<ResponseMessage> old = values[index];
+                    values[index] = future;
+                    return old;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = requestId;
+            values[index] = future;
+            size++;
+            return null;
+        }
+
+        synchronized DefaultFuture<ResponseMessage> remove(int requestId) {
+            final int mask = values.length - 1;
+            int index = home(requestId, mask);
+            while (values[index] != null) {
+                if (keys[index] == requestId) {
+                    final DefaultFuture<ResponseMessage> removed = values[index];
+                    deleteSlot(index, mask);
+                    size--;
+                    if (size << 3 < values.length && values.length > MIN_SEGMENT_CAPACITY) {
+                        rehash(values.length >>> 1);
+                    }
+                    return removed;
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        // backward shift deletion. no tombstones
+        private void deleteSlot(int index, int mask) {
+            values[index] = null;
+            int empty = index;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (values[next] == null) {
+                    return;
+                }
+                final int home = home(keys[next], mask);
+                // stays if its home slot is cyclically in (empty, next]
+                final boolean stay = empty <= next ? (empty < home && home <= next) : (empty < home || home <= next);
+                if (stay) {
+                    continue;
+                }
+                keys[empty] = keys[next];
+                values[empty] = values[next];
+                values[next] = null;
+                empty = next;
+            }
+        }
+
+        private void rehash(int newCapacity) {
+            final int[] oldKeys = this.keys;
+            final DefaultFuture<ResponseMessage>[] oldValues = this.values;
+            final int[] newKeys = new int[newCapacity];
+            final DefaultFuture<ResponseMessage>[] newValues = newValues(newCapacity);
+            final int mask = newCapacity - 1;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] == null) {
+                    continue;
+                }
+                int index = home(oldKeys[i], mask);
+                while (newValues[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newKeys[index] = oldKeys[i];
+                newValues[index] = oldValues[i];
+            }
+            this.keys = newKeys;
+            this.values = newValues;
+        }
+
+        synchronized void removeAll(List<DefaultFuture<ResponseMessage>> removed) {
+            for (DefaultFuture<ResponseMessage> value : values) {
+                if (value != null) {
+                    removed.add(value);
+                }
+            }
+            this.keys = new int[MIN_SEGMENT_CAPACITY];
+            this.values = newValues(MIN_SEGMENT_CAPACITY);
+            this.size = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
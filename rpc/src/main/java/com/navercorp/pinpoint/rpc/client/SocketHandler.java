@@ -20,6 +20,7 @@ import java.net.SocketAddress;
 
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelContext;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelContext;
@@ -42,6 +43,8 @@ public interface SocketHandler {
 
     Future sendAsync(byte[] bytes);
 
+    Future sendAsync(ChannelBufferSendPacket packet);
+
     void close();
 
     void send(byte[] bytes);
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.client;
+
+import java.util.Arrays;
+
+/**
+ * Request ids bucketed by deadline tick. one sweep expires a whole bucket instead of one timer task per request.
+ * A deadline further away than one round of the wheel stays in its bucket until its round comes.
+ * Ids of completed requests are not removed. they are dropped by the sweep of their bucket.
+ *
+ * @author emeroad
+ */
+final class TimeoutWheel {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int INITIAL_BUCKET_SIZE = 8;
+    // bucket arrays grown by a request storm are released once the bucket is empty
+    private static final int MAX_RETAINED_BUCKET_SIZE = 1024;
+
+    private final long tickMillis;
+    private final int mask;
+
+    private final int[][] bucketIds;
+    private final long[][] bucketTicks;
+    private final int[] bucketSizes;
+
+    private long lastTick;
+    private int size;
+
+    TimeoutWheel(long tickMillis, int wheelSize, long now) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive. tickMillis:" + tickMillis);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of 2. wheelSize:" + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.bucketIds = new int[wheelSize][];
+        this.bucketTicks = new long[wheelSize][];
+        this.bucketSizes = new int[wheelSize];
+        this.lastTick = now / tickMillis;
+    }
+
+    synchronized void add(int requestId, long deadline) {
+        long tick = (deadline + tickMillis - 1) / tickMillis;
+        if (tick <= lastTick) {
+            tick = lastTick + 1;
+        }
+        final int bucket = (int) tick & mask;
+        int[] ids = bucketIds[bucket];
+        long[] ticks = bucketTicks[bucket];
+        final int bucketSize = bucketSizes[bucket];
+        if (ids == null) {
+            ids = new int[INITIAL_BUCKET_SIZE];
+            ticks = new long[INITIAL_BUCKET_SIZE];
+            bucketIds[bucket] = ids;
+            bucketTicks[bucket] = ticks;
+        } else if (bucketSize == ids.length) {
+            final int newLength = ids.length << 1;
+            ids = Arrays.copyOf(ids, newLength);
+            ticks = Arrays.copyOf(ticks, newLength);
+            bucketIds[bucket] = ids;
+            bucketTicks[bucket] = ticks;
+        }
+        ids[bucketSize] = requestId;
+        ticks[bucketSize] = tick;
+        bucketSizes[bucket] = bucketSize + 1;
+        size++;
+    }
+
+    /**
+     * @return ids whose deadline passed. completed requests included
+     */
+    synchronized int[] expire(long now) {
+        final long currentTick = now / tickMillis;
+        if (currentTick <= lastTick) {
+            return EMPTY;
+        }
+        // every bucket once at most
+        final long sweepCount = Math.min(currentTick - lastTick, mask + 1);
+        int[] expired = EMPTY;
+        int expiredSize = 0;
+        for (long i = 1; i <= sweepCount; i++) {
+            final int bucket = (int) (lastTick + i) & mask;
+            final int bucketSize = bucketSizes[bucket];
+            if (bucketSize == 0) {
+                continue;
+            }
+            final int[] ids = bucketIds[bucket];
+            final long[] ticks = bucketTicks[bucket];
+            int remain = 0;
+            for (int j = 0; j < bucketSize; j++) {
+                if (ticks[j] <= currentTick) {
+                    if (expiredSize == expired.length) {
+                        expired = Arrays.copyOf(expired, Math.max(INITIAL_BUCKET_SIZE, expiredSize << 1));
+                    }
+                    expired[expiredSize++] = ids[j];
+                } else {
+                    // later round
+                    ids[remain] = ids[j];
+                    ticks[remain] = ticks[j];
+                    remain++;
+                }
+            }
+            bucketSizes[bucket] = remain;
+            size -= bucketSize - remain;
+            if (remain == 0 && ids.length > MAX_RETAINED_BUCKET_SIZE) {
+                bucketIds[bucket] = null;
+                bucketTicks[bucket] = null;
+            }
+        }
+        this.lastTick = currentTick;
+        return expiredSize == expired.length ? expired : Arrays.copyOf(expired, expiredSize);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
+/**
+ * APPLICATION_SEND packet whose payload has already been written into a {@link ChannelBuffer}.
+ * The first {@link #HEADER_SIZE} bytes of the buffer are reserved for the packet header and filled in by {@link #toBuffer()},
+ * so the payload goes to the channel without being copied into a byte[] and wrapped again like {@link SendPacket} does.
+ * The wire format is identical to {@link SendPacket}.
+ *
+ * @author emeroad
+ */
+public class ChannelBufferSendPacket implements Packet {
+
+    public static final int HEADER_SIZE = 2 + 4;
+
+    private final ChannelBuffer buffer;
+
+    public ChannelBufferSendPacket(ChannelBuffer buffer) {
+        if (buffer == null) {
+            throw new NullPointerException("buffer must not be null");
+        }
+        if (buffer.readableBytes() < HEADER_SIZE) {
+            throw new IllegalArgumentException("header space not reserved. readableBytes:" + buffer.readableBytes());
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * create a dynamic buffer with the packet header space already reserved.
+     * payload should be written after the returned writerIndex.
+     */
+    public static ChannelBuffer createBuffer(int estimatedPayloadLength) {
+        if (estimatedPayloadLength < 0) {
+            throw new IllegalArgumentException("negative estimatedPayloadLength:" + estimatedPayloadLength);
+        }
+        final ChannelBuffer buffer = ChannelBuffers.dynamicBuffer(HEADER_SIZE + estimatedPayloadLength);
+        buffer.writerIndex(HEADER_SIZE);
+        return buffer;
+    }
+
+    @Override
+    public short getPacketType() {
+        return PacketType.APPLICATION_SEND;
+    }
+
+    public int getPayloadLength() {
+        return buffer.readableBytes() - HEADER_SIZE;
+    }
+
+    @Override
+    public byte[] getPayload() {
+        final byte[] payload = new byte[getPayloadLength()];
+        buffer.getBytes(buffer.readerIndex() + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    @Override
+    public ChannelBuffer toBuffer() {
+        final int readerIndex = buffer.readerIndex();
+        buffer.setShort(readerIndex, PacketType.APPLICATION_SEND);
+        buffer.setInt(readerIndex + 2, getPayloadLength());
+        return buffer;
+    }
+
+    @Override
+    public String toString() {
+        return "ChannelBufferSendPacket{payloadLength=" + getPayloadLength() + '}';
+    }
+
+}
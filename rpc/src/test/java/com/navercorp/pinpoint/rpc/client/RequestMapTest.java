@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+
+/**
+ * @author emeroad
+ */
+public class RequestMapTest {
+
+    @Test
+    public void putAndRemove() {
+        RequestMap requestMap = new RequestMap();
+        DefaultFuture<ResponseMessage> future = new DefaultFuture<ResponseMessage>();
+
+        Assert.assertNull(requestMap.put(1, future));
+        Assert.assertSame(future, requestMap.put(1, future));
+        Assert.assertEquals(1, requestMap.size());
+
+        Assert.assertNull(requestMap.remove(2));
+        Assert.assertSame(future, requestMap.remove(1));
+        Assert.assertNull(requestMap.remove(1));
+        Assert.assertEquals(0, requestMap.size());
+    }
+
+    @Test
+    public void growAndShrink() {
+        RequestMap requestMap = new RequestMap();
+        Map<Integer, DefaultFuture<ResponseMessage>> expected = new HashMap<Integer, DefaultFuture<ResponseMessage>>();
+        Random random = new Random(0);
+        // negative ids after overflow
+        int requestId = Integer.MAX_VALUE - 5000;
+        for (int i = 0; i < 20000; i++) {
+            if (random.nextInt(3) != 0) {
+                DefaultFuture<ResponseMessage> future = new DefaultFuture<ResponseMessage>();
+                Assert.assertNull(requestMap.put(requestId, future));
+                expected.put(requestId, future);
+                requestId++;
+            } else {
+                int removeId = requestId - random.nextInt(100);
+                Assert.assertSame(expected.remove(removeId), requestMap.remove(removeId));
+            }
+        }
+        Assert.assertEquals(expected.size(), requestMap.size());
+
+        for (Map.Entry<Integer, DefaultFuture<ResponseMessage>> entry : expected.entrySet()) {
+            Assert.assertSame(entry.getValue(), requestMap.remove(entry.getKey()));
+        }
+        Assert.assertEquals(0, requestMap.size());
+    }
+
+    @Test
+    public void removeAll() {
+        RequestMap requestMap = new RequestMap();
+        for (int i = 0; i < 100; i++) {
+            requestMap.put(i, new DefaultFuture<ResponseMessage>());
+        }
+        Assert.assertEquals(100, requestMap.removeAll().size());
+        Assert.assertEquals(0, requestMap.size());
+        Assert.assertNull(requestMap.remove(1));
+    }
+}
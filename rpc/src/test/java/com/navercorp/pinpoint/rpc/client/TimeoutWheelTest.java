@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.client;
+
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class TimeoutWheelTest {
+
+    @Test
+    public void expire() {
+        TimeoutWheel wheel = new TimeoutWheel(10, 8, 1000);
+        wheel.add(1, 1015);
+        wheel.add(2, 1020);
+        wheel.add(3, 1021);
+        Assert.assertEquals(3, wheel.size());
+
+        Assert.assertEquals(0, wheel.expire(1010).length);
+        Assert.assertEquals("[1, 2]", Arrays.toString(wheel.expire(1020)));
+        Assert.assertEquals("[3]", Arrays.toString(wheel.expire(1035)));
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pastDeadline() {
+        TimeoutWheel wheel = new TimeoutWheel(10, 8, 1000);
+        wheel.expire(1050);
+        wheel.add(1, 1000);
+        Assert.assertEquals("[1]", Arrays.toString(wheel.expire(1060)));
+    }
+
+    @Test
+    public void laterRound() {
+        // one round is 80ms
+        TimeoutWheel wheel = new TimeoutWheel(10, 8, 1000);
+        wheel.add(1, 1010);
+        wheel.add(2, 1090);
+        wheel.add(3, 1250);
+
+        Assert.assertEquals("[1]", Arrays.toString(wheel.expire(1010)));
+        Assert.assertEquals(0, wheel.expire(1080).length);
+        Assert.assertEquals("[2]", Arrays.toString(wheel.expire(1090)));
+        Assert.assertEquals(1, wheel.size());
+
+        // skipped more than one round
+        Assert.assertEquals("[3]", Arrays.toString(wheel.expire(2000)));
+        Assert.assertEquals(0, wheel.size());
+    }
+}
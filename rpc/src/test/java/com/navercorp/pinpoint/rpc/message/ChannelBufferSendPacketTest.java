@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.rpc.message;
+
+import com.navercorp.pinpoint.rpc.packet.ChannelBufferSendPacket;
+import com.navercorp.pinpoint.rpc.packet.SendPacket;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author emeroad
+ */
+public class ChannelBufferSendPacketTest {
+    @Test
+    public void testToBuffer() throws Exception {
+        byte[] bytes = new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        ChannelBuffer buffer = ChannelBufferSendPacket.createBuffer(4);
+        buffer.writeBytes(bytes);
+        ChannelBufferSendPacket packetSend = new ChannelBufferSendPacket(buffer);
+        Assert.assertEquals(bytes.length, packetSend.getPayloadLength());
+        Assert.assertArrayEquals(bytes, packetSend.getPayload());
+
+        ChannelBuffer channelBuffer = packetSend.toBuffer();
+
+        short packetType = channelBuffer.readShort();
+        SendPacket packet = (SendPacket) SendPacket.readBuffer(packetType, channelBuffer);
+        Assert.assertArrayEquals(bytes, packet.getPayload());
+    }
+
+    @Test
+    public void sameWireFormat() throws Exception {
+        byte[] bytes = new byte[] {1, 2, 3};
+        ChannelBuffer buffer = ChannelBufferSendPacket.createBuffer(bytes.length);
+        buffer.writeBytes(bytes);
+
+        ChannelBuffer expected = new SendPacket(bytes).toBuffer();
+        ChannelBuffer actual = new ChannelBufferSendPacket(buffer).toBuffer();
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void headerNotReserved() throws Exception {
+        new ChannelBufferSendPacket(ChannelBuffers.buffer(2));
+    }
+}
@@ -155,6 +155,11 @@ public class MockTraceContext implements TraceContext {
 
     }
 
+    @Override
+    public void recordRpcResponseTime(ServiceType serviceType, String destinationId, String endPoint, int elapsedTime) {
+
+    }
+
     @Override
     public ServerMetaDataHolder getServerMetaDataHolder() {
         return null;
@@ -40,6 +40,11 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final org.apache.thrift.protocol.TField TIMESTAMP_FIELD_DESC = new org.apache.thrift.protocol.TField("timestamp", org.apache.thrift.protocol.TType.I64, (short)3);
   private static final org.apache.thrift.protocol.TField GC_FIELD_DESC = new org.apache.thrift.protocol.TField("gc", org.apache.thrift.protocol.TType.STRUCT, (short)10);
   private static final org.apache.thrift.protocol.TField CPU_LOAD_FIELD_DESC = new org.apache.thrift.protocol.TField("cpuLoad", org.apache.thrift.protocol.TType.STRUCT, (short)20);
+  private static final org.apache.thrift.protocol.TField SAMPLING_FIELD_DESC = new org.apache.thrift.protocol.TField("sampling", org.apache.thrift.protocol.TType.STRUCT, (short)30);
+  private static final org.apache.thrift.protocol.TField ALLOCATION_FIELD_DESC = new org.apache.thrift.protocol.TField("allocation", org.apache.thrift.protocol.TType.STRUCT, (short)40);
+  private static final org.apache.thrift.protocol.TField SPAN_QUEUE_FIELD_DESC = new org.apache.thrift.protocol.TField("spanQueue", org.apache.thrift.protocol.TType.STRUCT, (short)50);
+  private static final org.apache.thrift.protocol.TField STAT_QUEUE_FIELD_DESC = new org.apache.thrift.protocol.TField("statQueue", org.apache.thrift.protocol.TType.STRUCT, (short)51);
+  private static final org.apache.thrift.protocol.TField SQL_CACHE_FIELD_DESC = new org.apache.thrift.protocol.TField("sqlCache", org.apache.thrift.protocol.TType.STRUCT, (short)60);
   private static final org.apache.thrift.protocol.TField METADATA_FIELD_DESC = new org.apache.thrift.protocol.TField("metadata", org.apache.thrift.protocol.TType.STRING, (short)200);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
@@ -53,6 +58,11 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private long timestamp; // optional
   private TJvmGc gc; // optional
   private TCpuLoad cpuLoad; // optional
+  private TSampling sampling; // optional
+  private TAllocation allocation; // optional
+  private TSenderQueue spanQueue; // optional
+  private TSenderQueue statQueue; // optional
+  private TSqlCache sqlCache; // optional
   private String metadata; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
@@ -62,6 +72,11 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     TIMESTAMP((short)3, "timestamp"),
     GC((short)10, "gc"),
     CPU_LOAD((short)20, "cpuLoad"),
+    SAMPLING((short)30, "sampling"),
+    ALLOCATION((short)40, "allocation"),
+    SPAN_QUEUE((short)50, "spanQueue"),
+    STAT_QUEUE((short)51, "statQueue"),
+    SQL_CACHE((short)60, "sqlCache"),
     METADATA((short)200, "metadata");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
@@ -87,6 +102,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           return GC;
         case 20: // CPU_LOAD
           return CPU_LOAD;
+        case 30: // SAMPLING
+          return SAMPLING;
+        case 40: // ALLOCATION
+          return ALLOCATION;
+        case 50: // SPAN_QUEUE
+          return SPAN_QUEUE;
+        case 51: // STAT_QUEUE
+          return STAT_QUEUE;
+        case 60: // SQL_CACHE
+          return SQL_CACHE;
         case 200: // METADATA
           return METADATA;
         default:
@@ -132,7 +157,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
   private static final int __STARTTIMESTAMP_ISSET_ID = 0;
   private static final int __TIMESTAMP_ISSET_ID = 1;
   private byte __isset_bitfield = 0;
-  private _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.GC,_Fields.CPU_LOAD,_Fields.METADATA};
+  private _Fields optionals[] = {_Fields.AGENT_ID,_Fields.START_TIMESTAMP,_Fields.TIMESTAMP,_Fields.GC,_Fields.CPU_LOAD,_Fields.SAMPLING,_Fields.ALLOCATION,_Fields.SPAN_QUEUE,_Fields.STAT_QUEUE,_Fields.SQL_CACHE,_Fields.METADATA};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -146,6 +171,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TJvmGc.class)));
     tmpMap.put(_Fields.CPU_LOAD, new org.apache.thrift.meta_data.FieldMetaData("cpuLoad", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TCpuLoad.class)));
+    tmpMap.put(_Fields.SAMPLING, new org.apache.thrift.meta_data.FieldMetaData("sampling", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSampling.class)));
+    tmpMap.put(_Fields.ALLOCATION, new org.apache.thrift.meta_data.FieldMetaData("allocation", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TAllocation.class)));
+    tmpMap.put(_Fields.SPAN_QUEUE, new org.apache.thrift.meta_data.FieldMetaData("spanQueue", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSenderQueue.class)));
+    tmpMap.put(_Fields.STAT_QUEUE, new org.apache.thrift.meta_data.FieldMetaData("statQueue", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSenderQueue.class)));
+    tmpMap.put(_Fields.SQL_CACHE, new org.apache.thrift.meta_data.FieldMetaData("sqlCache", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, TSqlCache.class)));
     tmpMap.put(_Fields.METADATA, new org.apache.thrift.meta_data.FieldMetaData("metadata", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
@@ -171,6 +206,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (other.isSetCpuLoad()) {
       this.cpuLoad = new TCpuLoad(other.cpuLoad);
     }
+    if (other.isSetSampling()) {
+      this.sampling = new TSampling(other.sampling);
+    }
+    if (other.isSetAllocation()) {
+      this.allocation = new TAllocation(other.allocation);
+    }
+    if (other.isSetSpanQueue()) {
+      this.spanQueue = new TSenderQueue(other.spanQueue);
+    }
+    if (other.isSetStatQueue()) {
+      this.statQueue = new TSenderQueue(other.statQueue);
+    }
+    if (other.isSetSqlCache()) {
+      this.sqlCache = new TSqlCache(other.sqlCache);
+    }
     if (other.isSetMetadata()) {
       this.metadata = other.metadata;
     }
@@ -189,6 +239,11 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     this.timestamp = 0;
     this.gc = null;
     this.cpuLoad = null;
+    this.sampling = null;
+    this.allocation = null;
+    this.spanQueue = null;
+    this.statQueue = null;
+    this.sqlCache = null;
     this.metadata = null;
   }
 
@@ -305,6 +360,121 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     }
   }
 
+  public TSampling getSampling() {
+    return this.sampling;
+  }
+
+  public void setSampling(TSampling sampling) {
+    this.sampling = sampling;
+  }
+
+  public void unsetSampling() {
+    this.sampling = null;
+  }
+
+  /** Returns true if field sampling is set (has been assigned a value) and false otherwise */
+  public boolean isSetSampling() {
+    return this.sampling != null;
+  }
+
+  public void setSamplingIsSet(boolean value) {
+    if (!value) {
+      this.sampling = null;
+    }
+  }
+
+  public TAllocation getAllocation() {
+    return this.allocation;
+  }
+
+  public void setAllocation(TAllocation allocation) {
+    this.allocation = allocation;
+  }
+
+  public void unsetAllocation() {
+    this.allocation = null;
+  }
+
+  /** Returns true if field allocation is set (has been assigned a value) and false otherwise */
+  public boolean isSetAllocation() {
+    return this.allocation != null;
+  }
+
+  public void setAllocationIsSet(boolean value) {
+    if (!value) {
+      this.allocation = null;
+    }
+  }
+
+  public TSenderQueue getSpanQueue() {
+    return this.spanQueue;
+  }
+
+  public void setSpanQueue(TSenderQueue spanQueue) {
+    this.spanQueue = spanQueue;
+  }
+
+  public void unsetSpanQueue() {
+    this.spanQueue = null;
+  }
+
+  /** Returns true if field spanQueue is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpanQueue() {
+    return this.spanQueue != null;
+  }
+
+  public void setSpanQueueIsSet(boolean value) {
+    if (!value) {
+      this.spanQueue = null;
+    }
+  }
+
+  public TSenderQueue getStatQueue() {
+    return this.statQueue;
+  }
+
+  public void setStatQueue(TSenderQueue statQueue) {
+    this.statQueue = statQueue;
+  }
+
+  public void unsetStatQueue() {
+    this.statQueue = null;
+  }
+
+  /** Returns true if field statQueue is set (has been assigned a value) and false otherwise */
+  public boolean isSetStatQueue() {
+    return this.statQueue != null;
+  }
+
+  public void setStatQueueIsSet(boolean value) {
+    if (!value) {
+      this.statQueue = null;
+    }
+  }
+
+  public TSqlCache getSqlCache() {
+    return this.sqlCache;
+  }
+
+  public void setSqlCache(TSqlCache sqlCache) {
+    this.sqlCache = sqlCache;
+  }
+
+  public void unsetSqlCache() {
+    this.sqlCache = null;
+  }
+
+  /** Returns true if field sqlCache is set (has been assigned a value) and false otherwise */
+  public boolean isSetSqlCache() {
+    return this.sqlCache != null;
+  }
+
+  public void setSqlCacheIsSet(boolean value) {
+    if (!value) {
+      this.sqlCache = null;
+    }
+  }
+
   public String getMetadata() {
     return this.metadata;
   }
@@ -370,6 +540,46 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       break;
 
+    case SAMPLING:
+      if (value == null) {
+        unsetSampling();
+      } else {
+        setSampling((TSampling)value);
+      }
+      break;
+
+    case ALLOCATION:
+      if (value == null) {
+        unsetAllocation();
+      } else {
+        setAllocation((TAllocation)value);
+      }
+      break;
+
+    case SPAN_QUEUE:
+      if (value == null) {
+        unsetSpanQueue();
+      } else {
+        setSpanQueue((TSenderQueue)value);
+      }
+      break;
+
+    case STAT_QUEUE:
+      if (value == null) {
+        unsetStatQueue();
+      } else {
+        setStatQueue((TSenderQueue)value);
+      }
+      break;
+
+    case SQL_CACHE:
+      if (value == null) {
+        unsetSqlCache();
+      } else {
+        setSqlCache((TSqlCache)value);
+      }
+      break;
+
     case METADATA:
       if (value == null) {
         unsetMetadata();
@@ -398,6 +608,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     case CPU_LOAD:
       return getCpuLoad();
 
+    case SAMPLING:
+      return getSampling();
+
+    case ALLOCATION:
+      return getAllocation();
+
+    case SPAN_QUEUE:
+      return getSpanQueue();
+
+    case STAT_QUEUE:
+      return getStatQueue();
+
+    case SQL_CACHE:
+      return getSqlCache();
+
     case METADATA:
       return getMetadata();
 
@@ -422,6 +647,16 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       return isSetGc();
     case CPU_LOAD:
       return isSetCpuLoad();
+    case SAMPLING:
+      return isSetSampling();
+    case ALLOCATION:
+      return isSetAllocation();
+    case SPAN_QUEUE:
+      return isSetSpanQueue();
+    case STAT_QUEUE:
+      return isSetStatQueue();
+    case SQL_CACHE:
+      return isSetSqlCache();
     case METADATA:
       return isSetMetadata();
     }
@@ -486,6 +721,51 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return false;
     }
 
+    boolean this_present_sampling = true && this.isSetSampling();
+    boolean that_present_sampling = true && that.isSetSampling();
+    if (this_present_sampling || that_present_sampling) {
+      if (!(this_present_sampling && that_present_sampling))
+        return false;
+      if (!this.sampling.equals(that.sampling))
+        return false;
+    }
+
+    boolean this_present_allocation = true && this.isSetAllocation();
+    boolean that_present_allocation = true && that.isSetAllocation();
+    if (this_present_allocation || that_present_allocation) {
+      if (!(this_present_allocation && that_present_allocation))
+        return false;
+      if (!this.allocation.equals(that.allocation))
+        return false;
+    }
+
+    boolean this_present_spanQueue = true && this.isSetSpanQueue();
+    boolean that_present_spanQueue = true && that.isSetSpanQueue();
+    if (this_present_spanQueue || that_present_spanQueue) {
+      if (!(this_present_spanQueue && that_present_spanQueue))
+        return false;
+      if (!this.spanQueue.equals(that.spanQueue))
+        return false;
+    }
+
+    boolean this_present_statQueue = true && this.isSetStatQueue();
+    boolean that_present_statQueue = true && that.isSetStatQueue();
+    if (this_present_statQueue || that_present_statQueue) {
+      if (!(this_present_statQueue && that_present_statQueue))
+        return false;
+      if (!this.statQueue.equals(that.statQueue))
+        return false;
+    }
+
+    boolean this_present_sqlCache = true && this.isSetSqlCache();
+    boolean that_present_sqlCache = true && that.isSetSqlCache();
+    if (this_present_sqlCache || that_present_sqlCache) {
+      if (!(this_present_sqlCache && that_present_sqlCache))
+        return false;
+      if (!this.sqlCache.equals(that.sqlCache))
+        return false;
+    }
+
     boolean this_present_metadata = true && this.isSetMetadata();
     boolean that_present_metadata = true && that.isSetMetadata();
     if (this_present_metadata || that_present_metadata) {
@@ -561,6 +841,56 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetSampling()).compareTo(other.isSetSampling());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSampling()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.sampling, other.sampling);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetAllocation()).compareTo(other.isSetAllocation());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetAllocation()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.allocation, other.allocation);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSpanQueue()).compareTo(other.isSetSpanQueue());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpanQueue()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spanQueue, other.spanQueue);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetStatQueue()).compareTo(other.isSetStatQueue());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetStatQueue()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.statQueue, other.statQueue);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
+    lastComparison = Boolean.valueOf(isSetSqlCache()).compareTo(other.isSetSqlCache());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSqlCache()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.sqlCache, other.sqlCache);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     lastComparison = Boolean.valueOf(isSetMetadata()).compareTo(other.isSetMetadata());
     if (lastComparison != 0) {
       return lastComparison;
@@ -632,6 +962,56 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       }
       first = false;
     }
+    if (isSetSampling()) {
+      if (!first) sb.append(", ");
+      sb.append("sampling:");
+      if (this.sampling == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.sampling);
+      }
+      first = false;
+    }
+    if (isSetAllocation()) {
+      if (!first) sb.append(", ");
+      sb.append("allocation:");
+      if (this.allocation == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.allocation);
+      }
+      first = false;
+    }
+    if (isSetSpanQueue()) {
+      if (!first) sb.append(", ");
+      sb.append("spanQueue:");
+      if (this.spanQueue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.spanQueue);
+      }
+      first = false;
+    }
+    if (isSetStatQueue()) {
+      if (!first) sb.append(", ");
+      sb.append("statQueue:");
+      if (this.statQueue == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.statQueue);
+      }
+      first = false;
+    }
+    if (isSetSqlCache()) {
+      if (!first) sb.append(", ");
+      sb.append("sqlCache:");
+      if (this.sqlCache == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.sqlCache);
+      }
+      first = false;
+    }
     if (isSetMetadata()) {
       if (!first) sb.append(", ");
       sb.append("metadata:");
@@ -655,6 +1035,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     if (cpuLoad != null) {
       cpuLoad.validate();
     }
+    if (sampling != null) {
+      sampling.validate();
+    }
+    if (allocation != null) {
+      allocation.validate();
+    }
+    if (spanQueue != null) {
+      spanQueue.validate();
+    }
+    if (statQueue != null) {
+      statQueue.validate();
+    }
+    if (sqlCache != null) {
+      sqlCache.validate();
+    }
   }
 
   private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
@@ -735,6 +1130,51 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 30: // SAMPLING
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.sampling = new TSampling();
+              struct.sampling.read(iprot);
+              struct.setSamplingIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 40: // ALLOCATION
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.allocation = new TAllocation();
+              struct.allocation.read(iprot);
+              struct.setAllocationIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 50: // SPAN_QUEUE
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.spanQueue = new TSenderQueue();
+              struct.spanQueue.read(iprot);
+              struct.setSpanQueueIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 51: // STAT_QUEUE
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.statQueue = new TSenderQueue();
+              struct.statQueue.read(iprot);
+              struct.setStatQueueIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
+          case 60: // SQL_CACHE
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+              struct.sqlCache = new TSqlCache();
+              struct.sqlCache.read(iprot);
+              struct.setSqlCacheIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           case 200: // METADATA
             if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
               struct.metadata = iprot.readString();
@@ -787,6 +1227,41 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
           oprot.writeFieldEnd();
         }
       }
+      if (struct.sampling != null) {
+        if (struct.isSetSampling()) {
+          oprot.writeFieldBegin(SAMPLING_FIELD_DESC);
+          struct.sampling.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.allocation != null) {
+        if (struct.isSetAllocation()) {
+          oprot.writeFieldBegin(ALLOCATION_FIELD_DESC);
+          struct.allocation.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.spanQueue != null) {
+        if (struct.isSetSpanQueue()) {
+          oprot.writeFieldBegin(SPAN_QUEUE_FIELD_DESC);
+          struct.spanQueue.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.statQueue != null) {
+        if (struct.isSetStatQueue()) {
+          oprot.writeFieldBegin(STAT_QUEUE_FIELD_DESC);
+          struct.statQueue.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
+      if (struct.sqlCache != null) {
+        if (struct.isSetSqlCache()) {
+          oprot.writeFieldBegin(SQL_CACHE_FIELD_DESC);
+          struct.sqlCache.write(oprot);
+          oprot.writeFieldEnd();
+        }
+      }
       if (struct.metadata != null) {
         if (struct.isSetMetadata()) {
           oprot.writeFieldBegin(METADATA_FIELD_DESC);
@@ -827,10 +1302,25 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetCpuLoad()) {
         optionals.set(4);
       }
-      if (struct.isSetMetadata()) {
+      if (struct.isSetSampling()) {
         optionals.set(5);
       }
-      oprot.writeBitSet(optionals, 6);
+      if (struct.isSetAllocation()) {
+        optionals.set(6);
+      }
+      if (struct.isSetSpanQueue()) {
+        optionals.set(7);
+      }
+      if (struct.isSetStatQueue()) {
+        optionals.set(8);
+      }
+      if (struct.isSetSqlCache()) {
+        optionals.set(9);
+      }
+      if (struct.isSetMetadata()) {
+        optionals.set(10);
+      }
+      oprot.writeBitSet(optionals, 11);
       if (struct.isSetAgentId()) {
         oprot.writeString(struct.agentId);
       }
@@ -846,6 +1336,21 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
       if (struct.isSetCpuLoad()) {
         struct.cpuLoad.write(oprot);
       }
+      if (struct.isSetSampling()) {
+        struct.sampling.write(oprot);
+      }
+      if (struct.isSetAllocation()) {
+        struct.allocation.write(oprot);
+      }
+      if (struct.isSetSpanQueue()) {
+        struct.spanQueue.write(oprot);
+      }
+      if (struct.isSetStatQueue()) {
+        struct.statQueue.write(oprot);
+      }
+      if (struct.isSetSqlCache()) {
+        struct.sqlCache.write(oprot);
+      }
       if (struct.isSetMetadata()) {
         oprot.writeString(struct.metadata);
       }
@@ -854,7 +1359,7 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, TAgentStat struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(6);
+      BitSet incoming = iprot.readBitSet(11);
       if (incoming.get(0)) {
         struct.agentId = iprot.readString();
         struct.setAgentIdIsSet(true);
@@ -878,6 +1383,31 @@ public class TAgentStat implements org.apache.thrift.TBase<TAgentStat, TAgentSta
         struct.setCpuLoadIsSet(true);
       }
       if (incoming.get(5)) {
+        struct.sampling = new TSampling();
+        struct.sampling.read(iprot);
+        struct.setSamplingIsSet(true);
+      }
+      if (incoming.get(6)) {
+        struct.allocation = new TAllocation();
+        struct.allocation.read(iprot);
+        struct.setAllocationIsSet(true);
+      }
+      if (incoming.get(7)) {
+        struct.spanQueue = new TSenderQueue();
+        struct.spanQueue.read(iprot);
+        struct.setSpanQueueIsSet(true);
+      }
+      if (incoming.get(8)) {
+        struct.statQueue = new TSenderQueue();
+        struct.statQueue.read(iprot);
+        struct.setStatQueueIsSet(true);
+      }
+      if (incoming.get(9)) {
+        struct.sqlCache = new TSqlCache();
+        struct.sqlCache.read(iprot);
+        struct.setSqlCacheIsSet(true);
+      }
+      if (incoming.get(10)) {
         struct.metadata = iprot.readString();
         struct.setMetadataIsSet(true);
       }
@@ -58,10 +58,8 @@ public class ChunkHeaderTBaseDeserializer {
                     list.add(base);
                 }
             } else {
-                TBase<?, ?> base = deserialize();
-                if (base != null) {
-                    list.add(base);
-                }
+                // not chunked. the header is already consumed
+                list.add(deserialize(header));
             }
 
         } finally {
@@ -77,7 +75,10 @@ public class ChunkHeaderTBaseDeserializer {
         if (header == null) {
             return null;
         }
+        return deserialize(header);
+    }
 
+    private TBase<?, ?> deserialize(Header header) throws TException {
         final int validate = validate(header);
         if (validate == HeaderUtils.PASS_L4) {
             return new L4Packet(header);
@@ -52,12 +52,41 @@ struct TCpuLoad {
     2: optional double       systemCpuLoad
 }
 
+struct TSampling {
+    1: optional i64         totalCount
+    2: optional i64         sampledCount
+    3: optional i64         retainedCount
+}
+
+struct TAllocation {
+    1: optional i64         traceCount
+    2: optional i64         allocatedCount
+    3: optional i64         recycledCount
+}
+
+struct TSenderQueue {
+    1: optional i64         droppedCount
+    2: optional i32         queueSize
+    3: optional i32         peakQueueSize
+}
+
+struct TSqlCache {
+    1: optional i64         hitCount
+    2: optional i64         missCount
+    3: optional i32         size
+}
+
 struct TAgentStat {
     1: optional string      agentId
     2: optional i64         startTimestamp
     3: optional i64         timestamp
     10: optional TJvmGc     gc
     20: optional TCpuLoad   cpuLoad
+    30: optional TSampling  sampling
+    40: optional TAllocation allocation
+    50: optional TSenderQueue spanQueue
+    51: optional TSenderQueue statQueue
+    60: optional TSqlCache  sqlCache
     200: optional string    metadata    
 }
 
@@ -66,3 +95,27 @@ struct TAgentStatBatch {
     2: i64                      startTimestamp
     10: list<TAgentStat>        agentStats
 }
+
+struct TResponseHistogram {
+    1: optional string      name
+    2: optional string      host
+    3: i16                  serviceType
+    4: i64                  fastCount
+    5: i64                  normalCount
+    6: i64                  slowCount
+    7: i64                  verySlowCount
+    8: i64                  errorCount
+}
+
+// response histograms aggregated by the agent. counts since the previous message
+struct TAgentResponseStat {
+    1: string                               agentId
+    2: string                               applicationName
+    3: i16                                  serviceType
+    4: i64                                  startTimestamp
+    5: i64                                  timestamp
+    10: optional TResponseHistogram         response
+    11: optional TResponseHistogram         userAccept
+    12: optional list<TResponseHistogram>   accept
+    13: optional list<TResponseHistogram>   rpc
+}
@@ -95,6 +95,9 @@ struct TSpan {
 
   25: optional i32 apiId;
   26: optional TIntStringValue exceptionInfo;
+
+  // true if the agent sends the map statistics of this span in TAgentResponseStat
+  27: optional bool statisticsReported
 }
 
 struct TSpanChunk {
@@ -115,6 +118,9 @@ struct TSpanChunk {
   9: optional string endPoint
 
   10: list<TSpanEvent> spanEventList
+
+  // true if the agent sends the map statistics of these span events in TAgentResponseStat
+  11: optional bool statisticsReported
 }
 
 
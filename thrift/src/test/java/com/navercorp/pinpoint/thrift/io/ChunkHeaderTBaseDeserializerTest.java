@@ -25,6 +25,7 @@ import org.apache.thrift.protocol.TCompactProtocol;
 import org.apache.thrift.protocol.TProtocolFactory;
 import org.junit.Test;
 
+import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
@@ -50,4 +51,18 @@ public class ChunkHeaderTBaseDeserializerTest {
         TSpanChunk result = (TSpanChunk) list.get(0);
         assertEquals(3, result.getSpanEventList().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deserializeNotChunked() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, 1024, DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR).createSerializer();
+        TAgentInfo agentInfo = new TAgentInfo();
+        agentInfo.setAgentId("agentId");
+        byte[] bytes = serializer.serialize(agentInfo);
+
+        List<TBase<?, ?>> list = deserializer.deserialize(bytes, 0, serializer.getInterBufferSize());
+        assertEquals(1, list.size());
+        assertEquals(agentInfo, list.get(0));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.alarm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * latency of each alarm cycle.
+ * warns when a cycle takes longer than the schedule interval.
+ * the cycle time, the overruns, the collect time and the size of the last cycle are registered in the MetricRegistry.
+ *
+ * @author minwoo.jung
+ */
+public class AlarmCycleListener implements JobExecutionListener {
+
+    public static final long DEFAULT_CYCLE_INTERVAL = 120000;
+
+    public static final String METRIC_PREFIX = "alarm.cycle";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private long cycleInterval = DEFAULT_CYCLE_INTERVAL;
+
+    private final Timer cycleTimer;
+    private final Counter overrunCounter;
+    // the slowest partition collect of each cycle
+    private final Histogram collectElapsedHistogram;
+
+    private volatile long lastCycleElapsed;
+    private volatile long maxCycleElapsed;
+    private volatile int lastPartitionCount;
+    private volatile int lastApplicationCount;
+    private volatile int lastCheckerCount;
+
+    public AlarmCycleListener() {
+        this(new MetricRegistry());
+    }
+
+    public AlarmCycleListener(MetricRegistry metricRegistry) {
+        if (metricRegistry == null) {
+            throw new NullPointerException("metricRegistry must not be null");
+        }
+        this.cycleTimer = metricRegistry.timer(MetricRegistry.name(METRIC_PREFIX, "elapsed"));
+        this.overrunCounter = metricRegistry.counter(MetricRegistry.name(METRIC_PREFIX, "overrun"));
+        this.collectElapsedHistogram = metricRegistry.histogram(MetricRegistry.name(METRIC_PREFIX, "collectElapsed"));
+        metricRegistry.register(MetricRegistry.name(METRIC_PREFIX, "lastElapsed"), new Gauge<Long>() {
+            @Override
+            public Long getValue() {
+                return lastCycleElapsed;
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(METRIC_PREFIX, "partition"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return lastPartitionCount;
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(METRIC_PREFIX, "application"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return lastApplicationCount;
+            }
+        });
+        metricRegistry.register(MetricRegistry.name(METRIC_PREFIX, "checker"), new Gauge<Integer>() {
+            @Override
+            public Integer getValue() {
+                return lastCheckerCount;
+            }
+        });
+    }
+
+    public void setCycleInterval(long cycleInterval) {
+        this.cycleInterval = cycleInterval;
+    }
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+    }
+
+    @Override
+    public void afterJob(JobExecution jobExecution) {
+        if (jobExecution.getStartTime() == null) {
+            return;
+        }
+        final long elapsed = System.currentTimeMillis() - jobExecution.getStartTime().getTime();
+
+        int partitionCount = 0;
+        int applicationCount = 0;
+        int checkerCount = 0;
+        long maxCollectElapsed = 0;
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            final ExecutionContext executionContext = stepExecution.getExecutionContext();
+            if (!executionContext.containsKey(AlarmReader.CHECKER_COUNT)) {
+                // partition step
+                continue;
+            }
+            partitionCount++;
+            applicationCount += executionContext.getInt(AlarmReader.APPLICATION_COUNT, 0);
+            checkerCount += executionContext.getInt(AlarmReader.CHECKER_COUNT, 0);
+            maxCollectElapsed = Math.max(maxCollectElapsed, executionContext.getLong(AlarmReader.COLLECT_ELAPSED, 0));
+        }
+
+        cycleTimer.update(elapsed, TimeUnit.MILLISECONDS);
+        collectElapsedHistogram.update(maxCollectElapsed);
+        lastCycleElapsed = elapsed;
+        if (elapsed > maxCycleElapsed) {
+            maxCycleElapsed = elapsed;
+        }
+        lastPartitionCount = partitionCount;
+        lastApplicationCount = applicationCount;
+        lastCheckerCount = checkerCount;
+
+        logger.info("{} cycle elapsed:{}ms partition:{} application:{} checker:{} maxCollectElapsed:{}ms", jobExecution.getJobInstance().getJobName(),
+                elapsed, partitionCount, applicationCount, checkerCount, maxCollectElapsed);
+        if (elapsed > cycleInterval) {
+            overrunCounter.inc();
+            logger.warn("{} cycle overrun. elapsed:{}ms interval:{}ms", jobExecution.getJobInstance().getJobName(), elapsed, cycleInterval);
+        }
+    }
+
+    public long getCycleCount() {
+        return cycleTimer.getCount();
+    }
+
+    public long getOverrunCount() {
+        return overrunCounter.getCount();
+    }
+
+    public long getLastCycleElapsed() {
+        return lastCycleElapsed;
+    }
+
+    public long getMaxCycleElapsed() {
+        return maxCycleElapsed;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Slf4jReporter;
+
+/**
+ * reports the alarm batch metrics to the log and JMX.
+ *
+ * @author minwoo.jung
+ */
+public class AlarmMetric {
+
+    public static final String REPORTER_LOGGER_NAME = "com.navercorp.pinpoint.web.alarm.StateReport";
+    public static final String JMX_DOMAIN = "pinpoint.alarm";
+
+    private final Logger reporterLogger = LoggerFactory.getLogger(REPORTER_LOGGER_NAME);
+
+    private final MetricRegistry metricRegistry;
+
+    private ScheduledReporter reporter;
+    private JmxReporter jmxReporter;
+
+    public AlarmMetric(MetricRegistry metricRegistry) {
+        if (metricRegistry == null) {
+            throw new NullPointerException("metricRegistry must not be null");
+        }
+        this.metricRegistry = metricRegistry;
+    }
+
+    public void start() {
+        Slf4jReporter.Builder builder = Slf4jReporter.forRegistry(metricRegistry);
+        builder.convertRatesTo(TimeUnit.SECONDS);
+        builder.convertDurationsTo(TimeUnit.MILLISECONDS);
+        builder.outputTo(reporterLogger);
+        reporter = builder.build();
+        reporter.start(60, TimeUnit.SECONDS); // print every 1 min.
+
+        jmxReporter = JmxReporter.forRegistry(metricRegistry)
+                .inDomain(JMX_DOMAIN)
+                .convertDurationsTo(TimeUnit.MILLISECONDS)
+                .build();
+        jmxReporter.start();
+    }
+
+    public void stop() {
+        if (reporter != null) {
+            reporter.stop();
+            reporter = null;
+        }
+        if (jmxReporter != null) {
+            jmxReporter.stop();
+            jmxReporter = null;
+        }
+    }
+}
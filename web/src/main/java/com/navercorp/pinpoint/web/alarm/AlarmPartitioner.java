@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.alarm;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,16 +31,31 @@ import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
 import com.navercorp.pinpoint.web.vo.Application;
 
 /**
+ * groups applications into partitions of about agentCountPerPartition agents.
+ * the applications and their agent counts are read in one scan of the application index.
+ * the application list and the time slot of the cycle are handed to the readers, so the index is scanned once per cycle
+ * and every partition looks at the same time window.
+ *
  * @author minwoo.jung
  */
 public class AlarmPartitioner implements Partitioner {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    /**
+     * only used for execution contexts without APPLICATION_NAME_LIST (restart of a job created by an older version)
+     */
     public static final int APP_COUNT = 5;
     public static final String PARTITION_NUMBER = "partition_number";
+    public static final String APPLICATION_NAME_LIST = "application_name_list";
+    public static final String APPLICATION_SERVICE_TYPE_LIST = "application_service_type_list";
+    public static final String TIME_SLOT_END_TIME = "time_slot_end_time";
+
+    public static final int DEFAULT_AGENT_COUNT_PER_PARTITION = 50;
 
     @Autowired
     private ApplicationIndexDao applicationIndexDao;
 
+    private int agentCountPerPartition = DEFAULT_AGENT_COUNT_PER_PARTITION;
+
     public AlarmPartitioner() {
     }
 
@@ -47,29 +63,64 @@ public class AlarmPartitioner implements Partitioner {
         this.applicationIndexDao = applicationIndexDao;
     }
 
+    public void setAgentCountPerPartition(int agentCountPerPartition) {
+        if (agentCountPerPartition <= 0) {
+            throw new IllegalArgumentException("agentCountPerPartition must be positive:" + agentCountPerPartition);
+        }
+        this.agentCountPerPartition = agentCountPerPartition;
+    }
+
     @Override
     public Map<String, ExecutionContext> partition(int gridSize) {
-        int partitionCount = calculateGroupCount();
+        final long timeSlotEndTime = System.currentTimeMillis();
+        final List<List<Application>> partitionList = calculatePartition();
         Map<String, ExecutionContext> mapContext = new HashMap<String, ExecutionContext>();
 
-        for (int i = 1; i <= partitionCount; i++) {
+        for (int i = 1; i <= partitionList.size(); i++) {
+            final List<Application> applicationList = partitionList.get(i - 1);
+            final ArrayList<String> applicationNameList = new ArrayList<String>(applicationList.size());
+            final ArrayList<Short> serviceTypeList = new ArrayList<Short>(applicationList.size());
+            for (Application application : applicationList) {
+                applicationNameList.add(application.getName());
+                serviceTypeList.add(application.getServiceTypeCode());
+            }
+
             ExecutionContext executionContext = new ExecutionContext();
             executionContext.put(PARTITION_NUMBER, i);
+            executionContext.put(APPLICATION_NAME_LIST, applicationNameList);
+            executionContext.put(APPLICATION_SERVICE_TYPE_LIST, serviceTypeList);
+            executionContext.putLong(TIME_SLOT_END_TIME, timeSlotEndTime);
             mapContext.put(PARTITION_NUMBER + "_" + i, executionContext);
         }
 
         return mapContext;
     }
 
-    public int calculateGroupCount() {
-        List<Application> applicationList = applicationIndexDao.selectAllApplicationNames();
-        int partitionCount = applicationList.size() / APP_COUNT;
+    public List<List<Application>> calculatePartition() {
+        Map<Application, Integer> agentCountMap = applicationIndexDao.selectAllApplicationAgentCount();
+        List<List<Application>> partitionList = new ArrayList<List<Application>>();
 
-        if (applicationList.size() % APP_COUNT != 0) {
-            partitionCount++;
+        List<Application> partition = new ArrayList<Application>();
+        int partitionAgentCount = 0;
+        int totalAgentCount = 0;
+        for (Map.Entry<Application, Integer> entry : agentCountMap.entrySet()) {
+            final Application application = entry.getKey();
+            // an application without agent still has response time data to check
+            final int agentCount = Math.max(1, entry.getValue());
+            if (!partition.isEmpty() && partitionAgentCount + agentCount > agentCountPerPartition) {
+                partitionList.add(partition);
+                partition = new ArrayList<Application>();
+                partitionAgentCount = 0;
+            }
+            partition.add(application);
+            partitionAgentCount += agentCount;
+            totalAgentCount += agentCount;
+        }
+        if (!partition.isEmpty()) {
+            partitionList.add(partition);
         }
 
-        logger.info("application count is {}. partition count is {}", applicationList.size(), partitionCount);
-        return partitionCount;
+        logger.info("application count is {}. agent count is {}. partition count is {}", agentCountMap.size(), totalAgentCount, partitionList.size());
+        return partitionList;
     }
 }
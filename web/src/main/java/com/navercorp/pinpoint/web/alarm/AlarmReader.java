@@ -16,17 +16,24 @@
 
 package com.navercorp.pinpoint.web.alarm;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 import com.navercorp.pinpoint.web.alarm.DataCollectorFactory.DataCollectorCategory;
 import com.navercorp.pinpoint.web.alarm.checker.AlarmChecker;
@@ -40,6 +47,13 @@ import com.navercorp.pinpoint.web.vo.Application;
  * @author minwoo.jung
  */
 public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListener {
+
+    public static final String APPLICATION_COUNT = "application_count";
+    public static final String CHECKER_COUNT = "checker_count";
+    public static final String COLLECTOR_COUNT = "collector_count";
+    public static final String COLLECT_ELAPSED = "collect_elapsed";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
     
     @Autowired
     private DataCollectorFactory dataCollectorFactory;
@@ -49,8 +63,13 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
     
     @Autowired
     private AlarmResourceDao alarmResourceDao;
+
+    // collects the data of every collector in parallel before the checkers run. collectors are collected lazily by the checkers when not set.
+    private AsyncTaskExecutor collectExecutor;
     
     private final Queue<AlarmChecker> checkers = new LinkedList<AlarmChecker>();
+    private final List<DataCollector> collectors = new ArrayList<DataCollector>();
+    private int applicationCount;
 
     public AlarmReader() {
     }
@@ -60,6 +79,10 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
         this.applicationIndexDao = applicationIndexDao;
         this.alarmResourceDao = alarmResourceDao;
     }
+
+    public void setCollectExecutor(AsyncTaskExecutor collectExecutor) {
+        this.collectExecutor = collectExecutor;
+    }
     
     public AlarmChecker read() {
         return checkers.poll();
@@ -67,28 +90,61 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
 
     @Override
     public void beforeStep(StepExecution stepExecution) {
+        final ExecutionContext executionContext = stepExecution.getExecutionContext();
+        final List<Application> applicationList = getApplicationList(executionContext);
+        final long timeSlotEndTime = getTimeSlotEndTime(executionContext);
+
+        this.applicationCount = applicationList.size();
+        for (Application application : applicationList) {
+            addChecker(application, timeSlotEndTime);
+        }
+
+        final long collectStartTime = System.currentTimeMillis();
+        collect();
+        final long collectElapsed = System.currentTimeMillis() - collectStartTime;
+
+        executionContext.putInt(APPLICATION_COUNT, applicationCount);
+        executionContext.putInt(CHECKER_COUNT, checkers.size());
+        executionContext.putInt(COLLECTOR_COUNT, collectors.size());
+        executionContext.putLong(COLLECT_ELAPSED, collectElapsed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Application> getApplicationList(ExecutionContext executionContext) {
+        if (executionContext.containsKey(AlarmPartitioner.APPLICATION_NAME_LIST)) {
+            final List<String> applicationNameList = (List<String>) executionContext.get(AlarmPartitioner.APPLICATION_NAME_LIST);
+            final List<Short> serviceTypeList = (List<Short>) executionContext.get(AlarmPartitioner.APPLICATION_SERVICE_TYPE_LIST);
+            final List<Application> applicationList = new ArrayList<Application>(applicationNameList.size());
+            for (int i = 0; i < applicationNameList.size(); i++) {
+                applicationList.add(new Application(applicationNameList.get(i), serviceTypeList.get(i)));
+            }
+            return applicationList;
+        }
+
         List<Application> applicationList = applicationIndexDao.selectAllApplicationNames();
         int appSize = applicationList.size();
-        int partitionNumber = (Integer) stepExecution.getExecutionContext().get(AlarmPartitioner.PARTITION_NUMBER);
+        int partitionNumber = (Integer) executionContext.get(AlarmPartitioner.PARTITION_NUMBER);
         int from = (partitionNumber - 1) * AlarmPartitioner.APP_COUNT;
         int to = partitionNumber * AlarmPartitioner.APP_COUNT;
         
         if (appSize < from) {
-            return;
+            return new ArrayList<Application>();
         }
         if (appSize < to) {
             to = appSize;
         }
+        return applicationList.subList(from, to);
+    }
 
-        
-        for(int i = from; i < to; i++) {
-            addChecker(applicationList.get(i));
+    private long getTimeSlotEndTime(ExecutionContext executionContext) {
+        if (executionContext.containsKey(AlarmPartitioner.TIME_SLOT_END_TIME)) {
+            return executionContext.getLong(AlarmPartitioner.TIME_SLOT_END_TIME);
         }
+        return System.currentTimeMillis();
     }
 
-    private void addChecker(Application application) {
+    private void addChecker(Application application, long timeSlotEndTime) {
         List<Rule> rules = alarmResourceDao.selectAppRule(application.getName());
-        long timeSlotEndTime = System.currentTimeMillis();
         Map<DataCollectorCategory, DataCollector> collectorMap = new HashMap<DataCollectorCategory, DataCollector>();
         
         for (Rule rule : rules) {
@@ -98,6 +154,7 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
             if(collector == null) {
                 collector = dataCollectorFactory.createDataCollector(checkerCategory, application, timeSlotEndTime);
                 collectorMap.put(collector.getDataCollectorCategory(), collector);
+                collectors.add(collector);
             }
             
             AlarmChecker checker = checkerCategory.createChecker(collector, rule);
@@ -106,8 +163,39 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
         
     }
 
+    private void collect() {
+        if (collectExecutor == null) {
+            return;
+        }
+        final List<Future<?>> futureList = new ArrayList<Future<?>>(collectors.size());
+        for (final DataCollector collector : collectors) {
+            futureList.add(collectExecutor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    collector.collect();
+                }
+            }));
+        }
+        for (Future<?> future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // the checker collects again by itself
+                logger.warn("data collect fail. Caused:{}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
     @Override
     public ExitStatus afterStep(StepExecution stepExecution) {
+        if (logger.isInfoEnabled()) {
+            final ExecutionContext executionContext = stepExecution.getExecutionContext();
+            logger.info("{} application:{} checker:{} collector:{} collectElapsed:{}ms", stepExecution.getStepName(), applicationCount,
+                    executionContext.getInt(CHECKER_COUNT, 0), collectors.size(), executionContext.getLong(COLLECT_ELAPSED, 0));
+        }
         return null;
     }
 }
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.applicationmap.histogram;
 
 import com.navercorp.pinpoint.common.HistogramSchema;
 import com.navercorp.pinpoint.common.HistogramSlot;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.SlotType;
 import com.navercorp.pinpoint.web.view.HistogramSerializer;
@@ -41,6 +42,8 @@ public class Histogram {
 
     private long errorCount;
 
+    // only when the latency buckets are stored by the collector
+    private LatencyHistogram latencyHistogram;
 
     public Histogram(ServiceType serviceType) {
         if (serviceType == null) {
@@ -90,6 +93,24 @@ public class Histogram {
         throw new IllegalArgumentException("slot not found slotTime:" + slotTime + " count:" + count);
     }
 
+    public void addLatencyCount(final int bucketIndex, final long count) {
+        getOrCreateLatencyHistogram().addCount(bucketIndex, count);
+    }
+
+    private LatencyHistogram getOrCreateLatencyHistogram() {
+        if (this.latencyHistogram == null) {
+            this.latencyHistogram = new LatencyHistogram();
+        }
+        return this.latencyHistogram;
+    }
+
+    /**
+     * @return null if no latency bucket was added
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
     public HistogramSchema getHistogramSchema() {
         return this.schema;
     }
@@ -157,6 +178,10 @@ public class Histogram {
         this.verySlowCount += histogram.verySlowCount;
 
         this.errorCount += histogram.errorCount;
+
+        if (histogram.latencyHistogram != null) {
+            getOrCreateLatencyHistogram().add(histogram.latencyHistogram);
+        }
     }
 
 
@@ -186,6 +211,7 @@ public class Histogram {
                 ", slowCount=" + slowCount +
                 ", verySlowCount=" + verySlowCount +
                 ", errorCount=" + errorCount +
+                ", latencyHistogram=" + latencyHistogram +
                 '}';
     }
 
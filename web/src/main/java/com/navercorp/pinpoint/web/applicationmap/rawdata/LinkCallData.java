@@ -90,6 +90,11 @@ public class LinkCallData {
         histogram.addCallCount(slot, count);
     }
 
+    public void addLatencyData(long timestamp, int bucketIndex, long count) {
+        TimeHistogram histogram = getTimeHistogram(timestamp);
+        histogram.addLatencyCount(bucketIndex, count);
+    }
+
     public void addCallData(Collection<TimeHistogram> timeHistogramList) {
         for (TimeHistogram timeHistogram : timeHistogramList) {
             TimeHistogram histogram = getTimeHistogram(timeHistogram.getTimeStamp());
@@ -64,6 +64,12 @@ public class LinkCallDataMap {
         linkCallData.addCallData(timestamp, slot, count);
     }
 
+    public void addLatencyData(String sourceAgentId, short sourceServiceType, String targetId, short targetServiceType, long timestamp, int bucketIndex, long count) {
+        LinkKey linkKey = createLinkKey(sourceAgentId, getServiceType(sourceServiceType), targetId, getServiceType(targetServiceType));
+        LinkCallData linkCallData = getLinkCallData(linkKey);
+        linkCallData.addLatencyData(timestamp, bucketIndex, count);
+    }
+
     private LinkKey createLinkKey(String sourceAgentId, ServiceType sourceServiceType, String targetId, ServiceType targetServiceType) {
         return new LinkKey(sourceAgentId, sourceServiceType, targetId, targetServiceType);
     }
@@ -78,6 +78,13 @@ public class LinkData {
         this.linkCallDataMap.addCallData(callerAgentId, callerServiceTypeCode, hostname, serviceTypeCode, timestamp, slot, count);
     }
 
+    public void addLinkLatency(String callerAgentId, short callerServiceTypeCode, String hostname, short serviceTypeCode, long timestamp, int bucketIndex, long count) {
+        if (hostname == null) {
+            throw new NullPointerException("hostname must not be null");
+        }
+        this.linkCallDataMap.addLatencyData(callerAgentId, callerServiceTypeCode, hostname, serviceTypeCode, timestamp, bucketIndex, count);
+    }
+
     public void resetLinkData() {
         this.linkCallDataMap = new LinkCallDataMap();
     }
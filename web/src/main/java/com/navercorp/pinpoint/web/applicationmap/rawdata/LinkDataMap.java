@@ -43,6 +43,11 @@ public class LinkDataMap {
         linkData.addLinkData(sourceAgentId, sourceApplication.getServiceTypeCode(), destinationAgentId, destinationApplication.getServiceTypeCode(), timestamp, slotTime, count);
     }
 
+    public void addLinkLatency(Application sourceApplication, String sourceAgentId, Application destinationApplication, String destinationAgentId, long timestamp, int bucketIndex, long count) {
+        final LinkData linkData = getLinkData(sourceApplication, destinationApplication);
+        linkData.addLinkLatency(sourceAgentId, sourceApplication.getServiceTypeCode(), destinationAgentId, destinationApplication.getServiceTypeCode(), timestamp, bucketIndex, count);
+    }
+
 
     @Override
     public String toString() {
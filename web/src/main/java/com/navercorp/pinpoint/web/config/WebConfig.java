@@ -45,6 +45,18 @@ public class WebConfig {
     @Value("#{pinpointWebProps['cluster.zookeeper.retry.interval'] ?: 60000}")
     private int clusterZookeeperRetryInterval;
 
+    @Value("#{pinpointWebProps['web.servermap.select.thread.size'] ?: 16}")
+    private int serverMapSelectThreadSize;
+
+    @Value("#{pinpointWebProps['web.servermap.select.max.depth'] ?: -1}")
+    private int serverMapSelectMaxDepth;
+
+    @Value("#{pinpointWebProps['web.servermap.select.timeout'] ?: 60000}")
+    private long serverMapSelectTimeout;
+
+    @Value("#{pinpointWebProps['web.servermap.latencyHistogram.enable'] ?: false}")
+    private boolean serverMapLatencyHistogramEnable;
+
     @PostConstruct
     public void validation() {
         if (isClusterEnable()) {
@@ -55,6 +67,9 @@ public class WebConfig {
             assertPositiveNumber(clusterZookeeperSessionTimeout);
             assertPositiveNumber(clusterZookeeperRetryInterval);
         }
+        if (serverMapSelectThreadSize <= 0) {
+            throw new IllegalArgumentException("Invalid serverMapSelectThreadSize =" + serverMapSelectThreadSize);
+        }
 
         logger.info("{}", toString());
     }
@@ -97,7 +112,11 @@ public class WebConfig {
                 + ", clusterTcpPort=" + clusterTcpPort
                 + ", clusterZookeeperAddress=" + clusterZookeeperAddress
                 + ", clusterZookeeperSessionTimeout="
-                + clusterZookeeperSessionTimeout + "]";
+                + clusterZookeeperSessionTimeout
+                + ", serverMapSelectThreadSize=" + serverMapSelectThreadSize
+                + ", serverMapSelectMaxDepth=" + serverMapSelectMaxDepth
+                + ", serverMapSelectTimeout=" + serverMapSelectTimeout
+                + ", serverMapLatencyHistogramEnable=" + serverMapLatencyHistogramEnable + "]";
     }
 
     public int getClusterZookeeperRetryInterval() {
@@ -108,4 +127,20 @@ public class WebConfig {
         this.clusterZookeeperRetryInterval = clusterZookeeperRetryInterval;
     }
 
+    public int getServerMapSelectThreadSize() {
+        return serverMapSelectThreadSize;
+    }
+
+    public int getServerMapSelectMaxDepth() {
+        return serverMapSelectMaxDepth;
+    }
+
+    public long getServerMapSelectTimeout() {
+        return serverMapSelectTimeout;
+    }
+
+    public boolean isServerMapLatencyHistogramEnable() {
+        return serverMapLatencyHistogramEnable;
+    }
+
 }
@@ -69,7 +69,7 @@ public class AgentStatController {
         long scanFrom = timeWindow.getWindowRange().getFrom();
         long scanTo = timeWindow.getWindowRange().getTo() + timeWindow.getWindowSlotSize();
         Range rangeToScan = new Range(scanFrom, scanTo);
-        List<AgentStat> agentStatList = agentStatService.selectAgentStatList(agentId, rangeToScan);
+        List<AgentStat> agentStatList = agentStatService.selectAgentStatList(agentId, rangeToScan, timeWindow.getWindowSlotSize());
         watch.stop();
 
         if (logger.isInfoEnabled()) {
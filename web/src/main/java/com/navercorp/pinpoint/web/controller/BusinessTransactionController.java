@@ -17,11 +17,16 @@
 package com.navercorp.pinpoint.web.controller;
 
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 
 import javax.servlet.http.HttpServletResponse;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
 import com.navercorp.pinpoint.web.calltree.span.SpanAlign;
 import com.navercorp.pinpoint.web.filter.Filter;
@@ -32,10 +37,12 @@ import com.navercorp.pinpoint.web.service.SpanService;
 import com.navercorp.pinpoint.web.service.TransactionInfoService;
 import com.navercorp.pinpoint.web.util.LimitUtils;
 import com.navercorp.pinpoint.web.util.TimeUtils;
+import com.navercorp.pinpoint.web.view.RecordSetJsonWriter;
 import com.navercorp.pinpoint.web.vo.BusinessTransactions;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.TransactionId;
+import com.navercorp.pinpoint.web.vo.callstacks.CallStackQuery;
 import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
 
 import org.slf4j.Logger;
@@ -69,6 +76,9 @@ public class BusinessTransactionController {
     @Autowired
     private FilterBuilder filterBuilder;
 
+    @Autowired
+    private ObjectMapper jsonObjectMapper;
+
     /**
      * executed URLs in applicationname query within from ~ to timeframe
      *
@@ -184,4 +194,46 @@ public class BusinessTransactionController {
         }
         return mv;
     }
+
+    /**
+     * call stack of a selected transaction written directly to the response.
+     * for very large transactions. the ui can page with offset/limit and expand a subtree lazily with rootId/maxDepth.
+     *
+     * @param rootId id of the record to expand. 0 selects the whole call stack
+     * @param maxDepth levels below rootId. 0 is unlimited
+     */
+    @RequestMapping(value = "/transactionCallStack", method = RequestMethod.GET)
+    public ModelAndView transactionCallStack(@RequestParam("traceId") String traceIdParam,
+                                        @RequestParam(value = "focusTimestamp", required = false, defaultValue = "0") long focusTimestamp,
+                                        @RequestParam(value = "rootId", required = false, defaultValue = "0") int rootId,
+                                        @RequestParam(value = "maxDepth", required = false, defaultValue = "0") int maxDepth,
+                                        @RequestParam(value = "offset", required = false, defaultValue = "0") int offset,
+                                        @RequestParam(value = "limit", required = false, defaultValue = "0") int limit,
+                                        Locale locale, HttpServletResponse response) throws IOException {
+        logger.debug("traceId:{} rootId:{} maxDepth:{} offset:{} limit:{}", traceIdParam, rootId, maxDepth, offset, limit);
+
+        final TransactionId traceId = new TransactionId(traceIdParam);
+        final CallStackQuery query = new CallStackQuery(rootId, maxDepth, offset, limit);
+
+        final SpanResult spanResult = this.spanService.selectSpan(traceId, focusTimestamp);
+        final List<SpanAlign> spanAligns = spanResult.getSpanAlignList();
+        if (spanAligns.isEmpty()) {
+            final ModelAndView error = new ModelAndView();
+            error.addObject("errorCode", 9);
+            error.addObject("message", "Trace not found. traceId:" + traceId);
+            error.setViewName("error");
+            return error;
+        }
+
+        response.setContentType("application/json;charset=UTF-8");
+        final JsonGenerator jgen = jsonObjectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+        try {
+            final RecordSetJsonWriter recordWriter = new RecordSetJsonWriter(jgen, traceId.getFormatString(), spanResult.getCompleteTypeString(), locale);
+            this.transactionInfoService.writeRecordSet(spanAligns, focusTimestamp, query, recordWriter);
+        } finally {
+            jgen.close();
+        }
+        // response already written
+        return null;
+    }
 }
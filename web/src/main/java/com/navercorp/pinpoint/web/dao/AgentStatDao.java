@@ -28,4 +28,9 @@ public interface AgentStatDao {
 
     List<AgentStat> scanAgentStatList(String agentId, Range range);
 
+    /**
+     * reads the coarsest rollup whose interval fits in the given resolution, raw stats otherwise.
+     */
+    List<AgentStat> scanAgentStatList(String agentId, Range range, long resolution);
+
 }
@@ -25,4 +25,9 @@ import com.navercorp.pinpoint.common.bo.ApiMetaDataBo;
  */
 public interface ApiMetaDataDao {
     List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId);
+
+    /**
+     * multi get. the result at index i belongs to the key at index i.
+     */
+    List<List<ApiMetaDataBo>> getApiMetaData(List<ApiMetaDataBo> keyList);
 }
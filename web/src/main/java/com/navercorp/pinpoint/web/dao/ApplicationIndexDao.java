@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.dao;
 
 import java.util.List;
+import java.util.Map;
 
 import com.navercorp.pinpoint.web.vo.Application;
 
@@ -28,6 +29,11 @@ import com.navercorp.pinpoint.web.vo.Application;
 public interface ApplicationIndexDao {
     List<Application> selectAllApplicationNames();
 
+    /**
+     * agent count of every application, read in the same scan as {@link #selectAllApplicationNames()}
+     */
+    Map<Application, Integer> selectAllApplicationAgentCount();
+
     List<String> selectAgentIds(String applicationName);
 
     void deleteApplicationName(String applicationName);
@@ -25,4 +25,9 @@ import java.util.List;
  */
 public interface SqlMetaDataDao {
     List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int hashCode);
+
+    /**
+     * multi get. the result at index i belongs to the key at index i.
+     */
+    List<List<SqlMetaDataBo>> getSqlMetaData(List<SqlMetaDataBo> keyList);
 }
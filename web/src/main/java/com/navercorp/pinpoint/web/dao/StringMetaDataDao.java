@@ -25,4 +25,9 @@ import java.util.List;
  */
 public interface StringMetaDataDao {
     List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId);
+
+    /**
+     * multi get. the result at index i belongs to the key at index i.
+     */
+    List<List<StringMetaDataBo>> getStringMetaData(List<StringMetaDataBo> keyList);
 }
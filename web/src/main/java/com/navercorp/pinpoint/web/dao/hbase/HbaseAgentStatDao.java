@@ -21,6 +21,7 @@ import static com.navercorp.pinpoint.common.hbase.HBaseTables.*;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.BytesUtils;
@@ -35,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.hadoop.hbase.HbaseSystemException;
 import org.springframework.data.hadoop.hbase.RowMapper;
 import org.springframework.stereotype.Repository;
 
@@ -56,6 +58,10 @@ public class HbaseAgentStatDao implements AgentStatDao {
     @Qualifier("agentStatMapper")
     private RowMapper<List<AgentStat>> agentStatMapper;
 
+    @Autowired
+    @Qualifier("agentStatRollupMapper")
+    private RowMapper<List<AgentStat>> agentStatRollupMapper;
+
     @Autowired
     @Qualifier("agentStatRowKeyDistributor")
     private AbstractRowKeyDistributor rowKeyDistributor;
@@ -79,11 +85,87 @@ public class HbaseAgentStatDao implements AgentStatDao {
         }
 
 
-        Scan scan = createScan(agentId, range);
+        Scan scan = createScan(agentId, range, HBaseTables.AGENT_STAT_CF_STATISTICS);
+        scan.setId("AgentStatScan");
 
-        List<List<AgentStat>> intermediate = hbaseOperations2.find(HBaseTables.AGENT_STAT, scan, rowKeyDistributor, agentStatMapper);
+        List<List<AgentStat>> intermediate = hbaseOperations2.findParallel(HBaseTables.AGENT_STAT, scan, rowKeyDistributor, agentStatMapper);
 
         int expectedSize = (int)(range.getRange() / 5000); // data for 5 seconds
+        return merge(intermediate, expectedSize);
+    }
+
+    @Override
+    public List<AgentStat> scanAgentStatList(String agentId, Range range, long resolution) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+
+        if (resolution >= AgentStatRollupBo.ONE_HOUR) {
+            List<AgentStat> rollupList = scanRollupList(agentId, range, AgentStatRollupBo.ONE_HOUR, AGENT_STAT_ROLLUP_CF_HOUR);
+            if (!rollupList.isEmpty()) {
+                return addUncoveredTail(agentId, range, rollupList, AgentStatRollupBo.ONE_MINUTE);
+            }
+        }
+        if (resolution >= AgentStatRollupBo.ONE_MINUTE) {
+            List<AgentStat> rollupList = scanRollupList(agentId, range, AgentStatRollupBo.ONE_MINUTE, AGENT_STAT_ROLLUP_CF_MINUTE);
+            if (!rollupList.isEmpty()) {
+                return addUncoveredTail(agentId, range, rollupList, 0);
+            }
+        }
+        // rollups not written yet(ex. before the rollup table was created). read raw data
+        return scanAgentStatList(agentId, range);
+    }
+
+    /**
+     * the latest buckets are still in the collector memory. reads the rest of the range with the finer resolution.
+     */
+    private List<AgentStat> addUncoveredTail(String agentId, Range range, List<AgentStat> rollupList, long tailResolution) {
+        long coveredTo = range.getFrom();
+        for (AgentStat agentStat : rollupList) {
+            final AgentStatRollupBo rollup = agentStat.getRollup();
+            coveredTo = Math.max(coveredTo, rollup.getTimestamp() + rollup.getInterval());
+        }
+        if (coveredTo >= range.getTo()) {
+            return rollupList;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("scanAgentStat uncovered tail : agentId={}, from={}, to={}", new Object[]{agentId, coveredTo, range.getTo()});
+        }
+        final Range tailRange = new Range(coveredTo, range.getTo());
+        final List<AgentStat> tail;
+        if (tailResolution > 0) {
+            tail = scanAgentStatList(agentId, tailRange, tailResolution);
+        } else {
+            tail = scanAgentStatList(agentId, tailRange);
+        }
+        rollupList.addAll(tail);
+        return rollupList;
+    }
+
+    private List<AgentStat> scanRollupList(String agentId, Range range, long interval, byte[] family) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("scanAgentStatRollup : agentId={}, interval={}, {}", new Object[]{agentId, interval, range});
+        }
+        // the bucket containing range.from starts before range.from. the scan excludes from
+        long from = AgentStatRollupBo.getBucketTimestamp(range.getFrom(), interval) - 1;
+        Scan scan = createScan(agentId, new Range(from, range.getTo()), family);
+        scan.setId("AgentStatRollupScan");
+
+        List<List<AgentStat>> intermediate;
+        try {
+            intermediate = hbaseOperations2.findParallel(HBaseTables.AGENT_STAT_ROLLUP, scan, rowKeyDistributor, agentStatRollupMapper);
+        } catch (HbaseSystemException e) {
+            logger.warn("scanAgentStatRollup failed. agentId={}, interval={}, Caused:{}", new Object[]{agentId, interval, e.getMessage(), e});
+            return new ArrayList<AgentStat>();
+        }
+        int expectedSize = (int)(range.getRange() / interval) + 1;
+        return merge(intermediate, expectedSize);
+    }
+
+    private List<AgentStat> merge(List<List<AgentStat>> intermediate, int expectedSize) {
         List<AgentStat> merged = new ArrayList<AgentStat>(expectedSize);
 
         for(List<AgentStat> each : intermediate) {
@@ -105,7 +187,7 @@ public class HbaseAgentStatDao implements AgentStatDao {
         return RowKeyUtils.concatFixedByteAndLong(bAgentId, AGENT_NAME_MAX_LEN, TimeUtils.reverseTimeMillis(timestamp));
     }
 
-    private Scan createScan(String agentId, Range range) {
+    private Scan createScan(String agentId, Range range, byte[] family) {
         Scan scan = new Scan();
         scan.setCaching(this.scanCacheSize);
 
@@ -117,8 +199,7 @@ public class HbaseAgentStatDao implements AgentStatDao {
         scan.setStopRow(startKey);
 
         //        scan.addColumn(HBaseTables.AGENT_STAT_CF_STATISTICS, HBaseTables.AGENT_STAT_CF_STATISTICS_V1);
-        scan.addFamily(HBaseTables.AGENT_STAT_CF_STATISTICS);
-        scan.setId("AgentStatScan");
+        scan.addFamily(family);
 
         // toString() method of Scan converts a message to json format so it is slow for the first time.
         logger.debug("create scan:{}", scan);
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -62,6 +64,25 @@ public class HbaseApiMetaDataDao implements ApiMetaDataDao {
         return hbaseOperations2.get(HBaseTables.API_METADATA, get, apiMetaDataMapper);
     }
 
+    @Override
+    public List<List<ApiMetaDataBo>> getApiMetaData(List<ApiMetaDataBo> keyList) {
+        if (keyList == null) {
+            throw new NullPointerException("keyList must not be null");
+        }
+        if (keyList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Get> getList = new ArrayList<Get>(keyList.size());
+        for (ApiMetaDataBo key : keyList) {
+            byte[] rowKey = getDistributedKey(key.toRowKey());
+            Get get = new Get(rowKey);
+            get.addFamily(HBaseTables.API_METADATA_CF_API);
+            getList.add(get);
+        }
+        return hbaseOperations2.get(HBaseTables.API_METADATA, getList, apiMetaDataMapper);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -16,15 +16,20 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.hadoop.hbase.ResultsExtractor;
 import org.springframework.data.hadoop.hbase.RowMapper;
 import org.springframework.stereotype.Repository;
 
@@ -58,6 +63,28 @@ public class HbaseApplicationIndexDao implements ApplicationIndexDao {
         return hbaseOperations2.find(HBaseTables.APPLICATION_INDEX, scan, applicationNameMapper);
     }
 
+    @Override
+    public Map<Application, Integer> selectAllApplicationAgentCount() {
+        Scan scan = new Scan();
+        scan.setCaching(30);
+        return hbaseOperations2.find(HBaseTables.APPLICATION_INDEX, scan, new ResultsExtractor<Map<Application, Integer>>() {
+            @Override
+            public Map<Application, Integer> extractData(ResultScanner results) throws Exception {
+                final Map<Application, Integer> agentCountMap = new LinkedHashMap<Application, Integer>();
+                int rowNum = 0;
+                for (Result result : results) {
+                    final Application application = applicationNameMapper.mapRow(result, rowNum++);
+                    if (application == null) {
+                        continue;
+                    }
+                    // one qualifier per agent
+                    agentCountMap.put(application, result.size());
+                }
+                return agentCountMap;
+            }
+        });
+    }
+
     @Override
     public List<String> selectAgentIds(String applicationName) {
         if (applicationName == null) {
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.dao.hbase;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.web.config.WebConfig;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
@@ -56,6 +57,9 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
     @Autowired
     private RangeFactory rangeFactory;
 
+    @Autowired
+    private WebConfig webConfig;
+
 
     @Override
     public List<ResponseTime> selectResponseTime(Application application, Range range) {
@@ -94,6 +98,10 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         scan.setStartRow(startKey);
         scan.setStopRow(endKey);
         scan.addFamily(HBaseTables.MAP_STATISTICS_SELF_CF_COUNTER);
+        if (webConfig.isServerMapLatencyHistogramEnable()) {
+            // the column family must exist
+            scan.addFamily(HBaseTables.MAP_STATISTICS_SELF_CF_LATENCY);
+        }
         scan.setId("ApplicationSelfScan");
 
         return scan;
@@ -21,6 +21,7 @@ import java.util.*;
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.web.config.WebConfig;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
 import com.navercorp.pinpoint.web.mapper.*;
@@ -58,6 +59,9 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
     @Autowired
     private RangeFactory rangeFactory;
 
+    @Autowired
+    private WebConfig webConfig;
+
     @Override
     public LinkDataMap selectCaller(Application callerApplication, Range range) {
         Scan scan = createScan(callerApplication, range);
@@ -123,6 +127,10 @@ public class HbaseMapStatisticsCallerDao implements MapStatisticsCallerDao {
         scan.setStopRow(endKey);
         scan.addFamily(HBaseTables.MAP_STATISTICS_CALLEE_CF_COUNTER);
         scan.addFamily(HBaseTables.MAP_STATISTICS_CALLEE_CF_VER2_COUNTER);
+        if (webConfig.isServerMapLatencyHistogramEnable()) {
+            // the column family must exist
+            scan.addFamily(HBaseTables.MAP_STATISTICS_CALLEE_CF_LATENCY);
+        }
         scan.setId("ApplicationStatisticsScan");
 
         return scan;
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.web.dao.hbase;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
@@ -63,6 +65,25 @@ public class HbaseSqlMetaDataDao implements SqlMetaDataDao {
         return hbaseOperations2.get(HBaseTables.SQL_METADATA, get, sqlMetaDataMapper);
     }
 
+    @Override
+    public List<List<SqlMetaDataBo>> getSqlMetaData(List<SqlMetaDataBo> keyList) {
+        if (keyList == null) {
+            throw new NullPointerException("keyList must not be null");
+        }
+        if (keyList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Get> getList = new ArrayList<Get>(keyList.size());
+        for (SqlMetaDataBo key : keyList) {
+            byte[] rowKey = getDistributedKey(key.toRowKey());
+            Get get = new Get(rowKey);
+            get.addFamily(HBaseTables.SQL_METADATA_CF_SQL);
+            getList.add(get);
+        }
+        return hbaseOperations2.get(HBaseTables.SQL_METADATA, getList, sqlMetaDataMapper);
+    }
+
     private byte[] getDistributedKey(byte[] rowKey) {
         return rowKeyDistributorByHashPrefix.getDistributedKey(rowKey);
     }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.mapper;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
+import com.navercorp.pinpoint.web.vo.AgentStat;
+
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.springframework.data.hadoop.hbase.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * merges every partial rollup(one per collector flush) of a row into a single bucket.
+ *
+ * @author emeroad
+ */
+@Component
+public class AgentStatRollupMapper implements RowMapper<List<AgentStat>> {
+
+    public List<AgentStat> mapRow(Result result, int rowNum) throws Exception {
+        if (result.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        AgentStatRollupBo merged = null;
+        for (KeyValue kv : result.raw()) {
+            AgentStatRollupBo rollup = new AgentStatRollupBo(kv.getValue());
+            if (merged == null) {
+                merged = rollup;
+            } else {
+                merged.merge(rollup);
+            }
+        }
+        if (merged == null || merged.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        AgentStat agentStat = new AgentStat();
+        agentStat.setRollup(merged);
+        return Collections.singletonList(agentStat);
+    }
+
+}
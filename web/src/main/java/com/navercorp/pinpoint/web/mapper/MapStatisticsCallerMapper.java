@@ -125,6 +125,23 @@ public class MapStatisticsCallerMapper implements RowMapper<LinkDataMap> {
                     calleeHost = callee.getName();
                 }
                 linkDataMap.addLinkData(caller, callerAgentId, callee, calleeHost, timestamp, slotTime, requestCount);
+            } else if (Bytes.equals(family, HBaseTables.MAP_STATISTICS_CALLEE_CF_LATENCY)) {
+                // same layout as ver2. LatencyHistogram bucket index instead of the slot
+                final Buffer buffer = new OffsetFixedBuffer(kv.getBuffer(), kv.getQualifierOffset());
+                final Application callee = readCalleeApplication(buffer);
+                if (filter.filter(callee)) {
+                    continue;
+                }
+
+                String calleeHost = buffer.readPrefixedString();
+                short bucketIndex = buffer.readShort();
+                String callerAgentId = buffer.readPrefixedString();
+
+                long requestCount = getValueToLong(kv);
+                if (StringUtils.isEmpty(calleeHost)) {
+                    calleeHost = callee.getName();
+                }
+                linkDataMap.addLinkLatency(caller, callerAgentId, callee, calleeHost, timestamp, bucketIndex, requestCount);
             } else {
                 throw new IllegalArgumentException("unknown ColumnFamily :" + Arrays.toString(family));
             }
@@ -42,12 +42,14 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
         ResponseTime responseTime = createResponseTime(rowKey);
 
         for (KeyValue keyValue : result.raw()) {
-            if (!Bytes.equals(keyValue.getFamily(), HBaseTables.MAP_STATISTICS_SELF_CF_COUNTER)) {
-                continue;
+            final byte[] family = keyValue.getFamily();
+            if (Bytes.equals(family, HBaseTables.MAP_STATISTICS_SELF_CF_COUNTER)) {
+                byte[] qualifier = keyValue.getQualifier();
+                recordColumn(responseTime, qualifier, keyValue.getBuffer(), keyValue.getValueOffset());
+            } else if (Bytes.equals(family, HBaseTables.MAP_STATISTICS_SELF_CF_LATENCY)) {
+                byte[] qualifier = keyValue.getQualifier();
+                recordLatencyColumn(responseTime, qualifier, keyValue.getBuffer(), keyValue.getValueOffset());
             }
-            byte[] qualifier = keyValue.getQualifier();
-
-            recordColumn(responseTime, qualifier, keyValue.getBuffer(), keyValue.getValueOffset());
         }
         return responseTime;
     }
@@ -62,6 +64,14 @@ public class ResponseTimeMapper implements RowMapper<ResponseTime> {
         responseTime.addResponseTime(agentId, slotNumber, count);
     }
 
+    void recordLatencyColumn(ResponseTime responseTime, byte[] qualifier, byte[] value, int valueOffset) {
+        // same layout as the counter column. LatencyHistogram bucket index instead of the slot
+        short bucketIndex = Bytes.toShort(qualifier);
+        String agentId = Bytes.toString(qualifier, 2, qualifier.length - 2);
+        long count = Bytes.toLong(value, valueOffset);
+        responseTime.addLatencyCount(agentId, bucketIndex, count);
+    }
+
     private ResponseTime createResponseTime(byte[] rowKey) {
         final Buffer row = new FixedBuffer(rowKey);
         String applicationName = row.read2PrefixedString();
@@ -28,4 +28,6 @@ public interface AgentStatService {
 
     List<AgentStat> selectAgentStatList(String agentId, Range range);
 
+    List<AgentStat> selectAgentStatList(String agentId, Range range, long resolution);
+
 }
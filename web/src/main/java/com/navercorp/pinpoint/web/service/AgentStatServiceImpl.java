@@ -42,4 +42,11 @@ public class AgentStatServiceImpl implements AgentStatService {
         return agentStatDao.scanAgentStatList(agentId, range);
     }
 
+    public List<AgentStat> selectAgentStatList(String agentId, Range range, long resolution) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        return agentStatDao.scanAgentStatList(agentId, range, resolution);
+    }
+
 }
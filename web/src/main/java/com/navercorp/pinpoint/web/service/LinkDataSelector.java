@@ -36,6 +36,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.hadoop.hbase.HbaseSystemException;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * @author emeroad
@@ -59,7 +65,25 @@ public class LinkDataSelector {
 
     private final Set<LinkData> emulationLinkMarker = new HashSet<LinkData>();
 
+    private static final long NO_DEADLINE = -1;
+
+    private final ExecutorService executor;
+
+    private final int maxDepth;
+
+    private final long timeoutMillis;
+
     public LinkDataSelector(MapStatisticsCalleeDao mapStatisticsCalleeDao, MapStatisticsCallerDao mapStatisticsCallerDao, HostApplicationMapDao hostApplicationMapDao) {
+        this(mapStatisticsCalleeDao, mapStatisticsCallerDao, hostApplicationMapDao, null, -1, -1);
+    }
+
+    /**
+     * @param executor executor for concurrent scans of a level. scans are done on the calling thread if null
+     * @param maxDepth max traversal depth. unlimited if negative
+     * @param timeoutMillis time budget of {@link #select(Application, Range)}. unlimited if not positive
+     */
+    public LinkDataSelector(MapStatisticsCalleeDao mapStatisticsCalleeDao, MapStatisticsCallerDao mapStatisticsCallerDao, HostApplicationMapDao hostApplicationMapDao,
+                            ExecutorService executor, int maxDepth, long timeoutMillis) {
         if (mapStatisticsCalleeDao == null) {
             throw new NullPointerException("mapStatisticsCalleeDao must not be null");
         }
@@ -72,22 +96,17 @@ public class LinkDataSelector {
         this.mapStatisticsCalleeDao = mapStatisticsCalleeDao;
         this.mapStatisticsCallerDao = mapStatisticsCallerDao;
         this.hostApplicationMapDao = hostApplicationMapDao;
+        this.executor = executor;
+        this.maxDepth = maxDepth;
+        this.timeoutMillis = timeoutMillis;
     }
 
     /**
      * Queries for all applications(callee) called by the callerApplication
-     *
-     * @param callerApplication
-     * @param range
-     * @return
+     * and merges them into linkDataDuplexMap.
+     * Next targets(caller of each callee and callee of callerApplication) are added to nextFrontier.
      */
-    private LinkDataDuplexMap selectCaller(Application callerApplication, Range range) {
-        // skip if the callerApplication has already been checked
-        if (linkVisitChecker.visitCaller(callerApplication)) {
-            return new LinkDataDuplexMap();
-        }
-
-        LinkDataMap caller = mapStatisticsCallerDao.selectCaller(callerApplication, range);
+    private void mergeCaller(Application callerApplication, LinkDataMap caller, Range range, LinkDataDuplexMap linkDataDuplexMap, List<SelectTarget> nextFrontier) {
         if (logger.isDebugEnabled()) {
             logger.debug("Found Caller. count={}, caller={}", caller.size(), callerApplication);
         }
@@ -100,73 +119,131 @@ public class LinkDataSelector {
             }
         }
 
-
-        final LinkDataDuplexMap resultCaller = new LinkDataDuplexMap();
         for (LinkData link : replaceRpcCaller.getLinkDataList()) {
-            resultCaller.addSourceLinkData(link);
+            linkDataDuplexMap.addSourceLinkData(link);
 
             final Application toApplication = link.getToApplication();
             // skip if toApplication is a terminal or an unknown cloud
-            if (toApplication.getServiceType().isTerminal() || toApplication.getServiceType().isUnknown()) {
+            if (isTerminalOrUnknown(toApplication)) {
                 continue;
             }
-
             logger.debug("     Find subCaller of {}", toApplication);
-            LinkDataDuplexMap callerSub = selectCaller(toApplication, range);
-            logger.debug("     Found subCaller. count={}, caller={}", callerSub.size(), toApplication);
-
-            resultCaller.addLinkDataDuplexMap(callerSub);
+            addCallerTarget(nextFrontier, toApplication);
+        }
 
-            // find all callers of queried subCallers as well
-            for (LinkData eachCaller : callerSub.getSourceLinkDataList()) {
-                logger.debug("     Find callee of {}", eachCaller.getFromApplication());
-                LinkDataDuplexMap calleeSub = selectCallee(eachCaller.getFromApplication(), range);
-                logger.debug("     Found subCallee. count={}, callee={}", calleeSub.size(), eachCaller.getFromApplication());
-                resultCaller.addLinkDataDuplexMap(calleeSub);
-            }
+        // find all callers of queried subCallers as well
+        if (replaceRpcCaller.size() > 0) {
+            logger.debug("     Find callee of {}", callerApplication);
+            addCalleeTarget(nextFrontier, callerApplication);
         }
-        return resultCaller;
     }
 
     /**
      * Queries for all applications(caller) that called calleeApplication
-     *
-     * @param calleeApplication
-     * @param range
-     * @return
+     * and merges them into linkDataDuplexMap.
+     * Next targets(caller of each caller and callee of calleeApplication) are added to nextFrontier.
      */
-    private LinkDataDuplexMap selectCallee(Application calleeApplication, Range range) {
-        // skip if the calleeApplication has already been checked
-        if (linkVisitChecker.visitCallee(calleeApplication)) {
-            return new LinkDataDuplexMap();
-        }
-
-        final LinkDataMap callee = mapStatisticsCalleeDao.selectCallee(calleeApplication, range);
+    private void mergeCallee(Application calleeApplication, LinkDataMap callee, LinkDataDuplexMap linkDataDuplexMap, List<SelectTarget> nextFrontier) {
         logger.debug("Found Callee. count={}, callee={}", callee.size(), calleeApplication);
 
-        final LinkDataDuplexMap calleeSet = new LinkDataDuplexMap();
         for (LinkData stat : callee.getLinkDataList()) {
-            calleeSet.addTargetLinkData(stat);
+            linkDataDuplexMap.addTargetLinkData(stat);
 
             // need to find the applications that called me
-            LinkDataDuplexMap calleeSub = selectCallee(stat.getFromApplication(), range);
-            calleeSet.addLinkDataDuplexMap(calleeSub);
-
-            // find all callees of queried subCallees as well
-            for (LinkData eachCallee : calleeSub.getTargetLinkDataList()) {
-                // skip if terminal node
-                final Application eachCalleeToApplication = eachCallee.getToApplication();
-                if (eachCalleeToApplication.getServiceType().isTerminal() || eachCalleeToApplication.getServiceType().isUnknown()) {
+            addCalleeTarget(nextFrontier, stat.getFromApplication());
+        }
+
+        // find all callees of queried subCallees as well - skip if terminal node
+        if (callee.size() > 0 && !isTerminalOrUnknown(calleeApplication)) {
+            addCallerTarget(nextFrontier, calleeApplication);
+        }
+    }
+
+    private boolean isTerminalOrUnknown(Application application) {
+        final ServiceType serviceType = application.getServiceType();
+        return serviceType.isTerminal() || serviceType.isUnknown();
+    }
+
+    private void addCallerTarget(List<SelectTarget> frontier, Application callerApplication) {
+        // skip if the callerApplication has already been checked
+        if (linkVisitChecker.visitCaller(callerApplication)) {
+            return;
+        }
+        frontier.add(new SelectTarget(Direction.CALLER, callerApplication));
+    }
+
+    private void addCalleeTarget(List<SelectTarget> frontier, Application calleeApplication) {
+        // skip if the calleeApplication has already been checked
+        if (linkVisitChecker.visitCallee(calleeApplication)) {
+            return;
+        }
+        frontier.add(new SelectTarget(Direction.CALLEE, calleeApplication));
+    }
+
+    /**
+     * Scans every target of the frontier concurrently.
+     * The returned list is index-aligned with frontier. Entries that did not complete within the deadline are null.
+     */
+    private List<LinkDataMap> scanFrontier(List<SelectTarget> frontier, Range range, long deadline) {
+        final List<LinkDataMap> result = new ArrayList<LinkDataMap>(frontier.size());
+        if (executor == null) {
+            for (SelectTarget target : frontier) {
+                if (isExpired(deadline)) {
+                    result.add(null);
                     continue;
                 }
-                LinkDataDuplexMap callerSub = selectCaller(eachCalleeToApplication, range);
-                calleeSet.addLinkDataDuplexMap(callerSub);
+                result.add(scan(target, range));
+            }
+            return result;
+        }
+
+        final List<Future<LinkDataMap>> futureList = new ArrayList<Future<LinkDataMap>>(frontier.size());
+        for (SelectTarget target : frontier) {
+            futureList.add(executor.submit(new ScanTask(target, range)));
+        }
+        for (Future<LinkDataMap> future : futureList) {
+            result.add(getScanResult(future, deadline));
+        }
+        return result;
+    }
+
+    private LinkDataMap getScanResult(Future<LinkDataMap> future, long deadline) {
+        try {
+            if (deadline == NO_DEADLINE) {
+                return future.get();
             }
+            final long remain = deadline - System.currentTimeMillis();
+            return future.get(Math.max(remain, 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
         }
+    }
 
-        return calleeSet;
+    private boolean isExpired(long deadline) {
+        return deadline != NO_DEADLINE && System.currentTimeMillis() >= deadline;
     }
 
+    private LinkDataMap scan(SelectTarget target, Range range) {
+        if (target.getDirection() == Direction.CALLER) {
+            return mapStatisticsCallerDao.selectCaller(target.getApplication(), range);
+        } else {
+            return mapStatisticsCalleeDao.selectCallee(target.getApplication(), range);
+        }
+    }
 
     private List<LinkData> checkRpcCallAccepted(LinkData linkData, Range range) {
         // replace if the rpc client's destination has an agent installed and thus has an application name
@@ -347,18 +424,102 @@ public class LinkDataSelector {
         return new LinkKey(fromApplication, toApplication);
     }
 
+    /**
+     * Traverses the server map level by level starting from sourceApplication.
+     * Scans of all applications on the same level are issued concurrently;
+     * visit checks and merging into the result are done on the calling thread only.
+     */
     public LinkDataDuplexMap select(Application sourceApplication, Range range) {
-        LinkDataDuplexMap caller = selectCaller(sourceApplication, range);
-        logger.debug("Result of finding caller {}", caller);
-
-        LinkDataDuplexMap callee = selectCallee(sourceApplication, range);
-        logger.debug("Result of finding callee {}", callee);
+        if (sourceApplication == null) {
+            throw new NullPointerException("sourceApplication must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+        final long deadline = (timeoutMillis > 0) ? System.currentTimeMillis() + timeoutMillis : NO_DEADLINE;
+        final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+
+        List<SelectTarget> frontier = new ArrayList<SelectTarget>();
+        addCallerTarget(frontier, sourceApplication);
+        addCalleeTarget(frontier, sourceApplication);
+
+        int depth = 0;
+        while (!frontier.isEmpty()) {
+            if (maxDepth >= 0 && depth > maxDepth) {
+                logger.info("server map depth limit reached. application:{}, maxDepth:{}, skipped:{}", sourceApplication, maxDepth, frontier.size());
+                break;
+            }
+            logger.debug("Select depth:{}, frontier:{}", depth, frontier);
+
+            final List<LinkDataMap> scanResult = scanFrontier(frontier, range, deadline);
+            final List<SelectTarget> nextFrontier = new ArrayList<SelectTarget>();
+            boolean expired = false;
+            for (int i = 0; i < frontier.size(); i++) {
+                final LinkDataMap linkDataMap = scanResult.get(i);
+                if (linkDataMap == null) {
+                    expired = true;
+                    continue;
+                }
+                final SelectTarget target = frontier.get(i);
+                if (target.getDirection() == Direction.CALLER) {
+                    mergeCaller(target.getApplication(), linkDataMap, range, linkDataDuplexMap, nextFrontier);
+                } else {
+                    mergeCallee(target.getApplication(), linkDataMap, linkDataDuplexMap, nextFrontier);
+                }
+            }
+            if (expired) {
+                logger.warn("server map select timeout. application:{}, timeout:{}ms, depth:{}", sourceApplication, timeoutMillis, depth);
+                break;
+            }
+            frontier = nextFrontier;
+            depth++;
+        }
+        logger.debug("Result of finding link {}", linkDataDuplexMap);
 
-        LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
-        linkDataDuplexMap.addLinkDataDuplexMap(caller);
-        linkDataDuplexMap.addLinkDataDuplexMap(callee);
         fillEmulationLink(linkDataDuplexMap);
 
         return linkDataDuplexMap;
     }
+
+    private enum Direction {
+        CALLER, CALLEE
+    }
+
+    private static final class SelectTarget {
+        private final Direction direction;
+        private final Application application;
+
+        private SelectTarget(Direction direction, Application application) {
+            this.direction = direction;
+            this.application = application;
+        }
+
+        public Direction getDirection() {
+            return direction;
+        }
+
+        public Application getApplication() {
+            return application;
+        }
+
+        @Override
+        public String toString() {
+            return direction + ":" + application;
+        }
+    }
+
+    private class ScanTask implements Callable<LinkDataMap> {
+        private final SelectTarget target;
+        private final Range range;
+
+        private ScanTask(SelectTarget target, Range range) {
+            this.target = target;
+            this.range = range;
+        }
+
+        @Override
+        public LinkDataMap call() throws Exception {
+            return scan(target, range);
+        }
+    }
 }
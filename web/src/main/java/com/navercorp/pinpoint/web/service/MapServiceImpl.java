@@ -17,14 +17,21 @@
 package com.navercorp.pinpoint.web.service;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMapBuilder;
 import com.navercorp.pinpoint.web.applicationmap.histogram.NodeHistogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
 import com.navercorp.pinpoint.web.applicationmap.link.MatcherGroup;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.*;
+import com.navercorp.pinpoint.web.config.WebConfig;
 import com.navercorp.pinpoint.web.dao.*;
 import com.navercorp.pinpoint.web.vo.*;
 
@@ -62,6 +69,26 @@ public class MapServiceImpl implements MapService {
     @Autowired(required=false)
     private MatcherGroup matcherGroup;
 
+    @Autowired
+    private WebConfig webConfig;
+
+    private ExecutorService linkSelectExecutor;
+
+    @PostConstruct
+    public void start() {
+        final int threadSize = webConfig.getServerMapSelectThreadSize();
+        final ThreadPoolExecutor executor = ExecutorFactory.newFixedThreadPool(threadSize, threadSize * 64, "Pinpoint-LinkDataSelector", true);
+        // run on the requesting thread when the queue is full rather than failing the whole server map
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.linkSelectExecutor = executor;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (linkSelectExecutor != null) {
+            linkSelectExecutor.shutdownNow();
+        }
+    }
 
     /**
      * Used in the main UI - draws the server map by querying the timeslot by time.
@@ -78,7 +105,8 @@ public class MapServiceImpl implements MapService {
 
         StopWatch watch = new StopWatch("applicationMapWatch");
         watch.start();
-        LinkDataSelector linkDataSelector = new LinkDataSelector(this.mapStatisticsCalleeDao, this.mapStatisticsCallerDao, hostApplicationMapDao);
+        LinkDataSelector linkDataSelector = new LinkDataSelector(this.mapStatisticsCalleeDao, this.mapStatisticsCallerDao, hostApplicationMapDao,
+                linkSelectExecutor, webConfig.getServerMapSelectMaxDepth(), webConfig.getServerMapSelectTimeout());
         LinkDataDuplexMap linkDataDuplexMap = linkDataSelector.select(sourceApplication, range);
 
         ApplicationMapBuilder builder = new ApplicationMapBuilder(range, matcherGroup);
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.navercorp.pinpoint.common.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.common.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.common.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves sql, api and string metadata through a bounded LRU cache.
+ * Metadata never changes once written, so found entries are kept.
+ * Missing entries are cached only for a short time, because the agent may send them later.
+ * That way a transaction with many references to a missing entry reads it once, not once per reference.
+ * prefetch loads every missing key of a transaction with one multi get.
+ *
+ * @author emeroad
+ */
+@Component
+public class MetaDataResolver {
+
+    public static final int DEFAULT_CACHE_SIZE = 1024 * 16;
+    public static final long DEFAULT_MISSING_ENTRY_EXPIRE = 5000;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final MetaDataCache<SqlMetaDataBo> sqlMetaDataCache;
+    private final MetaDataCache<ApiMetaDataBo> apiMetaDataCache;
+    private final MetaDataCache<StringMetaDataBo> stringMetaDataCache;
+
+    @Autowired
+    public MetaDataResolver(SqlMetaDataDao sqlMetaDataDao, ApiMetaDataDao apiMetaDataDao, StringMetaDataDao stringMetaDataDao) {
+        this(sqlMetaDataDao, apiMetaDataDao, stringMetaDataDao, DEFAULT_CACHE_SIZE, DEFAULT_MISSING_ENTRY_EXPIRE);
+    }
+
+    /**
+     * @param missingEntryExpire millis a missing entry is remembered. 0 disables the missing entry cache
+     */
+    public MetaDataResolver(final SqlMetaDataDao sqlMetaDataDao, final ApiMetaDataDao apiMetaDataDao, final StringMetaDataDao stringMetaDataDao, int cacheSize, long missingEntryExpire) {
+        if (sqlMetaDataDao == null) {
+            throw new NullPointerException("sqlMetaDataDao must not be null");
+        }
+        if (apiMetaDataDao == null) {
+            throw new NullPointerException("apiMetaDataDao must not be null");
+        }
+        if (stringMetaDataDao == null) {
+            throw new NullPointerException("stringMetaDataDao must not be null");
+        }
+        if (missingEntryExpire < 0) {
+            throw new IllegalArgumentException("missingEntryExpire must not be negative. missingEntryExpire:" + missingEntryExpire);
+        }
+        this.sqlMetaDataCache = new MetaDataCache<SqlMetaDataBo>(cacheSize, missingEntryExpire) {
+            @Override
+            List<SqlMetaDataBo> select(MetaDataKey key) {
+                return sqlMetaDataDao.getSqlMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            }
+
+            @Override
+            List<List<SqlMetaDataBo>> select(List<MetaDataKey> keyList) {
+                final List<SqlMetaDataBo> boKeyList = new ArrayList<SqlMetaDataBo>(keyList.size());
+                for (MetaDataKey key : keyList) {
+                    boKeyList.add(new SqlMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+                }
+                return sqlMetaDataDao.getSqlMetaData(boKeyList);
+            }
+        };
+        this.apiMetaDataCache = new MetaDataCache<ApiMetaDataBo>(cacheSize, missingEntryExpire) {
+            @Override
+            List<ApiMetaDataBo> select(MetaDataKey key) {
+                return apiMetaDataDao.getApiMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            }
+
+            @Override
+            List<List<ApiMetaDataBo>> select(List<MetaDataKey> keyList) {
+                final List<ApiMetaDataBo> boKeyList = new ArrayList<ApiMetaDataBo>(keyList.size());
+                for (MetaDataKey key : keyList) {
+                    boKeyList.add(new ApiMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+                }
+                return apiMetaDataDao.getApiMetaData(boKeyList);
+            }
+        };
+        this.stringMetaDataCache = new MetaDataCache<StringMetaDataBo>(cacheSize, missingEntryExpire) {
+            @Override
+            List<StringMetaDataBo> select(MetaDataKey key) {
+                return stringMetaDataDao.getStringMetaData(key.getAgentId(), key.getAgentStartTime(), key.getId());
+            }
+
+            @Override
+            List<List<StringMetaDataBo>> select(List<MetaDataKey> keyList) {
+                final List<StringMetaDataBo> boKeyList = new ArrayList<StringMetaDataBo>(keyList.size());
+                for (MetaDataKey key : keyList) {
+                    boKeyList.add(new StringMetaDataBo(key.getAgentId(), key.getAgentStartTime(), key.getId()));
+                }
+                return stringMetaDataDao.getStringMetaData(boKeyList);
+            }
+        };
+    }
+
+    public List<SqlMetaDataBo> getSqlMetaData(String agentId, long agentStartTime, int hashCode) {
+        return sqlMetaDataCache.get(new MetaDataKey(agentId, agentStartTime, hashCode));
+    }
+
+    public List<ApiMetaDataBo> getApiMetaData(String agentId, long agentStartTime, int apiId) {
+        return apiMetaDataCache.get(new MetaDataKey(agentId, agentStartTime, apiId));
+    }
+
+    public List<StringMetaDataBo> getStringMetaData(String agentId, long agentStartTime, int stringId) {
+        return stringMetaDataCache.get(new MetaDataKey(agentId, agentStartTime, stringId));
+    }
+
+    public void prefetchSqlMetaData(Collection<MetaDataKey> keys) {
+        sqlMetaDataCache.prefetch(keys);
+    }
+
+    public void prefetchApiMetaData(Collection<MetaDataKey> keys) {
+        apiMetaDataCache.prefetch(keys);
+    }
+
+    public void prefetchStringMetaData(Collection<MetaDataKey> keys) {
+        stringMetaDataCache.prefetch(keys);
+    }
+
+    private abstract class MetaDataCache<T> {
+
+        private final Cache<MetaDataKey, List<T>> cache;
+        private final Cache<MetaDataKey, Boolean> missingCache;
+
+        private MetaDataCache(int cacheSize, long missingEntryExpire) {
+            final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
+            cacheBuilder.maximumSize(cacheSize);
+            this.cache = cacheBuilder.build();
+
+            final CacheBuilder<Object, Object> missingCacheBuilder = CacheBuilder.newBuilder();
+            missingCacheBuilder.maximumSize(cacheSize);
+            missingCacheBuilder.expireAfterWrite(missingEntryExpire, TimeUnit.MILLISECONDS);
+            this.missingCache = missingCacheBuilder.build();
+        }
+
+        abstract List<T> select(MetaDataKey key);
+
+        abstract List<List<T>> select(List<MetaDataKey> keyList);
+
+        List<T> get(MetaDataKey key) {
+            final List<T> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (missingCache.getIfPresent(key) != null) {
+                return Collections.emptyList();
+            }
+            final List<T> metaDataList = select(key);
+            put(key, metaDataList);
+            return metaDataList;
+        }
+
+        void prefetch(Collection<MetaDataKey> keys) {
+            if (keys == null || keys.isEmpty()) {
+                return;
+            }
+            final List<MetaDataKey> missingKeyList = new ArrayList<MetaDataKey>(keys.size());
+            for (MetaDataKey key : new LinkedHashSet<MetaDataKey>(keys)) {
+                if (cache.getIfPresent(key) == null && missingCache.getIfPresent(key) == null) {
+                    missingKeyList.add(key);
+                }
+            }
+            if (missingKeyList.isEmpty()) {
+                return;
+            }
+            final List<List<T>> resultList = select(missingKeyList);
+            if (resultList == null || resultList.size() != missingKeyList.size()) {
+                logger.warn("unexpected multi get result. keySize:{}", missingKeyList.size());
+                return;
+            }
+            for (int i = 0; i < missingKeyList.size(); i++) {
+                put(missingKeyList.get(i), resultList.get(i));
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("prefetch keySize:{} missingKeySize:{}", keys.size(), missingKeyList.size());
+            }
+        }
+
+        private void put(MetaDataKey key, List<T> metaDataList) {
+            if (metaDataList != null && !metaDataList.isEmpty()) {
+                cache.put(key, metaDataList);
+            } else {
+                missingCache.put(key, Boolean.TRUE);
+            }
+        }
+    }
+
+    public static final class MetaDataKey {
+
+        private final String agentId;
+        private final long agentStartTime;
+        private final int id;
+
+        public MetaDataKey(String agentId, long agentStartTime, int id) {
+            if (agentId == null) {
+                throw new NullPointerException("agentId must not be null");
+            }
+            this.agentId = agentId;
+            this.agentStartTime = agentStartTime;
+            this.id = id;
+        }
+
+        public String getAgentId() {
+            return agentId;
+        }
+
+        public long getAgentStartTime() {
+            return agentStartTime;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            MetaDataKey that = (MetaDataKey) o;
+
+            if (agentStartTime != that.agentStartTime) return false;
+            if (id != that.id) return false;
+            return agentId.equals(that.agentId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = agentId.hashCode();
+            result = 31 * result + (int) (agentStartTime ^ (agentStartTime >>> 32));
+            result = 31 * result + id;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "MetaDataKey{" +
+                    "agentId='" + agentId + '\'' +
+                    ", agentStartTime=" + agentStartTime +
+                    ", id=" + id +
+                    '}';
+        }
+    }
+}
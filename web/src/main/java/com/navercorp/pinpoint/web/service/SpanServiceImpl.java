@@ -18,7 +18,9 @@ package com.navercorp.pinpoint.web.service;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.navercorp.pinpoint.common.AnnotationKey;
 import com.navercorp.pinpoint.common.bo.*;
@@ -26,10 +28,8 @@ import com.navercorp.pinpoint.common.util.OutputParameterParser;
 import com.navercorp.pinpoint.common.util.SqlParser;
 import com.navercorp.pinpoint.web.calltree.span.SpanAlign;
 import com.navercorp.pinpoint.web.calltree.span.SpanAligner2;
-import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
-import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
-import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
 import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.service.MetaDataResolver.MetaDataKey;
 import com.navercorp.pinpoint.web.vo.TransactionId;
 
 import org.apache.commons.lang3.StringUtils;
@@ -50,13 +50,7 @@ public class SpanServiceImpl implements SpanService {
     private TraceDao traceDao;
 
     @Autowired
-    private SqlMetaDataDao sqlMetaDataDao;
-
-    @Autowired
-    private ApiMetaDataDao apiMetaDataDao;
-
-    @Autowired
-    private StringMetaDataDao stringMetaDataDao;
+    private MetaDataResolver metaDataResolver;
 
     private final SqlParser sqlParser = new SqlParser();
     private final OutputParameterParser outputParameterParser = new OutputParameterParser();
@@ -74,6 +68,7 @@ public class SpanServiceImpl implements SpanService {
 
         SpanResult result = order(spans, selectedSpanHint);
         List<SpanAlign> order = result.getSpanAlignList();
+        prefetchMetaData(order);
 //        transitionApiId(order);
         transitionDynamicApiId(order);
         transitionSqlId(order);
@@ -85,6 +80,51 @@ public class SpanServiceImpl implements SpanService {
 
 
 
+    private void prefetchMetaData(List<SpanAlign> spanAlignList) {
+        // collect every metadata key of the transaction first so that each table is read with a single multi get.
+        final Set<MetaDataKey> apiKeys = new HashSet<MetaDataKey>();
+        final Set<MetaDataKey> sqlKeys = new HashSet<MetaDataKey>();
+        final Set<MetaDataKey> stringKeys = new HashSet<MetaDataKey>();
+        for (SpanAlign spanAlign : spanAlignList) {
+            final AgentKey agentKey = getAgentKey(spanAlign);
+            final String agentId = agentKey.getAgentId();
+            final long agentStartTime = agentKey.getAgentStartTime();
+
+            apiKeys.add(new MetaDataKey(agentId, agentStartTime, getApiId(spanAlign)));
+
+            final List<AnnotationBo> annotationBoList;
+            if (spanAlign.isSpan()) {
+                final SpanBo spanBo = spanAlign.getSpanBo();
+                if (spanBo.hasException()) {
+                    stringKeys.add(new MetaDataKey(agentId, agentStartTime, spanBo.getExceptionId()));
+                }
+                annotationBoList = spanBo.getAnnotationBoList();
+            } else {
+                final SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
+                if (spanEventBo.hasException()) {
+                    stringKeys.add(new MetaDataKey(agentId, agentStartTime, spanEventBo.getExceptionId()));
+                }
+                annotationBoList = spanEventBo.getAnnotationBoList();
+            }
+            if (annotationBoList == null) {
+                continue;
+            }
+            for (AnnotationBo annotationBo : annotationBoList) {
+                final int key = annotationBo.getKey();
+                if (key == AnnotationKey.SQL_ID.getCode()) {
+                    final IntStringStringValue sqlValue = (IntStringStringValue) annotationBo.getValue();
+                    sqlKeys.add(new MetaDataKey(agentId, agentStartTime, sqlValue.getIntValue()));
+                } else if (AnnotationKey.isCachedArgsKey(key)) {
+                    final int stringMetaDataId = (Integer) annotationBo.getValue();
+                    stringKeys.add(new MetaDataKey(agentId, agentStartTime, stringMetaDataId));
+                }
+            }
+        }
+        metaDataResolver.prefetchApiMetaData(apiKeys);
+        metaDataResolver.prefetchSqlMetaData(sqlKeys);
+        metaDataResolver.prefetchStringMetaData(stringKeys);
+    }
+
     private void transitionAnnotation(List<SpanAlign> spans, AnnotationReplacementCallback annotationReplacementCallback) {
         for (SpanAlign spanAlign : spans) {
             List<AnnotationBo> annotationBoList;
@@ -121,7 +161,7 @@ public class SpanServiceImpl implements SpanService {
                 final IntStringStringValue sqlValue = (IntStringStringValue) sqlIdAnnotation.getValue();
                 final int hashCode = sqlValue.getIntValue();
                 final String sqlParam = sqlValue.getStringValue1();
-                final List<SqlMetaDataBo> sqlMetaDataList = sqlMetaDataDao.getSqlMetaData(agentKey.getAgentId(), agentKey.getAgentStartTime(), hashCode);
+                final List<SqlMetaDataBo> sqlMetaDataList = metaDataResolver.getSqlMetaData(agentKey.getAgentId(), agentKey.getAgentStartTime(), hashCode);
                 final int size = sqlMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -221,7 +261,7 @@ public class SpanServiceImpl implements SpanService {
                 final AgentKey key = getAgentKey(spanAlign);
                 final int apiId = getApiId(spanAlign);
                 // may be able to get a more accurate data using agentIdentifier.
-                List<ApiMetaDataBo> apiMetaDataList = apiMetaDataDao.getApiMetaData(key.getAgentId(), key.getAgentStartTime(), apiId);
+                List<ApiMetaDataBo> apiMetaDataList = metaDataResolver.getApiMetaData(key.getAgentId(), key.getAgentStartTime(), apiId);
                 int size = apiMetaDataList.size();
                 if (size == 0) {
                     AnnotationBo api = new AnnotationBo();
@@ -265,7 +305,7 @@ public class SpanServiceImpl implements SpanService {
                 for (AnnotationBo annotationBo : cachedStringAnnotation) {
                     final int cachedArgsKey = annotationBo.getKey();
                     int stringMetaDataId = (Integer) annotationBo.getValue();
-                    List<StringMetaDataBo> stringMetaList = stringMetaDataDao.getStringMetaData(key.getAgentId(), key.getAgentStartTime(), stringMetaDataId);
+                    List<StringMetaDataBo> stringMetaList = metaDataResolver.getStringMetaData(key.getAgentId(), key.getAgentStartTime(), stringMetaDataId);
                     int size = stringMetaList.size();
                     if (size == 0) {
                         logger.warn("StringMetaData not Found {}/{}/{}", key.getAgentId(), stringMetaDataId, key.getAgentStartTime());
@@ -323,7 +363,7 @@ public class SpanServiceImpl implements SpanService {
     }
 
     private StringMetaDataBo selectStringMetaData(String agentId, int cacheId, long agentStartTime) {
-        final List<StringMetaDataBo> metaDataList = stringMetaDataDao.getStringMetaData(agentId, agentStartTime, cacheId);
+        final List<StringMetaDataBo> metaDataList = metaDataResolver.getStringMetaData(agentId, agentStartTime, cacheId);
         if (metaDataList == null || metaDataList.isEmpty()) {
             logger.warn("StringMetaData not Found agent:{}, cacheId{}, agentStartTime:{}", agentId, cacheId, agentStartTime);
             StringMetaDataBo stringMetaDataBo = new StringMetaDataBo(agentId, agentStartTime, cacheId);
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.service;
 
+import java.io.IOException;
 import java.util.List;
 
 import com.navercorp.pinpoint.web.calltree.span.SpanAlign;
@@ -23,7 +24,9 @@ import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.vo.BusinessTransactions;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.TransactionId;
+import com.navercorp.pinpoint.web.vo.callstacks.CallStackQuery;
 import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordWriter;
 
 /**
  *
@@ -31,5 +34,10 @@ import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
 public interface TransactionInfoService {
     RecordSet createRecordSet(List<SpanAlign> spanAligns, long focusTimestamp);
 
+    /**
+     * streaming version of createRecordSet. records are handed to the recordWriter as they are created.
+     */
+    void writeRecordSet(List<SpanAlign> spanAligns, long focusTimestamp, CallStackQuery query, RecordWriter recordWriter) throws IOException;
+
     BusinessTransactions selectBusinessTransactions(List<TransactionId> traceIds, String applicationName, Range range, Filter filter);
 }
@@ -17,8 +17,12 @@
 package com.navercorp.pinpoint.web.service;
 
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import com.navercorp.pinpoint.common.AnnotationKey;
 import com.navercorp.pinpoint.common.AnnotationKeyMatcher;
@@ -37,8 +41,11 @@ import com.navercorp.pinpoint.web.util.Stack;
 import com.navercorp.pinpoint.web.vo.BusinessTransactions;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.TransactionId;
+import com.navercorp.pinpoint.web.vo.callstacks.CallStackQuery;
 import com.navercorp.pinpoint.web.vo.callstacks.Record;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordFilter;
 import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordWriter;
 
 import org.apache.commons.lang.ObjectUtils;
 import org.slf4j.Logger;
@@ -108,13 +115,81 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
             throw new NullPointerException("spanAlignList must not be null");
         }
 
-        RecordSet recordSet = new RecordSet();
-
         // finds and marks the focusTimestamp.
         // focusTimestamp is needed to determine which span to use as reference when there are more than 2 spans making up a transaction.
         // for cases where focus cannot be found due to an error, a separate marker is needed.
         // TODO potential error - because server time is used, there may be more than 2 focusTime due to differences in server times.  
         SpanBo focusTimeSpanBo = findFocusTimeSpanBo(spanAlignList, focusTimestamp);
+        RecordSet recordSet = createRecordSetHeader(spanAlignList, focusTimeSpanBo);
+
+        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate(spanAlignList);
+        List<Record> recordList = spanAlignPopulate.populateSpanRecord();
+        logger.debug("RecordList:{}", recordList);
+
+        if (focusTimeSpanBo != null) {
+            // mark the record to be used as focus
+            markFocusRecord(recordList, recordSet.getBeginTimestamp());
+        }
+
+        recordSet.setRecordList(recordList);
+        return recordSet;
+    }
+
+    @Override
+    public void writeRecordSet(List<SpanAlign> spanAlignList, long focusTimestamp, CallStackQuery query, RecordWriter recordWriter) throws IOException {
+        if (spanAlignList == null) {
+            throw new NullPointerException("spanAlignList must not be null");
+        }
+        if (query == null) {
+            throw new NullPointerException("query must not be null");
+        }
+        if (recordWriter == null) {
+            throw new NullPointerException("recordWriter must not be null");
+        }
+
+        final SpanBo focusTimeSpanBo = findFocusTimeSpanBo(spanAlignList, focusTimestamp);
+        final RecordSet recordSet = createRecordSetHeader(spanAlignList, focusTimeSpanBo);
+        recordWriter.writeStart(recordSet);
+
+        // records are created one spanAlign at a time and written right away. the whole record list is never held in memory.
+        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate(spanAlignList);
+        final RecordFilter recordFilter = new RecordFilter(query);
+        boolean focusMarked = focusTimeSpanBo == null;
+
+        Record record = nextRecord(spanAlignPopulate);
+        while (record != null) {
+            final Record next = nextRecord(spanAlignPopulate);
+            // children always follow their parent. needed for spanEvent records cut off by maxDepth.
+            if (next != null && next.getParentId() == record.getId()) {
+                record.setHasChild(true);
+            }
+            if (!focusMarked && record.getBegin() == recordSet.getBeginTimestamp()) {
+                record.setFocused(true);
+                focusMarked = true;
+            }
+
+            final RecordFilter.Result result = recordFilter.filter(record);
+            if (result == RecordFilter.Result.STOP) {
+                break;
+            }
+            if (result == RecordFilter.Result.ACCEPT) {
+                recordWriter.writeRecord(record);
+            }
+            record = next;
+        }
+        recordWriter.writeEnd(recordFilter.hasMore(), recordFilter.getNextOffset());
+    }
+
+    private Record nextRecord(Iterator<Record> iterator) {
+        if (iterator.hasNext()) {
+            return iterator.next();
+        }
+        return null;
+    }
+
+    private RecordSet createRecordSetHeader(List<SpanAlign> spanAlignList, SpanBo focusTimeSpanBo) {
+        RecordSet recordSet = new RecordSet();
+
         // FIXME patched temporarily for cases where focusTimeSpanBo is not found. Need a more complete solution.
         if (focusTimeSpanBo != null) {
             recordSet.setAgentId(focusTimeSpanBo.getAgentId());
@@ -122,9 +197,9 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
 
             final String applicationName = getRpcArgument(focusTimeSpanBo);
             recordSet.setApplicationName(applicationName);
+            recordSet.setBeginTimestamp(focusTimeSpanBo.getStartTime());
         }
 
-
         // find the startTime to use as reference
         long startTime = getStartTime(spanAlignList);
         recordSet.setStartTime(startTime);
@@ -132,19 +207,6 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
         // find the endTime to use as reference
         long endTime = getEndTime(spanAlignList);
         recordSet.setEndTime(endTime);
-
-        final SpanAlignPopulate spanAlignPopulate = new SpanAlignPopulate();
-        List<Record> recordList = spanAlignPopulate.populateSpanRecord(spanAlignList);
-        logger.debug("RecordList:{}", recordList);
-
-        if (focusTimeSpanBo != null) {
-            // mark the record to be used as focus
-            long beginTimeStamp = focusTimeSpanBo.getStartTime();
-            markFocusRecord(recordList, beginTimeStamp);
-            recordSet.setBeginTimestamp(beginTimeStamp);
-        }
-
-        recordSet.setRecordList(recordList);
         return recordSet;
     }
 
@@ -206,7 +268,7 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
         return firstSpan;
     }
 
-    private class SpanAlignPopulate {
+    private class SpanAlignPopulate implements Iterator<Record> {
         private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
         private final ApiDescriptionParser apiDescriptionParser = new ApiDescriptionParser();
@@ -215,216 +277,249 @@ public class TransactionInfoServiceImpl implements TransactionInfoService {
         private int idGen = 1;
         private final Stack<SpanDepth> stack = new Stack<SpanDepth>();
 
-        private int getNextId() {
-            return idGen++;
-        }
+        private final List<SpanAlign> spanAlignList;
+        private int index = 0;
+        // records of the current spanAlign
+        private final LinkedList<Record> pendingRecordList = new LinkedList<Record>();
 
-        private List<Record> populateSpanRecord(List<SpanAlign> spanAlignList) {
+        private SpanAlignPopulate(List<SpanAlign> spanAlignList) {
             if (spanAlignList == null) {
                 throw new NullPointerException("spanAlignList must not be null");
             }
+            this.spanAlignList = spanAlignList;
+        }
+
+        private int getNextId() {
+            return idGen++;
+        }
+
+        private List<Record> populateSpanRecord() {
             final List<Record> recordList = new ArrayList<Record>(spanAlignList.size() * 2);
+            while (hasNext()) {
+                recordList.add(next());
+            }
+            return recordList;
+        }
 
-            // annotation id has nothing to do with spanAlign's seq and thus may be incremented as long as they don't overlap. 
-            for (int i = 0; i < spanAlignList.size(); i++) {
-                final SpanAlign spanAlign = spanAlignList.get(i);
-                if (i == 0) {
-                    if (!spanAlign.isSpan()) {
-                        throw new IllegalArgumentException("root is not span");
-                    }
-                    final SpanDepth spanDepth = new SpanDepth(spanAlign, getNextId(), spanAlign.getSpanBo().getStartTime());
+        @Override
+        public boolean hasNext() {
+            while (pendingRecordList.isEmpty() && index < spanAlignList.size()) {
+                populateSpanRecord(index, spanAlignList.get(index), pendingRecordList);
+                index++;
+            }
+            return !pendingRecordList.isEmpty();
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return pendingRecordList.poll();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        // annotation id has nothing to do with spanAlign's seq and thus may be incremented as long as they don't overlap. 
+        private void populateSpanRecord(final int i, final SpanAlign spanAlign, final List<Record> recordList) {
+            if (i == 0) {
+                if (!spanAlign.isSpan()) {
+                    throw new IllegalArgumentException("root is not span");
+                }
+                final SpanDepth spanDepth = new SpanDepth(spanAlign, getNextId(), spanAlign.getSpanBo().getStartTime());
+                stack.push(spanDepth);
+            } else {
+                final SpanDepth lastSpanDepth = stack.getLast();
+                final int parentDepth = lastSpanDepth.getSpanAlign().getDepth();
+                final int currentDepth = spanAlign.getDepth();
+                logger.debug("parentDepth:{} currentDepth:{} sequence:{}", parentDepth, currentDepth, lastSpanDepth.getId());
+
+                if (parentDepth < spanAlign.getDepth()) {
+                    // push if parentDepth is smaller
+                    final SpanDepth last = stack.getLast();
+                    final long beforeStartTime = getStartTime(last.getSpanAlign());
+                    final SpanDepth spanDepth = new SpanDepth(spanAlign, getNextId(), beforeStartTime);
                     stack.push(spanDepth);
                 } else {
-                    final SpanDepth lastSpanDepth = stack.getLast();
-                    final int parentDepth = lastSpanDepth.getSpanAlign().getDepth();
-                    final int currentDepth = spanAlign.getDepth();
-                    logger.debug("parentDepth:{} currentDepth:{} sequence:{}", parentDepth, currentDepth, lastSpanDepth.getId());
-
-                    if (parentDepth < spanAlign.getDepth()) {
-                        // push if parentDepth is smaller
-                        final SpanDepth last = stack.getLast();
-                        final long beforeStartTime = getStartTime(last.getSpanAlign());
-                        final SpanDepth spanDepth = new SpanDepth(spanAlign, getNextId(), beforeStartTime);
-                        stack.push(spanDepth);
-                    } else {
-                        if (parentDepth > currentDepth) {
-                            // pop if parentDepth is larger
-                            // difference in depth may be greater than 1, so pop and check the depth repeatedly until appropriate
-                            SpanDepth lastPopSpanDepth;
-                            while (true) {
-                                logger.trace("pop");
-                                lastPopSpanDepth = stack.pop();
-                                SpanDepth popLast = stack.getLast();
-                                if (popLast.getSpanAlign().getDepth() < currentDepth) {
-                                    break;
-                                }
+                    if (parentDepth > currentDepth) {
+                        // pop if parentDepth is larger
+                        // difference in depth may be greater than 1, so pop and check the depth repeatedly until appropriate
+                        SpanDepth lastPopSpanDepth;
+                        while (true) {
+                            logger.trace("pop");
+                            lastPopSpanDepth = stack.pop();
+                            SpanDepth popLast = stack.getLast();
+                            if (popLast.getSpanAlign().getDepth() < currentDepth) {
+                                break;
                             }
-                            final long beforeLastEndTime = getLastTime(lastPopSpanDepth.getSpanAlign());
-                            stack.push(new SpanDepth(spanAlign, getNextId(), beforeLastEndTime));
-                        } else {
-                            // throw away the object right infront if it has the same depth
-                            final SpanDepth before = stack.pop();
-                            final long beforeLastEndTime = getLastTime(before.getSpanAlign());
-                            stack.push(new SpanDepth(spanAlign, getNextId(), beforeLastEndTime));
                         }
+                        final long beforeLastEndTime = getLastTime(lastPopSpanDepth.getSpanAlign());
+                        stack.push(new SpanDepth(spanAlign, getNextId(), beforeLastEndTime));
+                    } else {
+                        // throw away the object right infront if it has the same depth
+                        final SpanDepth before = stack.pop();
+                        final long beforeLastEndTime = getLastTime(before.getSpanAlign());
+                        stack.push(new SpanDepth(spanAlign, getNextId(), beforeLastEndTime));
                     }
                 }
+            }
 
-                if (spanAlign.isSpan()) {
-                    SpanBo spanBo = spanAlign.getSpanBo();
+            if (spanAlign.isSpan()) {
+                SpanBo spanBo = spanAlign.getSpanBo();
 
-                    String argument = getRpcArgument(spanBo);
+                String argument = getRpcArgument(spanBo);
 
-                    final long begin = spanBo.getStartTime();
-                    final long elapsed = spanBo.getElapsed();
-                    final int spanBoSequence = stack.getLast().getId();
-                    int parentSequence;
-                    final SpanDepth parent = stack.getParent();
-                    if (parent == null) {
-                        // root span
-                        parentSequence = 0;
-                    } else {
-                        parentSequence = parent.getId();
-                    }
-                    logger.debug("spanBoSequence:{}, parentSequence:{}", spanBoSequence, parentSequence);
-
-
-                    String method = AnnotationUtils.findApiAnnotation(spanBo.getAnnotationBoList());
-                    if (method !=  null) {
-                        ApiDescription apiDescription = apiDescriptionParser.parse(method);
-                        Record record = new Record(spanAlign.getDepth(), 
-                                                    spanBoSequence,
-                                                    parentSequence,
-                                                    true,
-                                                    apiDescription.getSimpleMethodDescription(),
-                                                    argument,
-                                                    begin,
-                                                    elapsed,
-                                                    getGap(stack),
-                                                    spanBo.getAgentId(),
-                                                    spanBo.getApplicationId(),
-                                                    ServiceType.findServiceType(spanBo.getServiceType()),
-                                                    null,
-                                                    spanAlign.isHasChild(),
-                                                    false);
-                        record.setSimpleClassName(apiDescription.getSimpleClassName());
-                        record.setFullApiDescription(method);
-                        recordList.add(record);
-                    } else {
-                        AnnotationKey apiMetaDataError = AnnotationUtils.getApiMetaDataError(spanBo.getAnnotationBoList());
-                        Record record = new Record(spanAlign.getDepth(),
-                                                    spanBoSequence,
-                                                    parentSequence,
-                                                    true,
-                                                    apiMetaDataError.getName(),
-                                                    argument,
-                                                    begin,
-                                                    elapsed,
-                                                    getGap(stack),
-                                                    spanBo.getAgentId(),
-                                                    spanBo.getApplicationId(),
-                                                    ServiceType.findServiceType(spanBo.getServiceType()),
-                                                    null,
-                                                    spanAlign.isHasChild(),
-                                                    false);
-                        record.setSimpleClassName("");
-                        record.setFullApiDescription("");
-                        recordList.add(record);
-                    }
-                    // add exception record
-                    final Record exceptionRecord = getExceptionRecord(spanAlign, spanBoSequence);
-                    if (exceptionRecord != null) {
-                        recordList.add(exceptionRecord);
-                    }
+                final long begin = spanBo.getStartTime();
+                final long elapsed = spanBo.getElapsed();
+                final int spanBoSequence = stack.getLast().getId();
+                int parentSequence;
+                final SpanDepth parent = stack.getParent();
+                if (parent == null) {
+                    // root span
+                    parentSequence = 0;
+                } else {
+                    parentSequence = parent.getId();
+                }
+                logger.debug("spanBoSequence:{}, parentSequence:{}", spanBoSequence, parentSequence);
+
+
+                String method = AnnotationUtils.findApiAnnotation(spanBo.getAnnotationBoList());
+                if (method !=  null) {
+                    ApiDescription apiDescription = apiDescriptionParser.parse(method);
+                    Record record = new Record(spanAlign.getDepth(), 
+                                                spanBoSequence,
+                                                parentSequence,
+                                                true,
+                                                apiDescription.getSimpleMethodDescription(),
+                                                argument,
+                                                begin,
+                                                elapsed,
+                                                getGap(stack),
+                                                spanBo.getAgentId(),
+                                                spanBo.getApplicationId(),
+                                                ServiceType.findServiceType(spanBo.getServiceType()),
+                                                null,
+                                                spanAlign.isHasChild(),
+                                                false);
+                    record.setSimpleClassName(apiDescription.getSimpleClassName());
+                    record.setFullApiDescription(method);
+                    recordList.add(record);
+                } else {
+                    AnnotationKey apiMetaDataError = AnnotationUtils.getApiMetaDataError(spanBo.getAnnotationBoList());
+                    Record record = new Record(spanAlign.getDepth(),
+                                                spanBoSequence,
+                                                parentSequence,
+                                                true,
+                                                apiMetaDataError.getName(),
+                                                argument,
+                                                begin,
+                                                elapsed,
+                                                getGap(stack),
+                                                spanBo.getAgentId(),
+                                                spanBo.getApplicationId(),
+                                                ServiceType.findServiceType(spanBo.getServiceType()),
+                                                null,
+                                                spanAlign.isHasChild(),
+                                                false);
+                    record.setSimpleClassName("");
+                    record.setFullApiDescription("");
+                    recordList.add(record);
+                }
+                // add exception record
+                final Record exceptionRecord = getExceptionRecord(spanAlign, spanBoSequence);
+                if (exceptionRecord != null) {
+                    recordList.add(exceptionRecord);
+                }
 
-                    List<Record> annotationRecord = createAnnotationRecord(spanAlign.getDepth() + 1, spanBoSequence, spanBo.getAnnotationBoList());
-                    recordList.addAll(annotationRecord);
-                    if (spanBo.getRemoteAddr() != null) {
-                        Record remoteAddress = createParameterRecord(spanAlign.getDepth() + 1, spanBoSequence, "REMOTE_ADDRESS", spanBo.getRemoteAddr());
-                        recordList.add(remoteAddress);
-                    }
+                List<Record> annotationRecord = createAnnotationRecord(spanAlign.getDepth() + 1, spanBoSequence, spanBo.getAnnotationBoList());
+                recordList.addAll(annotationRecord);
+                if (spanBo.getRemoteAddr() != null) {
+                    Record remoteAddress = createParameterRecord(spanAlign.getDepth() + 1, spanBoSequence, "REMOTE_ADDRESS", spanBo.getRemoteAddr());
+                    recordList.add(remoteAddress);
+                }
+            } else {
+                SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
+                SpanBo spanBo = spanAlign.getSpanBo();
+
+                String argument = getDisplayArgument(spanEventBo);
+                final int spanBoEventSequence = stack.getLast().getId();
+                final SpanDepth parent = stack.getParent();
+                if (parent == null) {
+                    throw new IllegalStateException("parent is null. stack:" + stack);
+                }
+                final int parentSequence = parent.getId();
+                logger.debug("spanBoEventSequence:{}, parentSequence:{}", spanBoEventSequence, parentSequence);
+
+                final String method = AnnotationUtils.findApiAnnotation(spanEventBo.getAnnotationBoList());
+                if (method != null) {
+                    ApiDescription apiDescription = apiDescriptionParser.parse(method);
+                    String destinationId = spanEventBo.getDestinationId();
+
+                    long begin = spanAlign.getSpanBo().getStartTime() + spanEventBo.getStartElapsed();
+                    long elapsed = spanEventBo.getEndElapsed();
+
+                    // use spanBo's applicationId instead of spanEventBo's destinationId to display the name of the calling application on the call stack.
+                    Record record = new Record(spanAlign.getDepth(), 
+                                                spanBoEventSequence,
+                                                parentSequence,
+                                                true,
+                                                apiDescription.getSimpleMethodDescription(),
+                                                argument,
+                                                begin,
+                                                elapsed,
+                                                getGap(stack),
+                                                spanEventBo.getAgentId(),
+                                                spanBo.getApplicationId(),
+                                                ServiceType.findServiceType(spanEventBo.getServiceType()),
+                                                /* spanEventBo.getDestinationId(), spanEventBo.getServiceType(),*/
+                                                        destinationId,
+                                                        spanAlign.isHasChild(),
+                                                        false);
+                    record.setSimpleClassName(apiDescription.getSimpleClassName());
+                    record.setFullApiDescription(method);
+
+                    recordList.add(record);
                 } else {
-                    SpanEventBo spanEventBo = spanAlign.getSpanEventBo();
-                    SpanBo spanBo = spanAlign.getSpanBo();
-
-                    String argument = getDisplayArgument(spanEventBo);
-                    final int spanBoEventSequence = stack.getLast().getId();
-                    final SpanDepth parent = stack.getParent();
-                    if (parent == null) {
-                        throw new IllegalStateException("parent is null. stack:" + stack);
-                    }
-                    final int parentSequence = parent.getId();
-                    logger.debug("spanBoEventSequence:{}, parentSequence:{}", spanBoEventSequence, parentSequence);
-
-                    final String method = AnnotationUtils.findApiAnnotation(spanEventBo.getAnnotationBoList());
-                    if (method != null) {
-                        ApiDescription apiDescription = apiDescriptionParser.parse(method);
-                        String destinationId = spanEventBo.getDestinationId();
-
-                        long begin = spanAlign.getSpanBo().getStartTime() + spanEventBo.getStartElapsed();
-                        long elapsed = spanEventBo.getEndElapsed();
-
-                        // use spanBo's applicationId instead of spanEventBo's destinationId to display the name of the calling application on the call stack.
-                        Record record = new Record(spanAlign.getDepth(), 
-                                                    spanBoEventSequence,
-                                                    parentSequence,
-                                                    true,
-                                                    apiDescription.getSimpleMethodDescription(),
-                                                    argument,
-                                                    begin,
-                                                    elapsed,
-                                                    getGap(stack),
-                                                    spanEventBo.getAgentId(),
-                                                    spanBo.getApplicationId(),
-                                                    ServiceType.findServiceType(spanEventBo.getServiceType()),
-                                                    /* spanEventBo.getDestinationId(), spanEventBo.getServiceType(),*/
-                                                            destinationId,
-                                                            spanAlign.isHasChild(),
-                                                            false);
-                        record.setSimpleClassName(apiDescription.getSimpleClassName());
-                        record.setFullApiDescription(method);
-
-                        recordList.add(record);
-                    } else {
-                        AnnotationKey apiMetaDataError = AnnotationUtils.getApiMetaDataError(spanEventBo.getAnnotationBoList());
-                        String destinationId = spanEventBo.getDestinationId();
-
-                        long begin = spanAlign.getSpanBo().getStartTime() + spanEventBo.getStartElapsed();
-                        long elapsed = spanEventBo.getEndElapsed();
-
-                     // use spanBo's applicationId instead of spanEventBo's destinationId to display the name of the calling application on the call stack.
-                        Record record = new Record(spanAlign.getDepth(),
-                                                    spanBoEventSequence,
-                                                    parentSequence,
-                                                    true,
-                                                    apiMetaDataError.getName(),
-                                                    argument,
-                                                    begin,
-                                                    elapsed,
-                                                    getGap(stack),
-                                                    spanEventBo.getAgentId(),
-                                                    spanBo.getApplicationId(),
-                                                    ServiceType.findServiceType(spanEventBo.getServiceType()),
-                                                    /*spanEventBo.getDestinationId(), spanEventBo.getServiceType(),*/
-                                                    destinationId,
-                                                    spanAlign.isHasChild(),
-                                                    false);
-                        record.setSimpleClassName("");
-                        record.setFullApiDescription(method);
-
-                        recordList.add(record);
-                    }
-                    // add exception record
-                    final Record exceptionRecord = getExceptionRecord(spanAlign, spanBoEventSequence);
-                    if (exceptionRecord != null) {
-                        recordList.add(exceptionRecord);
-                    }
+                    AnnotationKey apiMetaDataError = AnnotationUtils.getApiMetaDataError(spanEventBo.getAnnotationBoList());
+                    String destinationId = spanEventBo.getDestinationId();
+
+                    long begin = spanAlign.getSpanBo().getStartTime() + spanEventBo.getStartElapsed();
+                    long elapsed = spanEventBo.getEndElapsed();
+
+                 // use spanBo's applicationId instead of spanEventBo's destinationId to display the name of the calling application on the call stack.
+                    Record record = new Record(spanAlign.getDepth(),
+                                                spanBoEventSequence,
+                                                parentSequence,
+                                                true,
+                                                apiMetaDataError.getName(),
+                                                argument,
+                                                begin,
+                                                elapsed,
+                                                getGap(stack),
+                                                spanEventBo.getAgentId(),
+                                                spanBo.getApplicationId(),
+                                                ServiceType.findServiceType(spanEventBo.getServiceType()),
+                                                /*spanEventBo.getDestinationId(), spanEventBo.getServiceType(),*/
+                                                destinationId,
+                                                spanAlign.isHasChild(),
+                                                false);
+                    record.setSimpleClassName("");
+                    record.setFullApiDescription(method);
 
-                    List<Record> annotationRecord = createAnnotationRecord(spanAlign.getDepth() + 1, spanBoEventSequence, spanEventBo.getAnnotationBoList());
-                    recordList.addAll(annotationRecord);
+                    recordList.add(record);
                 }
+                // add exception record
+                final Record exceptionRecord = getExceptionRecord(spanAlign, spanBoEventSequence);
+                if (exceptionRecord != null) {
+                    recordList.add(exceptionRecord);
+                }
+
+                List<Record> annotationRecord = createAnnotationRecord(spanAlign.getDepth() + 1, spanBoEventSequence, spanEventBo.getAnnotationBoList());
+                recordList.addAll(annotationRecord);
             }
-            return recordList;
         }
 
         private Record getExceptionRecord(SpanAlign spanAlign, int parentSequence) {
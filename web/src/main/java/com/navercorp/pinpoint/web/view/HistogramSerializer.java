@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.view;
 
 import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -51,6 +52,15 @@ public class HistogramSerializer extends JsonSerializer<Histogram> {
         jgen.writeFieldName(schema.getErrorSlot().getSlotName());
         jgen.writeNumber(histogram.getErrorCount());
 
+        // calls aggregated by the agent (profiler.responsestat.enable) are stored in the slots only.
+        // percentiles over the remaining calls would describe a part of the traffic, so they are left out
+        final LatencyHistogram latencyHistogram = histogram.getLatencyHistogram();
+        if (latencyHistogram != null && latencyHistogram.getTotalCount() == histogram.getTotalCount()) {
+            jgen.writeNumberField("p50", latencyHistogram.getPercentile(50));
+            jgen.writeNumberField("p95", latencyHistogram.getPercentile(95));
+            jgen.writeNumberField("p99", latencyHistogram.getPercentile(99));
+        }
+
         jgen.writeEndObject();
     }
 }
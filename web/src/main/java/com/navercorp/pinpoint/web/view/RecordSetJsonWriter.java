@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.navercorp.pinpoint.common.util.DateUtils;
+import com.navercorp.pinpoint.web.vo.callstacks.Record;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordWriter;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+import java.io.IOException;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * writes the call stack with the same layout as transactionInfoJson.jsp, one record at a time.
+ * every column is rendered the way the jsp renders it (see RecordSetJsonWriterTest):
+ * gap and elapsedTime are grouped like fmt:formatNumber in the request locale,
+ * depth is empty and barWidth is always "1" because the jsp refers to variables that are not in the model (span, begin, end, barRatio).
+ * the ui draws the timeline bar from begin/end and does not read either column.
+ *
+ * @author emeroad
+ */
+public class RecordSetJsonWriter implements RecordWriter {
+
+    private static final String[] CALL_STACK_INDEX = {
+            "depth", "begin", "end", "excludeFromTimeline", "applicationName", "tab", "id", "parentId", "isMethod", "hasChild",
+            "title", "arguments", "executeTime", "gap", "elapsedTime", "barWidth", "simpleClassName", "apiType", "agent", "isFocused", "hasException"
+    };
+
+    private final JsonGenerator jgen;
+    private final String transactionId;
+    private final String completeState;
+    // fmt:formatNumber type="number"
+    private final NumberFormat numberFormat;
+
+    public RecordSetJsonWriter(JsonGenerator jgen, String transactionId, String completeState, Locale locale) {
+        if (jgen == null) {
+            throw new NullPointerException("jgen must not be null");
+        }
+        if (locale == null) {
+            throw new NullPointerException("locale must not be null");
+        }
+        this.jgen = jgen;
+        this.transactionId = transactionId;
+        this.completeState = completeState;
+        this.numberFormat = NumberFormat.getNumberInstance(locale);
+    }
+
+    @Override
+    public void writeStart(RecordSet recordSet) throws IOException {
+        jgen.writeStartObject();
+        jgen.writeStringField("applicationName", recordSet.getApplicationName());
+        jgen.writeStringField("transactionId", transactionId);
+        jgen.writeStringField("agentId", recordSet.getAgentId());
+        jgen.writeStringField("applicationId", recordSet.getApplicationId());
+        jgen.writeNumberField("callStackStart", recordSet.getStartTime());
+        jgen.writeNumberField("callStackEnd", recordSet.getEndTime());
+        jgen.writeStringField("completeState", completeState);
+
+        jgen.writeObjectFieldStart("callStackIndex");
+        for (int i = 0; i < CALL_STACK_INDEX.length; i++) {
+            jgen.writeNumberField(CALL_STACK_INDEX[i], i);
+        }
+        jgen.writeEndObject();
+
+        jgen.writeArrayFieldStart("callStack");
+    }
+
+    @Override
+    public void writeRecord(Record record) throws IOException {
+        final boolean method = record.isMethod();
+
+        jgen.writeStartArray();
+        // depth
+        jgen.writeString("");
+        jgen.writeNumber(record.getBegin());
+        jgen.writeNumber(record.getBegin() + record.getElapsed());
+        jgen.writeBoolean(record.isExcludeFromTimeline());
+        jgen.writeString(nullToEmpty(record.getApplicationName()));
+        jgen.writeNumber(record.getTab());
+        jgen.writeString(String.valueOf(record.getId()));
+        jgen.writeString(record.getParentId() > 0 ? String.valueOf(record.getParentId()) : "");
+        jgen.writeBoolean(method);
+        jgen.writeBoolean(record.getHasChild());
+        jgen.writeString(nullToEmpty(record.getTitle()));
+        jgen.writeString(nullToEmpty(StringEscapeUtils.escapeHtml4(record.getArguments())));
+        if (method) {
+            jgen.writeString(DateUtils.longToDateStr(record.getBegin(), "HH:mm:ss SSS"));
+            jgen.writeString(numberFormat.format(record.getGap()));
+            jgen.writeString(numberFormat.format(record.getElapsed()));
+            // barWidth
+            jgen.writeString("1");
+        } else {
+            jgen.writeString("");
+            jgen.writeString("");
+            jgen.writeString("");
+            jgen.writeString("");
+        }
+        jgen.writeString(nullToEmpty(record.getSimpleClassName()));
+        jgen.writeString(record.getApiType());
+        jgen.writeString(nullToEmpty(record.getAgent()));
+        jgen.writeBoolean(record.isFocused());
+        jgen.writeBoolean(record.getHasException());
+        jgen.writeEndArray();
+    }
+
+    @Override
+    public void writeEnd(boolean hasMore, int nextOffset) throws IOException {
+        jgen.writeEndArray();
+        jgen.writeBooleanField("hasMore", hasMore);
+        jgen.writeNumberField("nextOffset", nextOffset);
+        jgen.writeEndObject();
+        jgen.flush();
+    }
+
+    private String nullToEmpty(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value;
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.vo;
 
 import com.navercorp.pinpoint.common.bo.AgentStatCpuLoadBo;
 import com.navercorp.pinpoint.common.bo.AgentStatMemoryGcBo;
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
 
 /**
  * @author hyungil.jeong
@@ -26,6 +27,7 @@ public class AgentStat {
 
     private AgentStatMemoryGcBo memoryGc;
     private AgentStatCpuLoadBo cpuLoad;
+    private AgentStatRollupBo rollup;
 
     public AgentStatMemoryGcBo getMemoryGc() {
         return memoryGc;
@@ -42,4 +44,12 @@ public class AgentStat {
     public void setCpuLoad(AgentStatCpuLoadBo cpuLoad) {
         this.cpuLoad = cpuLoad;
     }
+
+    public AgentStatRollupBo getRollup() {
+        return rollup;
+    }
+
+    public void setRollup(AgentStatRollupBo rollup) {
+        this.rollup = rollup;
+    }
 }
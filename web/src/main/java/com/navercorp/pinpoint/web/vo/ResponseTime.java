@@ -82,6 +82,11 @@ public class ResponseTime {
     }
 
 
+    public void addLatencyCount(String agentId, int bucketIndex, long count) {
+        Histogram histogram = getHistogram(agentId);
+        histogram.addLatencyCount(bucketIndex, count);
+    }
+
     public void addResponseTime(String agentId, Histogram copyHistogram) {
         if (copyHistogram == null) {
             throw new NullPointerException("copyHistogram must not be null");
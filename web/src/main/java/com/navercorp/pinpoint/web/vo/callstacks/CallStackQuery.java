@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.callstacks;
+
+/**
+ * selects a part of the call stack.
+ * rootId : only the subtree below the record with this id. ROOT(0) means the whole call stack.
+ * maxDepth : number of levels below the root. 0 means unlimited.
+ * offset, limit : paging over the selected records. limit 0 means unlimited.
+ *
+ * @author emeroad
+ */
+public class CallStackQuery {
+
+    public static final int ROOT = 0;
+
+    public static final CallStackQuery ALL = new CallStackQuery(ROOT, 0, 0, 0);
+
+    private final int rootId;
+    private final int maxDepth;
+    private final int offset;
+    private final int limit;
+
+    public CallStackQuery(int rootId, int maxDepth, int offset, int limit) {
+        if (rootId < 0) {
+            throw new IllegalArgumentException("negative rootId:" + rootId);
+        }
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("negative maxDepth:" + maxDepth);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("negative offset:" + offset);
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("negative limit:" + limit);
+        }
+        this.rootId = rootId;
+        this.maxDepth = maxDepth;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public int getRootId() {
+        return rootId;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "CallStackQuery{" +
+                "rootId=" + rootId +
+                ", maxDepth=" + maxDepth +
+                ", offset=" + offset +
+                ", limit=" + limit +
+                '}';
+    }
+}
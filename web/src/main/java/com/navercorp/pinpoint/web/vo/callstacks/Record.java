@@ -171,6 +171,10 @@ public class Record {
     public boolean getHasChild() {
         return hasChild;
     }
+
+    public void setHasChild(boolean hasChild) {
+        this.hasChild = hasChild;
+    }
     
     public boolean getHasException() {
         return hasException;
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.callstacks;
+
+/**
+ * applies a CallStackQuery to records in call stack order.
+ * records of a subtree are contiguous and deeper than the subtree root, so the filter can stop as soon as the subtree or the page ends.
+ *
+ * @author emeroad
+ */
+public class RecordFilter {
+
+    public enum Result {
+        ACCEPT, SKIP, STOP
+    }
+
+    private final CallStackQuery query;
+
+    private boolean rootFound;
+    private int rootTab;
+
+    private int selectedCount;
+    private int acceptedCount;
+    private boolean hasMore;
+
+    public RecordFilter(CallStackQuery query) {
+        if (query == null) {
+            throw new NullPointerException("query must not be null");
+        }
+        this.query = query;
+        if (query.getRootId() == CallStackQuery.ROOT) {
+            // virtual root above the first record
+            this.rootFound = true;
+            this.rootTab = -1;
+        }
+    }
+
+    public Result filter(Record record) {
+        if (record == null) {
+            throw new NullPointerException("record must not be null");
+        }
+        if (!rootFound) {
+            if (record.getId() == query.getRootId()) {
+                rootFound = true;
+                rootTab = record.getTab();
+            }
+            return Result.SKIP;
+        }
+        final int depth = record.getTab() - rootTab;
+        if (depth <= 0) {
+            // end of subtree
+            return Result.STOP;
+        }
+        final int maxDepth = query.getMaxDepth();
+        if (maxDepth != 0 && depth > maxDepth) {
+            return Result.SKIP;
+        }
+        final int index = selectedCount++;
+        if (index < query.getOffset()) {
+            return Result.SKIP;
+        }
+        final int limit = query.getLimit();
+        if (limit != 0 && acceptedCount >= limit) {
+            hasMore = true;
+            return Result.STOP;
+        }
+        acceptedCount++;
+        return Result.ACCEPT;
+    }
+
+    public int getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int getNextOffset() {
+        return query.getOffset() + acceptedCount;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.callstacks;
+
+import java.io.IOException;
+
+/**
+ * receives the call stack record by record instead of a whole RecordSet.
+ *
+ * @author emeroad
+ */
+public interface RecordWriter {
+
+    /**
+     * @param recordSet header only. recordList is not set.
+     */
+    void writeStart(RecordSet recordSet) throws IOException;
+
+    void writeRecord(Record record) throws IOException;
+
+    void writeEnd(boolean hasMore, int nextOffset) throws IOException;
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.linechart;
+
+/**
+ * data point that already summarizes several samples (ex. an agent stat rollup bucket).
+ * yVal is the average of the samples.
+ *
+ * @author hyungil.jeong
+ */
+public class AggregatedDataPoint<X extends Number, Y extends Number> extends DataPoint<X, Y> {
+
+    private final Y minVal;
+    private final Y maxVal;
+
+    public AggregatedDataPoint(X xVal, Y minVal, Y maxVal, Y avgVal) {
+        super(xVal, avgVal);
+        this.minVal = minVal;
+        this.maxVal = maxVal;
+    }
+
+    public Y getMinVal() {
+        return minVal;
+    }
+
+    public Y getMaxVal() {
+        return maxVal;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getxVal() + "," + minVal + "," + maxVal + "," + getyVal() + ")";
+    }
+
+}
@@ -30,7 +30,7 @@ public abstract class SampledTimeSeriesChartBuilder<Y extends Number> extends Sa
 
     private final TimeWindow timeWindow;
     private final Y defaultValue;
-    private final List<List<Y>> timeslots;
+    private final List<Timeslot<Y>> timeslots;
     
     protected SampledTimeSeriesChartBuilder(TimeWindow timeWindow, Y defaultValue) {
         this.defaultValue = defaultValue;
@@ -39,13 +39,13 @@ public abstract class SampledTimeSeriesChartBuilder<Y extends Number> extends Sa
             throw new IllegalArgumentException("range yields too many timeslots");
         }
         int numTimeslots = (int)(long)this.timeWindow.getWindowRangeCount();
-        this.timeslots = new ArrayList<List<Y>>(numTimeslots);
+        this.timeslots = new ArrayList<Timeslot<Y>>(numTimeslots);
         initializeTimeslots(numTimeslots);
     }
     
     private void initializeTimeslots(int numTimeslots) {
         for (int i = 0; i < numTimeslots; ++i) {
-            this.timeslots.add(new ArrayList<Y>());
+            this.timeslots.add(new Timeslot<Y>());
         }
     }
     
@@ -55,7 +55,7 @@ public abstract class SampledTimeSeriesChartBuilder<Y extends Number> extends Sa
         allocateDataPoints(dataPoints);
         int timeSlotIndex = 0;
         for (Long timestamp : this.timeWindow) {
-            List<Y> dataPointsToSample = this.timeslots.get(timeSlotIndex);
+            Timeslot<Y> dataPointsToSample = this.timeslots.get(timeSlotIndex);
             points.addPoint(makePoint(timestamp, dataPointsToSample));
             ++timeSlotIndex;
         }
@@ -66,19 +66,19 @@ public abstract class SampledTimeSeriesChartBuilder<Y extends Number> extends Sa
         for (DataPoint<Long, Y> dataPoint : dataPoints) {
             int timeslotIndex = this.timeWindow.getWindowIndex(dataPoint.getxVal());
             if (isValidIndex(timeslotIndex)) {
-                List<Y> timeSlottedDataPoints = this.timeslots.get(timeslotIndex);
-                timeSlottedDataPoints.add(dataPoint.getyVal());
+                Timeslot<Y> timeSlottedDataPoints = this.timeslots.get(timeslotIndex);
+                timeSlottedDataPoints.add(dataPoint);
             }
         }
     }
     
-    private Point makePoint(Long xVal, List<Y> sampleBuffer) {
+    private Point makePoint(Long xVal, Timeslot<Y> sampleBuffer) {
         if (sampleBuffer.isEmpty()) {
             return new Point(xVal, this.defaultValue, this.defaultValue, this.defaultValue);
         } else {
-            Y minVal = sampleMin(sampleBuffer);
-            Y maxVal = sampleMax(sampleBuffer);
-            Y avgVal = sampleAvg(sampleBuffer);
+            Y minVal = sampleMin(sampleBuffer.minValues);
+            Y maxVal = sampleMax(sampleBuffer.maxValues);
+            Y avgVal = sampleAvg(sampleBuffer.avgValues);
             return new Point(xVal, minVal, maxVal, avgVal);
         }
     }
@@ -86,5 +86,30 @@ public abstract class SampledTimeSeriesChartBuilder<Y extends Number> extends Sa
     private boolean isValidIndex(int timeslot) {
         return timeslot >= 0 && timeslot < this.timeslots.size();
     }
-    
+
+    /**
+     * raw data points go into every list, aggregated data points keep their own min/max
+     */
+    private static class Timeslot<Y extends Number> {
+        private final List<Y> minValues = new ArrayList<Y>();
+        private final List<Y> maxValues = new ArrayList<Y>();
+        private final List<Y> avgValues = new ArrayList<Y>();
+
+        private void add(DataPoint<Long, Y> dataPoint) {
+            if (dataPoint instanceof AggregatedDataPoint) {
+                AggregatedDataPoint<Long, Y> aggregated = (AggregatedDataPoint<Long, Y>) dataPoint;
+                minValues.add(aggregated.getMinVal());
+                maxValues.add(aggregated.getMaxVal());
+            } else {
+                minValues.add(dataPoint.getyVal());
+                maxValues.add(dataPoint.getyVal());
+            }
+            avgValues.add(dataPoint.getyVal());
+        }
+
+        private boolean isEmpty() {
+            return avgValues.isEmpty();
+        }
+    }
+
 }
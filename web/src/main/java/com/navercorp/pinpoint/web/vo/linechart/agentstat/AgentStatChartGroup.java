@@ -22,8 +22,11 @@ import java.util.Map;
 
 import com.navercorp.pinpoint.common.bo.AgentStatCpuLoadBo;
 import com.navercorp.pinpoint.common.bo.AgentStatMemoryGcBo;
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo;
+import com.navercorp.pinpoint.common.bo.AgentStatRollupBo.Metric;
 import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.vo.AgentStat;
+import com.navercorp.pinpoint.web.vo.linechart.AggregatedDataPoint;
 import com.navercorp.pinpoint.web.vo.linechart.Chart;
 import com.navercorp.pinpoint.web.vo.linechart.DataPoint;
 import com.navercorp.pinpoint.web.vo.linechart.SampledTimeSeriesDoubleChartBuilder;
@@ -72,6 +75,7 @@ public class AgentStatChartGroup {
         for (AgentStat agentStat : agentStats) {
             addMemoryGcData(agentStat.getMemoryGc());
             addCpuLoadData(agentStat.getCpuLoad());
+            addRollupData(agentStat.getRollup());
         }
     }
 
@@ -106,6 +110,44 @@ public class AgentStatChartGroup {
         ((SampledTimeSeriesDoubleChartBuilder)this.chartBuilders.get(ChartType.CPU_LOAD_SYSTEM)).addDataPoint(new DataPoint<Long, Double>(timestamp, systemCpuLoadPercentage));
     }
 
+    private void addRollupData(AgentStatRollupBo data) {
+        if (data == null) {
+            return;
+        }
+        if (data.getGcType() != null) {
+            this.type = data.getGcType();
+        }
+        long timestamp = data.getTimestamp();
+        addRollupLongData(ChartType.JVM_MEMORY_HEAP_USED, timestamp, data, Metric.JVM_MEMORY_HEAP_USED);
+        addRollupLongData(ChartType.JVM_MEMORY_HEAP_MAX, timestamp, data, Metric.JVM_MEMORY_HEAP_MAX);
+        addRollupLongData(ChartType.JVM_MEMORY_NON_HEAP_USED, timestamp, data, Metric.JVM_MEMORY_NON_HEAP_USED);
+        addRollupLongData(ChartType.JVM_MEMORY_NON_HEAP_MAX, timestamp, data, Metric.JVM_MEMORY_NON_HEAP_MAX);
+        addRollupLongData(ChartType.JVM_GC_OLD_COUNT, timestamp, data, Metric.JVM_GC_OLD_COUNT);
+        addRollupLongData(ChartType.JVM_GC_OLD_TIME, timestamp, data, Metric.JVM_GC_OLD_TIME);
+        addRollupPercentageData(ChartType.CPU_LOAD_JVM, timestamp, data, Metric.JVM_CPU_LOAD);
+        addRollupPercentageData(ChartType.CPU_LOAD_SYSTEM, timestamp, data, Metric.SYSTEM_CPU_LOAD);
+    }
+
+    private void addRollupLongData(ChartType chartType, long timestamp, AgentStatRollupBo data, Metric metric) {
+        if (data.getCount(metric) == 0) {
+            return;
+        }
+        long min = (long) data.getMin(metric);
+        long max = (long) data.getMax(metric);
+        long avg = Math.round(data.getAvg(metric));
+        ((SampledTimeSeriesLongChartBuilder)this.chartBuilders.get(chartType)).addDataPoint(new AggregatedDataPoint<Long, Long>(timestamp, min, max, avg));
+    }
+
+    private void addRollupPercentageData(ChartType chartType, long timestamp, AgentStatRollupBo data, Metric metric) {
+        if (data.getCount(metric) == 0) {
+            return;
+        }
+        double min = data.getMin(metric) * 100;
+        double max = data.getMax(metric) * 100;
+        double avg = data.getAvg(metric) * 100;
+        ((SampledTimeSeriesDoubleChartBuilder)this.chartBuilders.get(chartType)).addDataPoint(new AggregatedDataPoint<Long, Double>(timestamp, min, max, avg));
+    }
+
     public String getType() {
         return type;
     }
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.alarm;
 
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -37,8 +38,62 @@ public class AlarmPartitionerTest {
     @Test
     public void partitionTest() {
         AlarmPartitioner partitioner = new AlarmPartitioner(dao);
+        partitioner.setAgentCountPerPartition(5);
         Map<String, ExecutionContext> partitions = partitioner.partition(0);
         Assert.assertEquals(8, partitions.size());
+
+        ExecutionContext first = partitions.get(AlarmPartitioner.PARTITION_NUMBER + "_1");
+        Assert.assertEquals(5, ((List<?>) first.get(AlarmPartitioner.APPLICATION_NAME_LIST)).size());
+        Assert.assertTrue(first.containsKey(AlarmPartitioner.TIME_SLOT_END_TIME));
+    }
+
+    @Test
+    public void partitionByAgentCountTest() {
+        ApplicationIndexDao agentDao = new ApplicationIndexDao() {
+
+            @Override
+            public List<Application> selectAllApplicationNames() {
+                List<Application> apps = new LinkedList<Application>();
+                apps.add(new Application("large", ServiceType.STAND_ALONE));
+                apps.add(new Application("small1", ServiceType.STAND_ALONE));
+                apps.add(new Application("small2", ServiceType.STAND_ALONE));
+                return apps;
+            }
+
+            @Override
+            public Map<Application, Integer> selectAllApplicationAgentCount() {
+                Map<Application, Integer> agentCountMap = new LinkedHashMap<Application, Integer>();
+                for (Application application : selectAllApplicationNames()) {
+                    agentCountMap.put(application, selectAgentIds(application.getName()).size());
+                }
+                return agentCountMap;
+            }
+
+            @Override
+            public List<String> selectAgentIds(String applicationName) {
+                List<String> agentIds = new LinkedList<String>();
+                int agentCount = "large".equals(applicationName) ? 8 : 2;
+                for (int i = 0; i < agentCount; i++) {
+                    agentIds.add(applicationName + "-agent" + i);
+                }
+                return agentIds;
+            }
+
+            @Override
+            public void deleteApplicationName(String applicationName) {
+            }
+
+            @Override
+            public void deleteAgentId(String applicationName, String agentId) {
+            }
+        };
+
+        AlarmPartitioner partitioner = new AlarmPartitioner(agentDao);
+        partitioner.setAgentCountPerPartition(5);
+        List<List<Application>> partitionList = partitioner.calculatePartition();
+        Assert.assertEquals(2, partitionList.size());
+        Assert.assertEquals(1, partitionList.get(0).size());
+        Assert.assertEquals(2, partitionList.get(1).size());
     }
     
     @BeforeClass
@@ -55,6 +110,15 @@ public class AlarmPartitionerTest {
                 
                 return apps;
             }
+
+            @Override
+            public Map<Application, Integer> selectAllApplicationAgentCount() {
+                Map<Application, Integer> agentCountMap = new LinkedHashMap<Application, Integer>();
+                for (Application application : selectAllApplicationNames()) {
+                    agentCountMap.put(application, 0);
+                }
+                return agentCountMap;
+            }
             
             @Override
             public List<String> selectAgentIds(String applicationName) {
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -118,6 +119,15 @@ public class ReaderTest {
                 return apps;
             }
 
+            @Override
+            public Map<Application, Integer> selectAllApplicationAgentCount() {
+                Map<Application, Integer> agentCountMap = new LinkedHashMap<Application, Integer>();
+                for (Application application : selectAllApplicationNames()) {
+                    agentCountMap.put(application, 0);
+                }
+                return agentCountMap;
+            }
+
             @Override public List<String> selectAgentIds(String applicationName) {return null;}
             @Override public void deleteApplicationName(String applicationName) { }
             @Override public void deleteAgentId(String applicationName, String agentId) {}
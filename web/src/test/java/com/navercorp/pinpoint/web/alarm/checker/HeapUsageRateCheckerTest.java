@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -74,6 +75,11 @@ public class HeapUsageRateCheckerTest {
                 
                 return AgentStatList;
             }
+
+            @Override
+            public List<AgentStat> scanAgentStatList(String agentId, Range range, long resolution) {
+                return scanAgentStatList(agentId, range);
+            }
         };
         
         applicationIndexDao = new ApplicationIndexDao() {
@@ -83,6 +89,11 @@ public class HeapUsageRateCheckerTest {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public Map<Application, Integer> selectAllApplicationAgentCount() {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public List<String> selectAgentIds(String applicationName) {
                 if (SERVICE_NAME.equals(applicationName)) {
@@ -20,6 +20,7 @@ import static org.junit.Assert.*;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -73,6 +74,11 @@ public class JvmCpuUsageRateCheckerTest {
                 
                 return AgentStatList;
             }
+
+            @Override
+            public List<AgentStat> scanAgentStatList(String agentId, Range range, long resolution) {
+                return scanAgentStatList(agentId, range);
+            }
         };
         
         applicationIndexDao = new ApplicationIndexDao() {
@@ -82,6 +88,11 @@ public class JvmCpuUsageRateCheckerTest {
                 throw new UnsupportedOperationException();
             }
 
+            @Override
+            public Map<Application, Integer> selectAllApplicationAgentCount() {
+                throw new UnsupportedOperationException();
+            }
+
             @Override
             public List<String> selectAgentIds(String applicationName) {
                 if (SERVICE_NAME.equals(applicationName)) {
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.applicationmap.rawdata;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 
@@ -67,5 +68,24 @@ public class HistogramTest {
 
         Assert.assertEquals(hashMap.get(schema.getFastSlot().getSlotName()), 100);
         Assert.assertEquals(hashMap.get(schema.getErrorSlot().getSlotName()), 0);
+        Assert.assertFalse(hashMap.containsKey("p99"));
+    }
+
+    @Test
+    public void testLatency() throws Exception {
+        Histogram original = new Histogram(ServiceType.STAND_ALONE);
+        original.addLatencyCount(LatencyHistogram.getBucketIndex(10), 98);
+
+        Histogram copy = new Histogram(ServiceType.STAND_ALONE);
+        Assert.assertNull(copy.getLatencyHistogram());
+        copy.add(original);
+        copy.addLatencyCount(LatencyHistogram.getBucketIndex(3000), 2);
+        Assert.assertEquals(98, original.getLatencyHistogram().getTotalCount());
+        Assert.assertEquals(100, copy.getLatencyHistogram().getTotalCount());
+
+        String json = objectMapper.writeValueAsString(copy);
+        HashMap hashMap = objectMapper.readValue(json, HashMap.class);
+        Assert.assertEquals(10, hashMap.get("p50"));
+        Assert.assertEquals(LatencyHistogram.getBucketUpperBound(LatencyHistogram.getBucketIndex(3000)), hashMap.get("p99"));
     }
 }
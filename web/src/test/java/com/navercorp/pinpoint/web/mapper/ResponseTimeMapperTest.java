@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.mapper;
 
 import com.navercorp.pinpoint.common.HistogramSlot;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
@@ -56,4 +57,22 @@ public class ResponseTimeMapperTest {
         Assert.assertEquals(slow, 0);
 
     }
+
+    @Test
+    public void testRecordLatencyColumn() throws Exception {
+        ResponseTimeMapper responseTimeMapper = new ResponseTimeMapper();
+        ResponseTime responseTime = new ResponseTime("applicaionName", ServiceType.STAND_ALONE.getCode(), System.currentTimeMillis());
+
+        Buffer buffer = new AutomaticBuffer();
+        short bucketIndex = (short) LatencyHistogram.getBucketIndex(1000);
+        buffer.put(bucketIndex);
+        buffer.put(Bytes.toBytes("agent"));
+
+        responseTimeMapper.recordLatencyColumn(responseTime, buffer.getBuffer(), Bytes.toBytes(2L), 0);
+
+        Histogram agentHistogram = responseTime.findHistogram("agent");
+        LatencyHistogram latencyHistogram = agentHistogram.getLatencyHistogram();
+        Assert.assertEquals(latencyHistogram.getCount(bucketIndex), 2);
+        Assert.assertEquals(agentHistogram.getTotalCount(), 0);
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.dao.HostApplicationMapDao;
+import com.navercorp.pinpoint.web.dao.MapStatisticsCalleeDao;
+import com.navercorp.pinpoint.web.dao.MapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.service.map.AcceptApplication;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.LinkKey;
+import com.navercorp.pinpoint.web.vo.Range;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author emeroad
+ */
+public class LinkDataSelectorTest {
+
+    private static final Application USER = new Application("user", ServiceType.USER);
+    private static final Application FRONT = new Application("front", ServiceType.STAND_ALONE);
+    private static final Application BACKEND = new Application("backend", ServiceType.STAND_ALONE);
+    private static final Application API = new Application("api", ServiceType.STAND_ALONE);
+    private static final Application DB = new Application("db", ServiceType.MYSQL);
+
+    private final Range range = new Range(0, 60000);
+
+    private final List<LinkKey> links = new ArrayList<LinkKey>();
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        // user -> front -> backend -> db
+        //         front -> api -> db
+        links.add(new LinkKey(USER, FRONT));
+        links.add(new LinkKey(FRONT, BACKEND));
+        links.add(new LinkKey(FRONT, API));
+        links.add(new LinkKey(BACKEND, DB));
+        links.add(new LinkKey(API, DB));
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void selectSequentialAndParallel() throws Exception {
+        LinkDataSelector sequential = new LinkDataSelector(new CalleeDao(0), new CallerDao(0), new EmptyHostApplicationMapDao());
+        LinkDataDuplexMap sequentialResult = sequential.select(BACKEND, range);
+
+        LinkDataSelector parallel = new LinkDataSelector(new CalleeDao(0), new CallerDao(0), new EmptyHostApplicationMapDao(), executor, -1, -1);
+        LinkDataDuplexMap parallelResult = parallel.select(BACKEND, range);
+
+        Set<LinkKey> expectedSource = new HashSet<LinkKey>();
+        expectedSource.add(new LinkKey(FRONT, BACKEND));
+        expectedSource.add(new LinkKey(FRONT, API));
+        expectedSource.add(new LinkKey(BACKEND, DB));
+        expectedSource.add(new LinkKey(API, DB));
+
+        Assert.assertEquals(expectedSource, toLinkKeySet(sequentialResult.getSourceLinkDataList()));
+        Assert.assertEquals(expectedSource, toLinkKeySet(parallelResult.getSourceLinkDataList()));
+
+        Set<LinkKey> expectedTarget = new HashSet<LinkKey>();
+        expectedTarget.add(new LinkKey(USER, FRONT));
+        expectedTarget.add(new LinkKey(FRONT, BACKEND));
+        expectedTarget.add(new LinkKey(FRONT, API));
+
+        Assert.assertEquals(expectedTarget, toLinkKeySet(sequentialResult.getTargetLinkDataList()));
+        Assert.assertEquals(expectedTarget, toLinkKeySet(parallelResult.getTargetLinkDataList()));
+    }
+
+    @Test
+    public void selectMaxDepth() throws Exception {
+        LinkDataSelector selector = new LinkDataSelector(new CalleeDao(0), new CallerDao(0), new EmptyHostApplicationMapDao(), executor, 0, -1);
+        LinkDataDuplexMap result = selector.select(BACKEND, range);
+
+        Set<LinkKey> expectedSource = new HashSet<LinkKey>();
+        expectedSource.add(new LinkKey(BACKEND, DB));
+        Assert.assertEquals(expectedSource, toLinkKeySet(result.getSourceLinkDataList()));
+
+        Set<LinkKey> expectedTarget = new HashSet<LinkKey>();
+        expectedTarget.add(new LinkKey(FRONT, BACKEND));
+        Assert.assertEquals(expectedTarget, toLinkKeySet(result.getTargetLinkDataList()));
+    }
+
+    @Test
+    public void selectTimeout() throws Exception {
+        LinkDataSelector selector = new LinkDataSelector(new CalleeDao(1000), new CallerDao(1000), new EmptyHostApplicationMapDao(), executor, -1, 100);
+        long start = System.currentTimeMillis();
+        LinkDataDuplexMap result = selector.select(BACKEND, range);
+        long elapsed = System.currentTimeMillis() - start;
+
+        Assert.assertTrue("elapsed:" + elapsed, elapsed < 1000);
+        Assert.assertEquals(0, result.size());
+    }
+
+    private Set<LinkKey> toLinkKeySet(Iterable<LinkData> linkDataList) {
+        Set<LinkKey> result = new HashSet<LinkKey>();
+        for (LinkData linkData : linkDataList) {
+            result.add(new LinkKey(linkData.getFromApplication(), linkData.getToApplication()));
+        }
+        return result;
+    }
+
+    private LinkDataMap newLinkDataMap(LinkKey linkKey) {
+        LinkDataMap linkDataMap = new LinkDataMap();
+        Application from = new Application(linkKey.getFromApplication(), linkKey.getFromServiceType());
+        Application to = new Application(linkKey.getToApplication(), linkKey.getToServiceType());
+        linkDataMap.addLinkData(from, "agent", to, to.getName(), range.getFrom(), (short) 100, 1);
+        return linkDataMap;
+    }
+
+    private static void sleep(long sleep) {
+        if (sleep <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private class CallerDao implements MapStatisticsCallerDao {
+        private final long sleep;
+
+        private CallerDao(long sleep) {
+            this.sleep = sleep;
+        }
+
+        @Override
+        public LinkDataMap selectCaller(Application callerApplication, Range range) {
+            sleep(sleep);
+            LinkDataMap result = new LinkDataMap();
+            for (LinkKey link : links) {
+                if (link.getFromApplication().equals(callerApplication.getName())) {
+                    result.addLinkDataMap(newLinkDataMap(link));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<LinkDataMap> selectCallerStatistics(Application callerApplication, Application calleeApplication, Range range) {
+            return Collections.emptyList();
+        }
+    }
+
+    private class CalleeDao implements MapStatisticsCalleeDao {
+        private final long sleep;
+
+        private CalleeDao(long sleep) {
+            this.sleep = sleep;
+        }
+
+        @Override
+        public LinkDataMap selectCallee(Application calleeApplication, Range range) {
+            sleep(sleep);
+            LinkDataMap result = new LinkDataMap();
+            for (LinkKey link : links) {
+                if (link.getToApplication().equals(calleeApplication.getName())) {
+                    result.addLinkDataMap(newLinkDataMap(link));
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public List<LinkDataMap> selectCalleeStatistics(Application callerApplication, Application calleeApplication, Range range) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class EmptyHostApplicationMapDao implements HostApplicationMapDao {
+        @Override
+        public Set<AcceptApplication> findAcceptApplicationName(String host, Range range) {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<AcceptApplication> findAcceptApplicationName(Application fromApplication, Range range) {
+            return Collections.emptySet();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.bo.ApiMetaDataBo;
+import com.navercorp.pinpoint.common.bo.SqlMetaDataBo;
+import com.navercorp.pinpoint.common.bo.StringMetaDataBo;
+import com.navercorp.pinpoint.web.dao.ApiMetaDataDao;
+import com.navercorp.pinpoint.web.dao.SqlMetaDataDao;
+import com.navercorp.pinpoint.web.dao.StringMetaDataDao;
+import com.navercorp.pinpoint.web.service.MetaDataResolver.MetaDataKey;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author emeroad
+ */
+public class MetaDataResolverTest {
+
+    @Test
+    public void prefetch() {
+        final TestSqlMetaDataDao sqlMetaDataDao = new TestSqlMetaDataDao();
+        MetaDataResolver resolver = new MetaDataResolver(sqlMetaDataDao, new TestApiMetaDataDao(), new TestStringMetaDataDao());
+
+        List<MetaDataKey> keys = Arrays.asList(new MetaDataKey("agent", 1, 10), new MetaDataKey("agent", 1, 20), new MetaDataKey("agent", 1, 10));
+        resolver.prefetchSqlMetaData(keys);
+        Assert.assertEquals(1, sqlMetaDataDao.multiGetCount);
+        Assert.assertEquals(2, sqlMetaDataDao.lastKeySize);
+
+        Assert.assertEquals("sql10", resolver.getSqlMetaData("agent", 1, 10).get(0).getSql());
+        Assert.assertEquals("sql20", resolver.getSqlMetaData("agent", 1, 20).get(0).getSql());
+        Assert.assertEquals(0, sqlMetaDataDao.getCount);
+
+        // cached keys are not read again
+        resolver.prefetchSqlMetaData(keys);
+        Assert.assertEquals(1, sqlMetaDataDao.multiGetCount);
+    }
+
+    @Test
+    public void notFoundIsCachedShortly() {
+        final TestSqlMetaDataDao sqlMetaDataDao = new TestSqlMetaDataDao();
+        sqlMetaDataDao.notFound = true;
+        MetaDataResolver resolver = new MetaDataResolver(sqlMetaDataDao, new TestApiMetaDataDao(), new TestStringMetaDataDao());
+
+        Assert.assertTrue(resolver.getSqlMetaData("agent", 1, 10).isEmpty());
+        Assert.assertTrue(resolver.getSqlMetaData("agent", 1, 10).isEmpty());
+        Assert.assertEquals(1, sqlMetaDataDao.getCount);
+
+        // prefetch skips the missing key as well
+        resolver.prefetchSqlMetaData(Arrays.asList(new MetaDataKey("agent", 1, 10)));
+        Assert.assertEquals(0, sqlMetaDataDao.multiGetCount);
+
+        // missing keys found by prefetch are remembered too
+        resolver.prefetchSqlMetaData(Arrays.asList(new MetaDataKey("agent", 1, 20)));
+        Assert.assertEquals(1, sqlMetaDataDao.multiGetCount);
+        Assert.assertTrue(resolver.getSqlMetaData("agent", 1, 20).isEmpty());
+        Assert.assertEquals(1, sqlMetaDataDao.getCount);
+    }
+
+    @Test
+    public void notFoundExpires() {
+        final TestSqlMetaDataDao sqlMetaDataDao = new TestSqlMetaDataDao();
+        sqlMetaDataDao.notFound = true;
+        MetaDataResolver resolver = new MetaDataResolver(sqlMetaDataDao, new TestApiMetaDataDao(), new TestStringMetaDataDao(), MetaDataResolver.DEFAULT_CACHE_SIZE, 0);
+
+        Assert.assertTrue(resolver.getSqlMetaData("agent", 1, 10).isEmpty());
+        Assert.assertEquals(1, sqlMetaDataDao.getCount);
+
+        sqlMetaDataDao.notFound = false;
+        Assert.assertEquals("sql10", resolver.getSqlMetaData("agent", 1, 10).get(0).getSql());
+        Assert.assertEquals(2, sqlMetaDataDao.getCount);
+
+        resolver.getSqlMetaData("agent", 1, 10);
+        Assert.assertEquals(2, sqlMetaDataDao.getCount);
+    }
+
+    @Test
+    public void agentKey() {
+        final TestSqlMetaDataDao sqlMetaDataDao = new TestSqlMetaDataDao();
+        MetaDataResolver resolver = new MetaDataResolver(sqlMetaDataDao, new TestApiMetaDataDao(), new TestStringMetaDataDao());
+
+        resolver.getSqlMetaData("agent", 1, 10);
+        resolver.getSqlMetaData("agent", 2, 10);
+        resolver.getSqlMetaData("agent2", 1, 10);
+        Assert.assertEquals(3, sqlMetaDataDao.getCount);
+    }
+
+    private static class TestSqlMetaDataDao implements SqlMetaDataDao {
+        private int getCount;
+        private int multiGetCount;
+        private int lastKeySize;
+        private boolean notFound;
+
+        @Override
+        public List<SqlMetaDataBo> getSqlMetaData(String agentId, long time, int hashCode) {
+            getCount++;
+            return select(agentId, time, hashCode);
+        }
+
+        @Override
+        public List<List<SqlMetaDataBo>> getSqlMetaData(List<SqlMetaDataBo> keyList) {
+            multiGetCount++;
+            lastKeySize = keyList.size();
+            List<List<SqlMetaDataBo>> result = new ArrayList<List<SqlMetaDataBo>>();
+            for (SqlMetaDataBo key : keyList) {
+                result.add(select(key.getAgentId(), key.getStartTime(), key.getHashCode()));
+            }
+            return result;
+        }
+
+        private List<SqlMetaDataBo> select(String agentId, long time, int hashCode) {
+            if (notFound) {
+                return Collections.emptyList();
+            }
+            SqlMetaDataBo sqlMetaDataBo = new SqlMetaDataBo(agentId, time, hashCode);
+            sqlMetaDataBo.setSql("sql" + hashCode);
+            return Collections.singletonList(sqlMetaDataBo);
+        }
+    }
+
+    private static class TestApiMetaDataDao implements ApiMetaDataDao {
+        @Override
+        public List<ApiMetaDataBo> getApiMetaData(String agentId, long time, int apiId) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<List<ApiMetaDataBo>> getApiMetaData(List<ApiMetaDataBo> keyList) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static class TestStringMetaDataDao implements StringMetaDataDao {
+        @Override
+        public List<StringMetaDataBo> getStringMetaData(String agentId, long time, int stringId) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<List<StringMetaDataBo>> getStringMetaData(List<StringMetaDataBo> keyList) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.view;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.navercorp.pinpoint.common.HistogramSchema;
+import com.navercorp.pinpoint.common.LatencyHistogram;
 import com.navercorp.pinpoint.common.ServiceType;
 import com.navercorp.pinpoint.web.applicationmap.histogram.Histogram;
 
@@ -60,6 +61,50 @@ public class HistogramSerializerTest {
         Assert.assertEquals(objectMapperHashMap, hashMap);
     }
 
+    @Test
+    public void percentileFromElapsed() throws Exception {
+        Histogram histogram = new Histogram(ServiceType.STAND_ALONE);
+        addElapsed(histogram, 10);
+        addElapsed(histogram, 20);
+        addElapsed(histogram, 2000);
+
+        String json = objectMapper.writeValueAsString(histogram);
+        logger.debug(json);
+        HashMap hashMap = objectMapper.readValue(json, HashMap.class);
+
+        Assert.assertTrue(hashMap.containsKey("p50"));
+        Assert.assertTrue(hashMap.containsKey("p95"));
+        Assert.assertTrue(hashMap.containsKey("p99"));
+    }
+
+    @Test
+    public void noPercentileWhenAgentAggregatedCallsAreMixed() throws Exception {
+        // per span path : slot and latency bucket
+        Histogram histogram = new Histogram(ServiceType.STAND_ALONE);
+        addElapsed(histogram, 10);
+        addElapsed(histogram, 20);
+
+        // agent response stat path : slot count only
+        Histogram agentAggregated = new Histogram(ServiceType.STAND_ALONE);
+        agentAggregated.addCallCount(agentAggregated.getHistogramSchema().getVerySlowSlot().getSlotTime(), 100);
+        histogram.add(agentAggregated);
+
+        String json = objectMapper.writeValueAsString(histogram);
+        logger.debug(json);
+        HashMap hashMap = objectMapper.readValue(json, HashMap.class);
+
+        Assert.assertEquals(102, histogram.getTotalCount());
+        Assert.assertEquals(2, histogram.getLatencyHistogram().getTotalCount());
+        Assert.assertFalse(hashMap.containsKey("p50"));
+        Assert.assertFalse(hashMap.containsKey("p95"));
+        Assert.assertFalse(hashMap.containsKey("p99"));
+    }
+
+    private void addElapsed(Histogram histogram, int elapsed) {
+        histogram.addCallCountByElapsedTime(elapsed);
+        histogram.addLatencyCount(LatencyHistogram.getBucketIndex(elapsed), 1);
+    }
+
     /**
      * moved this testcase for testing the old version histogram with manually created json code
      * @param histogram
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.view;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.pinpoint.common.ServiceType;
+import com.navercorp.pinpoint.common.util.DateUtils;
+import com.navercorp.pinpoint.web.vo.callstacks.Record;
+import com.navercorp.pinpoint.web.vo.callstacks.RecordSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author emeroad
+ */
+public class RecordSetJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void sameCallStackAsJsp() throws Exception {
+        final long begin = 1418000000000L;
+        Record root = new Record(0, 1, 0, true, "doGet", "/index.html", begin, 12345, 0, "agent", "app", ServiceType.STAND_ALONE, null, true, false);
+        root.setSimpleClassName("Servlet");
+        Record child = new Record(1, 2, 1, true, "execute", "select 1", begin + 1500, 1024, 1500, "agent", "app", ServiceType.STAND_ALONE, null, false, true);
+        Record parameter = new Record(2, 3, 2, false, "SQL", "select 1", 0, 0, 0, null, null, null, null, false, false);
+        List<Record> recordList = Arrays.asList(root, child, parameter);
+
+        RecordSet recordSet = new RecordSet();
+        recordSet.setRecordList(recordList);
+        recordSet.setApplicationName("app");
+        recordSet.setAgentId("agent");
+        recordSet.setApplicationId("app");
+        recordSet.setStartTime(begin);
+        recordSet.setEndTime(begin + 12345);
+
+        StringWriter writer = new StringWriter();
+        JsonGenerator jgen = objectMapper.getFactory().createGenerator(writer);
+        RecordSetJsonWriter recordSetJsonWriter = new RecordSetJsonWriter(jgen, "agent^1^1", "Complete", Locale.US);
+        recordSetJsonWriter.writeStart(recordSet);
+        for (Record record : recordList) {
+            recordSetJsonWriter.writeRecord(record);
+        }
+        recordSetJsonWriter.writeEnd(false, 0);
+
+        Map written = objectMapper.readValue(writer.toString(), Map.class);
+        List<List<Object>> callStack = (List<List<Object>>) written.get("callStack");
+        Assert.assertEquals(3, callStack.size());
+
+        List<Object> expected = Arrays.<Object>asList("", begin, begin + 12345, false, "app", 0, "1", "", true, true, "doGet", "/index.html",
+                DateUtils.longToDateStr(begin, "HH:mm:ss SSS"), "0", "12,345", "1", "Servlet", ServiceType.STAND_ALONE.getDesc(), "agent", false, false);
+        assertRecord(expected, callStack.get(0));
+
+        expected = Arrays.<Object>asList("", begin + 1500, begin + 1500 + 1024, false, "app", 1, "2", "1", true, false, "execute", "select 1",
+                DateUtils.longToDateStr(begin + 1500, "HH:mm:ss SSS"), "1,500", "1,024", "1", "", ServiceType.STAND_ALONE.getDesc(), "agent", false, true);
+        assertRecord(expected, callStack.get(1));
+
+        expected = Arrays.<Object>asList("", 0, 0, true, "", 2, "3", "2", false, false, "SQL", "select 1",
+                "", "", "", "", "", "", "", false, false);
+        assertRecord(expected, callStack.get(2));
+    }
+
+    private void assertRecord(List<Object> expected, List<Object> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Object expectedValue = expected.get(i);
+            Object actualValue = actual.get(i);
+            if (expectedValue instanceof Number) {
+                Assert.assertEquals("column " + i, ((Number) expectedValue).longValue(), ((Number) actualValue).longValue());
+            } else {
+                Assert.assertEquals("column " + i, expectedValue, actualValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.callstacks;
+
+import junit.framework.Assert;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author emeroad
+ */
+public class RecordFilterTest {
+
+    /**
+     * 1
+     *  2
+     *   3
+     *   4
+     *  5
+     *   6
+     */
+    private List<Record> createCallStack() {
+        List<Record> recordList = new ArrayList<Record>();
+        recordList.add(newRecord(0, 1, 0));
+        recordList.add(newRecord(1, 2, 1));
+        recordList.add(newRecord(2, 3, 2));
+        recordList.add(newRecord(2, 4, 2));
+        recordList.add(newRecord(1, 5, 1));
+        recordList.add(newRecord(2, 6, 5));
+        return recordList;
+    }
+
+    private Record newRecord(int tab, int id, int parentId) {
+        return new Record(tab, id, parentId, true, "title", "arguments", 0L, 0L, 0, null, null, null, null, false, false);
+    }
+
+    private List<Integer> filter(RecordFilter recordFilter) {
+        List<Integer> accepted = new ArrayList<Integer>();
+        for (Record record : createCallStack()) {
+            final RecordFilter.Result result = recordFilter.filter(record);
+            if (result == RecordFilter.Result.STOP) {
+                break;
+            }
+            if (result == RecordFilter.Result.ACCEPT) {
+                accepted.add(record.getId());
+            }
+        }
+        return accepted;
+    }
+
+    @Test
+    public void all() {
+        RecordFilter recordFilter = new RecordFilter(CallStackQuery.ALL);
+        Assert.assertEquals("[1, 2, 3, 4, 5, 6]", filter(recordFilter).toString());
+        Assert.assertFalse(recordFilter.hasMore());
+    }
+
+    @Test
+    public void maxDepth() {
+        RecordFilter recordFilter = new RecordFilter(new CallStackQuery(CallStackQuery.ROOT, 2, 0, 0));
+        Assert.assertEquals("[1, 2, 5]", filter(recordFilter).toString());
+    }
+
+    @Test
+    public void subtree() {
+        RecordFilter recordFilter = new RecordFilter(new CallStackQuery(2, 0, 0, 0));
+        Assert.assertEquals("[3, 4]", filter(recordFilter).toString());
+
+        RecordFilter rootChild = new RecordFilter(new CallStackQuery(1, 1, 0, 0));
+        Assert.assertEquals("[2, 5]", filter(rootChild).toString());
+    }
+
+    @Test
+    public void paging() {
+        RecordFilter first = new RecordFilter(new CallStackQuery(CallStackQuery.ROOT, 0, 0, 4));
+        Assert.assertEquals("[1, 2, 3, 4]", filter(first).toString());
+        Assert.assertTrue(first.hasMore());
+        Assert.assertEquals(4, first.getNextOffset());
+
+        RecordFilter second = new RecordFilter(new CallStackQuery(CallStackQuery.ROOT, 0, first.getNextOffset(), 4));
+        Assert.assertEquals("[5, 6]", filter(second).toString());
+        Assert.assertFalse(second.hasMore());
+        Assert.assertEquals(6, second.getNextOffset());
+    }
+}